@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.xmljim.algorithms.model.impl.provider;
+
+import io.xmljim.algorithms.model.AbstractNamedEntity;
+import io.xmljim.algorithms.model.DenseMatrix;
+import io.xmljim.algorithms.model.MatrixLayout;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.util.Scalar;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Shared layout handling for matrices stored as one contiguous block of doubles.
+ * Subclasses supply the storage, and return rows and columns as strided views over it.
+ */
+abstract class AbstractDenseMatrix extends AbstractNamedEntity implements DenseMatrix {
+    private final int rowCount;
+    private final int columnCount;
+    private final MatrixLayout layout;
+    private final String[] columnNames;
+    private final Map<String, Integer> columnNameMap = new HashMap<>();
+
+    public AbstractDenseMatrix(final String name, final long capacity, final int rowCount, final int columnCount,
+                               final MatrixLayout layout, final String... columnHeaders) {
+        super(name);
+
+        if (rowCount < 0 || columnCount < 0) {
+            throw new IllegalArgumentException("Row and column counts must not be negative");
+        }
+
+        if ((long) rowCount * columnCount > capacity) {
+            throw new IllegalArgumentException("Data length " + capacity + " is too small for a " + rowCount + "x" + columnCount + " matrix");
+        }
+
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.layout = layout;
+        this.columnNames = IntStream.range(0, columnCount)
+                .mapToObj(i -> i < columnHeaders.length && columnHeaders[i] != null ? columnHeaders[i] : "column_" + i)
+                .toArray(String[]::new);
+
+        IntStream.range(0, columnCount).forEach(i -> columnNameMap.putIfAbsent(columnNames[i], i));
+    }
+
+    /**
+     * Read the value at a position within the underlying storage
+     * @param index the storage position
+     * @return the value
+     */
+    protected abstract double valueAt(long index);
+
+    /**
+     * Create a strided view over the underlying storage
+     * @param name the view name
+     * @param offset the storage position of the first element
+     * @param length the number of elements
+     * @param stride the distance between consecutive elements
+     * @return a vector view
+     */
+    protected abstract ScalarVector view(String name, long offset, int length, long stride);
+
+    @Override
+    public MatrixLayout getLayout() {
+        return layout;
+    }
+
+    @Override
+    public double getDouble(final int row, final int column) {
+        return valueAt(index(row, column));
+    }
+
+    @Override
+    public Scalar get(final int row, final int column) {
+        return Scalar.of(getDouble(row, column));
+    }
+
+    @Override
+    public ScalarVector getRow(final int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for row count " + rowCount);
+        }
+
+        if (layout == MatrixLayout.ROW_MAJOR) {
+            return view("row_" + row, (long) row * columnCount, columnCount, 1);
+        } else {
+            return view("row_" + row, row, columnCount, rowCount);
+        }
+    }
+
+    @Override
+    public ScalarVector getColumn(final int column) {
+        if (column < 0 || column >= columnCount) {
+            throw new IndexOutOfBoundsException("Column " + column + " out of bounds for column count " + columnCount);
+        }
+
+        if (layout == MatrixLayout.ROW_MAJOR) {
+            return view(columnNames[column], column, rowCount, columnCount);
+        } else {
+            return view(columnNames[column], (long) column * rowCount, rowCount, 1);
+        }
+    }
+
+    @Override
+    public ScalarVector getColumn(final String name) {
+        Integer column = columnNameMap.get(name);
+
+        if (column == null) {
+            throw new IllegalArgumentException("No column named " + name);
+        }
+
+        return getColumn(column);
+    }
+
+    @Override
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    protected long index(final int row, final int column) {
+        if (row < 0 || row >= rowCount || column < 0 || column >= columnCount) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + column + ") out of bounds for a " + rowCount + "x" + columnCount + " matrix");
+        }
+
+        return layout == MatrixLayout.ROW_MAJOR ? (long) row * columnCount + column : (long) column * rowCount + row;
+    }
+}
@@ -31,6 +31,15 @@ abstract class AbstractVector<T> extends AbstractVariableEntity implements Vecto
         data = stream.collect(Collectors.toList());
     }
 
+    protected AbstractVector(String name, String variable, List<T> data) {
+        super(name, variable);
+        this.data = data;
+    }
+
+    protected List<T> subList(int fromIndex, int toIndex) {
+        return data.subList(fromIndex, toIndex);
+    }
+
     @Override
     public T first() {
         return data.get(0);
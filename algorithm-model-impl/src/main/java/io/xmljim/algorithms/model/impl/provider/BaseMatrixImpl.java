@@ -20,13 +20,13 @@ import io.xmljim.algorithms.model.Matrix;
 import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.provider.ModelProvider;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 class BaseMatrixImpl extends AbstractMatrix implements Matrix {
-    private final Map<String, Integer> columnNameMap = new HashMap<>();
+    private final Map<String, Integer> columnNameMap = new LinkedHashMap<>();
 
 
     public BaseMatrixImpl(final String name, final ModelProvider modelProvider, final Stream<ScalarVector> rows) {
@@ -16,10 +16,22 @@
 
 package io.xmljim.algorithms.model.impl.provider;
 
+import io.xmljim.algorithms.model.Vector;
+
+import java.util.List;
 import java.util.stream.Stream;
 
 class BaseVectorImpl<T> extends AbstractVector<T> {
     public BaseVectorImpl(final String name, final String variable, final Stream<T> stream) {
         super(name, variable, stream);
     }
+
+    protected BaseVectorImpl(final String name, final String variable, final List<T> data) {
+        super(name, variable, data);
+    }
+
+    @Override
+    public Vector<T> slice(final int fromIndex, final int toIndex) {
+        return new BaseVectorImpl<>(getName(), getVariable(), subList(fromIndex, toIndex));
+    }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.xmljim.algorithms.model.impl.provider;
+
+import io.xmljim.algorithms.model.MatrixLayout;
+import io.xmljim.algorithms.model.ScalarVector;
+
+/**
+ * A matrix stored in a single flat primitive array. Rows and columns are returned as
+ * strided {@link DoubleScalarVectorImpl} views over the same array, so column access on a
+ * row-major matrix (or row access on a column-major matrix) does not copy any values.
+ */
+class DenseMatrixImpl extends AbstractDenseMatrix {
+    private final double[] data;
+
+    public DenseMatrixImpl(final String name, final double[] data, final int rowCount, final int columnCount,
+                           final MatrixLayout layout, final String... columnHeaders) {
+        super(name, data.length, rowCount, columnCount, layout, columnHeaders);
+        this.data = data;
+    }
+
+    @Override
+    protected double valueAt(final long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    protected ScalarVector view(final String name, final long offset, final int length, final long stride) {
+        return new DoubleScalarVectorImpl(name, null, data, (int) offset, length, (int) stride);
+    }
+}
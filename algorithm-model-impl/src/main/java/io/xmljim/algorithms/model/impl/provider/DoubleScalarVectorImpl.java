@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.xmljim.algorithms.model.impl.provider;
+
+import io.xmljim.algorithms.model.AbstractVariableEntity;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.util.Scalar;
+import io.xmljim.algorithms.model.util.SummaryStats;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A scalar vector backed by a primitive array. Values are only wrapped
+ * in a {@link Scalar} when accessed through the object-based methods; the primitive
+ * accessors read the array directly. A vector may cover the whole array, or be a
+ * strided view over part of it (for example, a row or column of a dense matrix).
+ */
+class DoubleScalarVectorImpl extends AbstractVariableEntity implements ScalarVector {
+    private final double[] data;
+    private final int offset;
+    private final int length;
+    private final int stride;
+    private final LazySummaryStats summaryStats = new LazySummaryStats(this);
+
+    public DoubleScalarVectorImpl(final String name, final String variable, final double[] data) {
+        this(name, variable, data, 0, data.length, 1);
+    }
+
+    public DoubleScalarVectorImpl(final String name, final String variable, final double[] data, final int offset, final int length, final int stride) {
+        super(name, variable);
+        this.data = data;
+        this.offset = offset;
+        this.length = length;
+        this.stride = stride;
+    }
+
+    @Override
+    public Scalar first() {
+        return get(0);
+    }
+
+    @Override
+    public Scalar last() {
+        return get(length - 1);
+    }
+
+    @Override
+    public Scalar get(final long index) {
+        return Scalar.of(getDouble((int)index));
+    }
+
+    @Override
+    public double getDouble(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        return data[offset + index * stride];
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public ScalarVector slice(final int fromIndex, final int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        return new DoubleScalarVectorImpl(getName(), getVariable(), data, offset + fromIndex * stride, toIndex - fromIndex, stride);
+    }
+
+    @Override
+    public Stream<Scalar> stream() {
+        return doubleStream().mapToObj(Scalar::of);
+    }
+
+    @Override
+    public void copyInto(final int fromIndex, final double[] target, final int targetOffset, final int length) {
+        Objects.checkFromIndexSize(fromIndex, length, this.length);
+        if (stride == 1) {
+            System.arraycopy(data, offset + fromIndex, target, targetOffset, length);
+            return;
+        }
+        Objects.checkFromIndexSize(targetOffset, length, target.length);
+        for (int i = 0; i < length; i++) {
+            target[targetOffset + i] = data[offset + (fromIndex + i) * stride];
+        }
+    }
+
+    @Override
+    public DoubleStream doubleStream() {
+        if (stride == 1) {
+            return Arrays.stream(data, offset, offset + length);
+        }
+        return IntStream.range(0, length).mapToDouble(i -> data[offset + i * stride]);
+    }
+
+    @Override
+    public Stream<Scalar> sorted() {
+        return doubleStream().sorted().mapToObj(Scalar::of);
+    }
+
+    @Override
+    public double[] toDoubleArray() {
+        if (offset == 0 && stride == 1 && length == data.length) {
+            return data;
+        }
+        return doubleStream().toArray();
+    }
+
+    @Override
+    public Iterator<Scalar> iterator() {
+        return new Iterator<>() {
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return position < length;
+            }
+
+            @Override
+            public Scalar next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return Scalar.of(data[offset + (position++) * stride]);
+            }
+        };
+    }
+
+    @Override
+    public Optional<SummaryStats> getSummaryStats() {
+        return summaryStats.get();
+    }
+}
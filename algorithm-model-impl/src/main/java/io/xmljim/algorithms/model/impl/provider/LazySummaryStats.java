@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.xmljim.algorithms.model.impl.provider;
+
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.util.SummaryStats;
+
+import java.util.Optional;
+
+/**
+ * Thread-safe, compute-once holder for a vector's {@link SummaryStats}. The statistics are
+ * gathered on first request; concurrent callers wait for that single pass rather than
+ * repeating it.
+ */
+class LazySummaryStats {
+    private final ScalarVector vector;
+    private volatile Optional<SummaryStats> summaryStats;
+
+    public LazySummaryStats(final ScalarVector vector) {
+        this.vector = vector;
+    }
+
+    public Optional<SummaryStats> get() {
+        Optional<SummaryStats> result = summaryStats;
+
+        if (result == null) {
+            synchronized (this) {
+                result = summaryStats;
+                if (result == null) {
+                    result = Optional.of(SummaryStats.of(vector));
+                    summaryStats = result;
+                }
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.xmljim.algorithms.model.impl.provider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Read-only access to a file of little-endian doubles through memory mapping. The file is
+ * split into fixed-size segments, since a single mapping is limited to 2GB, and each segment
+ * is only mapped the first time one of its values is read. Nothing is copied onto the heap;
+ * values are read directly from the mapped pages.
+ */
+class MappedDoubleBuffer {
+    private static final int SEGMENT_SHIFT = 27;
+    private static final long SEGMENT_ELEMENTS = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_ELEMENTS - 1;
+
+    private final Path path;
+    private final long size;
+    private final AtomicReferenceArray<ByteBuffer> segments;
+
+    public MappedDoubleBuffer(final Path path) throws IOException {
+        long byteCount = Files.size(path);
+
+        if (byteCount % Double.BYTES != 0) {
+            throw new IOException("File size of " + path + " (" + byteCount + " bytes) is not a multiple of " + Double.BYTES);
+        }
+
+        this.path = path;
+        this.size = byteCount / Double.BYTES;
+        this.segments = new AtomicReferenceArray<>((int) ((size + SEGMENT_ELEMENTS - 1) >>> SEGMENT_SHIFT));
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Return the number of doubles in the file
+     * @return the element count
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Read the double at a given element position
+     * @param index the element position
+     * @return the value
+     */
+    public double get(final long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+
+        ByteBuffer segment = segment((int) (index >>> SEGMENT_SHIFT));
+        return segment.getDouble((int) ((index & SEGMENT_MASK) * Double.BYTES));
+    }
+
+    private ByteBuffer segment(final int segmentIndex) {
+        ByteBuffer segment = segments.get(segmentIndex);
+
+        if (segment == null) {
+            synchronized (this) {
+                segment = segments.get(segmentIndex);
+                if (segment == null) {
+                    segment = map(segmentIndex);
+                    segments.set(segmentIndex, segment);
+                }
+            }
+        }
+
+        return segment;
+    }
+
+    private ByteBuffer map(final int segmentIndex) {
+        long firstElement = segmentIndex * SEGMENT_ELEMENTS;
+        long elementCount = Math.min(SEGMENT_ELEMENTS, size - firstElement);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, firstElement * Double.BYTES, elementCount * Double.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map segment " + segmentIndex + " of " + path, e);
+        }
+    }
+}
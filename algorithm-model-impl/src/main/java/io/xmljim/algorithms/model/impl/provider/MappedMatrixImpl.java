@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.xmljim.algorithms.model.impl.provider;
+
+import io.xmljim.algorithms.model.MatrixLayout;
+import io.xmljim.algorithms.model.ScalarVector;
+
+/**
+ * A dense matrix whose values are read from a memory-mapped file of little-endian doubles.
+ * Rows and columns are {@link MappedScalarVectorImpl} views, so nothing is copied onto the heap.
+ */
+class MappedMatrixImpl extends AbstractDenseMatrix {
+    private final MappedDoubleBuffer buffer;
+
+    public MappedMatrixImpl(final String name, final MappedDoubleBuffer buffer, final int columnCount,
+                            final MatrixLayout layout, final String... columnHeaders) {
+        super(name, buffer.size(), rowCount(buffer, columnCount), columnCount, layout, columnHeaders);
+        this.buffer = buffer;
+    }
+
+    private static int rowCount(final MappedDoubleBuffer buffer, final int columnCount) {
+        if (columnCount <= 0) {
+            throw new IllegalArgumentException("Column count must be positive");
+        }
+
+        if (buffer.size() % columnCount != 0) {
+            throw new IllegalArgumentException(buffer.getPath() + " holds " + buffer.size() + " values, which is not a multiple of " + columnCount + " columns");
+        }
+
+        long rowCount = buffer.size() / columnCount;
+
+        if (rowCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(buffer.getPath() + " holds more than " + Integer.MAX_VALUE + " rows");
+        }
+
+        return (int) rowCount;
+    }
+
+    @Override
+    protected double valueAt(final long index) {
+        return buffer.get(index);
+    }
+
+    @Override
+    protected ScalarVector view(final String name, final long offset, final int length, final long stride) {
+        return new MappedScalarVectorImpl(name, null, buffer, offset, length, stride);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.xmljim.algorithms.model.impl.provider;
+
+import io.xmljim.algorithms.model.AbstractVariableEntity;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.util.Scalar;
+import io.xmljim.algorithms.model.util.SummaryStats;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A scalar vector whose values are read from a {@link MappedDoubleBuffer}. Like
+ * {@link DoubleScalarVectorImpl}, a vector may cover the whole file or be a strided
+ * view over part of it. Element positions within the file are addressed with longs.
+ */
+class MappedScalarVectorImpl extends AbstractVariableEntity implements ScalarVector {
+    private final MappedDoubleBuffer buffer;
+    private final long offset;
+    private final int length;
+    private final long stride;
+    private final LazySummaryStats summaryStats = new LazySummaryStats(this);
+
+    public MappedScalarVectorImpl(final String name, final String variable, final MappedDoubleBuffer buffer) {
+        this(name, variable, buffer, 0, checkedLength(buffer), 1);
+    }
+
+    public MappedScalarVectorImpl(final String name, final String variable, final MappedDoubleBuffer buffer,
+                                  final long offset, final int length, final long stride) {
+        super(name, variable);
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.stride = stride;
+    }
+
+    private static int checkedLength(final MappedDoubleBuffer buffer) {
+        if (buffer.size() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(buffer.getPath() + " holds " + buffer.size() + " values, which exceeds the maximum vector length");
+        }
+        return (int) buffer.size();
+    }
+
+    @Override
+    public Scalar first() {
+        return get(0);
+    }
+
+    @Override
+    public Scalar last() {
+        return get(length - 1);
+    }
+
+    @Override
+    public Scalar get(final long index) {
+        return Scalar.of(valueAt(index));
+    }
+
+    @Override
+    public double getDouble(final int index) {
+        return valueAt(index);
+    }
+
+    private double valueAt(final long index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        return buffer.get(offset + index * stride);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public ScalarVector slice(final int fromIndex, final int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        return new MappedScalarVectorImpl(getName(), getVariable(), buffer, offset + fromIndex * stride, toIndex - fromIndex, stride);
+    }
+
+    @Override
+    public Stream<Scalar> stream() {
+        return doubleStream().mapToObj(Scalar::of);
+    }
+
+    @Override
+    public DoubleStream doubleStream() {
+        return IntStream.range(0, length).mapToDouble(i -> buffer.get(offset + i * stride));
+    }
+
+    @Override
+    public Stream<Scalar> sorted() {
+        return doubleStream().sorted().mapToObj(Scalar::of);
+    }
+
+    @Override
+    public Iterator<Scalar> iterator() {
+        return new Iterator<>() {
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return position < length;
+            }
+
+            @Override
+            public Scalar next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return Scalar.of(buffer.get(offset + (position++) * stride));
+            }
+        };
+    }
+
+    @Override
+    public Optional<SummaryStats> getSummaryStats() {
+        return summaryStats.get();
+    }
+}
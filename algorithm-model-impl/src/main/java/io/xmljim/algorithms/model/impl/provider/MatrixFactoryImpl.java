@@ -16,11 +16,16 @@
 
 package io.xmljim.algorithms.model.impl.provider;
 
+import io.xmljim.algorithms.model.DenseMatrix;
 import io.xmljim.algorithms.model.Matrix;
+import io.xmljim.algorithms.model.MatrixLayout;
 import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.provider.MatrixFactory;
 import io.xmljim.algorithms.model.provider.ModelProvider;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 class MatrixFactoryImpl implements MatrixFactory {
@@ -46,4 +51,65 @@ class MatrixFactoryImpl implements MatrixFactory {
     public Matrix createMatrix(final Number[][] numberArray, final String... columnHeaders) {
         return new BaseMatrixImpl(DEFAULT_NAME, modelProvider, numberArray, columnHeaders);
     }
+
+    @Override
+    public DenseMatrix createDenseMatrix(final double[] data, final int rowCount, final int columnCount, final MatrixLayout layout,
+                                         final String... columnHeaders) {
+        return new DenseMatrixImpl(DEFAULT_NAME, data, rowCount, columnCount, layout, columnHeaders);
+    }
+
+    @Override
+    public DenseMatrix createDenseMatrix(final double[][] rows, final MatrixLayout layout, final String... columnHeaders) {
+        int rowCount = rows.length;
+        int columnCount = Arrays.stream(rows).mapToInt(row -> row.length).max().orElse(0);
+        double[] data = new double[dataLength(rowCount, columnCount)];
+        Arrays.fill(data, Double.NaN);
+
+        for (int row = 0; row < rowCount; row++) {
+            for (int column = 0; column < rows[row].length; column++) {
+                int index = layout == MatrixLayout.ROW_MAJOR ? row * columnCount + column : column * rowCount + row;
+                data[index] = rows[row][column];
+            }
+        }
+
+        return new DenseMatrixImpl(DEFAULT_NAME, data, rowCount, columnCount, layout, columnHeaders);
+    }
+
+    @Override
+    public DenseMatrix createDenseMatrix(final ScalarVector... columns) {
+        int columnCount = columns.length;
+        int rowCount = Arrays.stream(columns).mapToInt(ScalarVector::length).max().orElse(0);
+        double[] data = new double[dataLength(rowCount, columnCount)];
+        Arrays.fill(data, Double.NaN);
+
+        for (int column = 0; column < columnCount; column++) {
+            ScalarVector vector = columns[column];
+            for (int row = 0; row < vector.length(); row++) {
+                data[column * rowCount + row] = vector.getDouble(row);
+            }
+        }
+
+        String[] columnHeaders = Arrays.stream(columns).map(ScalarVector::getName).toArray(String[]::new);
+        return new DenseMatrixImpl(DEFAULT_NAME, data, rowCount, columnCount, MatrixLayout.COLUMN_MAJOR, columnHeaders);
+    }
+
+    @Override
+    public DenseMatrix mapDenseMatrix(final Path path, final int columnCount, final MatrixLayout layout, final String... columnHeaders) throws IOException {
+        return new MappedMatrixImpl(DEFAULT_NAME, new MappedDoubleBuffer(path), columnCount, layout, columnHeaders);
+    }
+
+    /**
+     * Return the length of the array that holds a dense matrix
+     * @param rowCount the number of rows
+     * @param columnCount the number of columns
+     * @return the array length
+     * @throws IllegalArgumentException thrown if the matrix is too large for a single array
+     */
+    private static int dataLength(final int rowCount, final int columnCount) {
+        long length = (long) rowCount * columnCount;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A " + rowCount + "x" + columnCount + " matrix is too large for a dense array");
+        }
+        return (int) length;
+    }
 }
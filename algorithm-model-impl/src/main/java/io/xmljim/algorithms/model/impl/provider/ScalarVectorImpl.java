@@ -18,18 +18,36 @@ package io.xmljim.algorithms.model.impl.provider;
 
 import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.util.Scalar;
+import io.xmljim.algorithms.model.util.SummaryStats;
 
 import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 class ScalarVectorImpl extends BaseVectorImpl<Scalar> implements ScalarVector {
+    private final LazySummaryStats summaryStats = new LazySummaryStats(this);
 
     public ScalarVectorImpl(final String name, final String variable, final Stream<Number> stream) {
         super(name, variable, stream.map(Scalar::of));
     }
 
+    private ScalarVectorImpl(final String name, final String variable, final List<Scalar> data) {
+        super(name, variable, data);
+    }
+
+    @Override
+    public ScalarVector slice(final int fromIndex, final int toIndex) {
+        return new ScalarVectorImpl(getName(), getVariable(), subList(fromIndex, toIndex));
+    }
+
     @Override
     public Stream<Scalar> sorted() {
         return super.sorted(Comparator.comparingDouble(Scalar::asDouble));
     }
-}
\ No newline at end of file
+
+    @Override
+    public Optional<SummaryStats> getSummaryStats() {
+        return summaryStats.get();
+    }
+}
@@ -20,6 +20,8 @@ import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.Vector;
 import io.xmljim.algorithms.model.provider.VectorFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.stream.Stream;
 
 class VectorFactoryImpl implements VectorFactory {
@@ -33,4 +35,14 @@ class VectorFactoryImpl implements VectorFactory {
     public ScalarVector createScalarVector(final String name, final String variable, final Stream<Number> stream) {
         return new ScalarVectorImpl(name, variable, stream);
     }
+
+    @Override
+    public ScalarVector createScalarVector(final String name, final String variable, final double[] values) {
+        return new DoubleScalarVectorImpl(name, variable, values);
+    }
+
+    @Override
+    public ScalarVector mapScalarVector(final String name, final String variable, final Path path) throws IOException {
+        return new MappedScalarVectorImpl(name, variable, new MappedDoubleBuffer(path));
+    }
 }
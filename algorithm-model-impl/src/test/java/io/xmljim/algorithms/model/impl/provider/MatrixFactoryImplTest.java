@@ -16,12 +16,21 @@
 
 package io.xmljim.algorithms.model.impl.provider;
 
+import io.xmljim.algorithms.model.DenseMatrix;
 import io.xmljim.algorithms.model.Matrix;
+import io.xmljim.algorithms.model.MatrixLayout;
 import io.xmljim.algorithms.model.ScalarVector;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.Vector;
@@ -62,6 +71,89 @@ class MatrixFactoryImplTest extends ImplementationTestBase {
     void testCreateMatrix1() {
     }
 
+    @Test
+    @DisplayName("Create row-major dense matrix with strided column views")
+    void testCreateRowMajorDenseMatrix() {
+        double[] data = {1, 2, 3, 4, 5, 6};
+        DenseMatrix matrix = getModelProvider().getMatrixFactory().createDenseMatrix(data, 2, 3, MatrixLayout.ROW_MAJOR, "a", "b", "c");
+
+        assertEquals(MatrixLayout.ROW_MAJOR, matrix.getLayout());
+        assertEquals(2, matrix.getRowCount());
+        assertEquals(3, matrix.getColumnCount());
+        assertEquals(6.0, matrix.getDouble(1, 2));
+        assertEquals(2.0, matrix.get(0, 1).asDouble());
+        assertArrayEquals(new String[]{"a", "b", "c"}, matrix.getColumnNames());
+        assertArrayEquals(new double[]{4, 5, 6}, matrix.getRow(1).toDoubleArray());
+
+        ScalarVector column = matrix.getColumn("b");
+        assertEquals("b", column.getName());
+        assertEquals(2, column.length());
+        assertArrayEquals(new double[]{2, 5}, column.doubleStream().toArray());
+
+        data[4] = 50;
+        assertEquals(50.0, column.getDouble(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.getDouble(2));
+
+        ScalarVector columnSlice = matrix.getColumn(2).slice(1, 2);
+        assertArrayEquals(new double[]{6}, columnSlice.toDoubleArray());
+    }
+
+    @Test
+    @DisplayName("Create column-major dense matrix from rows and columns")
+    void testCreateColumnMajorDenseMatrix() {
+        double[][] rows = {{1, 2}, {3, 4}, {5}};
+        DenseMatrix matrix = getModelProvider().getMatrixFactory().createDenseMatrix(rows, MatrixLayout.COLUMN_MAJOR, "x", "y");
+
+        assertEquals(3, matrix.getRowCount());
+        assertEquals(2, matrix.getColumnCount());
+        assertArrayEquals(new double[]{1, 3, 5}, matrix.getColumn(0).toDoubleArray());
+        assertArrayEquals(new double[]{3, 4}, matrix.getRow(1).toDoubleArray());
+        assertTrue(Double.isNaN(matrix.getDouble(2, 1)));
+
+        ScalarVector vector1 = generateVector(10, "Vector1");
+        ScalarVector vector2 = generateVector(10, "Vector2");
+        DenseMatrix columnMatrix = getModelProvider().getMatrixFactory().createDenseMatrix(vector1, vector2);
+
+        assertEquals(MatrixLayout.COLUMN_MAJOR, columnMatrix.getLayout());
+        assertEquals(10, columnMatrix.getRowCount());
+        assertArrayEquals(vector2.toDoubleArray(), columnMatrix.getColumn("Vector2").toDoubleArray());
+        assertEquals(vector1.getDouble(3), columnMatrix.getRow(3).getDouble(0));
+    }
+
+    @Test
+    @DisplayName("Map a dense matrix from a file of little-endian doubles")
+    void testMapDenseMatrix(@TempDir Path tempDir) throws IOException {
+        double[] data = {1, 10, 2, 20, 3, 30, 4, 40};
+        ByteBuffer buffer = ByteBuffer.allocate(data.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asDoubleBuffer().put(data);
+        Path file = tempDir.resolve("matrix.bin");
+        Files.write(file, buffer.array());
+
+        DenseMatrix matrix = getModelProvider().getMatrixFactory().mapDenseMatrix(file, 2, MatrixLayout.ROW_MAJOR, "x", "y");
+
+        assertEquals(4, matrix.getRowCount());
+        assertEquals(2, matrix.getColumnCount());
+        assertEquals(30.0, matrix.getDouble(2, 1));
+        assertArrayEquals(new double[]{10, 20, 30, 40}, matrix.getColumn("y").toDoubleArray());
+        assertArrayEquals(new double[]{4, 40}, matrix.getRow(3).toDoubleArray());
+
+        DenseMatrix columnMajor = getModelProvider().getMatrixFactory().mapDenseMatrix(file, 2, MatrixLayout.COLUMN_MAJOR);
+        assertArrayEquals(new double[]{1, 10, 2, 20}, columnMajor.getColumn(0).toDoubleArray());
+        assertEquals("column_1", columnMajor.getColumnNames()[1]);
+
+        assertThrows(IllegalArgumentException.class, () -> getModelProvider().getMatrixFactory().mapDenseMatrix(file, 3, MatrixLayout.ROW_MAJOR));
+    }
+
+    @Test
+    @DisplayName("Reject dense matrices too large for a single array")
+    void testCreateDenseMatrixTooLarge() {
+        double[] row = new double[65537];
+        double[][] rows = new double[65536][];
+        Arrays.fill(rows, row);
+
+        assertThrows(IllegalArgumentException.class, () -> getModelProvider().getMatrixFactory().createDenseMatrix(rows, MatrixLayout.ROW_MAJOR));
+    }
+
     private List<ScalarVector> createVectors(int numberOfVectors, int numberOfRows) {
         List<ScalarVector> vectors = new ArrayList<>();
 
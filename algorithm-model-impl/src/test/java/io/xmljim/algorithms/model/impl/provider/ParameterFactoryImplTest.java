@@ -87,4 +87,36 @@ class ParameterFactoryImplTest extends ImplementationTestBase {
         assertEquals(0, vectorParameter.getValue().get(9).intValue());
         assertEquals(10, vectorParameter.getValue().length());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Parameters are found through indexed lookups")
+    void testIndexedParameterLookup() {
+        ScalarVector vectorX = getModelProvider().getVectorFactory().createScalarVector("vector", "x", 1, 2, 3);
+        ScalarVector vectorY = getModelProvider().getVectorFactory().createScalarVector("vector", "y", 4, 5, 6);
+        ScalarParameter count = getModelProvider().getParameterFactory().createParameter("count", 3);
+        ScalarParameter columnX = getModelProvider().getParameterFactory().createParameter("column", "x", 0);
+        ScalarVectorParameter parameterX = getModelProvider().getParameterFactory().createParameter("vector", "x", vectorX);
+        ScalarVectorParameter parameterY = getModelProvider().getParameterFactory().createParameter("vector", "y", vectorY);
+        ScalarParameter duplicateCount = getModelProvider().getParameterFactory().createParameter("count", 4);
+
+        Parameterized parameterized = new AbstractParameterized("test", count, columnX, parameterX, parameterY, duplicateCount);
+
+        assertSame(count, parameterized.getParameter("count").orElseThrow());
+        assertEquals(3, parameterized.<Scalar>getValue("count").asInt());
+        assertSame(vectorY, parameterized.getValue("vector", "y"));
+        assertSame(columnX, parameterized.getParameterFromVariable("x").orElseThrow());
+        assertSame(parameterX, parameterized.getParameterFromVariable("x", ParameterTypes.SCALAR_VECTOR).orElseThrow());
+        assertSame(parameterY, parameterized.getParameter("vector", "y", ParameterTypes.SCALAR_VECTOR).orElseThrow());
+        assertSame(parameterX, parameterized.getParameter("vector", ParameterTypes.SCALAR_VECTOR).orElseThrow());
+        assertSame(parameterX, parameterized.getParameterOfType(ParameterTypes.SCALAR_VECTOR).orElseThrow());
+        assertSame(duplicateCount, parameterized.getParameter(4));
+
+        assertTrue(parameterized.hasParameter("column", "x"));
+        assertTrue(parameterized.hasParameter("vector", "x", ParameterTypes.SCALAR_VECTOR));
+        assertFalse(parameterized.hasParameter("column", "y"));
+        assertFalse(parameterized.hasParameter("missing"));
+        assertNull(parameterized.getValue("missing"));
+        assertTrue(parameterized.getParameterFromVariable("z", ParameterTypes.SCALAR).isEmpty());
+        assertEquals(5, parameterized.stream().count());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.xmljim.algorithms.model.impl.provider;
+
+import io.xmljim.algorithms.model.AbstractParameterized;
+import io.xmljim.algorithms.model.Parameter;
+import io.xmljim.algorithms.model.Parameterized;
+import io.xmljim.algorithms.model.ParameterTypes;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares indexed parameter lookups in {@link AbstractParameterized} against the predicate-based
+ * {@link Parameterized} defaults, using a parameter list shaped like the financial functions'
+ * (a handful of named scalars, one of them repeated under two variables).
+ * <p>
+ * Not run as part of the test suite; run {@link #main(String[])} from the test classpath.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterLookupBenchmark {
+
+    private Parameterized indexed;
+    private Parameterized scanning;
+
+    @Setup
+    public void setup() {
+        ModelProvider modelProvider = ServiceLoader.load(ModelProvider.class).iterator().next();
+        List<Parameter<?>> parameters = List.of(
+                modelProvider.getParameterFactory().createParameter("balance", 250000),
+                modelProvider.getParameterFactory().createParameter("salary", 95000),
+                modelProvider.getParameterFactory().createParameter("contribution", 0.1),
+                modelProvider.getParameterFactory().createParameter("employerContribution", 0.05),
+                modelProvider.getParameterFactory().createParameter("salaryIncrease", 0.02),
+                modelProvider.getParameterFactory().createParameter("inflation", 0.025),
+                modelProvider.getParameterFactory().createParameter("growth", "x", 0.07),
+                modelProvider.getParameterFactory().createParameter("growth", "y", 0.05),
+                modelProvider.getParameterFactory().createParameter("startYear", 2022),
+                modelProvider.getParameterFactory().createParameter("retirementYear", 2045));
+
+        indexed = new AbstractParameterized("indexed", parameters);
+        scanning = new ScanningParameterized(parameters);
+    }
+
+    @Benchmark
+    public void indexedLookups(Blackhole blackhole) {
+        lookups(indexed, blackhole);
+    }
+
+    @Benchmark
+    public void predicateLookups(Blackhole blackhole) {
+        lookups(scanning, blackhole);
+    }
+
+    private void lookups(Parameterized parameterized, Blackhole blackhole) {
+        blackhole.consume(parameterized.<Object>getValue("retirementYear"));
+        blackhole.consume(parameterized.<Object>getValue("growth", "y"));
+        blackhole.consume(parameterized.hasParameter("inflation"));
+        blackhole.consume(parameterized.hasParameter("missing"));
+        blackhole.consume(parameterized.getParameter("growth", "y", ParameterTypes.SCALAR));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParameterLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * A parameterized entity that only supplies the parameter stream, so every lookup
+     * falls through to the {@link Parameterized} defaults
+     */
+    private static class ScanningParameterized implements Parameterized {
+        private final List<Parameter<?>> parameters;
+
+        ScanningParameterized(List<Parameter<?>> parameters) {
+            this.parameters = parameters;
+        }
+
+        @Override
+        public Parameter<?> getParameter(int index) {
+            return parameters.get(index);
+        }
+
+        @Override
+        public Stream<Parameter<?>> stream() {
+            return parameters.stream();
+        }
+
+        @Override
+        public String getName() {
+            return "scanning";
+        }
+
+        @Override
+        public String getVariable() {
+            return null;
+        }
+    }
+}
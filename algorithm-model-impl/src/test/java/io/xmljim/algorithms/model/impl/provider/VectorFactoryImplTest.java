@@ -18,11 +18,19 @@ package io.xmljim.algorithms.model.impl.provider;
 import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.Vector;
 import io.xmljim.algorithms.model.util.Scalar;
+import io.xmljim.algorithms.model.util.SummaryStats;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -57,4 +65,120 @@ class VectorFactoryImplTest extends ImplementationTestBase {
         List<Scalar> sorted = testVector.sorted().collect(Collectors.toList());
         assertEquals(1.414, sorted.get(0).asDouble());
     }
+
+    @Test
+    @DisplayName("Create a primitive-backed scalar vector")
+    void createPrimitiveScalarVector() {
+        double[] testData = {1.73, 3.14, 2.78, 1.62, 1.414};
+        ScalarVector testVector = getModelProvider().getVectorFactory().createScalarVector("numbers", "x", testData);
+
+        assertEquals(testData.length, testVector.length());
+        assertEquals("x", testVector.getVariable());
+        assertEquals(3.14, testVector.getDouble(1));
+        assertEquals(2.78, testVector.get(2).asDouble());
+        assertEquals(1.73, testVector.first().asDouble());
+        assertEquals(1.414, testVector.last().asDouble());
+        assertSame(testData, testVector.toDoubleArray());
+        assertEquals(10.684, testVector.doubleStream().sum(), 1E-9);
+        assertEquals(1.414, testVector.sorted().findFirst().orElseThrow().asDouble());
+
+        int count = 0;
+        for (Scalar scalar : testVector) {
+            assertEquals(testData[count++], scalar.asDouble());
+        }
+        assertEquals(testData.length, count);
+    }
+
+    @Test
+    @DisplayName("Create a primitive-backed scalar vector from a DoubleStream")
+    void createPrimitiveScalarVectorFromStream() {
+        ScalarVector testVector = getModelProvider().getVectorFactory().createScalarVector("range", DoubleStream.iterate(0, d -> d + 0.5).limit(10));
+
+        assertEquals(10, testVector.length());
+        assertEquals(4.5, testVector.getDouble(9));
+        assertArrayEquals(new double[]{0, 0.5, 1, 1.5}, testVector.doubleStream().limit(4).toArray());
+    }
+
+    @Test
+    @DisplayName("Slice vectors into views")
+    void sliceVectors() {
+        Vector<String> cities = getModelProvider().getVectorFactory().createVector("cities", "x", "Boston", "New York", "Philadelphia", "Baltimore");
+        Vector<String> citySlice = cities.slice(1, 3);
+        assertEquals(2, citySlice.length());
+        assertEquals("New York", citySlice.first());
+        assertEquals("Philadelphia", citySlice.last());
+        assertEquals("x", citySlice.getVariable());
+
+        ScalarVector listVector = getModelProvider().getVectorFactory().createScalarVector("numbers", 1, 2, 3, 4, 5, 6);
+        ScalarVector listSlice = listVector.slice(2, 5);
+        assertArrayEquals(new double[]{3, 4, 5}, listSlice.toDoubleArray());
+        assertEquals(4.0, listSlice.slice(1, 2).getDouble(0));
+
+        double[] data = {1, 2, 3, 4, 5, 6};
+        ScalarVector primitiveVector = getModelProvider().getVectorFactory().createScalarVector("numbers", "y", data);
+        ScalarVector primitiveSlice = primitiveVector.slice(1, 4);
+        assertEquals(3, primitiveSlice.length());
+        assertEquals("y", primitiveSlice.getVariable());
+        assertArrayEquals(new double[]{2, 3, 4}, primitiveSlice.doubleStream().toArray());
+        assertEquals(3.0, primitiveSlice.slice(1, 3).first().asDouble());
+        assertTrue(primitiveVector.slice(3, 3).isEmpty());
+
+        data[2] = 30;
+        assertEquals(30.0, primitiveSlice.getDouble(1));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> primitiveVector.slice(4, 7));
+        assertThrows(IndexOutOfBoundsException.class, () -> primitiveSlice.getDouble(3));
+    }
+
+    @Test
+    @DisplayName("Map a scalar vector from a file of little-endian doubles")
+    void mapScalarVector(@TempDir Path tempDir) throws IOException {
+        double[] testData = {1.73, 3.14, 2.78, 1.62, 1.414};
+        ByteBuffer buffer = ByteBuffer.allocate(testData.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asDoubleBuffer().put(testData);
+        Path file = tempDir.resolve("series.bin");
+        Files.write(file, buffer.array());
+
+        ScalarVector testVector = getModelProvider().getVectorFactory().mapScalarVector("series", "x", file);
+
+        assertEquals(testData.length, testVector.length());
+        assertEquals("x", testVector.getVariable());
+        assertEquals(3.14, testVector.getDouble(1));
+        assertEquals(1.414, testVector.get(4L).asDouble());
+        assertArrayEquals(testData, testVector.toDoubleArray());
+        assertArrayEquals(new double[]{2.78, 1.62}, testVector.slice(2, 4).doubleStream().toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> testVector.getDouble(5));
+
+        Path badFile = tempDir.resolve("bad.bin");
+        Files.write(badFile, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> getModelProvider().getVectorFactory().mapScalarVector("bad", badFile));
+    }
+
+    @Test
+    @DisplayName("Summary statistics are computed once and shared")
+    void summaryStats() {
+        ScalarVector listVector = getModelProvider().getVectorFactory().createScalarVector("numbers", 2, 4, 4, 4, 5, 5, 7, 9);
+        ScalarVector primitiveVector = getModelProvider().getVectorFactory().createScalarVector("numbers", listVector.toDoubleArray());
+
+        for (ScalarVector vector : List.of(listVector, primitiveVector)) {
+            SummaryStats stats = vector.getSummaryStats().orElseThrow();
+
+            assertEquals(8, stats.getCount());
+            assertEquals(40.0, stats.getSum());
+            assertEquals(232.0, stats.getSumOfSquares());
+            assertEquals(32.0, stats.getSumOfSquaredDeviations(), 1E-12);
+            assertEquals(40.0, stats.getSumOfSquaredDeviations(4.0), 1E-12);
+            assertEquals(2.0, stats.getMin());
+            assertEquals(9.0, stats.getMax());
+            assertEquals(5.0, stats.getMean());
+            assertEquals(32.0 / 7, stats.getVariance(), 1E-12);
+
+            List<SummaryStats> concurrent = IntStream.range(0, 16).parallel()
+                    .mapToObj(i -> vector.getSummaryStats().orElseThrow())
+                    .collect(Collectors.toList());
+            concurrent.forEach(other -> assertSame(stats, other));
+        }
+
+        assertEquals(3, listVector.slice(0, 3).getSummaryStats().orElseThrow().getCount());
+    }
 }
@@ -18,36 +18,182 @@ package io.xmljim.algorithms.model;
 
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Stream;
 
+/**
+ * Base implementation of {@link Parameterized}. Parameters are fixed at construction, at which
+ * point immutable hash indexes are built by name, by name and variable, by variable, and by
+ * variable and parameter type. The {@link Parameterized} lookups are served from those
+ * indexes rather than by streaming the parameter list through predicates. As with
+ * {@link Parameterized#find}, when more than one parameter matches a lookup, the first
+ * parameter in the list is returned.
+ */
 public class AbstractParameterized extends AbstractVariableEntity implements Parameterized {
     final List<Parameter<?>> parameterList;
 
+    private final Parameter<?>[] parameters;
+    private final Map<String, Parameter<?>> nameIndex;
+    private final Map<String, Map<String, Parameter<?>>> nameVariableIndex;
+    private final Map<String, Parameter<?>> variableIndex;
+    private final Map<String, Map<ParameterTypes, Parameter<?>>> variableTypeIndex;
+
     public AbstractParameterized(final String name, final List<Parameter<?>> parameterList) {
-        super(name);
-        this.parameterList = parameterList;
+        this(name, null, parameterList);
     }
 
     public AbstractParameterized(final String name, Parameter<?>... parameters) {
-        super(name);
-        this.parameterList = Arrays.stream(parameters).collect(Collectors.toList());
+        this(name, null, parameters);
     }
 
     public AbstractParameterized(final String name, final String variable, final List<Parameter<?>> parameterList) {
-        super(name, variable);
-        this.parameterList = parameterList;
+        this(name, variable, parameterList.toArray(Parameter<?>[]::new));
     }
 
     public AbstractParameterized(final String name, final String variable, Parameter<?>... parameters) {
         super(name, variable);
-        this.parameterList = Arrays.stream(parameters).collect(Collectors.toList());
+        this.parameters = parameters.clone();
+        this.parameterList = Collections.unmodifiableList(Arrays.asList(this.parameters));
+
+        Map<String, Parameter<?>> names = new HashMap<>();
+        Map<String, Map<String, Parameter<?>>> nameVariables = new HashMap<>();
+        Map<String, Parameter<?>> variables = new HashMap<>();
+        Map<String, Map<ParameterTypes, Parameter<?>>> variableTypes = new HashMap<>();
+
+        for (Parameter<?> parameter : this.parameters) {
+            names.putIfAbsent(parameter.getName(), parameter);
+            nameVariables.computeIfAbsent(parameter.getName(), key -> new HashMap<>()).putIfAbsent(parameter.getVariable(), parameter);
+            variables.putIfAbsent(parameter.getVariable(), parameter);
+            variableTypes.computeIfAbsent(parameter.getVariable(), key -> new EnumMap<>(ParameterTypes.class))
+                    .putIfAbsent(parameter.getParameterType(), parameter);
+        }
+
+        nameVariables.replaceAll((key, value) -> Collections.unmodifiableMap(value));
+        variableTypes.replaceAll((key, value) -> Collections.unmodifiableMap(value));
+
+        this.nameIndex = Collections.unmodifiableMap(names);
+        this.nameVariableIndex = Collections.unmodifiableMap(nameVariables);
+        this.variableIndex = Collections.unmodifiableMap(variables);
+        this.variableTypeIndex = Collections.unmodifiableMap(variableTypes);
     }
 
     @Override
     public Parameter<?> getParameter(final int index) {
-        return parameterList.get(index);
+        return parameters[index];
+    }
+
+    @Override
+    public Optional<Parameter<?>> getParameter(final String name) {
+        return Optional.ofNullable(nameIndex.get(name));
+    }
+
+    @Override
+    public Optional<Parameter<?>> getParameter(final String name, final String variable) {
+        return Optional.ofNullable(lookupParameter(name, variable));
+    }
+
+    @Override
+    public Optional<Parameter<?>> getParameter(final String name, final ParameterTypes parameterType) {
+        for (Parameter<?> parameter : parameters) {
+            if (Objects.equals(parameter.getName(), name) && parameter.getParameterType() == parameterType) {
+                return Optional.of(parameter);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Parameter<?>> getParameter(final String name, final String variable, final ParameterTypes parameterType) {
+        for (Parameter<?> parameter : parameters) {
+            if (Objects.equals(parameter.getName(), name) && Objects.equals(parameter.getVariable(), variable)
+                    && parameter.getParameterType() == parameterType) {
+                return Optional.of(parameter);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Parameter<?>> getParameterFromVariable(final String variable) {
+        return Optional.ofNullable(variableIndex.get(variable));
+    }
+
+    @Override
+    public Optional<Parameter<?>> getParameterFromVariable(final String variable, final ParameterTypes parameterType) {
+        Map<ParameterTypes, Parameter<?>> types = variableTypeIndex.get(variable);
+        return Optional.ofNullable(types == null ? null : types.get(parameterType));
+    }
+
+    @Override
+    public Optional<Parameter<?>> getParameterOfType(final ParameterTypes parameterType) {
+        for (Parameter<?> parameter : parameters) {
+            if (parameter.getParameterType() == parameterType) {
+                return Optional.of(parameter);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getValue(final String name) {
+        Parameter<?> parameter = nameIndex.get(name);
+        return parameter == null ? null : (T) parameter.getValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getValue(final String name, final String variable) {
+        Parameter<?> parameter = lookupParameter(name, variable);
+        return parameter == null ? null : (T) parameter.getValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getValueFromVariable(final String variable) {
+        Parameter<?> parameter = variableIndex.get(variable);
+        return parameter == null ? null : (T) parameter.getValue();
+    }
+
+    @Override
+    public boolean hasParameter(final String name) {
+        return nameIndex.containsKey(name);
+    }
+
+    @Override
+    public boolean hasParameter(final String name, final String variable) {
+        return lookupParameter(name, variable) != null;
+    }
+
+    @Override
+    public boolean hasParameter(final String name, final String variable, final ParameterTypes type) {
+        return getParameter(name, variable, type).isPresent();
+    }
+
+    /**
+     * Return a parameter by name without wrapping it in an {@link Optional}
+     * @param name the parameter name
+     * @return the first parameter with the given name, or {@code null} if there is none
+     */
+    protected Parameter<?> lookupParameter(final String name) {
+        return nameIndex.get(name);
+    }
+
+    /**
+     * Return a parameter by name and variable without wrapping it in an {@link Optional}
+     * @param name the parameter name
+     * @param variable the variable
+     * @return the first parameter with the given name and variable, or {@code null} if there is none
+     */
+    protected Parameter<?> lookupParameter(final String name, final String variable) {
+        Map<String, Parameter<?>> variables = nameVariableIndex.get(name);
+        return variables == null ? null : variables.get(variable);
     }
 
     @Override
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.xmljim.algorithms.model;
+
+/**
+ * A matrix whose values are stored in a single contiguous block of doubles, either
+ * a primitive array or a memory-mapped file. Rows and columns returned from a dense
+ * matrix are views over that storage rather than copies, and individual values are
+ * read by direct index.
+ */
+public interface DenseMatrix extends Matrix {
+
+    /**
+     * Return the storage order of the underlying array
+     * @return the matrix layout
+     */
+    MatrixLayout getLayout();
+
+    /**
+     * Return the primitive value at a given position
+     * @param row the row index
+     * @param column the column index
+     * @return the value
+     */
+    @Override
+    double getDouble(int row, int column);
+}
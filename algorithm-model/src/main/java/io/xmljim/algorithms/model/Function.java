@@ -16,6 +16,9 @@
 
 package io.xmljim.algorithms.model;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * A function represents a discrete computation that returns a
  * value. Functions can have 0 to <em>n</em> parameters that
@@ -29,4 +32,14 @@ public interface Function<T> extends Parameterized {
      * @return the function value
      */
     T compute();
+
+    /**
+     * Compute the function value asynchronously. Implementations may evaluate the functions this
+     * function depends on concurrently; the default runs {@link #compute()} as a single task
+     * @param executor the executor that runs the computation
+     * @return a future that completes with the function value
+     */
+    default CompletableFuture<T> computeAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(this::compute, executor);
+    }
 }
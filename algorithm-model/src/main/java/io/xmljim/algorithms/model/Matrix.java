@@ -28,6 +28,16 @@ public interface Matrix extends NamedEntity {
         return rowVector.get(column);
     }
 
+    /**
+     * Return the primitive value at a given position
+     * @param row the row index
+     * @param column the column index
+     * @return the value
+     */
+    default double getDouble(int row, int column) {
+        return get(row, column).asDouble();
+    }
+
     default Stream<Scalar> getRowStream(int row) {
         return getRow(row).stream();
     }
@@ -26,8 +26,9 @@ import java.util.stream.Stream;
  * and parameter type ({@link Parameter#getParameterType()}).
  * <p>
  *     Parameters and parameter values can be access using the {@link #find(Predicate)} method that uses predicates
- *     to locate the requested parameter, or using any of the {@code get*} methods, some of which use the {@code find}
- *     method.
+ *     to locate the requested parameter, or using any of the {@code get*} methods. The default {@code get*}
+ *     methods use the {@code find} method; implementations such as {@link AbstractParameterized} override them
+ *     with indexed lookups.
  * </p>
  */
 public interface Parameterized extends VariableEntity {
@@ -66,6 +67,49 @@ public interface Parameterized extends VariableEntity {
         return find(parameterVariable(variable));
     }
 
+    /**
+     * Return an optional parameter by name and parameter type
+     * @param name the parameter name
+     * @param parameterType the parameter type
+     * @return an optional parameter. If more than one parameter matches,
+     * then the first parameter found is returned
+     */
+    default Optional<Parameter<?>> getParameter(String name, ParameterTypes parameterType) {
+        return find(parameterNameAndType(name, parameterType));
+    }
+
+    /**
+     * Return an optional parameter by name, variable and parameter type
+     * @param name the parameter name
+     * @param variable the variable
+     * @param parameterType the parameter type
+     * @return an optional parameter. If more than one parameter matches,
+     * then the first parameter found is returned
+     */
+    default Optional<Parameter<?>> getParameter(String name, String variable, ParameterTypes parameterType) {
+        return find(parameterNameVariableType(name, variable, parameterType));
+    }
+
+    /**
+     * Return an optional parameter by variable and parameter type
+     * @param variable the variable
+     * @param parameterType the parameter type
+     * @return an optional parameter. If more than one parameter matches,
+     * then the first parameter found is returned
+     */
+    default Optional<Parameter<?>> getParameterFromVariable(String variable, ParameterTypes parameterType) {
+        return find(parameterVariableAndType(variable, parameterType));
+    }
+
+    /**
+     * Return the first parameter of a given parameter type
+     * @param parameterType the parameter type
+     * @return an optional parameter
+     */
+    default Optional<Parameter<?>> getParameterOfType(ParameterTypes parameterType) {
+        return find(parameterType(parameterType));
+    }
+
     /**
      * Return a parameter by index position
      * @param index the index
@@ -137,7 +181,7 @@ public interface Parameterized extends VariableEntity {
      * @return {@code true} if the parameter exists; {@code false} otherwise
      */
     default boolean hasParameter(String name) {
-        return find(parameterName(name)).isPresent();
+        return getParameter(name).isPresent();
     }
 
     /**
@@ -147,7 +191,7 @@ public interface Parameterized extends VariableEntity {
      * @return {@code true} if the parameter exists; {@code false} otherwise
      */
     default boolean hasParameter(String name, String variable) {
-        return find(parameterNameVariable(name, variable)).isPresent();
+        return getParameter(name, variable).isPresent();
     }
 
     /**
@@ -158,7 +202,7 @@ public interface Parameterized extends VariableEntity {
      * @return {@code true} if the parameter exists; {@code false} otherwise
      */
     default boolean hasParameter(String name, String variable, ParameterTypes type) {
-        return find(parameterNameVariableType(name, variable, type)).isPresent();
+        return getParameter(name, variable, type).isPresent();
     }
 
     /**
@@ -17,12 +17,28 @@
 package io.xmljim.algorithms.model;
 
 import io.xmljim.algorithms.model.util.Scalar;
+import io.xmljim.algorithms.model.util.SummaryStats;
+
+import java.util.Optional;
+import java.util.stream.DoubleStream;
 
 /**
  * A vector holding {@link Scalar values}
  */
 public interface ScalarVector extends Vector<Scalar> {
 
+    /**
+     * Return a view of a range of the vector. The view shares the vector's underlying
+     * storage, so creating it does not copy any values.
+     *
+     * @param fromIndex the starting position (inclusive)
+     * @param toIndex   the ending position (exclusive)
+     * @return a scalar vector view over the given range
+     * @throws IndexOutOfBoundsException if the range is outside the vector or {@code fromIndex > toIndex}
+     */
+    @Override
+    ScalarVector slice(int fromIndex, int toIndex);
+
     /**
      * Return an array of {@link Scalar} values
      * @return an array of Scalar values
@@ -32,10 +48,54 @@ public interface ScalarVector extends Vector<Scalar> {
     }
 
     /**
-     * Return an array of double values
+     * Return an array of double values. Implementations backed by a primitive array
+     * may return that array directly rather than a copy, so callers must treat
+     * the result as read-only.
      * @return an array of double values
      */
     default double[] toDoubleArray() {
         return stream().mapToDouble(Scalar::asDouble).toArray();
     }
+
+    /**
+     * Return the primitive value at a given position
+     * @param index the position within the vector
+     * @return the double value at the given position
+     */
+    default double getDouble(int index) {
+        return get(index).asDouble();
+    }
+
+    /**
+     * Copy a range of the vector's values into an array
+     * @param fromIndex the first position to copy
+     * @param target the array to copy into
+     * @param targetOffset the position in the target array of the first copied value
+     * @param length the number of values to copy
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     */
+    default void copyInto(int fromIndex, double[] target, int targetOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            target[targetOffset + i] = getDouble(fromIndex + i);
+        }
+    }
+
+    /**
+     * Return a primitive stream of the vector's values
+     * @return a stream of double values
+     */
+    default DoubleStream doubleStream() {
+        return stream().mapToDouble(Scalar::asDouble);
+    }
+
+    /**
+     * Return the vector's summary statistics, if the implementation supports them.
+     * Supporting implementations gather the statistics in a single pass the first time
+     * they are requested and return the same instance afterwards, so repeated statistics
+     * over the same vector do not rescan it.
+     * @return the summary statistics, or an empty Optional if the vector does not provide them
+     */
+    default Optional<SummaryStats> getSummaryStats() {
+        return Optional.empty();
+    }
 }
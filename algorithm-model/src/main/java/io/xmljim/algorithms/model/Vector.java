@@ -119,4 +119,15 @@ public interface Vector<T> extends VariableEntity, Iterable<T> {
     default Stream<T> splice(int startIndex, int length) {
         return IntStream.range(startIndex, startIndex + length).mapToObj(this::get);
     }
+
+    /**
+     * Return a view of a range of the vector. The view shares the vector's underlying
+     * storage, so creating it does not copy any values.
+     *
+     * @param fromIndex the starting position (inclusive)
+     * @param toIndex   the ending position (exclusive)
+     * @return a vector view over the given range
+     * @throws IndexOutOfBoundsException if the range is outside the vector or {@code fromIndex > toIndex}
+     */
+    Vector<T> slice(int fromIndex, int toIndex);
 }
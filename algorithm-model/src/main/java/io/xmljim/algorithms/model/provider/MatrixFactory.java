@@ -16,9 +16,13 @@
 
 package io.xmljim.algorithms.model.provider;
 
+import io.xmljim.algorithms.model.DenseMatrix;
 import io.xmljim.algorithms.model.Matrix;
+import io.xmljim.algorithms.model.MatrixLayout;
 import io.xmljim.algorithms.model.ScalarVector;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.stream.Stream;
 
 public interface MatrixFactory {
@@ -27,4 +31,47 @@ public interface MatrixFactory {
     Matrix createMatrix(ScalarVector... columns);
 
     Matrix createMatrix(Number[][] numberArray, String... columnHeaders);
+
+    /**
+     * Create a dense matrix over an existing primitive array. The array is not copied
+     * and must hold at least {@code rowCount * columnCount} values in the given layout
+     * @param data the matrix values
+     * @param rowCount the number of rows
+     * @param columnCount the number of columns
+     * @param layout the storage order of the data
+     * @param columnHeaders optional column names
+     * @return a new dense matrix
+     */
+    DenseMatrix createDenseMatrix(double[] data, int rowCount, int columnCount, MatrixLayout layout, String... columnHeaders);
+
+    /**
+     * Create a dense matrix by copying a two-dimensional array of rows
+     * @param rows the row values. Rows shorter than the widest row are padded with {@code NaN}
+     * @param layout the storage order to use
+     * @param columnHeaders optional column names
+     * @return a new dense matrix
+     */
+    DenseMatrix createDenseMatrix(double[][] rows, MatrixLayout layout, String... columnHeaders);
+
+    /**
+     * Create a column-major dense matrix by copying a set of column vectors. Column names
+     * are taken from the vector names. Columns shorter than the longest column are padded
+     * with {@code NaN}
+     * @param columns the column vectors
+     * @return a new dense matrix
+     */
+    DenseMatrix createDenseMatrix(ScalarVector... columns);
+
+    /**
+     * Create a dense matrix over a binary file of little-endian doubles stored in the given layout.
+     * The file is memory-mapped lazily as values are read, and rows and columns are views over
+     * the mapped file rather than copies.
+     * @param path the file to map
+     * @param columnCount the number of columns. The row count is derived from the file size
+     * @param layout the storage order of the file
+     * @param columnHeaders optional column names
+     * @return a new file-backed dense matrix
+     * @throws IOException if the file cannot be read, or its size is not a multiple of 8 bytes
+     */
+    DenseMatrix mapDenseMatrix(Path path, int columnCount, MatrixLayout layout, String... columnHeaders) throws IOException;
 }
@@ -20,8 +20,11 @@ import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.Vector;
 import io.xmljim.algorithms.model.util.Scalar;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.stream.DoubleStream;
 import java.util.stream.Stream;
 
 public interface VectorFactory {
@@ -69,4 +72,49 @@ public interface VectorFactory {
     default ScalarVector createScalarVector(String name, Number... numbers) {
         return createScalarVector(name, null, numbers);
     }
+
+    /**
+     * Create a scalar vector backed by a primitive array. The array is not copied;
+     * callers should not modify it after the vector has been created.
+     * @param name the vector name
+     * @param variable the vector variable
+     * @param values the vector values
+     * @return a new scalar vector
+     */
+    ScalarVector createScalarVector(String name, String variable, double[] values);
+
+    default ScalarVector createScalarVector(String name, double[] values) {
+        return createScalarVector(name, null, values);
+    }
+
+    /**
+     * Create a scalar vector backed by a primitive array collected from a stream
+     * @param name the vector name
+     * @param variable the vector variable
+     * @param stream the vector values
+     * @return a new scalar vector
+     */
+    default ScalarVector createScalarVector(String name, String variable, DoubleStream stream) {
+        return createScalarVector(name, variable, stream.toArray());
+    }
+
+    default ScalarVector createScalarVector(String name, DoubleStream stream) {
+        return createScalarVector(name, null, stream);
+    }
+
+    /**
+     * Create a scalar vector over a binary file of little-endian doubles. The file is
+     * memory-mapped lazily as values are read, so opening is immediate and values are
+     * never copied onto the heap (other than through {@link ScalarVector#toDoubleArray()}).
+     * @param name the vector name
+     * @param variable the vector variable
+     * @param path the file to map
+     * @return a new file-backed scalar vector
+     * @throws IOException if the file cannot be read, or its size is not a multiple of 8 bytes
+     */
+    ScalarVector mapScalarVector(String name, String variable, Path path) throws IOException;
+
+    default ScalarVector mapScalarVector(String name, Path path) throws IOException {
+        return mapScalarVector(name, null, path);
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.xmljim.algorithms.model.util;
+
+import io.xmljim.algorithms.model.ScalarVector;
+
+/**
+ * An immutable set of summary statistics for a vector, gathered in a single pass.
+ * The sum is accumulated with Kahan-Babuska (Neumaier) compensation, and the sum of squared
+ * deviations from the mean is accumulated with Welford's update, so that statistics derived
+ * from it (e.g., variance) do not suffer from the cancellation of the naive
+ * &Sigma;x<sup>2</sup> - (&Sigma;x)<sup>2</sup>/n form.
+ */
+public final class SummaryStats {
+    private final long count;
+    private final double sum;
+    private final double sumOfSquares;
+    private final double sumOfSquaredDeviations;
+    private final double min;
+    private final double max;
+
+    private SummaryStats(long count, double sum, double sumOfSquares, double sumOfSquaredDeviations, double min, double max) {
+        this.count = count;
+        this.sum = sum;
+        this.sumOfSquares = sumOfSquares;
+        this.sumOfSquaredDeviations = sumOfSquaredDeviations;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Gather summary statistics for a vector in a single pass
+     * @param vector the vector
+     * @return the summary statistics
+     */
+    public static SummaryStats of(ScalarVector vector) {
+        int length = vector.length();
+        double sum = 0;
+        double compensation = 0;
+        double sumOfSquares = 0;
+        double mean = 0;
+        double m2 = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < length; i++) {
+            double value = vector.getDouble(i);
+
+            double t = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            } else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+
+            sumOfSquares += value * value;
+
+            double delta = value - mean;
+            mean += delta / (i + 1);
+            m2 += delta * (value - mean);
+
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        return new SummaryStats(length, sum + compensation, sumOfSquares, m2, min, max);
+    }
+
+    /**
+     * Return the number of values
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Return the compensated sum of the values
+     * @return the sum
+     */
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Return the sum of the squared values, &Sigma;x<sup>2</sup>
+     * @return the sum of squares
+     */
+    public double getSumOfSquares() {
+        return sumOfSquares;
+    }
+
+    /**
+     * Return the sum of squared deviations from the mean, &Sigma;(x - x&#772;)<sup>2</sup>
+     * @return the sum of squared deviations
+     */
+    public double getSumOfSquaredDeviations() {
+        return sumOfSquaredDeviations;
+    }
+
+    /**
+     * Return the sum of squared deviations from an arbitrary center <em>c</em>,
+     * &Sigma;(x - c)<sup>2</sup> = &Sigma;(x - x&#772;)<sup>2</sup> + n(x&#772; - c)<sup>2</sup>
+     * @param center the center value
+     * @return the sum of squared deviations from the center
+     */
+    public double getSumOfSquaredDeviations(double center) {
+        double offset = getMean() - center;
+        return sumOfSquaredDeviations + count * offset * offset;
+    }
+
+    /**
+     * Return the minimum value, or {@code +Infinity} if there are no values
+     * @return the minimum
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Return the maximum value, or {@code -Infinity} if there are no values
+     * @return the maximum
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Return the arithmetic mean of the values
+     * @return the mean
+     */
+    public double getMean() {
+        return sum / count;
+    }
+
+    /**
+     * Return the sample variance of the values
+     * @return the variance
+     */
+    public double getVariance() {
+        return sumOfSquaredDeviations / (count - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "SummaryStats{" +
+                "count=" + count +
+                ", sum=" + sum +
+                ", sumOfSquares=" + sumOfSquares +
+                ", sumOfSquaredDeviations=" + sumOfSquaredDeviations +
+                ", min=" + min +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -25,6 +25,11 @@ cd ../statistics-functions-impl
 echo "Build statistics-functions-impl"
 mvn clean install > /dev/null
 
+# STATISTICS-FUNCTIONS-SIMD (JDK 17+)
+cd ../statistics-functions-simd
+echo "Build statistics-functions-simd"
+mvn clean install > /dev/null
+
 # FINANCIAL FUNCTIONS
 cd ../financial-functions
 echo "Build financial-functions"
@@ -23,15 +23,14 @@ import io.xmljim.algorithms.model.ScalarParameter;
 import io.xmljim.algorithms.model.util.Scalar;
 
 class AmortizeFunction extends AbstractScalarFunction {
-    private Scalar result;
-
     //final double balance, final double interest, PaymentFrequency frequency, final int durationYear, final double inflation, final double retirementSTartYear
 
     public AmortizeFunction(ScalarParameter balance, ScalarParameter interest, Parameter<PaymentFrequency> frequencyParameter, ScalarParameter duration) {
         super(FinancialFunctionTypes.AMORTIZE, balance, interest, frequencyParameter, duration);
     }
 
-    private Scalar getResult() {
+    @Override
+    protected Scalar evaluate() {
         double amount = getDouble(FinancialNameConstants.FIN_CURRENT_401K_BALANCE);
         double interest = getDouble(FinancialNameConstants.FIN_POST_RETIRE_INTEREST);
         PaymentFrequency frequency = getValue(FinancialNameConstants.FIN_DISTRIBUTION_FREQUENCY);
@@ -44,13 +43,4 @@ class AmortizeFunction extends AbstractScalarFunction {
 
         return Scalar.of(value);
     }
-
-    @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = getResult();
-        }
-
-        return result;
-    }
 }
@@ -25,7 +25,7 @@ import io.xmljim.algorithms.model.util.Scalar;
 import java.time.LocalDate;
 
 class ContributionBalanceFunction extends AbstractFunction<ContributionBalance> {
-    private ContributionBalance result;
+    private final ContributionBalance fromPreviousBalance;
 
     public ContributionBalanceFunction(ScalarParameter currentSalary, ScalarParameter colaPct, ScalarParameter currentRetirementBalance,
                                        ScalarParameter employeeContribution, ScalarParameter employerContribution, ScalarParameter weightedGrowth,
@@ -33,13 +33,14 @@ class ContributionBalanceFunction extends AbstractFunction<ContributionBalance>
 
         super(FinancialFunctionTypes.CONTRIBUTION_BALANCE_FUNCTION, currentSalary, colaPct, currentRetirementBalance,
                 employeeContribution, employerContribution, weightedGrowth, contributionFrequency, currentYear, endYear);
+        this.fromPreviousBalance = null;
 
     }
 
 
     public ContributionBalanceFunction(Parameter<ContributionBalance> contributionBalanceParameter, ScalarParameter forYear) {
         super(FinancialFunctionTypes.CONTRIBUTION_BALANCE_FUNCTION, contributionBalanceParameter, forYear);
-        this.result = computeFromPreviousBalance(contributionBalanceParameter.getValue(), forYear.getValue());
+        this.fromPreviousBalance = computeFromPreviousBalance(contributionBalanceParameter.getValue(), forYear.getValue());
     }
 
     private ContributionBalance createFromParameters() {
@@ -105,21 +106,16 @@ class ContributionBalanceFunction extends AbstractFunction<ContributionBalance>
     }
 
 
-    private ContributionBalance getResult() {
+    @Override
+    protected ContributionBalance evaluate() {
+        if (fromPreviousBalance != null) {
+            return fromPreviousBalance;
+        }
+
         ContributionBalance balance = createFromParameters();
         Scalar endYear = getValue(FinancialNameConstants.FIN_END_YEAR);
 
         return computeFromPreviousBalance(balance, endYear);
     }
 
-
-    @Override
-    public ContributionBalance compute() {
-        //only want to compute once
-        if (result == null) {
-            result = getResult();
-        }
-
-        return result;
-    }
 }
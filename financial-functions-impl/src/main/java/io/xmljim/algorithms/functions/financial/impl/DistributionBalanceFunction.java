@@ -23,8 +23,6 @@ import io.xmljim.algorithms.model.Parameter;
 import io.xmljim.algorithms.model.ScalarParameter;
 
 class DistributionBalanceFunction extends AbstractFunction<DistributionBalance> {
-    private DistributionBalance result;
-
     /**
      *
      * @param currentBalance
@@ -41,7 +39,8 @@ class DistributionBalanceFunction extends AbstractFunction<DistributionBalance>
         super(FinancialFunctionTypes.DISTRIBUTION_BALANCE_FUNCTION, currentBalance, amortizedValue, inflation, retirementInterest, retirementYear, currentYear, paymentFrequency);
     }
 
-    private DistributionBalance getResult() {
+    @Override
+    protected DistributionBalance evaluate() {
         double currentBalance = getDouble(FinancialNameConstants.FIN_CURRENT_401K_BALANCE);
         double annualizedBase = getDouble(FinancialNameConstants.FIN_ANNUAL_DISTRIBUTION);
         double inflation = getDouble(FinancialNameConstants.FIN_INFLATION_RATE);
@@ -70,13 +69,4 @@ class DistributionBalanceFunction extends AbstractFunction<DistributionBalance>
         return new DistributionBalanceImpl(currentYear, newBalance, interest, retirementInterestRate, realDistribution, inflation, frequency);
     }
 
-
-    @Override
-    public DistributionBalance compute() {
-        if (result == null) {
-            result = getResult();
-        }
-
-        return result;
-    }
 }
@@ -26,7 +26,7 @@ class WeightedGrowthFunction extends AbstractScalarFunction {
     }
 
     @Override
-    public Scalar compute() {
+    protected Scalar evaluate() {
         double stockRate = ((Scalar)getValue(FinancialNameConstants.FIN_STOCK_GROWTH_RATE)).asDouble();
         double treasuryYield = ((Scalar)getValue(FinancialNameConstants.FIN_TREASURY_YIELD)).asDouble();
         double investmentRatio = ((Scalar)getValue(FinancialNameConstants.FIN_INVESTMENT_RATIO)).asDouble();
@@ -19,11 +19,43 @@ package io.xmljim.algorithms.functions.common;
 import io.xmljim.algorithms.model.Function;
 import io.xmljim.algorithms.model.Parameter;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+/**
+ * Base class for functions. Subclasses implement {@link #evaluate()}; {@link #compute()} evaluates once and
+ * returns the same result from then on.
+ * <p>
+ *     The first caller installs a pending result with a compare-and-set and evaluates; callers that arrive while
+ *     it runs wait for that result instead of evaluating again, and callers after it read the completed result
+ *     without locking. A function shared by several threads, directly or as a node of a larger function graph, is
+ *     therefore evaluated exactly once and its result is safely published. If evaluation throws, the exception is
+ *     passed to every waiting caller and the function is left unevaluated, so a later call tries again.
+ * </p>
+ * <p>
+ *     Functions whose inputs can change after construction either call {@link #invalidate()} or return false
+ *     from {@link #isMemoized()}.
+ * </p>
+ * @param <T> the result type
+ */
 public abstract class AbstractFunction<T> extends ExtendedParameterized implements Function<T> {
+    private static final VarHandle RESULT;
+
+    static {
+        try {
+            RESULT = MethodHandles.lookup().findVarHandle(AbstractFunction.class, "result", CompletableFuture.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
     private FunctionType functionType;
+    @SuppressWarnings("unused")
+    private volatile CompletableFuture<T> result;
 
     public AbstractFunction(FunctionType functionType, final List<Parameter<?>> parameterList) {
         super(functionType.getName(), parameterList);
@@ -49,4 +81,88 @@ public abstract class AbstractFunction<T> extends ExtendedParameterized implemen
         return functionType;
     }
 
+    /**
+     * Compute the function value. The value is evaluated on the first call and reused after that
+     * @return the function value
+     */
+    @Override
+    public final T compute() {
+        if (!isMemoized()) {
+            return evaluate();
+        }
+
+        CompletableFuture<T> current = result;
+        if (current == null) {
+            CompletableFuture<T> pending = new CompletableFuture<>();
+            @SuppressWarnings("unchecked")
+            CompletableFuture<T> witness = (CompletableFuture<T>) RESULT.compareAndExchange(this, null, pending);
+            if (witness == null) {
+                try {
+                    pending.complete(evaluate());
+                } catch (RuntimeException | Error e) {
+                    RESULT.compareAndSet(this, pending, null);
+                    pending.completeExceptionally(e);
+                    throw e;
+                }
+            }
+            current = witness == null ? pending : witness;
+        }
+
+        try {
+            return current.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Compute the function value asynchronously. The functions this function depends on are scheduled with a
+     * {@link FunctionScheduler}, so independent branches run concurrently and shared functions run once
+     * @param executor the executor that runs each function
+     * @return a future that completes with the function value
+     */
+    @Override
+    public CompletableFuture<T> computeAsync(Executor executor) {
+        return FunctionScheduler.schedule(this, executor);
+    }
+
+    /**
+     * Evaluate the function value. Called by {@link #compute()}, once unless the function is invalidated or not
+     * memoized
+     * @return the function value
+     */
+    protected abstract T evaluate();
+
+    /**
+     * Return whether {@link #compute()} keeps the first result. Functions that read state which can change between
+     * calls override this to return false, and are evaluated on every call
+     * @return true if the result is kept
+     */
+    protected boolean isMemoized() {
+        return true;
+    }
+
+    /**
+     * Return whether the function value has been computed and is held for the next call to {@link #compute()}
+     * @return true if a computed value is held
+     */
+    public boolean isComputed() {
+        CompletableFuture<T> current = result;
+        return current != null && current.isDone() && !current.isCompletedExceptionally();
+    }
+
+    /**
+     * Discard the computed value, so the next call to {@link #compute()} evaluates again. An evaluation already
+     * running completes for the callers waiting on it, but its value is not kept
+     */
+    public void invalidate() {
+        result = null;
+    }
+
 }
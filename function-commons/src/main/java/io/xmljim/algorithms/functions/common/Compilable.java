@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.common;
+
+/**
+ * A function that can lower itself into an {@link EvaluationPlan}. Compilable functions produce a single
+ * double value
+ */
+public interface Compilable {
+
+    /**
+     * Emit the operations that compute this function. Dependencies are compiled through
+     * {@link PlanCompiler#slot(io.xmljim.algorithms.model.Function)} and read from the register it returns;
+     * vectors are read from {@link PlanCompiler#vector(io.xmljim.algorithms.model.ScalarVector)}
+     * @param compiler the plan compiler
+     * @return the register that holds this function's value
+     */
+    int compile(PlanCompiler compiler);
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.common;
+
+import io.xmljim.algorithms.model.ScalarVector;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, compiled form of a function graph (see {@link PlanCompiler}).
+ * <p>
+ *     A plan is a flat array of {@link Operation}s in dependency order. Each operation writes one double register,
+ *     and reads earlier registers and the input vectors, passed as primitive arrays. Executing a plan walks the
+ *     array once: no parameter lookups, no {@link io.xmljim.algorithms.model.util.Scalar} objects, and, with a
+ *     register array from {@link #newRegisters()} that is reused between executions, no allocation. The same plan
+ *     can therefore be executed many times against new data, e.g., in a parameter sweep, and by several threads
+ *     at once if each has its own registers.
+ * </p>
+ * <p>
+ *     Scalar parameters, such as a count or degrees of freedom, were fixed when the plan was compiled, so each
+ *     input must have the length of the vector it was compiled from. {@link #execute(double[][], double[])} rejects
+ *     inputs of any other length.
+ * </p>
+ */
+public final class EvaluationPlan {
+    private final Operation[] operations;
+    private final int[] targets;
+    private final double[] initialRegisters;
+    private final List<ScalarVector> inputs;
+    private final int[] inputLengths;
+    private final Map<String, Integer> outputs;
+
+    EvaluationPlan(Operation[] operations, int[] targets, double[] initialRegisters, List<ScalarVector> inputs, Map<String, Integer> outputs) {
+        this.operations = operations;
+        this.targets = targets;
+        this.initialRegisters = initialRegisters;
+        this.inputs = List.copyOf(inputs);
+        this.inputLengths = inputs.stream().mapToInt(ScalarVector::length).toArray();
+        this.outputs = Collections.unmodifiableMap(outputs);
+    }
+
+    /**
+     * Return the vectors the plan was compiled from, in input order
+     * @return the input vectors
+     */
+    public List<ScalarVector> getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Return the names of the plan outputs
+     * @return the output names, in the order they were compiled
+     */
+    public Set<String> getOutputNames() {
+        return outputs.keySet();
+    }
+
+    /**
+     * Return the register that holds an output
+     * @param name the output name
+     * @return the register
+     * @throws FunctionException thrown if the plan has no such output
+     */
+    public int getOutputSlot(String name) {
+        Integer slot = outputs.get(name);
+        if (slot == null) {
+            throw new FunctionException("Plan has no output named " + name);
+        }
+        return slot;
+    }
+
+    /**
+     * Return the number of operations
+     * @return the number of operations
+     */
+    public int getOperationCount() {
+        return operations.length;
+    }
+
+    /**
+     * Create a register array for this plan, with its constants loaded
+     * @return the registers
+     */
+    public double[] newRegisters() {
+        return initialRegisters.clone();
+    }
+
+    /**
+     * Copy the values of the vectors the plan was compiled from
+     * @return one array per input
+     */
+    public double[][] copyInputs() {
+        double[][] values = new double[inputs.size()][];
+        for (int i = 0; i < values.length; i++) {
+            ScalarVector vector = inputs.get(i);
+            values[i] = new double[vector.length()];
+            vector.copyInto(0, values[i], 0, vector.length());
+        }
+        return values;
+    }
+
+    /**
+     * Execute the plan into existing registers. Nothing is allocated
+     * @param vectors one array per input, in input order, each the length of the vector it replaces
+     * @param registers registers from {@link #newRegisters()}; reused between executions
+     * @throws FunctionException thrown if the number or lengths of the inputs, or the number of registers,
+     * do not match the plan
+     */
+    public void execute(double[][] vectors, double[] registers) {
+        if (vectors.length != inputLengths.length) {
+            throw new FunctionException("Plan expects " + inputLengths.length + " input vectors: " + vectors.length);
+        }
+        for (int i = 0; i < inputLengths.length; i++) {
+            if (vectors[i].length != inputLengths[i]) {
+                throw new FunctionException("Plan input " + i + " expects " + inputLengths[i] + " values: " + vectors[i].length);
+            }
+        }
+        if (registers.length != initialRegisters.length) {
+            throw new FunctionException("Plan expects " + initialRegisters.length + " registers: " + registers.length);
+        }
+
+        for (int i = 0; i < operations.length; i++) {
+            registers[targets[i]] = operations[i].apply(registers, vectors);
+        }
+    }
+
+    /**
+     * Execute the plan into new registers
+     * @param vectors one array per input, in input order, each the length of the vector it replaces
+     * @return the registers
+     * @throws FunctionException thrown if the number or lengths of the inputs do not match the plan
+     */
+    public double[] execute(double[][] vectors) {
+        double[] registers = newRegisters();
+        execute(vectors, registers);
+        return registers;
+    }
+
+    /**
+     * Read an output from executed registers
+     * @param registers the registers
+     * @param name the output name
+     * @return the output value
+     */
+    public double getOutput(double[] registers, String name) {
+        return registers[getOutputSlot(name)];
+    }
+}
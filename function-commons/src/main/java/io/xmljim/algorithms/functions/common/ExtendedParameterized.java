@@ -17,6 +17,7 @@
 package io.xmljim.algorithms.functions.common;
 
 import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.common.provider.ProviderRegistry;
 import io.xmljim.algorithms.model.AbstractParameterized;
 import io.xmljim.algorithms.model.Parameter;
 import io.xmljim.algorithms.model.ParameterTypes;
@@ -24,17 +25,9 @@ import io.xmljim.algorithms.model.ScalarFunction;
 import io.xmljim.algorithms.model.provider.ModelProvider;
 import io.xmljim.algorithms.model.util.Scalar;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.ServiceLoader;
-import java.util.concurrent.atomic.AtomicReference;
 
 public abstract class ExtendedParameterized extends AbstractParameterized {
-    private ModelProvider modelProvider;
-
-    private Map<String, FunctionProvider<?>> functionProviders = new HashMap<>();
-
     public ExtendedParameterized(final String name, final List<Parameter<?>> parameterList) {
         super(name, parameterList);
     }
@@ -59,11 +52,16 @@ public abstract class ExtendedParameterized extends AbstractParameterized {
      * @throws FunctionException thrown if the parameter does not exist, or cannot be cast to an integer
      */
     public int getInteger(String paramName) {
-        ParameterTypes parameterType = getParameterType(paramName).orElseThrow(() -> new FunctionException("No parameter with name " + paramName + " found"));
+        Parameter<?> parameter = lookupParameter(paramName);
+        if (parameter == null) {
+            throw new FunctionException("No parameter with name " + paramName + " found");
+        }
+
+        ParameterTypes parameterType = parameter.getParameterType();
         if (ParameterTypes.SCALAR.equals(parameterType)) {
-            return ((Scalar)getValue(paramName)).asInt();
+            return ((Scalar)parameter.getValue()).asInt();
         } else if (ParameterTypes.SCALAR_FUNCTION.equals(parameterType)) {
-            return ((ScalarFunction)getValue(paramName)).compute().asInt();
+            return ((ScalarFunction)parameter.getValue()).compute().asInt();
         } else {
             throw new FunctionException("Invalid parameter cast: cannot return an integer from a " + parameterType.name());
         }
@@ -77,42 +75,27 @@ public abstract class ExtendedParameterized extends AbstractParameterized {
      * @throws FunctionException thrown if the parameter does not exist, or cannot be cast to a double
      */
     public double getDouble(String paramName) {
-        ParameterTypes parameterType = getParameterType(paramName).orElseThrow(() -> new FunctionException("No parameter with name " + paramName + " found"));
+        Parameter<?> parameter = lookupParameter(paramName);
+        if (parameter == null) {
+            throw new FunctionException("No parameter with name " + paramName + " found");
+        }
+
+        ParameterTypes parameterType = parameter.getParameterType();
         if (ParameterTypes.SCALAR.equals(parameterType)) {
-            return ((Scalar)getValue(paramName)).asDouble();
+            return ((Scalar)parameter.getValue()).asDouble();
         } else if (ParameterTypes.SCALAR_FUNCTION.equals(parameterType)) {
-            return ((ScalarFunction)getValue(paramName)).compute().asDouble();
+            return ((ScalarFunction)parameter.getValue()).compute().asDouble();
         } else {
             throw new FunctionException("Invalid parameter cast: cannot return an integer from a " + parameterType.name());
         }
     }
 
     public ModelProvider getModelProvider() {
-        if (modelProvider == null) {
-            Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
-            modelProvider = modelProviders.iterator().next();
-        }
-
-        return modelProvider;
+        return ProviderRegistry.getInstance().getModelProvider();
     }
 
     public <T extends FunctionProvider<?>> T getFunctionProvider(String providerName) {
-        final AtomicReference<FunctionProvider<?>> functionProvider = new AtomicReference<>();
-
-        if (functionProviders.containsKey(providerName)) {
-            functionProvider.set(functionProviders.get(providerName));
-        } else {
-            Iterable<FunctionProvider> providers = ServiceLoader.load(FunctionProvider.class);
-
-            providers.forEach(fp -> {
-                if (fp.getProviderName().equals(providerName)) {
-                    functionProvider.set(fp);
-                    functionProviders.put(providerName, fp);
-                }
-            });
-        }
-
-        return (T) functionProvider.get();
+        return ProviderRegistry.getInstance().getFunctionProvider(providerName);
     }
 
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.common;
+
+import io.xmljim.algorithms.model.Function;
+import io.xmljim.algorithms.model.Parameter;
+import io.xmljim.algorithms.model.ParameterTypes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Evaluates a graph of functions on an executor, running independent branches concurrently.
+ * <p>
+ *     The graph is discovered from the {@link ParameterTypes#FUNCTION} and {@link ParameterTypes#SCALAR_FUNCTION}
+ *     parameters of each function. A function reached along several paths, such as the mean of x shared by the
+ *     variance, the covariance and the intercept of a regression, is scheduled once. Each function runs as its own
+ *     task as soon as every function it depends on has completed, so in a slope, the mean of x and the mean of y
+ *     run side by side, followed by the variance and covariance. Functions that are already computed are not
+ *     scheduled again, and neither is anything below them.
+ * </p>
+ * <p>
+ *     When a function finally runs it reads its inputs with {@link Function#compute()}, which returns the value
+ *     its dependency already holds (see {@link AbstractFunction}). Dependencies a function creates for itself while
+ *     it computes are not visible to the scheduler and run inside that function's task.
+ * </p>
+ */
+public final class FunctionScheduler {
+    private final Executor executor;
+    private final Map<Function<?>, CompletableFuture<?>> scheduled = new IdentityHashMap<>();
+    private final Set<Function<?>> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private FunctionScheduler(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Schedule a function and every function it depends on
+     * @param function the function
+     * @param executor the executor that runs each function
+     * @param <T> the function result type
+     * @return a future that completes with the function value
+     * @throws FunctionException thrown if the functions depend on each other in a cycle
+     */
+    public static <T> CompletableFuture<T> schedule(Function<T> function, Executor executor) {
+        return new FunctionScheduler(executor).visit(function);
+    }
+
+    /**
+     * Schedule several functions together. Functions they share are computed once
+     * @param functions the functions
+     * @param executor the executor that runs each function
+     * @return a future that completes when every function has been computed
+     * @throws FunctionException thrown if the functions depend on each other in a cycle
+     */
+    public static CompletableFuture<Void> scheduleAll(Collection<? extends Function<?>> functions, Executor executor) {
+        FunctionScheduler scheduler = new FunctionScheduler(executor);
+        CompletableFuture<?>[] futures = functions.stream().map(scheduler::visit).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Return the functions that a function takes as parameters
+     * @param function the function
+     * @return the functions it depends on, in parameter order
+     */
+    static List<Function<?>> dependencies(Function<?> function) {
+        List<Function<?>> dependencies = new ArrayList<>();
+        function.stream()
+                .filter(parameter -> parameter.getParameterType() == ParameterTypes.FUNCTION || parameter.getParameterType() == ParameterTypes.SCALAR_FUNCTION)
+                .map(Parameter::getValue)
+                .filter(value -> value instanceof Function)
+                .forEach(value -> dependencies.add((Function<?>) value));
+        return dependencies;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> visit(Function<T> function) {
+        CompletableFuture<?> existing = scheduled.get(function);
+        if (existing != null) {
+            return (CompletableFuture<T>) existing;
+        }
+
+        if (function instanceof AbstractFunction && ((AbstractFunction<T>) function).isComputed()) {
+            CompletableFuture<T> computed = CompletableFuture.completedFuture(function.compute());
+            scheduled.put(function, computed);
+            return computed;
+        }
+
+        if (!visiting.add(function)) {
+            throw new FunctionException("Cyclic dependency on function " + function.getName());
+        }
+
+        List<Function<?>> dependencies = dependencies(function);
+        CompletableFuture<?>[] inputs = new CompletableFuture<?>[dependencies.size()];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = visit(dependencies.get(i));
+        }
+        visiting.remove(function);
+
+        CompletableFuture<T> future = inputs.length == 0
+                ? CompletableFuture.supplyAsync(function::compute, executor)
+                : CompletableFuture.allOf(inputs).thenApplyAsync(ignored -> function.compute(), executor);
+        scheduled.put(function, future);
+        return future;
+    }
+}
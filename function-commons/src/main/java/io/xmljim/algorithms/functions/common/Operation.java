@@ -0,0 +1,34 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.common;
+
+/**
+ * One step of an {@link EvaluationPlan}. An operation reads the registers written by earlier steps and the
+ * input vectors, and returns the value the plan stores in its own register. Operations must not allocate
+ * or keep state between executions
+ */
+@FunctionalInterface
+public interface Operation {
+
+    /**
+     * Compute the value of this step
+     * @param registers the registers
+     * @param vectors the input vectors, in plan input order
+     * @return the value
+     */
+    double apply(double[] registers, double[][] vectors);
+}
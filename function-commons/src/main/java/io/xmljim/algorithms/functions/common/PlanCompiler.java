@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.common;
+
+import io.xmljim.algorithms.model.Function;
+import io.xmljim.algorithms.model.ScalarVector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles a graph of {@link Compilable} functions into an {@link EvaluationPlan}.
+ * <p>
+ *     The graph is walked once, depth first. Each distinct function object is compiled once and gets one register;
+ *     its operation is appended after the operations of the functions it reads, so the operations come out in
+ *     topological order. Each distinct vector object becomes one plan input. Scalar parameters are copied into the
+ *     operations as constants.
+ * </p>
+ */
+public final class PlanCompiler {
+    private final Map<Function<?>, Integer> slots = new IdentityHashMap<>();
+    private final Set<Function<?>> compiling = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<ScalarVector, Integer> vectors = new IdentityHashMap<>();
+    private final List<ScalarVector> inputs = new ArrayList<>();
+    private final List<Operation> operations = new ArrayList<>();
+    private final List<Integer> targets = new ArrayList<>();
+    private final Map<Integer, Double> constants = new LinkedHashMap<>();
+    private int registerCount;
+
+    private PlanCompiler() {
+
+    }
+
+    /**
+     * Compile a function. Its value is the plan output named after the function
+     * @param function the function
+     * @return the plan
+     * @throws FunctionException thrown if the function or one it depends on is not {@link Compilable}
+     */
+    public static EvaluationPlan compile(Function<?> function) {
+        Map<String, Function<?>> outputs = new LinkedHashMap<>();
+        outputs.put(function.getName(), function);
+        return compile(outputs);
+    }
+
+    /**
+     * Compile several functions into one plan. Functions they share are computed once per execution
+     * @param outputs the functions, by output name
+     * @return the plan
+     * @throws FunctionException thrown if a function or one it depends on is not {@link Compilable}
+     */
+    public static EvaluationPlan compile(Map<String, ? extends Function<?>> outputs) {
+        PlanCompiler compiler = new PlanCompiler();
+        Map<String, Integer> outputSlots = new LinkedHashMap<>();
+        outputs.forEach((name, function) -> outputSlots.put(name, compiler.slot(function)));
+
+        double[] initialRegisters = new double[compiler.registerCount];
+        compiler.constants.forEach((slot, value) -> initialRegisters[slot] = value);
+
+        int[] targets = compiler.targets.stream().mapToInt(Integer::intValue).toArray();
+        return new EvaluationPlan(compiler.operations.toArray(new Operation[0]), targets, initialRegisters, compiler.inputs, outputSlots);
+    }
+
+    /**
+     * Return the register that holds a function's value, compiling the function if it has not been compiled yet
+     * @param function the function
+     * @return the register
+     * @throws FunctionException thrown if the function is not {@link Compilable}, or depends on itself
+     */
+    public int slot(Function<?> function) {
+        Integer slot = slots.get(function);
+        if (slot != null) {
+            return slot;
+        }
+
+        if (!(function instanceof Compilable)) {
+            throw new FunctionException("Function " + function.getName() + " (" + function.getClass().getSimpleName() + ") cannot be compiled");
+        }
+
+        if (!compiling.add(function)) {
+            throw new FunctionException("Cyclic dependency on function " + function.getName());
+        }
+
+        slot = ((Compilable) function).compile(this);
+        compiling.remove(function);
+        slots.put(function, slot);
+        return slot;
+    }
+
+    /**
+     * Return the plan input that a vector is read from
+     * @param vector the vector
+     * @return the index of the input
+     */
+    public int vector(ScalarVector vector) {
+        return vectors.computeIfAbsent(vector, v -> {
+            inputs.add(v);
+            return inputs.size() - 1;
+        });
+    }
+
+    /**
+     * Return a register that holds a constant value
+     * @param value the value
+     * @return the register
+     */
+    public int constant(double value) {
+        constants.put(registerCount, value);
+        return registerCount++;
+    }
+
+    /**
+     * Append an operation to the plan
+     * @param operation the operation
+     * @return the register that receives its value
+     */
+    public int emit(Operation operation) {
+        operations.add(operation);
+        targets.add(registerCount);
+        return registerCount++;
+    }
+}
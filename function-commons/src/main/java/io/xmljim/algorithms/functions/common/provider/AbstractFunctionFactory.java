@@ -16,27 +16,14 @@
 
 package io.xmljim.algorithms.functions.common.provider;
 
-import io.xmljim.algorithms.functions.common.FunctionException;
 import io.xmljim.algorithms.model.provider.ModelProvider;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.ServiceLoader;
-import java.util.concurrent.atomic.AtomicReference;
-
 public abstract class AbstractFunctionFactory implements FunctionFactory {
 
-    private ModelProvider modelProvider;
-    private Map<String, FunctionProvider<?>> functionProviders = new HashMap<>();
+    private final ModelProvider modelProvider;
 
     public AbstractFunctionFactory() {
-        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
-        try {
-            modelProvider = modelProviders.iterator().next();
-        } catch (NoSuchElementException nse) {
-            throw new FunctionException("No Model Provider Found");
-        }
+        modelProvider = ProviderRegistry.getInstance().getModelProvider();
     }
 
     @Override
@@ -45,21 +32,6 @@ public abstract class AbstractFunctionFactory implements FunctionFactory {
     }
 
     public <T extends FunctionProvider<?>> T getFunctionProvider(String providerName) {
-        final AtomicReference<FunctionProvider<?>> functionProvider = new AtomicReference<>();
-
-        if (functionProviders.containsKey(providerName)) {
-            functionProvider.set(functionProviders.get(providerName));
-        } else {
-            Iterable<FunctionProvider> providers = ServiceLoader.load(FunctionProvider.class);
-
-            providers.forEach(fp -> {
-                if (fp.getProviderName().equals(providerName)) {
-                    functionProvider.set(fp);
-                    functionProviders.put(providerName, fp);
-                }
-            });
-        }
-
-        return (T) functionProvider.get();
+        return ProviderRegistry.getInstance().getFunctionProvider(providerName);
     }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.common.provider;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Shared, thread-safe registry of {@link ModelProvider} and {@link FunctionProvider} instances.
+ * <p>
+ *     Providers are discovered with {@link ServiceLoader} at most once per class loader, the first
+ *     time they are requested; after that every lookup is a map read. Functions, models and factories
+ *     all resolve their providers from the same registry, so creating them never scans the classpath.
+ * </p>
+ * <p>
+ *     Providers can also be registered directly (for example, from a Spring configuration). A registered
+ *     provider takes precedence over one discovered under the same name.
+ * </p>
+ * <p>
+ *     Every provider is kept, including several versions published under the same name, so callers that need
+ *     a particular version can choose from {@link #getFunctionProviders()}.
+ * </p>
+ */
+public final class ProviderRegistry {
+    private static final Map<ClassLoader, ProviderRegistry> registries = new ConcurrentHashMap<>();
+
+    private final ClassLoader classLoader;
+    private final Object modelProviderLock = new Object();
+    private final Object functionProviderLock = new Object();
+    private final Map<String, List<FunctionProvider<?>>> functionProviders = new ConcurrentHashMap<>();
+
+    private volatile ModelProvider modelProvider;
+    private volatile boolean functionProvidersLoaded;
+
+    private ProviderRegistry(final ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Return the registry for the class loader that loaded the function commons library
+     * @return the default registry
+     */
+    public static ProviderRegistry getInstance() {
+        return DefaultRegistryHolder.INSTANCE;
+    }
+
+    /**
+     * Return the registry for a given class loader, creating it if necessary
+     * @param classLoader the class loader used to discover providers
+     * @return the registry for the class loader
+     */
+    public static ProviderRegistry forClassLoader(final ClassLoader classLoader) {
+        Objects.requireNonNull(classLoader, "classLoader");
+        return registries.computeIfAbsent(classLoader, ProviderRegistry::new);
+    }
+
+    /**
+     * Discard the registry for a class loader, e.g., when an application is undeployed.
+     * Registries otherwise live as long as the application
+     * @param classLoader the class loader
+     */
+    public static void release(final ClassLoader classLoader) {
+        registries.remove(classLoader);
+    }
+
+    /**
+     * Return the model provider, discovering it on first use if one has not been registered
+     * @return the model provider
+     * @throws FunctionException thrown if no model provider is registered or can be found
+     */
+    public ModelProvider getModelProvider() {
+        ModelProvider provider = modelProvider;
+
+        if (provider == null) {
+            synchronized (modelProviderLock) {
+                provider = modelProvider;
+                if (provider == null) {
+                    Iterator<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class, classLoader).iterator();
+                    if (!modelProviders.hasNext()) {
+                        throw new FunctionException("No Model Provider Found");
+                    }
+                    provider = modelProviders.next();
+                    modelProvider = provider;
+                }
+            }
+        }
+
+        return provider;
+    }
+
+    /**
+     * Register the model provider to use, replacing any existing one
+     * @param modelProvider the model provider
+     */
+    public void registerModelProvider(final ModelProvider modelProvider) {
+        synchronized (modelProviderLock) {
+            this.modelProvider = Objects.requireNonNull(modelProvider, "modelProvider");
+        }
+    }
+
+    /**
+     * Return a function provider by name. If several providers have the name, the most recently registered
+     * one is returned, or else the first one discovered
+     * @param providerName the provider name (see {@link FunctionProvider#getProviderName()})
+     * @param <T> the function provider type
+     * @return the function provider, or {@code null} if no provider has the given name
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends FunctionProvider<?>> T getFunctionProvider(final String providerName) {
+        loadFunctionProviders();
+        List<FunctionProvider<?>> providers = functionProviders.get(providerName);
+        return providers == null || providers.isEmpty() ? null : (T) providers.get(0);
+    }
+
+    /**
+     * Return all registered and discovered function providers. Providers with the same name are returned
+     * in precedence order
+     * @return an unmodifiable collection of function providers
+     */
+    public Collection<FunctionProvider<?>> getFunctionProviders() {
+        loadFunctionProviders();
+        List<FunctionProvider<?>> providers = new ArrayList<>();
+        functionProviders.values().forEach(providers::addAll);
+        return Collections.unmodifiableCollection(providers);
+    }
+
+    /**
+     * Register a function provider. It takes precedence over existing providers with the same name,
+     * which remain available from {@link #getFunctionProviders()}
+     * @param functionProvider the function provider
+     */
+    public void registerFunctionProvider(final FunctionProvider<?> functionProvider) {
+        Objects.requireNonNull(functionProvider, "functionProvider");
+        synchronized (functionProviderLock) {
+            providersNamed(functionProvider.getProviderName()).add(0, functionProvider);
+        }
+    }
+
+    private void loadFunctionProviders() {
+        if (!functionProvidersLoaded) {
+            synchronized (functionProviderLock) {
+                if (!functionProvidersLoaded) {
+                    for (FunctionProvider<?> provider : ServiceLoader.load(FunctionProvider.class, classLoader)) {
+                        providersNamed(provider.getProviderName()).add(provider);
+                    }
+                    functionProvidersLoaded = true;
+                }
+            }
+        }
+    }
+
+    private List<FunctionProvider<?>> providersNamed(final String providerName) {
+        return functionProviders.computeIfAbsent(providerName, name -> new CopyOnWriteArrayList<>());
+    }
+
+    private static final class DefaultRegistryHolder {
+        private static final ProviderRegistry INSTANCE = forClassLoader(defaultClassLoader());
+
+        private static ClassLoader defaultClassLoader() {
+            ClassLoader classLoader = ProviderRegistry.class.getClassLoader();
+            return classLoader != null ? classLoader : ClassLoader.getSystemClassLoader();
+        }
+    }
+}
@@ -4,6 +4,15 @@ import io.xmljim.algorithms.functions.common.test.TestFunction;
 import io.xmljim.algorithms.functions.common.test.TestFunctionType;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AbstractFunctionTest {
@@ -15,4 +24,85 @@ class AbstractFunctionTest {
         String value = function.compute();
         assertEquals("TEST", value);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testComputedOnce() {
+        CountingFunction function = new CountingFunction();
+        assertFalse(function.isComputed());
+
+        assertEquals(1, function.compute());
+        assertEquals(1, function.compute());
+        assertTrue(function.isComputed());
+        assertEquals(1, function.evaluations.get());
+    }
+
+    @Test
+    void testInvalidate() {
+        CountingFunction function = new CountingFunction();
+        function.compute();
+        function.invalidate();
+        assertFalse(function.isComputed());
+
+        assertEquals(2, function.compute());
+        assertEquals(2, function.evaluations.get());
+    }
+
+    @Test
+    void testFailedEvaluationIsRetried() {
+        CountingFunction function = new CountingFunction();
+        function.failures.set(1);
+
+        assertThrows(IllegalStateException.class, function::compute);
+        assertFalse(function.isComputed());
+        assertEquals(2, function.compute());
+    }
+
+    @Test
+    void testConcurrentCallersShareOneEvaluation() throws Exception {
+        CountingFunction function = new CountingFunction();
+        function.gate = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(function::compute));
+            }
+            function.gate.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, function.evaluations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static class CountingFunction extends AbstractFunction<Integer> {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        volatile CountDownLatch gate;
+
+        CountingFunction() {
+            super(new TestFunctionType());
+        }
+
+        @Override
+        protected Integer evaluate() {
+            int evaluation = evaluations.incrementAndGet();
+            if (gate != null) {
+                try {
+                    gate.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("failed evaluation " + evaluation);
+            }
+            return evaluation;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package io.xmljim.algorithms.functions.common;
+
+import io.xmljim.algorithms.functions.common.test.TestFunctionType;
+import io.xmljim.algorithms.model.Function;
+import io.xmljim.algorithms.model.FunctionParameter;
+import io.xmljim.algorithms.model.ParameterTypes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FunctionSchedulerTest {
+    ExecutorService executor;
+
+    @BeforeEach
+    void createExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testIndependentBranchesRunConcurrently() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        NodeFunction shared = new NodeFunction(null);
+        NodeFunction left = new NodeFunction(barrier, parameter(shared));
+        NodeFunction right = new NodeFunction(barrier, parameter(shared));
+        NodeFunction root = new NodeFunction(null, parameter(left), parameter(right));
+
+        // left and right each wait for the other at the barrier, so this only completes if they overlap
+        assertEquals(5, root.computeAsync(executor).get(10, TimeUnit.SECONDS));
+        assertEquals(1, shared.evaluations.get());
+        assertEquals(1, left.evaluations.get());
+        assertEquals(1, right.evaluations.get());
+        assertEquals(1, root.evaluations.get());
+    }
+
+    @Test
+    void testComputedFunctionsAreNotScheduled() throws Exception {
+        NodeFunction leaf = new NodeFunction(null);
+        NodeFunction middle = new NodeFunction(null, parameter(leaf));
+        NodeFunction root = new NodeFunction(null, parameter(middle), parameter(leaf));
+        middle.compute();
+
+        assertEquals(4, root.computeAsync(executor).get(10, TimeUnit.SECONDS));
+        assertEquals(1, leaf.evaluations.get());
+        assertEquals(1, middle.evaluations.get());
+    }
+
+    @Test
+    void testScheduleAllSharesFunctions() throws Exception {
+        NodeFunction leaf = new NodeFunction(null);
+        NodeFunction first = new NodeFunction(null, parameter(leaf));
+        NodeFunction second = new NodeFunction(null, parameter(leaf));
+
+        FunctionScheduler.scheduleAll(List.of(first, second), executor).get(10, TimeUnit.SECONDS);
+        assertTrue(first.isComputed());
+        assertTrue(second.isComputed());
+        assertEquals(1, leaf.evaluations.get());
+    }
+
+    @Test
+    void testFailurePropagates() {
+        NodeFunction failing = new NodeFunction(null);
+        failing.failure = new IllegalStateException("no data");
+        NodeFunction root = new NodeFunction(null, parameter(failing));
+
+        CompletableFuture<Integer> result = root.computeAsync(executor);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        assertEquals(0, root.evaluations.get());
+    }
+
+    @Test
+    void testCycleIsRejected() {
+        LateParameter back = new LateParameter();
+        NodeFunction first = new NodeFunction(null, back);
+        NodeFunction second = new NodeFunction(null, parameter(first));
+        back.function = second;
+
+        assertThrows(FunctionException.class, () -> first.computeAsync(executor));
+    }
+
+    private static FunctionParameter<Integer> parameter(Function<Integer> function) {
+        LateParameter parameter = new LateParameter();
+        parameter.function = function;
+        return parameter;
+    }
+
+    static class LateParameter implements FunctionParameter<Integer> {
+        Function<Integer> function;
+
+        @Override
+        public Function<Integer> getValue() {
+            return function;
+        }
+
+        @Override
+        public ParameterTypes getParameterType() {
+            return ParameterTypes.FUNCTION;
+        }
+
+        @Override
+        public String getVariable() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return "dependency";
+        }
+    }
+
+    static class NodeFunction extends AbstractFunction<Integer> {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final CyclicBarrier barrier;
+        volatile RuntimeException failure;
+
+        NodeFunction(CyclicBarrier barrier, FunctionParameter<?>... dependencies) {
+            super(new TestFunctionType(), dependencies);
+            this.barrier = barrier;
+        }
+
+        @Override
+        protected Integer evaluate() {
+            if (failure != null) {
+                throw failure;
+            }
+
+            evaluations.incrementAndGet();
+            if (barrier != null) {
+                try {
+                    barrier.await(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Branches did not run concurrently", e);
+                }
+            }
+
+            int value = 1;
+            for (Function<?> dependency : FunctionScheduler.dependencies(this)) {
+                value += (Integer) dependency.compute();
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package io.xmljim.algorithms.functions.common;
+
+import io.xmljim.algorithms.functions.common.test.TestFunctionType;
+import io.xmljim.algorithms.model.Function;
+import io.xmljim.algorithms.model.FunctionParameter;
+import io.xmljim.algorithms.model.ParameterTypes;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanCompilerTest {
+
+    @Test
+    void testPlanMatchesCompute() {
+        SumNode a = new SumNode(2.0);
+        SumNode b = new SumNode(3.0);
+        SumNode sum = new SumNode(0.5, parameter(a), parameter(b));
+        SumNode total = new SumNode(1.0, parameter(sum), parameter(sum));
+
+        EvaluationPlan plan = PlanCompiler.compile(total);
+        double[] registers = plan.execute(new double[0][]);
+
+        assertEquals(total.compute(), plan.getOutput(registers, total.getName()), 0.0);
+        assertEquals(List.of(total.getName()), List.copyOf(plan.getOutputNames()));
+        assertTrue(plan.getInputs().isEmpty());
+    }
+
+    @Test
+    void testSharedFunctionsCompileOnce() {
+        SumNode leaf = new SumNode(1.0);
+        SumNode left = new SumNode(0.0, parameter(leaf));
+        SumNode right = new SumNode(0.0, parameter(leaf));
+        Map<String, Function<?>> outputs = new LinkedHashMap<>();
+        outputs.put("left", left);
+        outputs.put("right", right);
+        outputs.put("leaf", leaf);
+
+        EvaluationPlan plan = PlanCompiler.compile(outputs);
+
+        assertEquals(1, leaf.compilations);
+        assertEquals(3, plan.getOperationCount());
+        double[] registers = plan.execute(new double[0][]);
+        assertEquals(1.0, plan.getOutput(registers, "left"), 0.0);
+        assertEquals(1.0, plan.getOutput(registers, "right"), 0.0);
+        assertEquals(plan.getOutputSlot("leaf"), plan.getOutputSlot("leaf"));
+    }
+
+    @Test
+    void testRegistersAreReused() {
+        SumNode root = new SumNode(4.0, parameter(new SumNode(5.0)));
+        EvaluationPlan plan = PlanCompiler.compile(root);
+        double[] registers = plan.newRegisters();
+
+        plan.execute(new double[0][], registers);
+        plan.execute(new double[0][], registers);
+
+        assertEquals(9.0, plan.getOutput(registers, root.getName()), 0.0);
+        assertThrows(FunctionException.class, () -> plan.execute(new double[0][], new double[registers.length + 1]));
+        assertThrows(FunctionException.class, () -> plan.execute(new double[1][], registers));
+        assertThrows(FunctionException.class, () -> plan.getOutputSlot("missing"));
+    }
+
+    @Test
+    void testFunctionsMustBeCompilable() {
+        AbstractFunction<Double> opaque = new AbstractFunction<>(new TestFunctionType()) {
+            @Override
+            protected Double evaluate() {
+                return 1.0;
+            }
+        };
+        SumNode root = new SumNode(1.0, parameter(opaque));
+
+        assertThrows(FunctionException.class, () -> PlanCompiler.compile(root));
+    }
+
+    @Test
+    void testCycleIsRejected() {
+        NodeParameter back = new NodeParameter();
+        SumNode first = new SumNode(0.0, back);
+        SumNode second = new SumNode(0.0, parameter(first));
+        back.function = second;
+
+        assertThrows(FunctionException.class, () -> PlanCompiler.compile(first));
+    }
+
+    private static FunctionParameter<Double> parameter(Function<Double> function) {
+        NodeParameter parameter = new NodeParameter();
+        parameter.function = function;
+        return parameter;
+    }
+
+    static class NodeParameter implements FunctionParameter<Double> {
+        Function<Double> function;
+
+        @Override
+        public Function<Double> getValue() {
+            return function;
+        }
+
+        @Override
+        public ParameterTypes getParameterType() {
+            return ParameterTypes.FUNCTION;
+        }
+
+        @Override
+        public String getVariable() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return "dependency";
+        }
+    }
+
+    /**
+     * A constant plus the values of the functions it depends on
+     */
+    static class SumNode extends AbstractFunction<Double> implements Compilable {
+        final double constant;
+        int compilations;
+
+        SumNode(double constant, FunctionParameter<?>... dependencies) {
+            super(new TestFunctionType(), dependencies);
+            this.constant = constant;
+        }
+
+        @Override
+        protected Double evaluate() {
+            double value = constant;
+            for (Function<?> dependency : FunctionScheduler.dependencies(this)) {
+                value += (Double) dependency.compute();
+            }
+            return value;
+        }
+
+        @Override
+        public int compile(PlanCompiler compiler) {
+            compilations++;
+            List<Function<?>> dependencies = FunctionScheduler.dependencies(this);
+            int[] slots = new int[dependencies.size()];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = compiler.slot(dependencies.get(i));
+            }
+
+            int constantSlot = compiler.constant(constant);
+            return compiler.emit((registers, vectors) -> {
+                double value = registers[constantSlot];
+                for (int slot : slots) {
+                    value += registers[slot];
+                }
+                return value;
+            });
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.xmljim.algorithms.functions.common.provider;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.test.TestFunctionProvider;
+import io.xmljim.algorithms.model.util.Version;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProviderRegistryTest {
+
+    @Test
+    @DisplayName("Discovered providers are resolved once and shared")
+    void testDiscoveredFunctionProvider() {
+        ProviderRegistry registry = ProviderRegistry.getInstance();
+        FunctionProvider<?> provider = registry.getFunctionProvider("TEST");
+
+        assertNotNull(provider);
+        assertTrue(provider instanceof TestFunctionProvider);
+        assertSame(provider, registry.getFunctionProvider("TEST"));
+        assertNull(registry.getFunctionProvider("NONE"));
+        assertSame(registry, ProviderRegistry.getInstance());
+    }
+
+    @Test
+    @DisplayName("Registered providers take precedence over discovered providers")
+    void testRegisteredFunctionProvider() {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        ProviderRegistry registry = ProviderRegistry.forClassLoader(classLoader);
+
+        try {
+            TestFunctionProvider registered = new TestFunctionProvider() {
+                @Override
+                public Version getProviderVersion() {
+                    return new Version("2.0.0");
+                }
+            };
+
+            registry.registerFunctionProvider(registered);
+
+            assertSame(registered, registry.getFunctionProvider("TEST"));
+            assertEquals(2, registry.getFunctionProviders().size());
+            assertSame(registered, registry.getFunctionProviders().iterator().next());
+            assertNotSame(registered, ProviderRegistry.getInstance().getFunctionProvider("TEST"));
+            assertSame(registry, ProviderRegistry.forClassLoader(classLoader));
+        } finally {
+            ProviderRegistry.release(classLoader);
+        }
+    }
+
+    @Test
+    @DisplayName("Every provider published under a name is available for version selection")
+    void testProvidersWithTheSameName() {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        ProviderRegistry registry = ProviderRegistry.forClassLoader(classLoader);
+
+        try {
+            FunctionProvider<?> discovered = registry.getFunctionProvider("TEST");
+            TestFunctionProvider registered = new TestFunctionProvider() {
+                @Override
+                public Version getProviderVersion() {
+                    return new Version("2.0.0");
+                }
+            };
+            registry.registerFunctionProvider(registered);
+
+            Version required = new Version("1.0.0");
+            assertSame(registered, registry.getFunctionProvider("TEST"));
+            assertEquals(List.of(discovered), registry.getFunctionProviders().stream()
+                    .filter(provider -> required.isCompatibleWith(provider.getProviderVersion()))
+                    .collect(Collectors.toList()));
+        } finally {
+            ProviderRegistry.release(classLoader);
+        }
+    }
+
+    @Test
+    @DisplayName("Missing model provider raises a FunctionException")
+    void testMissingModelProvider() {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+
+        try {
+            assertThrows(FunctionException.class, () -> ProviderRegistry.forClassLoader(classLoader).getModelProvider());
+        } finally {
+            ProviderRegistry.release(classLoader);
+        }
+    }
+}
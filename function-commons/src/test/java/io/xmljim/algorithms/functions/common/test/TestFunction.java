@@ -24,7 +24,7 @@ public class TestFunction extends AbstractFunction<String> {
     }
 
     @Override
-    public String compute() {
+    protected String evaluate() {
         TestFunctionProvider provider = getFunctionProvider("TEST");
 
         return provider.getProviderName();
@@ -1,6 +1,8 @@
 package io.xmljim.algorithms.service.retirement;
 
+import io.xmljim.algorithms.functions.common.FunctionException;
 import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.common.provider.ProviderRegistry;
 import io.xmljim.algorithms.functions.financial.provider.FinancialProvider;
 import io.xmljim.algorithms.model.provider.ModelProvider;
 import io.xmljim.algorithms.model.util.Version;
@@ -12,7 +14,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.ServiceLoader;
 import java.util.concurrent.atomic.AtomicReference;
 
 @Configuration
@@ -27,7 +28,7 @@ public class Config {
     @Bean
     FinancialProvider financialProvider() {
         log.info("Required: [name: {}, version: {}]", financialProviderName, financialProviderVersion);
-        Iterable<FunctionProvider> functionProviderIterator = ServiceLoader.load(FunctionProvider.class);
+        Iterable<FunctionProvider<?>> functionProviderIterator = ProviderRegistry.getInstance().getFunctionProviders();
         Version compareVersion = new Version(financialProviderVersion);
         final AtomicReference<FinancialProvider> provider = new AtomicReference<>();
 
@@ -50,12 +51,10 @@ public class Config {
 
     @Bean
     ModelProvider modelProvider() {
-        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
-
-        if (modelProviders.iterator().hasNext()) {
-            return modelProviders.iterator().next();
-        } else {
-            log.error("No Model Provider Found");
+        try {
+            return ProviderRegistry.getInstance().getModelProvider();
+        } catch (FunctionException e) {
+            log.error(e.getMessage());
             return null;
         }
     }
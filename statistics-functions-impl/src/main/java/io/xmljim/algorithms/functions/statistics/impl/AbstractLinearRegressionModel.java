@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.AbstractModel;
+import io.xmljim.algorithms.functions.statistics.LinearRegressionModel;
+import io.xmljim.algorithms.model.Coefficient;
+import io.xmljim.algorithms.model.Parameter;
+import io.xmljim.algorithms.model.ScalarCoefficient;
+import io.xmljim.algorithms.model.util.Scalar;
+
+/**
+ * Coefficient accessors shared by the linear regression models, and the derivation of every
+ * coefficient from a set of {@link CoMoments}
+ */
+abstract class AbstractLinearRegressionModel extends AbstractModel implements LinearRegressionModel {
+    AbstractLinearRegressionModel(Parameter<?>... parameters) {
+        super(StatisticsFunctionTypes.LINEAR_REGRESSION_MODEL.getName(), parameters);
+    }
+
+    @Override
+    public ScalarCoefficient getSlopeCoefficient() {
+        Coefficient<?> coeff = getCoefficient(StatisticsFunctionTypes.SLOPE.getName());
+        return (ScalarCoefficient) coeff;
+    }
+
+    @Override
+    public ScalarCoefficient getInterceptCoefficient() {
+        Coefficient<?> coeff = getCoefficient(StatisticsFunctionTypes.INTERCEPT.getName());
+        return (ScalarCoefficient) coeff;
+    }
+
+    @Override
+    public ScalarCoefficient getRSquaredCoefficient() {
+        Coefficient<?> coeff = getCoefficient(StatisticsFunctionTypes.R_SQUARED.getName());
+        return (ScalarCoefficient) coeff;
+    }
+
+    @Override
+    public ScalarCoefficient getSlopeStandardErrorCoefficient() {
+        Coefficient<?> coefficient = getCoefficient(StatisticsFunctionTypes.SLOPE_STD_ERROR.getName());
+        return (ScalarCoefficient) coefficient;
+    }
+
+    @Override
+    public ScalarCoefficient getInterceptStandardErrorCoefficient() {
+        Coefficient<?> coefficient = getCoefficient(StatisticsFunctionTypes.INTERCEPT_STD_ERROR.getName());
+        return (ScalarCoefficient) coefficient;
+    }
+
+    @Override
+    public ScalarCoefficient getSlopeTStatisticCoefficient() {
+        Coefficient<?> coefficient = getCoefficient(StatisticsFunctionTypes.T_SLOPE.getName());
+        return (ScalarCoefficient) coefficient;
+    }
+
+    @Override
+    public ScalarCoefficient getPSlopeCoefficient() {
+        Coefficient<?> coefficient = getCoefficient(StatisticsFunctionTypes.P_SLOPE.getName());
+        return (ScalarCoefficient) coefficient;
+    }
+
+    void setCoefficients(CoMoments moments) {
+        long count = moments.getCount();
+        double sumSquaresX = moments.getSumSquaresX();
+        double slope = moments.getSlope();
+        double intercept = moments.getIntercept();
+        double residualSumSquares = moments.getResidualSumOfSquares();
+        double rSquared = 1 - (residualSumSquares / moments.getSumSquaresY());
+        double meanSquaredError = residualSumSquares / (count - 2);
+        double slopeStandardError = Math.sqrt(meanSquaredError) / Math.sqrt(sumSquaresX);
+        double interceptStandardError = Math.sqrt(meanSquaredError * ((1.0 / count) + (Math.pow(moments.getMeanX(), 2) / sumSquaresX)));
+        double slopeTStatistic = slope / slopeStandardError;
+        double degreesOfFreedom = count - 2;
+        double slopePValue = StudentTDistribution.twoTailedPValue(slopeTStatistic, degreesOfFreedom);
+
+        setCoefficient(StatisticsFunctionTypes.SLOPE, Scalar.of(slope));
+        setCoefficient(StatisticsFunctionTypes.INTERCEPT, Scalar.of(intercept));
+        setCoefficient(StatisticsFunctionTypes.R_SQUARED, Scalar.of(rSquared));
+        setCoefficient(StatisticsFunctionTypes.SLOPE_STD_ERROR, Scalar.of(slopeStandardError));
+        setCoefficient(StatisticsFunctionTypes.INTERCEPT_STD_ERROR, Scalar.of(interceptStandardError));
+        setCoefficient(StatisticsFunctionTypes.T_SLOPE, Scalar.of(slopeTStatistic));
+        setCoefficient(StatisticsFunctionTypes.P_SLOPE, Scalar.of(slopePValue));
+    }
+}
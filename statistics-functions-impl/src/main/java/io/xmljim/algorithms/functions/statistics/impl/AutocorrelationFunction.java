@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.AbstractFunction;
+import io.xmljim.algorithms.functions.statistics.kernel.NumericKernels;
+import io.xmljim.algorithms.model.ScalarParameter;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.ScalarVectorParameter;
+import io.xmljim.algorithms.model.util.Scalar;
+
+/**
+ * Sample autocorrelation at lags 0 through a maximum lag:
+ * r<sub>k</sub> = &#x03A3;<sub>t&lt;n-k</sub> (x<sub>t</sub> - x&#x0304;)(x<sub>t+k</sub> - x&#x0304;) / &#x03A3; (x<sub>t</sub> - x&#x0304;)&#x00B2;.
+ * <p>
+ *     By the Wiener-Khinchin theorem the autocovariances are the inverse transform of the power spectrum. The
+ *     deviations are zero-padded to a power of two of at least n + maxLag, so the circular correlation does not
+ *     wrap around for any lag that is returned, transformed, squared in magnitude and transformed back: O(n log n)
+ *     for every lag at once. When only a handful of lags is wanted, summing them directly is cheaper and is used
+ *     instead.
+ * </p>
+ */
+class AutocorrelationFunction extends AbstractFunction<ScalarVector> {
+    private static final int DIRECT_LAGS_PER_LEVEL = 16;
+
+    public AutocorrelationFunction(ScalarVectorParameter vectorParameter, ScalarParameter maxLagParameter) {
+        super(StatisticsFunctionTypes.AUTOCORRELATION, vectorParameter, maxLagParameter);
+    }
+
+    @Override
+    protected ScalarVector evaluate() {
+        ScalarVector vector = getValue(0);
+        Scalar maxLagValue = getValue(StatisticsNameConstants.MAX_LAG);
+        int maxLag = maxLagValue.asInt();
+        int n = vector.length();
+
+        double[] deviations = new double[n];
+        vector.copyInto(0, deviations, 0, n);
+        double mean = NumericKernels.getInstance().sum(deviations, 0, n) / n;
+        for (int i = 0; i < n; i++) {
+            deviations[i] -= mean;
+        }
+
+        int size = FastFourierTransform.powerOfTwoAtLeast(n + maxLag);
+        // measured crossover: the two transforms cost about as much as 16 log2(size) direct lags
+        double[] autocovariances = maxLag + 1 <= DIRECT_LAGS_PER_LEVEL * Integer.numberOfTrailingZeros(size)
+                ? direct(deviations, maxLag)
+                : transformed(deviations, maxLag, size);
+
+        double[] values = new double[maxLag + 1];
+        for (int k = 0; k <= maxLag; k++) {
+            values[k] = autocovariances[k] / autocovariances[0];
+        }
+        return getModelProvider().getVectorFactory().createScalarVector(getName(), getVariable(), values);
+    }
+
+    static double[] direct(double[] deviations, int maxLag) {
+        int n = deviations.length;
+        double[] autocovariances = new double[maxLag + 1];
+        for (int k = 0; k <= maxLag; k++) {
+            double sum = 0;
+            for (int t = 0; t < n - k; t++) {
+                sum += deviations[t] * deviations[t + k];
+            }
+            autocovariances[k] = sum;
+        }
+        return autocovariances;
+    }
+
+    static double[] transformed(double[] deviations, int maxLag, int size) {
+        double[] real = new double[size];
+        double[] imaginary = new double[size];
+        System.arraycopy(deviations, 0, real, 0, deviations.length);
+
+        FastFourierTransform.radix2(real, imaginary, false);
+        for (int k = 0; k < size; k++) {
+            real[k] = real[k] * real[k] + imaginary[k] * imaginary[k];
+            imaginary[k] = 0;
+        }
+        FastFourierTransform.radix2(real, imaginary, true);
+
+        double[] autocovariances = new double[maxLag + 1];
+        for (int k = 0; k <= maxLag; k++) {
+            autocovariances[k] = real[k] / size;
+        }
+        return autocovariances;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.statistics.Statistic;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.util.SummaryStats;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates a set of {@link Statistic}s over many vectors.
+ * <p>
+ *     Each vector's count, sum, mean, variance and extremes come from its {@link SummaryStats}, which the vector
+ *     caches when it supports them. One more pass gathers &#x03A3;(i - i&#x0304;)y for the regression on position.
+ *     Since the positions are known, i&#x0304; and &#x03A3;(i - i&#x0304;)&#x00B2; follow directly from n. Order
+ *     statistics, if any are requested, come from one multi-rank selection over a copy of the values. Vectors are
+ *     handed out to the common fork-join pool in groups of {@link #GROUP_SIZE}.
+ * </p>
+ */
+final class BatchStatistics {
+    static final int GROUP_SIZE = 8;
+
+    private static final Set<Statistic> ORDER_STATISTICS =
+            EnumSet.of(Statistic.MEDIAN, Statistic.FIRST_QUARTILE, Statistic.THIRD_QUARTILE, Statistic.INTERQUARTILE_RANGE);
+
+    private BatchStatistics() {
+
+    }
+
+    /**
+     * Evaluate the statistics for every vector
+     * @param vectors the vectors
+     * @param statistics the statistics, in column order
+     * @return the results, row-major, one row per vector and one column per statistic
+     */
+    static double[] describe(ScalarVector[] vectors, Statistic[] statistics) {
+        double[] results = new double[vectors.length * statistics.length];
+        boolean orderStatistics = false;
+        for (Statistic statistic : statistics) {
+            orderStatistics |= ORDER_STATISTICS.contains(statistic);
+        }
+
+        new DescribeTask(vectors, statistics, orderStatistics, results, 0, vectors.length).invoke();
+        return results;
+    }
+
+    private static void describe(ScalarVector vector, Statistic[] statistics, boolean orderStatistics, double[] results, int offset) {
+        SummaryStats summary = vector.getSummaryStats().orElseGet(() -> SummaryStats.of(vector));
+        int n = (int) summary.getCount();
+        double sum = summary.getSum();
+        double min = summary.getMin();
+        double max = summary.getMax();
+        double variance = summary.getVariance();
+
+        double center = (n - 1) / 2.0;
+        double sumCrossProducts = 0;
+        for (int i = 0; i < n; i++) {
+            sumCrossProducts += (i - center) * vector.getDouble(i);
+        }
+
+        double sumSquaresPosition = n * ((double) n * n - 1) / 12;
+        double slope = sumCrossProducts / sumSquaresPosition;
+
+        double[] quartiles = null;
+        if (orderStatistics) {
+            if (n == 0) {
+                quartiles = new double[] {Double.NaN, Double.NaN, Double.NaN};
+            } else {
+                double[] values = new double[n];
+                vector.copyInto(0, values, 0, n);
+                quartiles = Selection.quantiles(values, 0.25, 0.5, 0.75);
+            }
+        }
+
+        for (int column = 0; column < statistics.length; column++) {
+            double result;
+            switch (statistics[column]) {
+                case COUNT:
+                    result = n;
+                    break;
+                case SUM:
+                    result = sum;
+                    break;
+                case MEAN:
+                    result = n == 0 ? Double.NaN : sum / n;
+                    break;
+                case MIN:
+                    result = n == 0 ? Double.NaN : min;
+                    break;
+                case MAX:
+                    result = n == 0 ? Double.NaN : max;
+                    break;
+                case VARIANCE:
+                    result = variance;
+                    break;
+                case STANDARD_DEVIATION:
+                    result = Math.sqrt(variance);
+                    break;
+                case MEDIAN:
+                    result = quartiles[1];
+                    break;
+                case FIRST_QUARTILE:
+                    result = quartiles[0];
+                    break;
+                case THIRD_QUARTILE:
+                    result = quartiles[2];
+                    break;
+                case INTERQUARTILE_RANGE:
+                    result = quartiles[2] - quartiles[0];
+                    break;
+                case SLOPE:
+                    result = slope;
+                    break;
+                case INTERCEPT:
+                    result = n == 0 ? Double.NaN : sum / n - slope * center;
+                    break;
+                case R_SQUARED:
+                    result = sumCrossProducts * sumCrossProducts / (sumSquaresPosition * summary.getSumOfSquaredDeviations());
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled statistic: " + statistics[column]);
+            }
+            results[offset + column] = result;
+        }
+    }
+
+    private static class DescribeTask extends RecursiveAction {
+        private final ScalarVector[] vectors;
+        private final Statistic[] statistics;
+        private final boolean orderStatistics;
+        private final double[] results;
+        private final int fromVector;
+        private final int toVector;
+
+        DescribeTask(ScalarVector[] vectors, Statistic[] statistics, boolean orderStatistics, double[] results, int fromVector, int toVector) {
+            this.vectors = vectors;
+            this.statistics = statistics;
+            this.orderStatistics = orderStatistics;
+            this.results = results;
+            this.fromVector = fromVector;
+            this.toVector = toVector;
+        }
+
+        @Override
+        protected void compute() {
+            if (toVector - fromVector <= GROUP_SIZE) {
+                for (int v = fromVector; v < toVector; v++) {
+                    describe(vectors[v], statistics, orderStatistics, results, v * statistics.length);
+                }
+                return;
+            }
+
+            int middle = (fromVector + toVector) >>> 1;
+            invokeAll(new DescribeTask(vectors, statistics, orderStatistics, results, fromVector, middle),
+                    new DescribeTask(vectors, statistics, orderStatistics, results, middle, toVector));
+        }
+    }
+}
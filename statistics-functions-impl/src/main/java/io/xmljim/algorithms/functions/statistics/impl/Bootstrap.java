@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Draws bootstrap resamples and evaluates a statistic on each of them in parallel.
+ * <p>
+ *     Resamples are grouped into blocks of {@link #BLOCK_SIZE}. Before any work starts, one random stream per block
+ *     is split from the seed in block order. Each block then owns its stream and writes its replicates to its
+ *     own slice of the result, so the result depends only on the seed, not on how the blocks are scheduled. A block
+ *     allocates its index and value buffers once and refills them for every resample.
+ * </p>
+ */
+final class Bootstrap {
+    static final int BLOCK_SIZE = 256;
+
+    private Bootstrap() {
+
+    }
+
+    /**
+     * A statistic over resampled values. The buffers are reused for the next resample once this returns
+     */
+    @FunctionalInterface
+    interface Statistic {
+        /**
+         * @param valuesX the resampled x values (or the only values)
+         * @param valuesY the resampled y values, paired with the x values, or {@code null} for a single vector
+         * @return the statistic
+         */
+        double evaluate(double[] valuesX, double[] valuesY);
+    }
+
+    /**
+     * Evaluate a statistic on resamples of the data
+     * @param valuesX the x values (or the only values)
+     * @param valuesY the y values, or {@code null} to resample a single vector
+     * @param iterations the number of resamples
+     * @param seed the random seed
+     * @param statistic the statistic
+     * @return one replicate per resample
+     */
+    static double[] replicates(double[] valuesX, double[] valuesY, int iterations, long seed, Statistic statistic) {
+        if (iterations < 1) {
+            throw new FunctionException("At least one bootstrap iteration is required: " + iterations);
+        }
+        if (valuesX.length == 0) {
+            throw new FunctionException("Cannot bootstrap an empty vector");
+        }
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[(iterations + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        for (int block = 0; block < randoms.length; block++) {
+            randoms[block] = root.split();
+        }
+
+        double[] replicates = new double[iterations];
+        new BlockTask(valuesX, valuesY, statistic, randoms, replicates, 0, randoms.length).invoke();
+        return replicates;
+    }
+
+    private static class BlockTask extends RecursiveAction {
+        private final double[] valuesX;
+        private final double[] valuesY;
+        private final Statistic statistic;
+        private final SplittableRandom[] randoms;
+        private final double[] replicates;
+        private final int fromBlock;
+        private final int toBlock;
+
+        BlockTask(double[] valuesX, double[] valuesY, Statistic statistic, SplittableRandom[] randoms, double[] replicates, int fromBlock, int toBlock) {
+            this.valuesX = valuesX;
+            this.valuesY = valuesY;
+            this.statistic = statistic;
+            this.randoms = randoms;
+            this.replicates = replicates;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBlock - fromBlock == 1) {
+                resampleBlock();
+                return;
+            }
+
+            int middle = (fromBlock + toBlock) >>> 1;
+            invokeAll(new BlockTask(valuesX, valuesY, statistic, randoms, replicates, fromBlock, middle),
+                    new BlockTask(valuesX, valuesY, statistic, randoms, replicates, middle, toBlock));
+        }
+
+        private void resampleBlock() {
+            int length = valuesX.length;
+            SplittableRandom random = randoms[fromBlock];
+            int[] indices = new int[length];
+            double[] sampleX = new double[length];
+            double[] sampleY = valuesY != null ? new double[length] : null;
+
+            int end = Math.min(replicates.length, (fromBlock + 1) * BLOCK_SIZE);
+            for (int iteration = fromBlock * BLOCK_SIZE; iteration < end; iteration++) {
+                for (int i = 0; i < length; i++) {
+                    indices[i] = random.nextInt(length);
+                }
+                for (int i = 0; i < length; i++) {
+                    sampleX[i] = valuesX[indices[i]];
+                }
+                if (sampleY != null) {
+                    for (int i = 0; i < length; i++) {
+                        sampleY[i] = valuesY[indices[i]];
+                    }
+                }
+                replicates[iteration] = statistic.evaluate(sampleX, sampleY);
+            }
+        }
+    }
+}
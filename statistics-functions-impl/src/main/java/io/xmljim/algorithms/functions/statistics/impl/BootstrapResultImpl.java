@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.ProviderRegistry;
+import io.xmljim.algorithms.functions.statistics.BootstrapResult;
+import io.xmljim.algorithms.model.ScalarVector;
+
+import java.util.Arrays;
+
+class BootstrapResultImpl implements BootstrapResult {
+    private final double estimate;
+    private final int iterations;
+    private final double[] replicates;
+
+    public BootstrapResultImpl(final double estimate, final double[] replicates) {
+        this.estimate = estimate;
+        this.iterations = replicates.length;
+        this.replicates = Arrays.stream(replicates).filter(value -> !Double.isNaN(value)).sorted().toArray();
+    }
+
+    @Override
+    public double getEstimate() {
+        return estimate;
+    }
+
+    @Override
+    public int getIterations() {
+        return iterations;
+    }
+
+    @Override
+    public ScalarVector getReplicates() {
+        return ProviderRegistry.getInstance().getModelProvider().getVectorFactory().createScalarVector("replicates", replicates.clone());
+    }
+
+    @Override
+    public double getStandardError() {
+        if (replicates.length < 2) {
+            return Double.NaN;
+        }
+
+        double mean = 0;
+        double sumSquaredDeviations = 0;
+        for (int i = 0; i < replicates.length; i++) {
+            double delta = replicates[i] - mean;
+            mean += delta / (i + 1);
+            sumSquaredDeviations += delta * (replicates[i] - mean);
+        }
+        return Math.sqrt(sumSquaredDeviations / (replicates.length - 1));
+    }
+
+    @Override
+    public double getLowerBound(final double confidenceLevel) {
+        return percentile((1 - checkConfidenceLevel(confidenceLevel)) / 2);
+    }
+
+    @Override
+    public double getUpperBound(final double confidenceLevel) {
+        return percentile((1 + checkConfidenceLevel(confidenceLevel)) / 2);
+    }
+
+    private double percentile(double probability) {
+        if (replicates.length == 0) {
+            return Double.NaN;
+        }
+
+        double h = (replicates.length - 1) * probability;
+        int lower = (int) Math.floor(h);
+        int upper = Math.min(lower + 1, replicates.length - 1);
+        return replicates[lower] + (h - lower) * (replicates[upper] - replicates[lower]);
+    }
+
+    private static double checkConfidenceLevel(double confidenceLevel) {
+        if (!(confidenceLevel > 0 && confidenceLevel < 1)) {
+            throw new FunctionException("Confidence level must be between 0 and 1: " + confidenceLevel);
+        }
+        return confidenceLevel;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+
+/**
+ * Cholesky factorization A = LL<sup>T</sup> of a small, symmetric positive definite matrix,
+ * stored row-major in a flat array
+ */
+final class CholeskyDecomposition {
+    private static final double TOLERANCE = 1E-12;
+
+    private final int size;
+    private final double[] lower;
+
+    /**
+     * Factor a symmetric matrix. Only the lower triangle of {@code matrix} is read
+     * @param matrix the row-major matrix values
+     * @param size the number of rows (and columns)
+     * @throws FunctionException thrown if the matrix is not positive definite, e.g., when columns are collinear
+     */
+    CholeskyDecomposition(double[] matrix, int size) {
+        this.size = size;
+        this.lower = new double[size * size];
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sum = matrix[i * size + j];
+                for (int k = 0; k < j; k++) {
+                    sum -= lower[i * size + k] * lower[j * size + k];
+                }
+
+                if (i == j) {
+                    if (!(sum > TOLERANCE * matrix[i * size + i])) {
+                        throw new FunctionException("Matrix is not positive definite; the independent variables may be collinear");
+                    }
+                    lower[i * size + i] = Math.sqrt(sum);
+                } else {
+                    lower[i * size + j] = sum / lower[j * size + j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Solve Ax = b
+     * @param b the right-hand side
+     * @return x
+     */
+    double[] solve(double[] b) {
+        double[] x = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            double sum = b[i];
+            for (int k = 0; k < i; k++) {
+                sum -= lower[i * size + k] * x[k];
+            }
+            x[i] = sum / lower[i * size + i];
+        }
+
+        for (int i = size - 1; i >= 0; i--) {
+            double sum = x[i];
+            for (int k = i + 1; k < size; k++) {
+                sum -= lower[k * size + i] * x[k];
+            }
+            x[i] = sum / lower[i * size + i];
+        }
+
+        return x;
+    }
+
+    /**
+     * Return A<sup>-1</sup>, row-major
+     * @return the inverse
+     */
+    double[] inverse() {
+        double[] inverse = new double[size * size];
+        double[] unit = new double[size];
+
+        for (int column = 0; column < size; column++) {
+            unit[column] = 1;
+            double[] x = solve(unit);
+            for (int row = 0; row < size; row++) {
+                inverse[row * size + column] = x[row];
+            }
+            unit[column] = 0;
+        }
+
+        return inverse;
+    }
+}
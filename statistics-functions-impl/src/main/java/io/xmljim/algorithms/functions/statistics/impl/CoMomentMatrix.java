@@ -0,0 +1,206 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.model.ScalarVector;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Running means and pairwise co-moments of every column of a matrix, the multivariate form of {@link CoMoments}.
+ * <p>
+ *     Only the upper triangle of &#x03A3;(x<sub>i</sub> - x&#x0304;<sub>i</sub>)(x<sub>j</sub> - x&#x0304;<sub>j</sub>) is
+ *     kept, packed row by row into one primitive array. Each row updates the means and co-moments with the Welford
+ *     update. Row blocks are accumulated independently and combined with Chan's pairwise formula, see
+ *     {@link #accumulate}.
+ * </p>
+ */
+final class CoMomentMatrix {
+    static final int BLOCK_SIZE = 4096;
+
+    private final int size;
+    private final double[] means;
+    private final double[] coMoments;
+    private final double[] deltas;
+    private long count;
+
+    CoMomentMatrix(int size) {
+        this.size = size;
+        this.means = new double[size];
+        this.coMoments = new double[size * (size + 1) / 2];
+        this.deltas = new double[size];
+    }
+
+    /**
+     * Accumulate the co-moments of all columns, partitioning the rows into blocks that are
+     * reduced in the common fork-join pool. Blocks are always combined in the same order, so the
+     * result does not depend on the number of threads
+     * @param columns the columns
+     * @param rowCount the number of rows
+     * @return the accumulated co-moments
+     */
+    static CoMomentMatrix accumulate(ScalarVector[] columns, int rowCount) {
+        return new AccumulateTask(columns, 0, rowCount).invoke();
+    }
+
+    void add(double[] row) {
+        count++;
+        for (int i = 0; i < size; i++) {
+            deltas[i] = row[i] - means[i];
+            means[i] += deltas[i] / count;
+        }
+
+        int index = 0;
+        for (int i = 0; i < size; i++) {
+            double delta = deltas[i];
+            for (int j = i; j < size; j++) {
+                coMoments[index++] += delta * (row[j] - means[j]);
+            }
+        }
+    }
+
+    void merge(CoMomentMatrix other) {
+        if (other.count == 0) {
+            return;
+        }
+
+        long total = count + other.count;
+        double weight = (double) count * other.count / total;
+        for (int i = 0; i < size; i++) {
+            deltas[i] = other.means[i] - means[i];
+        }
+
+        int index = 0;
+        for (int i = 0; i < size; i++) {
+            for (int j = i; j < size; j++) {
+                coMoments[index] += other.coMoments[index] + deltas[i] * deltas[j] * weight;
+                index++;
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            means[i] += deltas[i] * other.count / total;
+        }
+        count = total;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getMean(int column) {
+        return means[column];
+    }
+
+    /**
+     * &#x03A3;(x<sub>i</sub> - x&#x0304;<sub>i</sub>)(x<sub>j</sub> - x&#x0304;<sub>j</sub>), in either order of i and j
+     */
+    double getCoMoment(int i, int j) {
+        if (i > j) {
+            return getCoMoment(j, i);
+        }
+        return coMoments[i * size - i * (i - 1) / 2 + (j - i)];
+    }
+
+    /**
+     * The sample covariance matrix, row-major
+     */
+    double[] getCovariances() {
+        double[] covariances = new double[size * size];
+        double denominator = count - 1;
+        for (int i = 0; i < size; i++) {
+            for (int j = i; j < size; j++) {
+                double covariance = getCoMoment(i, j) / denominator;
+                covariances[i * size + j] = covariance;
+                covariances[j * size + i] = covariance;
+            }
+        }
+        return covariances;
+    }
+
+    /**
+     * The Pearson correlation matrix, row-major. Columns with no variance correlate as NaN
+     */
+    double[] getCorrelations() {
+        double[] deviations = new double[size];
+        for (int i = 0; i < size; i++) {
+            deviations[i] = Math.sqrt(getCoMoment(i, i));
+        }
+
+        double[] correlations = new double[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = i; j < size; j++) {
+                double denominator = deviations[i] * deviations[j];
+                double correlation;
+                if (!(denominator > 0)) {
+                    correlation = Double.NaN;
+                } else if (i == j) {
+                    correlation = 1.0;
+                } else {
+                    correlation = Math.max(-1.0, Math.min(1.0, getCoMoment(i, j) / denominator));
+                }
+                correlations[i * size + j] = correlation;
+                correlations[j * size + i] = correlation;
+            }
+        }
+        return correlations;
+    }
+
+    private static class AccumulateTask extends RecursiveTask<CoMomentMatrix> {
+        private final ScalarVector[] columns;
+        private final int fromRow;
+        private final int toRow;
+
+        AccumulateTask(ScalarVector[] columns, int fromRow, int toRow) {
+            this.columns = columns;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected CoMomentMatrix compute() {
+            if (toRow - fromRow <= BLOCK_SIZE) {
+                return accumulateRows();
+            }
+
+            int middle = (fromRow + toRow) >>> 1;
+            AccumulateTask upper = new AccumulateTask(columns, middle, toRow);
+            upper.fork();
+            CoMomentMatrix result = new AccumulateTask(columns, fromRow, middle).compute();
+            result.merge(upper.join());
+            return result;
+        }
+
+        private CoMomentMatrix accumulateRows() {
+            CoMomentMatrix moments = new CoMomentMatrix(columns.length);
+            double[] row = new double[columns.length];
+
+            for (int r = fromRow; r < toRow; r++) {
+                for (int c = 0; c < columns.length; c++) {
+                    row[c] = columns[c].getDouble(r);
+                }
+                moments.add(row);
+            }
+
+            return moments;
+        }
+    }
+}
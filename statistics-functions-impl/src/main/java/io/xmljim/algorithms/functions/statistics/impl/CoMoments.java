@@ -0,0 +1,223 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.model.ScalarVector;
+
+/**
+ * Running first and second co-moments of paired observations (x, y).
+ * <p>
+ *     Each observation updates the means, the sums of squared deviations and the sum of
+ *     cross-deviations in place, using the Welford update. This avoids the cancellation you get
+ *     from working with raw &#x03A3;x&#x00B2;, &#x03A3;y&#x00B2; and &#x03A3;xy. One pass over the data is enough to derive every
+ *     simple linear regression statistic.
+ * </p>
+ */
+final class CoMoments {
+    private long count;
+    private double meanX;
+    private double meanY;
+    private double sumSquaresX;
+    private double sumSquaresY;
+    private double sumCrossProducts;
+
+    /**
+     * Accumulate the co-moments of two vectors in a single pass
+     * @param vectorX the x values
+     * @param vectorY the y values
+     * @return the co-moments
+     * @throws FunctionException thrown if the vectors differ in length
+     */
+    static CoMoments of(ScalarVector vectorX, ScalarVector vectorY) {
+        int length = vectorX.length();
+        if (length != vectorY.length()) {
+            throw new FunctionException("Vector lengths differ: x has " + length + " values, y has " + vectorY.length());
+        }
+
+        CoMoments moments = new CoMoments();
+        for (int i = 0; i < length; i++) {
+            moments.add(vectorX.getDouble(i), vectorY.getDouble(i));
+        }
+        return moments;
+    }
+
+    /**
+     * Create co-moments from already reduced values
+     * @param count the number of observations
+     * @param meanX the mean of x
+     * @param meanY the mean of y
+     * @param sumSquaresX &#x03A3;(x - x&#x0304;)&#x00B2;
+     * @param sumSquaresY &#x03A3;(y - y&#x0304;)&#x00B2;
+     * @param sumCrossProducts &#x03A3;(x - x&#x0304;)(y - y&#x0304;)
+     * @return the co-moments
+     */
+    static CoMoments of(long count, double meanX, double meanY, double sumSquaresX, double sumSquaresY, double sumCrossProducts) {
+        CoMoments moments = new CoMoments();
+        moments.count = count;
+        moments.meanX = meanX;
+        moments.meanY = meanY;
+        moments.sumSquaresX = sumSquaresX;
+        moments.sumSquaresY = sumSquaresY;
+        moments.sumCrossProducts = sumCrossProducts;
+        return moments;
+    }
+
+    /**
+     * Add an observation
+     * @param x the x value
+     * @param y the y value
+     */
+    void add(double x, double y) {
+        count++;
+        double deltaX = x - meanX;
+        meanX += deltaX / count;
+        double deltaY = y - meanY;
+        meanY += deltaY / count;
+        sumSquaresX += deltaX * (x - meanX);
+        sumSquaresY += deltaY * (y - meanY);
+        sumCrossProducts += deltaX * (y - meanY);
+    }
+
+    /**
+     * Remove an observation that was previously added
+     * @param x the x value
+     * @param y the y value
+     */
+    void remove(double x, double y) {
+        if (count <= 1) {
+            clear();
+            return;
+        }
+
+        double currentMeanY = meanY;
+        count--;
+        double previousMeanX = meanX;
+        meanX = previousMeanX - (x - previousMeanX) / count;
+        meanY = currentMeanY - (y - currentMeanY) / count;
+        sumSquaresX -= (x - meanX) * (x - previousMeanX);
+        sumSquaresY -= (y - meanY) * (y - currentMeanY);
+        sumCrossProducts -= (x - meanX) * (y - currentMeanY);
+    }
+
+    /**
+     * Combine the observations from another set of co-moments into this one
+     * @param other the other co-moments
+     */
+    void merge(CoMoments other) {
+        if (other.count == 0) {
+            return;
+        }
+
+        if (count == 0) {
+            copyFrom(other);
+            return;
+        }
+
+        long total = count + other.count;
+        double deltaX = other.meanX - meanX;
+        double deltaY = other.meanY - meanY;
+        double weight = (double) count * other.count / total;
+
+        meanX += deltaX * other.count / total;
+        meanY += deltaY * other.count / total;
+        sumSquaresX += other.sumSquaresX + deltaX * deltaX * weight;
+        sumSquaresY += other.sumSquaresY + deltaY * deltaY * weight;
+        sumCrossProducts += other.sumCrossProducts + deltaX * deltaY * weight;
+        count = total;
+    }
+
+    CoMoments copy() {
+        CoMoments moments = new CoMoments();
+        moments.copyFrom(this);
+        return moments;
+    }
+
+    void clear() {
+        count = 0;
+        meanX = 0;
+        meanY = 0;
+        sumSquaresX = 0;
+        sumSquaresY = 0;
+        sumCrossProducts = 0;
+    }
+
+    private void copyFrom(CoMoments other) {
+        count = other.count;
+        meanX = other.meanX;
+        meanY = other.meanY;
+        sumSquaresX = other.sumSquaresX;
+        sumSquaresY = other.sumSquaresY;
+        sumCrossProducts = other.sumCrossProducts;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getMeanX() {
+        return meanX;
+    }
+
+    double getMeanY() {
+        return meanY;
+    }
+
+    /**
+     * &#x03A3;(x - x&#x0304;)&#x00B2;
+     */
+    double getSumSquaresX() {
+        return sumSquaresX;
+    }
+
+    /**
+     * &#x03A3;(y - y&#x0304;)&#x00B2;
+     */
+    double getSumSquaresY() {
+        return sumSquaresY;
+    }
+
+    /**
+     * &#x03A3;(x - x&#x0304;)(y - y&#x0304;)
+     */
+    double getSumCrossProducts() {
+        return sumCrossProducts;
+    }
+
+    double getCovariance() {
+        return sumCrossProducts / (count - 1);
+    }
+
+    double getVarianceX() {
+        return sumSquaresX / (count - 1);
+    }
+
+    double getSlope() {
+        return sumCrossProducts / sumSquaresX;
+    }
+
+    double getIntercept() {
+        return meanY - getSlope() * meanX;
+    }
+
+    /**
+     * &#x03A3;(y&#x0302; - y)&#x00B2; = Syy - Sxy&#x00B2; / Sxx
+     */
+    double getResidualSumOfSquares() {
+        return Math.max(0.0, sumSquaresY - getSlope() * sumCrossProducts);
+    }
+}
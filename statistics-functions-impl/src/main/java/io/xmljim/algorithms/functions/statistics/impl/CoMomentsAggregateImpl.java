@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.statistics.CoMomentsAggregate;
+import io.xmljim.algorithms.functions.statistics.LinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.kernel.NumericKernels;
+import io.xmljim.algorithms.model.util.Scalar;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Co-moments aggregate backed by {@link CoMoments}. Each accumulated pair of arrays is reduced like one chunk of a
+ * parallel reduction and merged in with Chan's formula.
+ * <p>
+ *     The serialized form is: a 4 byte format marker, the count as a long, then the mean of x, the mean of y,
+ *     &#x03A3;(x - x&#x0304;)&#x00B2;, &#x03A3;(y - y&#x0304;)&#x00B2; and &#x03A3;(x - x&#x0304;)(y - y&#x0304;) as doubles.
+ * </p>
+ */
+class CoMomentsAggregateImpl implements CoMomentsAggregate {
+    private static final int FORMAT = 0x434D4F31;
+
+    private final CoMoments moments;
+
+    CoMomentsAggregateImpl() {
+        this(new CoMoments());
+    }
+
+    private CoMomentsAggregateImpl(CoMoments moments) {
+        this.moments = moments;
+    }
+
+    @Override
+    public void accumulate(final double[] valuesX, final double[] valuesY) {
+        int size = valuesX.length;
+        if (size != valuesY.length) {
+            throw new FunctionException("Array lengths differ: x has " + size + " values, y has " + valuesY.length);
+        }
+
+        if (size == 0) {
+            return;
+        }
+
+        NumericKernels kernels = NumericKernels.getInstance();
+        double meanX = kernels.sum(valuesX, 0, size) / size;
+        double meanY = kernels.sum(valuesY, 0, size) / size;
+        moments.merge(CoMoments.of(size, meanX, meanY,
+                kernels.sumOfSquaredDeviations(valuesX, 0, size, meanX),
+                kernels.sumOfSquaredDeviations(valuesY, 0, size, meanY),
+                kernels.sumOfCrossDeviations(valuesX, valuesY, 0, size, meanX, meanY)));
+    }
+
+    @Override
+    public CoMomentsAggregate combine(final CoMomentsAggregate other) {
+        if (!(other instanceof CoMomentsAggregateImpl)) {
+            throw new FunctionException("Cannot combine aggregate of type " + (other == null ? null : other.getClass().getName()));
+        }
+
+        CoMoments combined = moments.copy();
+        combined.merge(((CoMomentsAggregateImpl) other).moments);
+        return new CoMomentsAggregateImpl(combined);
+    }
+
+    @Override
+    public long getCount() {
+        return moments.getCount();
+    }
+
+    @Override
+    public LinearRegressionModel finish() {
+        IncrementalLinearRegressionModelImpl model = new IncrementalLinearRegressionModelImpl(moments);
+        model.solve();
+        return model;
+    }
+
+    @Override
+    public Scalar covariance() {
+        return Scalar.of(moments.getCount() < 2 ? Double.NaN : moments.getCovariance());
+    }
+
+    @Override
+    public Scalar correlation() {
+        double denominator = Math.sqrt(moments.getSumSquaresX() * moments.getSumSquaresY());
+        if (moments.getCount() < 2 || !(denominator > 0)) {
+            return Scalar.of(Double.NaN);
+        }
+        return Scalar.of(Math.max(-1.0, Math.min(1.0, moments.getSumCrossProducts() / denominator)));
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        ByteBuffer bytes = ByteBuffer.allocate(4 + Long.BYTES + 5 * Double.BYTES);
+        bytes.putInt(FORMAT);
+        bytes.putLong(moments.getCount());
+        bytes.putDouble(moments.getMeanX());
+        bytes.putDouble(moments.getMeanY());
+        bytes.putDouble(moments.getSumSquaresX());
+        bytes.putDouble(moments.getSumSquaresY());
+        bytes.putDouble(moments.getSumCrossProducts());
+        return bytes.array();
+    }
+
+    /**
+     * Restore an aggregate from its serialized form
+     * @param bytes the serialized aggregate
+     * @return the aggregate
+     * @throws FunctionException thrown if the bytes are not a serialized co-moments aggregate
+     */
+    static CoMomentsAggregateImpl fromByteArray(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt() != FORMAT) {
+                throw new FunctionException("Not a serialized co-moments aggregate");
+            }
+
+            long count = buffer.getLong();
+            if (count < 0) {
+                throw new FunctionException("Invalid count in serialized co-moments aggregate: " + count);
+            }
+            return new CoMomentsAggregateImpl(CoMoments.of(count, buffer.getDouble(), buffer.getDouble(),
+                    buffer.getDouble(), buffer.getDouble(), buffer.getDouble()));
+        } catch (BufferUnderflowException e) {
+            throw new FunctionException("Truncated serialized co-moments aggregate", e);
+        }
+    }
+}
@@ -17,9 +17,12 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
 
 
 import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
+import io.xmljim.algorithms.functions.statistics.EvaluationMode;
 import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
 import io.xmljim.algorithms.model.*;
 import io.xmljim.algorithms.model.util.Scalar;
@@ -27,9 +30,7 @@ import io.xmljim.algorithms.model.util.Scalar;
 import java.util.Optional;
 import java.util.stream.IntStream;
 
-class CovarianceFunction extends AbstractScalarFunction {
-    private Scalar result;
-
+class CovarianceFunction extends AbstractScalarFunction implements Compilable {
     public CovarianceFunction(ScalarVectorParameter vectorXParameter, ScalarVectorParameter vectorYParameter) {
         super(StatisticsFunctionTypes.COVARIANCE, vectorXParameter, vectorYParameter);
     }
@@ -38,14 +39,34 @@ class CovarianceFunction extends AbstractScalarFunction {
         super(StatisticsFunctionTypes.COVARIANCE, vectorXParameter, vectorYParameter, meanX, meanY);
     }
 
+    CovarianceFunction(Parameter<?>... parameters) {
+        super(StatisticsFunctionTypes.COVARIANCE, parameters);
+    }
+
     private StatisticsProvider getFunctionProvider() {
         StatisticsProvider provider = getFunctionProvider("Statistics");
         return provider;
     }
 
-    Scalar computeVariance() {
+    private EvaluationMode getEvaluationMode() {
+        return Reductions.evaluationMode(lookupParameter(StatisticsNameConstants.EVALUATION_MODE));
+    }
+
+    @Override
+    protected Scalar evaluate() {
         ScalarVector vectorX = getVector(StatisticsNameConstants.X_VARIABLE);
         ScalarVector vectorY = getVector(StatisticsNameConstants.Y_VARIABLE);
+
+        if (getEvaluationMode() == EvaluationMode.PARALLEL) {
+            CoMoments moments = Reductions.coMoments(vectorX, vectorY);
+            double offsetX = getParameter(StatisticsFunctionTypes.MEAN.getName(), StatisticsNameConstants.X_VARIABLE, ParameterTypes.SCALAR_FUNCTION)
+                    .map(p -> moments.getMeanX() - ((ScalarFunction) p.getValue()).compute().asDouble()).orElse(0.0);
+            double offsetY = getParameter(StatisticsFunctionTypes.MEAN.getName(), StatisticsNameConstants.Y_VARIABLE, ParameterTypes.SCALAR_FUNCTION)
+                    .map(p -> moments.getMeanY() - ((ScalarFunction) p.getValue()).compute().asDouble()).orElse(0.0);
+            double sumCrossProducts = moments.getSumCrossProducts() + moments.getCount() * offsetX * offsetY;
+            return Scalar.of(sumCrossProducts / (vectorX.length() - 1));
+        }
+
         ScalarFunction meanXFunction = getOrCreateMeanFunction(vectorX, StatisticsNameConstants.X_VARIABLE);
         ScalarFunction meanYFunction = getOrCreateMeanFunction(vectorY, StatisticsNameConstants.Y_VARIABLE);
 
@@ -53,15 +74,24 @@ class CovarianceFunction extends AbstractScalarFunction {
         double meanY = meanYFunction.compute().asDouble();
 
         double covariance = IntStream.range(0, (int)vectorX.length())
-                .mapToDouble(i ->  (vectorX.get(i).asDouble() - meanX) * (vectorY.get(i).asDouble() - meanY))
+                .mapToDouble(i ->  (vectorX.getDouble(i) - meanX) * (vectorY.getDouble(i) - meanY))
                 .sum() / (vectorX.length() - 1);
 
         return Scalar.of(covariance);
     }
 
+    @Override
+    public int compile(PlanCompiler compiler) {
+        ScalarVector vectorX = getVector(StatisticsNameConstants.X_VARIABLE);
+        ScalarVector vectorY = getVector(StatisticsNameConstants.Y_VARIABLE);
+        int meanX = compiler.slot(getOrCreateMeanFunction(vectorX, StatisticsNameConstants.X_VARIABLE));
+        int meanY = compiler.slot(getOrCreateMeanFunction(vectorY, StatisticsNameConstants.Y_VARIABLE));
+        return PlanOperations.covariance(compiler, compiler.vector(vectorX), compiler.vector(vectorY), meanX, meanY);
+    }
+
     ScalarVector getVector(String variable) {
         ScalarVectorParameter vectorParameter =
-                (ScalarVectorParameter) find(parameterVariableAndType(variable, ParameterTypes.SCALAR_VECTOR))
+                (ScalarVectorParameter) getParameterFromVariable(variable, ParameterTypes.SCALAR_VECTOR)
                         .orElseThrow(() -> new FunctionException("Expected to find ScalarVectorParameter for variable " + variable + ", but it was not present"));
 
         return vectorParameter.getValue();
@@ -70,22 +100,14 @@ class CovarianceFunction extends AbstractScalarFunction {
     ScalarFunction getOrCreateMeanFunction(ScalarVector vector, String variable) {
         ScalarFunction meanFunction;
 
-        Optional<Parameter<?>> meanParam = find(parameterNameVariableType(StatisticsFunctionTypes.MEAN.getName(), variable, ParameterTypes.SCALAR_FUNCTION));
+        Optional<Parameter<?>> meanParam = getParameter(StatisticsFunctionTypes.MEAN.getName(), variable, ParameterTypes.SCALAR_FUNCTION);
 
         if (meanParam.isPresent()) {
             meanFunction = ((ScalarFunctionParameter)meanParam.get()).getValue();
         } else {
-            meanFunction = getFunctionProvider().getFactory().mean(vector, variable);
+            meanFunction = getFunctionProvider().getFactory().withEvaluationMode(getEvaluationMode()).mean(vector, variable);
         }
 
         return meanFunction;
     }
-
-    @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = computeVariance();
-        }
-        return result;
-    }
 }
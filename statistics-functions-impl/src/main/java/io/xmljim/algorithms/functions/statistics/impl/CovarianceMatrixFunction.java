@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.AbstractFunction;
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.model.Matrix;
+import io.xmljim.algorithms.model.MatrixLayout;
+import io.xmljim.algorithms.model.MatrixParameter;
+import io.xmljim.algorithms.model.ScalarVector;
+
+/**
+ * Computes the covariance or correlation matrix of all columns of a matrix in one blocked pass over the rows
+ * (see {@link CoMomentMatrix}). The result is a square, row-major dense matrix whose rows and columns follow
+ * the source columns and carry their names
+ */
+class CovarianceMatrixFunction extends AbstractFunction<Matrix> {
+    public CovarianceMatrixFunction(StatisticsFunctionTypes functionType, MatrixParameter matrixParameter) {
+        super(functionType, matrixParameter);
+    }
+
+    @Override
+    protected Matrix evaluate() {
+        Matrix matrix = getValue(StatisticsNameConstants.MATRIX);
+        int columnCount = matrix.getColumnCount();
+        if (columnCount == 0 || matrix.getRowCount() < 2) {
+            throw new FunctionException("At least one column and two rows are required: " + matrix.getRowCount() + " rows, " + columnCount + " columns");
+        }
+
+        ScalarVector[] columns = new ScalarVector[columnCount];
+        for (int c = 0; c < columnCount; c++) {
+            columns[c] = matrix.getColumn(c);
+        }
+
+        CoMomentMatrix moments = CoMomentMatrix.accumulate(columns, matrix.getRowCount());
+        double[] values = getFunctionType() == StatisticsFunctionTypes.CORRELATION_MATRIX ? moments.getCorrelations() : moments.getCovariances();
+        String[] columnNames = matrix.getColumnNames();
+
+        return getModelProvider().getMatrixFactory().createDenseMatrix(values, columnCount, columnCount, MatrixLayout.ROW_MAJOR,
+                columnNames != null ? columnNames : new String[0]);
+    }
+}
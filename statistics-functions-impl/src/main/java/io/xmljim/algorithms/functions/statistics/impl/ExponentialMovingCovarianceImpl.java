@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.statistics.ExponentialMovingCovariance;
+
+class ExponentialMovingCovarianceImpl implements ExponentialMovingCovariance {
+    private final double alpha;
+    private long count;
+    private double meanX;
+    private double meanY;
+    private double varianceX;
+    private double varianceY;
+    private double covariance;
+
+    public ExponentialMovingCovarianceImpl(final double alpha) {
+        this.alpha = ExponentialMovingStatisticsImpl.checkAlpha(alpha);
+    }
+
+    @Override
+    public void update(final double x, final double y) {
+        if (count++ == 0) {
+            meanX = x;
+            meanY = y;
+            varianceX = 0;
+            varianceY = 0;
+            covariance = 0;
+            return;
+        }
+
+        double deltaX = x - meanX;
+        double deltaY = y - meanY;
+        double decay = 1 - alpha;
+        meanX += alpha * deltaX;
+        meanY += alpha * deltaY;
+        varianceX = decay * (varianceX + alpha * deltaX * deltaX);
+        varianceY = decay * (varianceY + alpha * deltaY * deltaY);
+        covariance = decay * (covariance + alpha * deltaX * deltaY);
+    }
+
+    @Override
+    public double getAlpha() {
+        return alpha;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public double getMeanX() {
+        return count == 0 ? Double.NaN : meanX;
+    }
+
+    @Override
+    public double getMeanY() {
+        return count == 0 ? Double.NaN : meanY;
+    }
+
+    @Override
+    public double getCovariance() {
+        return count == 0 ? Double.NaN : covariance;
+    }
+
+    @Override
+    public double getCorrelation() {
+        double denominator = Math.sqrt(varianceX * varianceY);
+        if (count == 0 || !(denominator > 0)) {
+            return Double.NaN;
+        }
+        return Math.max(-1.0, Math.min(1.0, covariance / denominator));
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+        meanX = 0;
+        meanY = 0;
+        varianceX = 0;
+        varianceY = 0;
+        covariance = 0;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.AbstractFunction;
+import io.xmljim.algorithms.model.ScalarParameter;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.ScalarVectorParameter;
+import io.xmljim.algorithms.model.util.Scalar;
+
+/**
+ * Exponentially weighted mean, variance or covariance after each value of a series. The series is fed through the
+ * same accumulators as the streaming form, so both give identical values
+ */
+class ExponentialMovingFunction extends AbstractFunction<ScalarVector> {
+    public ExponentialMovingFunction(StatisticsFunctionTypes functionType, ScalarVectorParameter vectorParameter, ScalarParameter alphaParameter) {
+        super(functionType, vectorParameter, alphaParameter);
+    }
+
+    public ExponentialMovingFunction(ScalarVectorParameter vectorX, ScalarVectorParameter vectorY, ScalarParameter alphaParameter) {
+        super(StatisticsFunctionTypes.EWMA_COVARIANCE, vectorX, vectorY, alphaParameter);
+    }
+
+    @Override
+    protected ScalarVector evaluate() {
+        Scalar alpha = getValue(StatisticsNameConstants.ALPHA);
+
+        if (getFunctionType() == StatisticsFunctionTypes.EWMA_COVARIANCE) {
+            ScalarVector vectorX = getValue(StatisticsNameConstants.VECTOR, StatisticsNameConstants.X_VARIABLE);
+            ScalarVector vectorY = getValue(StatisticsNameConstants.VECTOR, StatisticsNameConstants.Y_VARIABLE);
+            ExponentialMovingCovarianceImpl accumulator = new ExponentialMovingCovarianceImpl(alpha.asDouble());
+            double[] values = new double[vectorX.length()];
+            for (int i = 0; i < values.length; i++) {
+                accumulator.update(vectorX.getDouble(i), vectorY.getDouble(i));
+                values[i] = accumulator.getCovariance();
+            }
+            return getModelProvider().getVectorFactory().createScalarVector(getName(), getVariable(), values);
+        }
+
+        ScalarVector vector = getValue(0);
+        ExponentialMovingStatisticsImpl accumulator = new ExponentialMovingStatisticsImpl(alpha.asDouble());
+        boolean mean = getFunctionType() == StatisticsFunctionTypes.EWMA_MEAN;
+        double[] values = new double[vector.length()];
+        for (int i = 0; i < values.length; i++) {
+            accumulator.update(vector.getDouble(i));
+            values[i] = mean ? accumulator.getMean() : accumulator.getVariance();
+        }
+        return getModelProvider().getVectorFactory().createScalarVector(getName(), getVariable(), values);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.statistics.ExponentialMovingStatistics;
+
+class ExponentialMovingStatisticsImpl implements ExponentialMovingStatistics {
+    private final double alpha;
+    private long count;
+    private double mean;
+    private double variance;
+
+    public ExponentialMovingStatisticsImpl(final double alpha) {
+        this.alpha = checkAlpha(alpha);
+    }
+
+    static double checkAlpha(double alpha) {
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new FunctionException("Smoothing factor must be greater than 0 and at most 1: " + alpha);
+        }
+        return alpha;
+    }
+
+    @Override
+    public void update(final double value) {
+        if (count++ == 0) {
+            mean = value;
+            variance = 0;
+            return;
+        }
+
+        double delta = value - mean;
+        double increment = alpha * delta;
+        mean += increment;
+        variance = (1 - alpha) * (variance + delta * increment);
+    }
+
+    @Override
+    public double getAlpha() {
+        return alpha;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    @Override
+    public double getVariance() {
+        return count == 0 ? Double.NaN : variance;
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+        mean = 0;
+        variance = 0;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.statistics.ExtremaAggregate;
+import io.xmljim.algorithms.functions.statistics.Statistic;
+import io.xmljim.algorithms.model.util.Scalar;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Extrema aggregate. A NaN value makes the minimum and maximum NaN, as with {@link Math#min} and {@link Math#max}.
+ * <p>
+ *     The serialized form is: a 4 byte format marker, the count as a long, then the minimum and maximum as doubles.
+ * </p>
+ */
+class ExtremaAggregateImpl implements ExtremaAggregate {
+    private static final int FORMAT = 0x45585431;
+
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    ExtremaAggregateImpl() {
+
+    }
+
+    private ExtremaAggregateImpl(long count, double min, double max) {
+        this.count = count;
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    public void accumulate(final double[] values) {
+        double currentMin = min;
+        double currentMax = max;
+        for (double value : values) {
+            currentMin = Math.min(currentMin, value);
+            currentMax = Math.max(currentMax, value);
+        }
+        min = currentMin;
+        max = currentMax;
+        count += values.length;
+    }
+
+    @Override
+    public ExtremaAggregate combine(final ExtremaAggregate other) {
+        if (!(other instanceof ExtremaAggregateImpl)) {
+            throw new FunctionException("Cannot combine aggregate of type " + (other == null ? null : other.getClass().getName()));
+        }
+
+        ExtremaAggregateImpl extrema = (ExtremaAggregateImpl) other;
+        return new ExtremaAggregateImpl(count + extrema.count, Math.min(min, extrema.min), Math.max(max, extrema.max));
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public Scalar finish(final Statistic statistic) {
+        switch (statistic) {
+            case COUNT:
+                return Scalar.of(count);
+            case MIN:
+                return Scalar.of(count == 0 ? Double.NaN : min);
+            case MAX:
+                return Scalar.of(count == 0 ? Double.NaN : max);
+            default:
+                throw new FunctionException("Cannot derive " + statistic.getName() + " from extrema");
+        }
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        ByteBuffer bytes = ByteBuffer.allocate(4 + Long.BYTES + 2 * Double.BYTES);
+        bytes.putInt(FORMAT);
+        bytes.putLong(count);
+        bytes.putDouble(min);
+        bytes.putDouble(max);
+        return bytes.array();
+    }
+
+    /**
+     * Restore an aggregate from its serialized form
+     * @param bytes the serialized aggregate
+     * @return the aggregate
+     * @throws FunctionException thrown if the bytes are not a serialized extrema aggregate
+     */
+    static ExtremaAggregateImpl fromByteArray(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt() != FORMAT) {
+                throw new FunctionException("Not a serialized extrema aggregate");
+            }
+
+            long count = buffer.getLong();
+            if (count < 0) {
+                throw new FunctionException("Invalid count in serialized extrema aggregate: " + count);
+            }
+            return new ExtremaAggregateImpl(count, buffer.getDouble(), buffer.getDouble());
+        } catch (BufferUnderflowException e) {
+            throw new FunctionException("Truncated serialized extrema aggregate", e);
+        }
+    }
+}
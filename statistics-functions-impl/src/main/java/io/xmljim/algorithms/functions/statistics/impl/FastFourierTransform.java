@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+/**
+ * Discrete Fourier transforms over primitive arrays, X<sub>k</sub> = &#x03A3; x<sub>t</sub> e<sup>-2&#x03C0;ikt/n</sup>.
+ * <p>
+ *     Power-of-two lengths use an iterative radix-2 Cooley-Tukey transform, in place, with a bit-reversal permutation
+ *     followed by log<sub>2</sub> n butterfly passes. Twiddle factors are computed directly from a single table of
+ *     cos and sin rather than by repeated multiplication, so rounding error does not build up across a pass. Other
+ *     lengths use Bluestein's algorithm, which rewrites the transform as a convolution with the chirp
+ *     e<sup>-&#x03C0;ik&#x00B2;/n</sup> and evaluates it with radix-2 transforms of a padded power-of-two length.
+ *     Both are O(n log n).
+ * </p>
+ */
+final class FastFourierTransform {
+
+    private FastFourierTransform() {
+
+    }
+
+    /**
+     * Return the smallest power of two greater than or equal to a value
+     * @param value the value, at least 1
+     * @return the power of two
+     */
+    static int powerOfTwoAtLeast(int value) {
+        int power = Integer.highestOneBit(value);
+        return power == value ? power : power << 1;
+    }
+
+    /**
+     * Transform complex values of any length in place
+     * @param real the real parts
+     * @param imaginary the imaginary parts, the same length as the real parts
+     */
+    static void transform(double[] real, double[] imaginary) {
+        int n = real.length;
+        if (n <= 1) {
+            return;
+        }
+
+        if ((n & (n - 1)) == 0) {
+            radix2(real, imaginary, false);
+        } else {
+            bluestein(real, imaginary);
+        }
+    }
+
+    /**
+     * Transform complex values in place with the radix-2 algorithm. The inverse transform is not scaled by 1/n
+     * @param real the real parts, a power of two in length
+     * @param imaginary the imaginary parts, the same length as the real parts
+     * @param inverse true for the inverse transform, with e<sup>+2&#x03C0;ikt/n</sup>
+     */
+    static void radix2(double[] real, double[] imaginary, boolean inverse) {
+        int n = real.length;
+        if (n <= 1) {
+            return;
+        }
+
+        int levels = Integer.numberOfTrailingZeros(n);
+        for (int i = 0; i < n; i++) {
+            int j = Integer.reverse(i) >>> (32 - levels);
+            if (j > i) {
+                double t = real[i];
+                real[i] = real[j];
+                real[j] = t;
+                t = imaginary[i];
+                imaginary[i] = imaginary[j];
+                imaginary[j] = t;
+            }
+        }
+
+        int half = n / 2;
+        double[] cos = new double[half];
+        double[] sin = new double[half];
+        double sign = inverse ? 1 : -1;
+        for (int k = 0; k < half; k++) {
+            double angle = 2 * Math.PI * k / n;
+            cos[k] = Math.cos(angle);
+            sin[k] = sign * Math.sin(angle);
+        }
+
+        for (int size = 2; size <= n; size <<= 1) {
+            int halfSize = size >>> 1;
+            int step = n / size;
+            for (int start = 0; start < n; start += size) {
+                for (int k = 0, twiddle = 0; k < halfSize; k++, twiddle += step) {
+                    int even = start + k;
+                    int odd = even + halfSize;
+                    double tr = real[odd] * cos[twiddle] - imaginary[odd] * sin[twiddle];
+                    double ti = real[odd] * sin[twiddle] + imaginary[odd] * cos[twiddle];
+                    real[odd] = real[even] - tr;
+                    imaginary[odd] = imaginary[even] - ti;
+                    real[even] += tr;
+                    imaginary[even] += ti;
+                }
+            }
+        }
+    }
+
+    private static void bluestein(double[] real, double[] imaginary) {
+        int n = real.length;
+        int m = powerOfTwoAtLeast(2 * n - 1);
+
+        // chirp w_k = e^(-i pi k^2 / n); k^2 is reduced mod 2n first so the angle stays exact for long inputs
+        double[] chirpCos = new double[n];
+        double[] chirpSin = new double[n];
+        long modulus = 2L * n;
+        for (int k = 0; k < n; k++) {
+            double angle = Math.PI * (((long) k * k) % modulus) / n;
+            chirpCos[k] = Math.cos(angle);
+            chirpSin[k] = -Math.sin(angle);
+        }
+
+        double[] aReal = new double[m];
+        double[] aImaginary = new double[m];
+        for (int k = 0; k < n; k++) {
+            aReal[k] = real[k] * chirpCos[k] - imaginary[k] * chirpSin[k];
+            aImaginary[k] = real[k] * chirpSin[k] + imaginary[k] * chirpCos[k];
+        }
+
+        double[] bReal = new double[m];
+        double[] bImaginary = new double[m];
+        bReal[0] = chirpCos[0];
+        bImaginary[0] = -chirpSin[0];
+        for (int k = 1; k < n; k++) {
+            bReal[k] = bReal[m - k] = chirpCos[k];
+            bImaginary[k] = bImaginary[m - k] = -chirpSin[k];
+        }
+
+        radix2(aReal, aImaginary, false);
+        radix2(bReal, bImaginary, false);
+        for (int k = 0; k < m; k++) {
+            double r = aReal[k] * bReal[k] - aImaginary[k] * bImaginary[k];
+            aImaginary[k] = aReal[k] * bImaginary[k] + aImaginary[k] * bReal[k];
+            aReal[k] = r;
+        }
+        radix2(aReal, aImaginary, true);
+
+        for (int k = 0; k < n; k++) {
+            double cr = aReal[k] / m;
+            double ci = aImaginary[k] / m;
+            real[k] = cr * chirpCos[k] - ci * chirpSin[k];
+            imaginary[k] = cr * chirpSin[k] + ci * chirpCos[k];
+        }
+    }
+}
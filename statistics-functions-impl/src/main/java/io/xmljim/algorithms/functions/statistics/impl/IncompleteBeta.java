@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+/**
+ * The regularized incomplete beta function and the log gamma and log beta functions it needs.
+ * <p>
+ *     These follow commons-math (the same Lanczos approximation, and a Stirling series for the difference of
+ *     log gammas at large arguments), but nothing allocates: commons-math builds a continued fraction object
+ *     per call and some of its logarithms use scratch arrays. That keeps p-values usable inside an
+ *     {@link io.xmljim.algorithms.functions.common.EvaluationPlan}.
+ * </p>
+ */
+final class IncompleteBeta {
+    private static final double EPSILON = 1E-15;
+    private static final double TINY = 1E-300;
+    private static final int MAX_ITERATIONS = 10_000;
+
+    private static final double HALF_LOG_2_PI = 0.5 * Math.log(2 * Math.PI);
+    private static final double LANCZOS_G = 607.0 / 128.0;
+    private static final double[] LANCZOS = {
+            0.99999999999999709182,
+            57.156235665862923517,
+            -59.597960355475491248,
+            14.136097974741747174,
+            -0.49191381609762019978,
+            .33994649984811888699e-4,
+            .46523628927048575665e-4,
+            -.98374475304879564677e-4,
+            .15808870322491248884e-3,
+            -.21026444172410488319e-3,
+            .21743961811521264320e-3,
+            -.16431810653676389022e-3,
+            .84418223983852743293e-4,
+            -.26190838401581408670e-4,
+            .36899182659531622704e-5,
+    };
+
+    /**
+     * Arguments from which log gamma differences use the Stirling series
+     */
+    private static final double STIRLING_THRESHOLD = 10;
+
+    private IncompleteBeta() {
+
+    }
+
+    /**
+     * I<sub>x</sub>(a, b). The continued fraction converges quickly for x &lt; (a + 1) / (a + b + 2); above that,
+     * I<sub>x</sub>(a, b) = 1 - I<sub>1-x</sub>(b, a)
+     * @param x the upper limit, between 0 and 1
+     * @param a the first shape parameter, positive
+     * @param b the second shape parameter, positive
+     * @return the regularized incomplete beta function, or NaN if an argument is out of range
+     */
+    static double regularized(double x, double a, double b) {
+        if (Double.isNaN(x) || x < 0 || x > 1 || !(a > 0) || !(b > 0)) {
+            return Double.NaN;
+        }
+        if (x == 0 || x == 1) {
+            return x;
+        }
+
+        if (x > (a + 1) / (a + b + 2)) {
+            return 1 - regularized(1 - x, b, a);
+        }
+
+        double front = Math.exp(a * Math.log(x) + b * Math.log1p(-x) - logBeta(a, b)) / a;
+        return front * continuedFraction(x, a, b);
+    }
+
+    /**
+     * ln B(a, b)
+     */
+    static double logBeta(double a, double b) {
+        double small = Math.min(a, b);
+        double large = Math.max(a, b);
+        double sum = a + b;
+
+        if (large < STIRLING_THRESHOLD) {
+            return logGamma(small) + logGamma(large) - logGamma(sum);
+        }
+
+        // lnGamma(large) - lnGamma(large + small), without subtracting two large log gammas
+        double difference = -(large - 0.5) * Math.log1p(small / large) - small * Math.log(sum) + small
+                + stirlingCorrection(large) - stirlingCorrection(sum);
+        return logGamma(small) + difference;
+    }
+
+    /**
+     * ln &#x0393;(x) for x &gt; 0
+     */
+    static double logGamma(double x) {
+        if (x < 0.5) {
+            return logGamma(x + 1) - Math.log(x);
+        }
+
+        double sum = 0;
+        for (int i = LANCZOS.length - 1; i > 0; i--) {
+            sum += LANCZOS[i] / (x + i);
+        }
+        sum += LANCZOS[0];
+
+        double shifted = x + LANCZOS_G + 0.5;
+        return (x + 0.5) * Math.log(shifted) - shifted + HALF_LOG_2_PI + Math.log(sum / x);
+    }
+
+    /**
+     * ln &#x0393;(z) - ((z - &#xBD;) ln z - z + &#xBD; ln 2&#x03C0;), the tail of Stirling's series, for z &#x2265; 10
+     */
+    private static double stirlingCorrection(double z) {
+        double inverse = 1 / z;
+        double inverse2 = inverse * inverse;
+        return inverse * (1.0 / 12 - inverse2 * (1.0 / 360 - inverse2 * (1.0 / 1260 - inverse2 * (1.0 / 1680 - inverse2 / 1188))));
+    }
+
+    /**
+     * 1 / (1 + d<sub>1</sub> / (1 + d<sub>2</sub> / (1 + ...))), evaluated with the modified Lentz method
+     */
+    private static double continuedFraction(double x, double a, double b) {
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = 1 / (Math.abs(d) < TINY ? TINY : d);
+        double fraction = d;
+
+        for (int m = 1; m <= MAX_ITERATIONS; m++) {
+            int m2 = 2 * m;
+            double even = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+            d = 1 + even * d;
+            d = 1 / (Math.abs(d) < TINY ? TINY : d);
+            c = 1 + even / c;
+            c = Math.abs(c) < TINY ? TINY : c;
+            fraction *= d * c;
+
+            double odd = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+            d = 1 + odd * d;
+            d = 1 / (Math.abs(d) < TINY ? TINY : d);
+            c = 1 + odd / c;
+            c = Math.abs(c) < TINY ? TINY : c;
+            double delta = d * c;
+            fraction *= delta;
+
+            if (Math.abs(delta - 1) < EPSILON) {
+                break;
+            }
+        }
+        return fraction;
+    }
+}
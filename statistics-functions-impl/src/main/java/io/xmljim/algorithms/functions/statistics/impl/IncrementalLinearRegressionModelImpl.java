@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.statistics.IncrementalLinearRegressionModel;
+import io.xmljim.algorithms.model.Coefficient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Linear regression model backed by running {@link CoMoments}. Updates are O(1); the coefficients
+ * are re-derived from the co-moments the first time they are read after an update.
+ */
+class IncrementalLinearRegressionModelImpl extends AbstractLinearRegressionModel implements IncrementalLinearRegressionModel {
+    private final CoMoments moments = new CoMoments();
+    private boolean solved;
+
+    public IncrementalLinearRegressionModelImpl() {
+        super();
+    }
+
+    /**
+     * Create a model that starts from co-moments accumulated elsewhere
+     * @param moments the co-moments, which are copied
+     */
+    IncrementalLinearRegressionModelImpl(CoMoments moments) {
+        super();
+        this.moments.merge(moments);
+    }
+
+    @Override
+    public synchronized void add(final double x, final double y) {
+        moments.add(x, y);
+        solved = false;
+    }
+
+    @Override
+    public synchronized void remove(final double x, final double y) {
+        moments.remove(x, y);
+        solved = false;
+    }
+
+    @Override
+    public void merge(final IncrementalLinearRegressionModel other) {
+        if (!(other instanceof IncrementalLinearRegressionModelImpl)) {
+            throw new FunctionException("Cannot merge model of type " + (other == null ? null : other.getClass().getName()));
+        }
+
+        CoMoments otherMoments = ((IncrementalLinearRegressionModelImpl) other).snapshot();
+
+        synchronized (this) {
+            moments.merge(otherMoments);
+            solved = false;
+        }
+    }
+
+    @Override
+    public synchronized long getCount() {
+        return moments.getCount();
+    }
+
+    @Override
+    public synchronized void solve() {
+        if (!solved) {
+            setCoefficients(moments);
+            solved = true;
+        }
+    }
+
+    @Override
+    public synchronized <T> Coefficient<T> getCoefficient(final String name) {
+        solve();
+        return super.getCoefficient(name);
+    }
+
+    @Override
+    public synchronized Stream<Coefficient<?>> coefficients() {
+        solve();
+        List<Coefficient<?>> coefficients = new ArrayList<>();
+        super.coefficients().forEach(coefficients::add);
+        return coefficients.stream();
+    }
+
+    private synchronized CoMoments snapshot() {
+        return moments.copy();
+    }
+}
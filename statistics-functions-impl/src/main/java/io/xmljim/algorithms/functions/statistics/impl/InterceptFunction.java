@@ -17,18 +17,19 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
 import io.xmljim.algorithms.model.ScalarFunction;
 import io.xmljim.algorithms.model.ScalarFunctionParameter;
 import io.xmljim.algorithms.model.util.Scalar;
 
-class InterceptFunction extends AbstractScalarFunction {
-    private Scalar result;
-
+class InterceptFunction extends AbstractScalarFunction implements Compilable {
     public InterceptFunction(ScalarFunctionParameter meanXFunction, ScalarFunctionParameter meanYFunction, ScalarFunctionParameter slopeFunction) {
         super(StatisticsFunctionTypes.INTERCEPT, meanXFunction, meanYFunction, slopeFunction);
     }
 
-    Scalar computeIntercept() {
+    @Override
+    protected Scalar evaluate() {
         ScalarFunction meanXFx = getValue(StatisticsFunctionTypes.MEAN.getName(), "x");
         ScalarFunction meanYFx = getValue(StatisticsFunctionTypes.MEAN.getName(), "y");
         ScalarFunction slopeFx = getValue(StatisticsFunctionTypes.SLOPE.getName());
@@ -38,11 +39,11 @@ class InterceptFunction extends AbstractScalarFunction {
     }
 
     @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = computeIntercept();
-        }
-        return result;
+    public int compile(PlanCompiler compiler) {
+        int meanX = compiler.slot(getValue(StatisticsFunctionTypes.MEAN.getName(), "x"));
+        int meanY = compiler.slot(getValue(StatisticsFunctionTypes.MEAN.getName(), "y"));
+        int slope = compiler.slot(getValue(StatisticsFunctionTypes.SLOPE.getName()));
+        return compiler.emit((registers, vectors) -> registers[meanY] - registers[meanX] * registers[slope]);
     }
 
 }
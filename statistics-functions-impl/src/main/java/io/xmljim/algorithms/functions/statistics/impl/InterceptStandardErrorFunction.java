@@ -17,6 +17,8 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
 import io.xmljim.algorithms.model.ScalarFunction;
 import io.xmljim.algorithms.model.ScalarFunctionParameter;
 import io.xmljim.algorithms.model.ScalarParameter;
@@ -34,16 +36,15 @@ import io.xmljim.algorithms.model.util.Scalar;
  *     </pre>
  * </p>
  */
-class InterceptStandardErrorFunction extends AbstractScalarFunction {
-
-    private Scalar result;
+class InterceptStandardErrorFunction extends AbstractScalarFunction implements Compilable {
 
     public InterceptStandardErrorFunction(ScalarFunctionParameter meanSquaredErrorFunction, ScalarFunctionParameter meanXFunction, ScalarFunctionParameter sumOfSquaresX,
                                           ScalarParameter countParameter) {
         super(StatisticsFunctionTypes.INTERCEPT_STD_ERROR, meanSquaredErrorFunction, meanXFunction, sumOfSquaresX, countParameter);
     }
 
-    private Scalar getResult() {
+    @Override
+    protected Scalar evaluate() {
         ScalarFunction mseFx = getValue(StatisticsFunctionTypes.MSE.getName());
         ScalarFunction meanXFx = getValue(StatisticsFunctionTypes.MEAN.getName(), StatisticsNameConstants.X_VARIABLE);
         ScalarFunction sumSquaresXFx = getValue(StatisticsFunctionTypes.SST.getName(), StatisticsNameConstants.X_VARIABLE);
@@ -54,17 +55,19 @@ class InterceptStandardErrorFunction extends AbstractScalarFunction {
         double sumSquaresX = sumSquaresXFx.compute().asDouble();
         int count = countVar.asInt();
 
-        double interceptVariance = mse * ((1 / count) +  (Math.pow(meanX, 2) / sumSquaresX));
+        double interceptVariance = mse * ((1.0 / count) +  (Math.pow(meanX, 2) / sumSquaresX));
         double seIntercept = Math.sqrt(interceptVariance);
         return Scalar.of(seIntercept);
     }
 
     @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = getResult();
-        }
-
-        return result;
+    public int compile(PlanCompiler compiler) {
+        int mse = compiler.slot(getValue(StatisticsFunctionTypes.MSE.getName()));
+        int meanX = compiler.slot(getValue(StatisticsFunctionTypes.MEAN.getName(), StatisticsNameConstants.X_VARIABLE));
+        int sumSquaresX = compiler.slot(getValue(StatisticsFunctionTypes.SST.getName(), StatisticsNameConstants.X_VARIABLE));
+        Scalar countVar = getValue(StatisticsNameConstants.COUNT);
+        int count = compiler.constant(countVar.asInt());
+        return compiler.emit((registers, vectors) ->
+                Math.sqrt(registers[mse] * ((1.0 / registers[count]) + (Math.pow(registers[meanX], 2) / registers[sumSquaresX]))));
     }
 }
@@ -16,24 +16,29 @@
 
 package io.xmljim.algorithms.functions.statistics.impl;
 
-import io.xmljim.algorithms.functions.common.AbstractModel;
-import io.xmljim.algorithms.functions.statistics.LinearRegressionModel;
+import io.xmljim.algorithms.functions.common.EvaluationPlan;
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
+import io.xmljim.algorithms.functions.statistics.CompilableLinearRegressionModel;
 import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
 import io.xmljim.algorithms.model.*;
 import io.xmljim.algorithms.model.util.Scalar;
 
-class LinearRegressionModelImpl extends AbstractModel implements LinearRegressionModel {
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class LinearRegressionModelImpl extends AbstractLinearRegressionModel implements CompilableLinearRegressionModel {
     public LinearRegressionModelImpl(MatrixParameter matrixParameter) {
-        super(StatisticsFunctionTypes.LINEAR_REGRESSION_MODEL.getName(), matrixParameter);
+        super(matrixParameter);
 
     }
 
     public LinearRegressionModelImpl(MatrixParameter matrixParameter, ScalarParameter setX, ScalarParameter setY) {
-        super(StatisticsFunctionTypes.LINEAR_REGRESSION_MODEL.getName(), matrixParameter, setX, setY);
+        super(matrixParameter, setX, setY);
     }
 
     public LinearRegressionModelImpl(ScalarVectorParameter vectorX, ScalarVectorParameter vectorY) {
-        super(StatisticsFunctionTypes.LINEAR_REGRESSION_MODEL.getName(), vectorX, vectorY);
+        super(vectorX, vectorY);
     }
 
     private StatisticsProvider getFunctionProvider() {
@@ -41,56 +46,51 @@ class LinearRegressionModelImpl extends AbstractModel implements LinearRegressio
         return provider;
     }
 
+    /**
+     * Solve the model in a single pass over the x and y values. The coefficients are derived from
+     * the co-moments of the data rather than by composing the individual statistics functions
+     */
     @Override
-    public ScalarCoefficient getSlopeCoefficient() {
-        Coefficient<?> coeff = getCoefficient(StatisticsFunctionTypes.SLOPE.getName());
-        return (ScalarCoefficient) coeff;
-    }
-
-    @Override
-    public ScalarCoefficient getInterceptCoefficient() {
-        Coefficient<?> coeff = getCoefficient(StatisticsFunctionTypes.INTERCEPT.getName());
-        return (ScalarCoefficient) coeff;
-    }
-
-    @Override
-    public ScalarCoefficient getRSquaredCoefficient() {
-        Coefficient<?> coeff = getCoefficient(StatisticsFunctionTypes.R_SQUARED.getName());
-        return (ScalarCoefficient) coeff;
-    }
-
-    @Override
-    public ScalarCoefficient getSlopeStandardErrorCoefficient() {
-        Coefficient<?> coefficient = getCoefficient(StatisticsFunctionTypes.SLOPE_STD_ERROR.getName());
-        return (ScalarCoefficient) coefficient;
-    }
-
-    @Override
-    public ScalarCoefficient getInterceptStandardErrorCoefficient() {
-        Coefficient<?> coefficient = getCoefficient(StatisticsFunctionTypes.INTERCEPT_STD_ERROR.getName());
-        return (ScalarCoefficient) coefficient;
+    public void solve() {
+        CoMoments moments = CoMoments.of(getVector(StatisticsNameConstants.X_VARIABLE), getVector(StatisticsNameConstants.Y_VARIABLE));
+        setCoefficients(moments);
     }
 
-    @Override
-    public ScalarCoefficient getSlopeTStatisticCoefficient() {
-        Coefficient<?> coefficient = getCoefficient(StatisticsFunctionTypes.P_SLOPE.getName());
-        return (ScalarCoefficient) coefficient;
+    /**
+     * Solve the model by composing the individual statistics functions. This evaluates each
+     * statistic separately and is retained as the reference implementation for {@link #solve()}
+     */
+    void solveWithFunctions() {
+        coefficientFunctions().forEach((type, function) -> setCoefficient(type, function));
     }
 
+    /**
+     * Compile the statistics functions behind each coefficient into one plan. Outputs are named after
+     * the coefficients, and the means, variance and sums of squares they share are computed once
+     */
     @Override
-    public ScalarCoefficient getPSlopeCoefficient() {
-        return null;
+    public EvaluationPlan compile() {
+        Map<String, ScalarFunction> outputs = new LinkedHashMap<>();
+        coefficientFunctions().forEach((type, function) -> outputs.put(type.getName(), function));
+        return PlanCompiler.compile(outputs);
     }
 
-    @Override
-    public void solve() {
+    /**
+     * Build the graph of statistics functions for the model coefficients
+     * @return the function for each coefficient
+     * @throws FunctionException thrown if the vectors differ in length
+     */
+    private Map<StatisticsFunctionTypes, ScalarFunction> coefficientFunctions() {
         ScalarVector vectorX = getVector(StatisticsNameConstants.X_VARIABLE);
         ScalarVector vectorY = getVector(StatisticsNameConstants.Y_VARIABLE);
+        if (vectorX.length() != vectorY.length()) {
+            throw new FunctionException("Vector lengths differ: x has " + vectorX.length() + " values, y has " + vectorY.length());
+        }
 
         ScalarFunction meanX = getFunctionProvider().getFactory().mean(vectorX, StatisticsNameConstants.X_VARIABLE);
         ScalarFunction meanY = getFunctionProvider().getFactory().mean(vectorY, StatisticsNameConstants.Y_VARIABLE);
         ScalarFunction varianceX = getFunctionProvider().getFactory().variance(vectorX, meanX);
-        ScalarFunction covariance = getFunctionProvider().getFactory().covariance(vectorX, vectorY);
+        ScalarFunction covariance = getFunctionProvider().getFactory().covariance(vectorX, vectorY, meanX, meanY);
         ScalarFunction slope = getFunctionProvider().getFactory().slope(varianceX, covariance);
         ScalarFunction intercept = getFunctionProvider().getFactory().intercept(meanX, meanY, slope);
         ScalarFunction residualSumSquares = getFunctionProvider().getFactory().residualSumOfSquares(vectorX, vectorY, slope, intercept);
@@ -103,14 +103,15 @@ class LinearRegressionModelImpl extends AbstractModel implements LinearRegressio
         ScalarFunction slopeTStatistic = getFunctionProvider().getFactory().slopeTStatistic(slope, slopeStandardError);
         ScalarFunction slopePValue = getFunctionProvider().getFactory().slopePValue(vectorX.length() - 2, slopeTStatistic);
 
-        setCoefficient(StatisticsFunctionTypes.SLOPE, slope);
-        setCoefficient(StatisticsFunctionTypes.INTERCEPT, intercept);
-        setCoefficient(StatisticsFunctionTypes.R_SQUARED, rSquared);
-        setCoefficient(StatisticsFunctionTypes.SLOPE_STD_ERROR, slopeStandardError);
-        setCoefficient(StatisticsFunctionTypes.INTERCEPT_STD_ERROR, interceptStandardError);
-        setCoefficient(StatisticsFunctionTypes.T_SLOPE, slopeTStatistic);
-        setCoefficient(StatisticsFunctionTypes.P_SLOPE, slopePValue);
-
+        Map<StatisticsFunctionTypes, ScalarFunction> functions = new LinkedHashMap<>();
+        functions.put(StatisticsFunctionTypes.SLOPE, slope);
+        functions.put(StatisticsFunctionTypes.INTERCEPT, intercept);
+        functions.put(StatisticsFunctionTypes.R_SQUARED, rSquared);
+        functions.put(StatisticsFunctionTypes.SLOPE_STD_ERROR, slopeStandardError);
+        functions.put(StatisticsFunctionTypes.INTERCEPT_STD_ERROR, interceptStandardError);
+        functions.put(StatisticsFunctionTypes.T_SLOPE, slopeTStatistic);
+        functions.put(StatisticsFunctionTypes.P_SLOPE, slopePValue);
+        return functions;
     }
 
     private ScalarVector getVector(String variable) {
@@ -122,7 +123,8 @@ class LinearRegressionModelImpl extends AbstractModel implements LinearRegressio
             int column = -1;
 
             if (hasParameter(StatisticsNameConstants.COLUMN, variable)) {
-                column = getValue(StatisticsNameConstants.COLUMN, variable);
+                Scalar columnValue = getValue(StatisticsNameConstants.COLUMN, variable);
+                column = columnValue.asInt();
             } else {
                 column = defaultColumn;
             }
@@ -17,13 +17,16 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
+import io.xmljim.algorithms.functions.statistics.EvaluationMode;
+import io.xmljim.algorithms.model.Parameter;
 import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.ScalarVectorParameter;
 import io.xmljim.algorithms.model.util.Scalar;
+import io.xmljim.algorithms.model.util.SummaryStats;
 
-class MeanFunction extends AbstractScalarFunction {
-    private Scalar result = null;
-
+class MeanFunction extends AbstractScalarFunction implements Compilable {
     public MeanFunction(ScalarVectorParameter vectorParameter) {
         super(StatisticsFunctionTypes.MEAN, vectorParameter);
     }
@@ -32,16 +35,25 @@ class MeanFunction extends AbstractScalarFunction {
         super(StatisticsFunctionTypes.MEAN, variable, vectorParameter);
     }
 
-    private Scalar computeMean() {
+    MeanFunction(String variable, Parameter<?>... parameters) {
+        super(StatisticsFunctionTypes.MEAN, variable, parameters);
+    }
+
+    @Override
+    protected Scalar evaluate() {
         ScalarVector vector = getValue(0);
-        double sum = vector.stream().mapToDouble(Scalar::asDouble).sum();
+        if (Reductions.evaluationMode(lookupParameter(StatisticsNameConstants.EVALUATION_MODE)) == EvaluationMode.PARALLEL) {
+            return Scalar.of(Reductions.moments(vector).getMean());
+        }
+
+        double sum = vector.getSummaryStats()
+                .map(SummaryStats::getSum)
+                .orElseGet(() -> vector.doubleStream().sum());
         return Scalar.of(sum / vector.length());
     }
 
-    public Scalar compute() {
-        if (result == null) {
-            result = computeMean();
-        }
-        return result;
+    @Override
+    public int compile(PlanCompiler compiler) {
+        return PlanOperations.mean(compiler, compiler.vector(getValue(0)));
     }
 }
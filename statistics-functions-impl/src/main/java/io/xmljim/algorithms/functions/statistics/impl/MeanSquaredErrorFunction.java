@@ -17,24 +17,23 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
 import io.xmljim.algorithms.model.ScalarFunction;
 import io.xmljim.algorithms.model.ScalarFunctionParameter;
 import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.ScalarVectorParameter;
 import io.xmljim.algorithms.model.util.Scalar;
 
-import java.util.stream.IntStream;
-
-class MeanSquaredErrorFunction extends AbstractScalarFunction {
-
-    private Scalar result;
+class MeanSquaredErrorFunction extends AbstractScalarFunction implements Compilable {
 
     public MeanSquaredErrorFunction(ScalarVectorParameter vectorX, ScalarVectorParameter vectorY, ScalarFunctionParameter slopeFunction,
                                     ScalarFunctionParameter interceptFunction) {
         super(StatisticsFunctionTypes.MSE, vectorX, vectorY, slopeFunction, interceptFunction);
     }
 
-    Scalar computeMeanSquaredError() {
+    @Override
+    protected Scalar evaluate() {
         ScalarVector vectorX = getValue(StatisticsNameConstants.VECTOR, StatisticsNameConstants.X_VARIABLE);
         ScalarVector vectorY = getValue(StatisticsNameConstants.VECTOR, StatisticsNameConstants.Y_VARIABLE);
         ScalarFunction slopeFx = getValue(StatisticsFunctionTypes.SLOPE.getName());
@@ -42,21 +41,17 @@ class MeanSquaredErrorFunction extends AbstractScalarFunction {
         ScalarFunction interceptFx = getValue(StatisticsFunctionTypes.INTERCEPT.getName());
         double intercept = interceptFx.compute().asDouble();
 
-        double mss = IntStream.range(0, vectorX.length())
-                .mapToDouble(i -> {
-                    double yHat = slope * vectorX.get(i).asDouble() + intercept;
-                    return Math.pow(yHat - vectorY.get(i).asDouble(), 2);
-                }).sum();
+        double mss = Reductions.residualSumOfSquares(vectorX, vectorY, slope, intercept);
 
         return Scalar.of(mss / (vectorX.length() - 2));
     }
 
     @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = computeMeanSquaredError();
-        }
-
-        return result;
+    public int compile(PlanCompiler compiler) {
+        int vectorX = compiler.vector(getValue(StatisticsNameConstants.VECTOR, StatisticsNameConstants.X_VARIABLE));
+        int vectorY = compiler.vector(getValue(StatisticsNameConstants.VECTOR, StatisticsNameConstants.Y_VARIABLE));
+        int slope = compiler.slot(getValue(StatisticsFunctionTypes.SLOPE.getName()));
+        int intercept = compiler.slot(getValue(StatisticsFunctionTypes.INTERCEPT.getName()));
+        return PlanOperations.meanSquaredError(compiler, vectorX, vectorY, slope, intercept);
     }
 }
@@ -21,12 +21,7 @@ import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.ScalarVectorParameter;
 import io.xmljim.algorithms.model.util.Scalar;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 class MedianFunction extends AbstractScalarFunction {
-    private Scalar result;
-
     public MedianFunction(ScalarVectorParameter scalarVectorParameter) {
         super(StatisticsFunctionTypes.MEDIAN, scalarVectorParameter);
     }
@@ -35,28 +30,9 @@ class MedianFunction extends AbstractScalarFunction {
         super(StatisticsFunctionTypes.MEDIAN, variable, scalarVectorParameter);
     }
 
-    private Scalar computeMedian() {
-        double med;
-        ScalarVector vector = getValue(0);
-        List<Number> sorted = vector.sorted().collect(Collectors.toList());
-
-        if (sorted.size() % 2 == 1) {
-            int index = ((sorted.size() + 1) / 2) - 1;
-            med = sorted.get(index).doubleValue();
-        } else {
-            int left = (sorted.size() / 2) - 1;
-            int right = (sorted.size() / 2);
-
-            med = (sorted.get(left).doubleValue() + sorted.get(right).doubleValue()) / 2;
-        }
-        return Scalar.of(med);
-    }
-
     @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = computeMedian();
-        }
-        return result;
+    protected Scalar evaluate() {
+        ScalarVector vector = getValue(0);
+        return Scalar.of(Selection.quantile(Selection.copyOf(vector), 0.5));
     }
 }
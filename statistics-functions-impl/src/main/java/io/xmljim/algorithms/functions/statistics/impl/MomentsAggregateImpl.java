@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.statistics.MomentsAggregate;
+import io.xmljim.algorithms.functions.statistics.Statistic;
+import io.xmljim.algorithms.functions.statistics.kernel.NumericKernels;
+import io.xmljim.algorithms.model.util.Scalar;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Moments aggregate backed by {@link Reductions.Moments}. Each accumulated array is reduced like one chunk of a
+ * parallel reduction, with the {@link NumericKernels} selected for this JVM, and merged in with Chan's formula.
+ * <p>
+ *     The serialized form is: a 4 byte format marker, the count as a long, then the compensated sum and the sum
+ *     of squared deviations as doubles.
+ * </p>
+ */
+class MomentsAggregateImpl implements MomentsAggregate {
+    private static final int FORMAT = 0x4D4F4D31;
+
+    private final Reductions.Moments moments;
+
+    MomentsAggregateImpl() {
+        this(new Reductions.Moments());
+    }
+
+    private MomentsAggregateImpl(Reductions.Moments moments) {
+        this.moments = moments;
+    }
+
+    @Override
+    public void accumulate(final double[] values) {
+        int size = values.length;
+        if (size == 0) {
+            return;
+        }
+
+        NumericKernels kernels = NumericKernels.getInstance();
+        double sum = kernels.sum(values, 0, size);
+        moments.merge(Reductions.Moments.of(size, sum, kernels.sumOfSquaredDeviations(values, 0, size, sum / size)));
+    }
+
+    @Override
+    public MomentsAggregate combine(final MomentsAggregate other) {
+        if (!(other instanceof MomentsAggregateImpl)) {
+            throw new FunctionException("Cannot combine aggregate of type " + (other == null ? null : other.getClass().getName()));
+        }
+
+        Reductions.Moments combined = new Reductions.Moments();
+        combined.merge(moments);
+        combined.merge(((MomentsAggregateImpl) other).moments);
+        return new MomentsAggregateImpl(combined);
+    }
+
+    @Override
+    public long getCount() {
+        return moments.getCount();
+    }
+
+    @Override
+    public Scalar finish(final Statistic statistic) {
+        long count = moments.getCount();
+        switch (statistic) {
+            case COUNT:
+                return Scalar.of(count);
+            case SUM:
+                return Scalar.of(moments.getSum());
+            case MEAN:
+                return Scalar.of(moments.getMean());
+            case VARIANCE:
+                return Scalar.of(variance());
+            case STANDARD_DEVIATION:
+                return Scalar.of(Math.sqrt(variance()));
+            default:
+                throw new FunctionException("Cannot derive " + statistic.getName() + " from moments");
+        }
+    }
+
+    private double variance() {
+        long count = moments.getCount();
+        return count < 2 ? Double.NaN : moments.getSumOfSquaredDeviations() / (count - 1);
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        ByteBuffer bytes = ByteBuffer.allocate(4 + Long.BYTES + 2 * Double.BYTES);
+        bytes.putInt(FORMAT);
+        bytes.putLong(moments.getCount());
+        bytes.putDouble(moments.getSum());
+        bytes.putDouble(moments.getSumOfSquaredDeviations());
+        return bytes.array();
+    }
+
+    /**
+     * Restore an aggregate from its serialized form
+     * @param bytes the serialized aggregate
+     * @return the aggregate
+     * @throws FunctionException thrown if the bytes are not a serialized moments aggregate
+     */
+    static MomentsAggregateImpl fromByteArray(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt() != FORMAT) {
+                throw new FunctionException("Not a serialized moments aggregate");
+            }
+
+            long count = buffer.getLong();
+            if (count < 0) {
+                throw new FunctionException("Invalid count in serialized moments aggregate: " + count);
+            }
+            return new MomentsAggregateImpl(Reductions.Moments.of(count, buffer.getDouble(), buffer.getDouble()));
+        } catch (BufferUnderflowException e) {
+            throw new FunctionException("Truncated serialized moments aggregate", e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.AbstractModel;
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.statistics.MultipleLinearRegressionModel;
+import io.xmljim.algorithms.model.*;
+import io.xmljim.algorithms.model.util.Scalar;
+
+class MultipleLinearRegressionModelImpl extends AbstractModel implements MultipleLinearRegressionModel {
+
+    public MultipleLinearRegressionModelImpl(MatrixParameter matrixParameter, ScalarParameter yColumn, ScalarParameter... xColumns) {
+        super(StatisticsFunctionTypes.MULTIPLE_LINEAR_REGRESSION_MODEL.getName(), parameters(matrixParameter, yColumn, xColumns));
+    }
+
+    private static Parameter<?>[] parameters(MatrixParameter matrixParameter, ScalarParameter yColumn, ScalarParameter... xColumns) {
+        Parameter<?>[] parameters = new Parameter<?>[xColumns.length + 2];
+        parameters[0] = matrixParameter;
+        parameters[1] = yColumn;
+        System.arraycopy(xColumns, 0, parameters, 2, xColumns.length);
+        return parameters;
+    }
+
+    /**
+     * Return the variable name used for the column parameter of an independent variable
+     * @param index the zero-based position of the independent variable
+     * @return the variable name
+     */
+    static String xVariable(int index) {
+        return StatisticsNameConstants.X_VARIABLE + (index + 1);
+    }
+
+    @Override
+    public Coefficient<ScalarVector> getBetaCoefficient() {
+        return getCoefficient(StatisticsFunctionTypes.BETA.getName());
+    }
+
+    @Override
+    public Coefficient<ScalarVector> getStandardErrorCoefficient() {
+        return getCoefficient(StatisticsFunctionTypes.BETA_STD_ERROR.getName());
+    }
+
+    @Override
+    public ScalarCoefficient getRSquaredCoefficient() {
+        Coefficient<?> coefficient = getCoefficient(StatisticsFunctionTypes.R_SQUARED.getName());
+        return (ScalarCoefficient) coefficient;
+    }
+
+    @Override
+    public ScalarCoefficient getAdjustedRSquaredCoefficient() {
+        Coefficient<?> coefficient = getCoefficient(StatisticsFunctionTypes.ADJUSTED_R_SQUARED.getName());
+        return (ScalarCoefficient) coefficient;
+    }
+
+    @Override
+    public void solve() {
+        Matrix matrix = getValue(StatisticsNameConstants.MATRIX);
+        ScalarVector columnY = matrix.getColumn(getColumn(StatisticsNameConstants.Y_VARIABLE));
+
+        int predictorCount = 0;
+        while (hasParameter(StatisticsNameConstants.COLUMN, xVariable(predictorCount))) {
+            predictorCount++;
+        }
+
+        ScalarVector[] columnsX = new ScalarVector[predictorCount];
+        for (int i = 0; i < predictorCount; i++) {
+            columnsX[i] = matrix.getColumn(getColumn(xVariable(i)));
+        }
+
+        int rowCount = columnY.length();
+        int size = predictorCount + 1;
+        if (rowCount <= size) {
+            throw new FunctionException("At least " + (size + 1) + " rows are required to fit " + predictorCount + " independent variables");
+        }
+
+        double shiftY = columnY.getDouble(0);
+        double[] shiftX = new double[predictorCount];
+        for (int i = 0; i < predictorCount; i++) {
+            shiftX[i] = columnsX[i].getDouble(0);
+        }
+
+        NormalEquations equations = NormalEquations.accumulate(columnsX, columnY, shiftX, shiftY);
+        CholeskyDecomposition decomposition = new CholeskyDecomposition(equations.getCrossProducts(), size);
+        double[] shiftedBeta = decomposition.solve(equations.getCrossProductsY());
+        double[] inverse = decomposition.inverse();
+
+        long count = equations.getCount();
+        double explained = 0;
+        for (int i = 0; i < size; i++) {
+            explained += shiftedBeta[i] * equations.getCrossProductsY()[i];
+        }
+        double residualSumSquares = Math.max(0.0, equations.getSumSquaresY() - explained);
+        double totalSumSquares = equations.getSumSquaresY() - equations.getSumY() * equations.getSumY() / count;
+        double rSquared = 1 - residualSumSquares / totalSumSquares;
+        double adjustedRSquared = 1 - (1 - rSquared) * (count - 1) / (count - size);
+        double meanSquaredError = residualSumSquares / (count - size);
+
+        // undo the shift: slopes are unchanged, the intercept absorbs the shifted origin
+        double[] beta = shiftedBeta.clone();
+        double[] contrast = new double[size];
+        contrast[0] = 1;
+        beta[0] += shiftY;
+        for (int i = 1; i < size; i++) {
+            beta[0] -= shiftedBeta[i] * shiftX[i - 1];
+            contrast[i] = -shiftX[i - 1];
+        }
+
+        double[] standardErrors = new double[size];
+        for (int i = 1; i < size; i++) {
+            standardErrors[i] = Math.sqrt(meanSquaredError * inverse[i * size + i]);
+        }
+
+        double interceptVariance = 0;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                interceptVariance += contrast[i] * inverse[i * size + j] * contrast[j];
+            }
+        }
+        standardErrors[0] = Math.sqrt(meanSquaredError * interceptVariance);
+
+        setCoefficient(StatisticsFunctionTypes.BETA, getModelProvider().getVectorFactory().createScalarVector(StatisticsFunctionTypes.BETA.getName(), beta));
+        setCoefficient(StatisticsFunctionTypes.BETA_STD_ERROR, getModelProvider().getVectorFactory().createScalarVector(StatisticsFunctionTypes.BETA_STD_ERROR.getName(), standardErrors));
+        setCoefficient(StatisticsFunctionTypes.R_SQUARED, Scalar.of(rSquared));
+        setCoefficient(StatisticsFunctionTypes.ADJUSTED_R_SQUARED, Scalar.of(adjustedRSquared));
+    }
+
+    private int getColumn(String variable) {
+        Scalar column = getValue(StatisticsNameConstants.COLUMN, variable);
+        return column.asInt();
+    }
+}
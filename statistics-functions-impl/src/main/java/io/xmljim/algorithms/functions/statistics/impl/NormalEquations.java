@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.model.ScalarVector;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Sufficient statistics for an ordinary least squares fit with an intercept: X<sup>T</sup>X,
+ * X<sup>T</sup>y, y<sup>T</sup>y, &#x03A3;y and n. The design matrix is never materialized; each row is
+ * read from the column vectors and folded into the sums.
+ * <p>
+ *     Values are accumulated relative to a shift (typically the first observation) to limit cancellation when the
+ *     data sit far from zero. Row blocks can be accumulated independently and merged, see {@link #accumulate}.
+ * </p>
+ */
+final class NormalEquations {
+    static final int BLOCK_SIZE = 4096;
+
+    private final int size;
+    private final double[] crossProducts;
+    private final double[] crossProductsY;
+    private double sumSquaresY;
+    private double sumY;
+    private long count;
+
+    NormalEquations(int predictorCount) {
+        this.size = predictorCount + 1;
+        this.crossProducts = new double[size * size];
+        this.crossProductsY = new double[size];
+    }
+
+    /**
+     * Accumulate the normal equations over all rows, partitioning the rows into blocks that are
+     * summed in the common fork-join pool. Blocks are always combined in the same order, so the
+     * result does not depend on the number of threads
+     * @param columnsX the independent variable columns
+     * @param columnY the dependent variable column
+     * @param shiftX the value subtracted from each independent variable
+     * @param shiftY the value subtracted from the dependent variable
+     * @return the accumulated normal equations
+     */
+    static NormalEquations accumulate(ScalarVector[] columnsX, ScalarVector columnY, double[] shiftX, double shiftY) {
+        return new AccumulateTask(columnsX, columnY, shiftX, shiftY, 0, columnY.length()).invoke();
+    }
+
+    void add(double[] row, double y) {
+        count++;
+        sumY += y;
+        sumSquaresY += y * y;
+
+        for (int i = 0; i < size; i++) {
+            double value = row[i];
+            crossProductsY[i] += value * y;
+            int offset = i * size;
+            for (int j = 0; j <= i; j++) {
+                crossProducts[offset + j] += value * row[j];
+            }
+        }
+    }
+
+    void merge(NormalEquations other) {
+        count += other.count;
+        sumY += other.sumY;
+        sumSquaresY += other.sumSquaresY;
+
+        for (int i = 0; i < crossProducts.length; i++) {
+            crossProducts[i] += other.crossProducts[i];
+        }
+
+        for (int i = 0; i < size; i++) {
+            crossProductsY[i] += other.crossProductsY[i];
+        }
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * X<sup>T</sup>X, row-major; only the lower triangle is populated
+     */
+    double[] getCrossProducts() {
+        return crossProducts;
+    }
+
+    /**
+     * X<sup>T</sup>y
+     */
+    double[] getCrossProductsY() {
+        return crossProductsY;
+    }
+
+    double getSumSquaresY() {
+        return sumSquaresY;
+    }
+
+    double getSumY() {
+        return sumY;
+    }
+
+    private static class AccumulateTask extends RecursiveTask<NormalEquations> {
+        private final ScalarVector[] columnsX;
+        private final ScalarVector columnY;
+        private final double[] shiftX;
+        private final double shiftY;
+        private final int fromRow;
+        private final int toRow;
+
+        AccumulateTask(ScalarVector[] columnsX, ScalarVector columnY, double[] shiftX, double shiftY, int fromRow, int toRow) {
+            this.columnsX = columnsX;
+            this.columnY = columnY;
+            this.shiftX = shiftX;
+            this.shiftY = shiftY;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected NormalEquations compute() {
+            if (toRow - fromRow <= BLOCK_SIZE) {
+                return accumulateRows();
+            }
+
+            int middle = (fromRow + toRow) >>> 1;
+            AccumulateTask upper = new AccumulateTask(columnsX, columnY, shiftX, shiftY, middle, toRow);
+            upper.fork();
+            NormalEquations result = new AccumulateTask(columnsX, columnY, shiftX, shiftY, fromRow, middle).compute();
+            result.merge(upper.join());
+            return result;
+        }
+
+        private NormalEquations accumulateRows() {
+            NormalEquations equations = new NormalEquations(columnsX.length);
+            double[] row = new double[columnsX.length + 1];
+            row[0] = 1;
+
+            for (int r = fromRow; r < toRow; r++) {
+                for (int c = 0; c < columnsX.length; c++) {
+                    row[c + 1] = columnsX[c].getDouble(r) - shiftX[c];
+                }
+                equations.add(row, columnY.getDouble(r) - shiftY);
+            }
+
+            return equations;
+        }
+    }
+}
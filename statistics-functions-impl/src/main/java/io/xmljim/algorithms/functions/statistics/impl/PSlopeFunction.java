@@ -17,35 +17,32 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
 import io.xmljim.algorithms.model.ScalarFunction;
 import io.xmljim.algorithms.model.ScalarFunctionParameter;
 import io.xmljim.algorithms.model.ScalarParameter;
 import io.xmljim.algorithms.model.util.Scalar;
-import org.apache.commons.math3.distribution.TDistribution;
-
-class PSlopeFunction extends AbstractScalarFunction {
-    private Scalar result;
 
+class PSlopeFunction extends AbstractScalarFunction implements Compilable {
     public PSlopeFunction(ScalarParameter degreesOfFreedom, ScalarFunctionParameter tStatisticParameter) {
         super(StatisticsFunctionTypes.P_SLOPE, degreesOfFreedom, tStatisticParameter);
     }
 
-    Scalar getResult() {
+    @Override
+    protected Scalar evaluate() {
         Scalar dfValue = getValue(StatisticsNameConstants.DEGREES_OF_FREEDOM);
         ScalarFunction tStatFunction = getValue(StatisticsFunctionTypes.T_SLOPE.getName());
         double tStat = tStatFunction.compute().asDouble();
 
-        TDistribution tDistribution = new TDistribution(dfValue.asDouble());
-        double cp = tDistribution.cumulativeProbability(Math.abs(tStat));
-        double p = 2 * (1 - cp);
-        return Scalar.of(p);
+        return Scalar.of(StudentTDistribution.twoTailedPValue(tStat, dfValue.asDouble()));
     }
 
     @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = getResult();
-        }
-        return result;
+    public int compile(PlanCompiler compiler) {
+        Scalar dfValue = getValue(StatisticsNameConstants.DEGREES_OF_FREEDOM);
+        int degreesOfFreedom = compiler.constant(dfValue.asDouble());
+        int tStat = compiler.slot(getValue(StatisticsFunctionTypes.T_SLOPE.getName()));
+        return compiler.emit((registers, vectors) -> StudentTDistribution.twoTailedPValue(registers[tStat], registers[degreesOfFreedom]));
     }
 }
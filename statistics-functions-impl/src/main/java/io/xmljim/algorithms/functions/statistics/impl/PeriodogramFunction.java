@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.AbstractFunction;
+import io.xmljim.algorithms.functions.statistics.kernel.NumericKernels;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.ScalarVectorParameter;
+
+/**
+ * Raw periodogram of a series at the Fourier frequencies k/n, k = 0 to &#x230A;n/2&#x230B; cycles per observation:
+ * I(k/n) = |&#x03A3; (x<sub>t</sub> - x&#x0304;) e<sup>-2&#x03C0;ikt/n</sup>|&#x00B2; / n. The series is
+ * transformed at its own length, which is not padded, so the frequencies are exact; lengths that are not a power
+ * of two go through Bluestein's algorithm. Because the mean is removed, the value at frequency 0 is zero
+ */
+class PeriodogramFunction extends AbstractFunction<ScalarVector> {
+    public PeriodogramFunction(ScalarVectorParameter vectorParameter) {
+        super(StatisticsFunctionTypes.PERIODOGRAM, vectorParameter);
+    }
+
+    @Override
+    protected ScalarVector evaluate() {
+        ScalarVector vector = getValue(0);
+        int n = vector.length();
+
+        double[] real = new double[n];
+        double[] imaginary = new double[n];
+        vector.copyInto(0, real, 0, n);
+        double mean = NumericKernels.getInstance().sum(real, 0, n) / n;
+        for (int i = 0; i < n; i++) {
+            real[i] -= mean;
+        }
+
+        FastFourierTransform.transform(real, imaginary);
+
+        double[] values = new double[n / 2 + 1];
+        for (int k = 0; k < values.length; k++) {
+            values[k] = (real[k] * real[k] + imaginary[k] * imaginary[k]) / n;
+        }
+        return getModelProvider().getVectorFactory().createScalarVector(getName(), getVariable(), values);
+    }
+}
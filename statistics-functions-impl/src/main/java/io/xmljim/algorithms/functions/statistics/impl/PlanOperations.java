@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.PlanCompiler;
+import io.xmljim.algorithms.functions.statistics.kernel.NumericKernels;
+
+/**
+ * Vector reductions shared by the {@link io.xmljim.algorithms.functions.common.Compilable} statistics functions.
+ * Each emits one plan operation that reads whole input arrays with the {@link NumericKernels} selected for this JVM
+ */
+final class PlanOperations {
+
+    private PlanOperations() {
+
+    }
+
+    /**
+     * Emit &#x03A3;x
+     */
+    static int sum(PlanCompiler compiler, int vector) {
+        NumericKernels kernels = NumericKernels.getInstance();
+        return compiler.emit((registers, vectors) -> kernels.sum(vectors[vector], 0, vectors[vector].length));
+    }
+
+    /**
+     * Emit x&#x0304;
+     */
+    static int mean(PlanCompiler compiler, int vector) {
+        NumericKernels kernels = NumericKernels.getInstance();
+        return compiler.emit((registers, vectors) -> {
+            double[] values = vectors[vector];
+            return kernels.sum(values, 0, values.length) / values.length;
+        });
+    }
+
+    /**
+     * Emit &#x03A3;(x - c)&#x00B2; for the center held in a register
+     */
+    static int sumOfSquaredDeviations(PlanCompiler compiler, int vector, int center) {
+        NumericKernels kernels = NumericKernels.getInstance();
+        return compiler.emit((registers, vectors) -> {
+            double[] values = vectors[vector];
+            return kernels.sumOfSquaredDeviations(values, 0, values.length, registers[center]);
+        });
+    }
+
+    /**
+     * Emit the sample variance &#x03A3;(x - c)&#x00B2; / (n - 1) for the center held in a register
+     */
+    static int variance(PlanCompiler compiler, int vector, int center) {
+        NumericKernels kernels = NumericKernels.getInstance();
+        return compiler.emit((registers, vectors) -> {
+            double[] values = vectors[vector];
+            return kernels.sumOfSquaredDeviations(values, 0, values.length, registers[center]) / (values.length - 1);
+        });
+    }
+
+    /**
+     * Emit the sample covariance &#x03A3;(x - c<sub>x</sub>)(y - c<sub>y</sub>) / (n - 1) for the centers held in registers
+     */
+    static int covariance(PlanCompiler compiler, int vectorX, int vectorY, int centerX, int centerY) {
+        NumericKernels kernels = NumericKernels.getInstance();
+        return compiler.emit((registers, vectors) -> {
+            double[] valuesX = vectors[vectorX];
+            return kernels.sumOfCrossDeviations(valuesX, vectors[vectorY], 0, valuesX.length, registers[centerX], registers[centerY])
+                    / (valuesX.length - 1);
+        });
+    }
+
+    /**
+     * Emit &#x03A3;(slope&#xB7;x + intercept - y)&#x00B2; for the slope and intercept held in registers
+     */
+    static int residualSumOfSquares(PlanCompiler compiler, int vectorX, int vectorY, int slope, int intercept) {
+        NumericKernels kernels = NumericKernels.getInstance();
+        return compiler.emit((registers, vectors) -> {
+            double[] valuesX = vectors[vectorX];
+            return kernels.residualSumOfSquares(valuesX, vectors[vectorY], 0, valuesX.length, registers[slope], registers[intercept]);
+        });
+    }
+
+    /**
+     * Emit &#x03A3;(slope&#xB7;x + intercept - y)&#x00B2; / (n - 2) for the slope and intercept held in registers
+     */
+    static int meanSquaredError(PlanCompiler compiler, int vectorX, int vectorY, int slope, int intercept) {
+        NumericKernels kernels = NumericKernels.getInstance();
+        return compiler.emit((registers, vectors) -> {
+            double[] valuesX = vectors[vectorX];
+            return kernels.residualSumOfSquares(valuesX, vectors[vectorY], 0, valuesX.length, registers[slope], registers[intercept])
+                    / (valuesX.length - 2);
+        });
+    }
+}
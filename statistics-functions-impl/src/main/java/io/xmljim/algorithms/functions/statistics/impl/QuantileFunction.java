@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.model.ScalarParameter;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.ScalarVectorParameter;
+import io.xmljim.algorithms.model.util.Scalar;
+
+class QuantileFunction extends AbstractScalarFunction {
+    public QuantileFunction(ScalarVectorParameter scalarVectorParameter, ScalarParameter probabilityParameter) {
+        super(StatisticsFunctionTypes.QUANTILE, scalarVectorParameter, probabilityParameter);
+    }
+
+    public QuantileFunction(ScalarVectorParameter scalarVectorParameter, ScalarParameter probabilityParameter, String variable) {
+        super(StatisticsFunctionTypes.QUANTILE, variable, scalarVectorParameter, probabilityParameter);
+    }
+
+    @Override
+    protected Scalar evaluate() {
+        ScalarVector vector = getValue(0);
+        Scalar probability = getValue(StatisticsNameConstants.PROBABILITY);
+        return Scalar.of(Selection.quantile(Selection.copyOf(vector), probability.asDouble()));
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.statistics.QuantileSketch;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Merging t-digest (Dunning &amp; Ertl). Values are collected in a buffer. When the buffer is full or the
+ * sketch is queried, the buffer is sorted and merged into the centroid list in one sweep. Two neighbouring
+ * centroids are combined only while their span on the k<sub>1</sub> scale, k(q) = &#x03B4;/2&#x03C0; asin(2q - 1),
+ * stays within 1. That keeps centroids small near q = 0 and q = 1, which is where tail quantiles need
+ * the resolution. Memory is O(&#x03B4;) regardless of the number of values.
+ * <p>
+ *     The serialized form is: a 4 byte format marker, compression, min and max as doubles, the centroid count
+ *     as an int, then each centroid's mean as a double followed by its weight as an unsigned LEB128 varint.
+ * </p>
+ */
+class QuantileSketchImpl implements QuantileSketch {
+    static final double DEFAULT_COMPRESSION = 100;
+    static final double MIN_COMPRESSION = 10;
+    static final double MAX_COMPRESSION = 100_000;
+    private static final int FORMAT = 0x54444731;
+
+    private final double compression;
+    private final double[] buffer;
+    private int bufferCount;
+
+    private double[] means;
+    private long[] weights;
+    private int centroidCount;
+
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    QuantileSketchImpl(double compression) {
+        if (!(compression >= MIN_COMPRESSION && compression <= MAX_COMPRESSION)) {
+            throw new FunctionException("Sketch compression must be between " + MIN_COMPRESSION + " and " + MAX_COMPRESSION + ": " + compression);
+        }
+        this.compression = compression;
+        int capacity = capacity(compression);
+        this.means = new double[capacity];
+        this.weights = new long[capacity];
+        this.buffer = new double[5 * (int) Math.ceil(compression)];
+    }
+
+    @Override
+    public synchronized void add(final double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+
+        if (bufferCount == buffer.length) {
+            compress();
+        }
+
+        buffer[bufferCount++] = value;
+        if (count++ == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+    }
+
+    @Override
+    public void merge(final QuantileSketch other) {
+        if (!(other instanceof QuantileSketchImpl)) {
+            throw new FunctionException("Cannot merge sketch of type " + (other == null ? null : other.getClass().getName()));
+        }
+
+        QuantileSketchImpl snapshot = ((QuantileSketchImpl) other).snapshot();
+        if (snapshot.count == 0) {
+            return;
+        }
+
+        synchronized (this) {
+            compress();
+
+            int total = centroidCount + snapshot.centroidCount;
+            double[] mergedMeans = new double[total];
+            long[] mergedWeights = new long[total];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < total; k++) {
+                if (j >= snapshot.centroidCount || (i < centroidCount && means[i] <= snapshot.means[j])) {
+                    mergedMeans[k] = means[i];
+                    mergedWeights[k] = weights[i++];
+                } else {
+                    mergedMeans[k] = snapshot.means[j];
+                    mergedWeights[k] = snapshot.weights[j++];
+                }
+            }
+
+            min = count == 0 ? snapshot.min : Math.min(min, snapshot.min);
+            max = count == 0 ? snapshot.max : Math.max(max, snapshot.max);
+            count += snapshot.count;
+            sweep(mergedMeans, mergedWeights, total);
+        }
+    }
+
+    @Override
+    public synchronized double quantile(final double probability) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new FunctionException("Quantile probability must be between 0 and 1: " + probability);
+        }
+
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        compress();
+
+        if (centroidCount == 1) {
+            return means[0];
+        }
+
+        double index = probability * count;
+        if (index < 1) {
+            return min;
+        }
+        if (index > count - 1) {
+            return max;
+        }
+
+        double firstHalf = weights[0] / 2.0;
+        if (index < firstHalf) {
+            return min + (means[0] - min) * (index - 1) / Math.max(1.0, firstHalf - 1);
+        }
+
+        double weightSoFar = firstHalf;
+        for (int i = 0; i < centroidCount - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2.0;
+            if (weightSoFar + step > index) {
+                double leftExcluded = weights[i] == 1 ? 0.5 : 0;
+                double rightExcluded = weights[i + 1] == 1 ? 0.5 : 0;
+
+                if (index - weightSoFar < leftExcluded) {
+                    return means[i];
+                }
+                if (weightSoFar + step - index <= rightExcluded) {
+                    return means[i + 1];
+                }
+
+                double left = index - weightSoFar - leftExcluded;
+                double right = weightSoFar + step - index - rightExcluded;
+                return (means[i] * right + means[i + 1] * left) / (left + right);
+            }
+            weightSoFar += step;
+        }
+
+        double lastHalf = weights[centroidCount - 1] / 2.0;
+        double lastMean = means[centroidCount - 1];
+        return lastMean + (max - lastMean) * (index - weightSoFar) / Math.max(1.0, lastHalf - 1);
+    }
+
+    @Override
+    public synchronized long getCount() {
+        return count;
+    }
+
+    @Override
+    public synchronized double getMin() {
+        return min;
+    }
+
+    @Override
+    public synchronized double getMax() {
+        return max;
+    }
+
+    @Override
+    public double getCompression() {
+        return compression;
+    }
+
+    /**
+     * Return the number of centroids currently held, after merging any buffered values
+     * @return the centroid count
+     */
+    synchronized int getCentroidCount() {
+        compress();
+        return centroidCount;
+    }
+
+    @Override
+    public synchronized byte[] toByteArray() {
+        compress();
+
+        ByteBuffer bytes = ByteBuffer.allocate(4 + 3 * Double.BYTES + Integer.BYTES + centroidCount * (Double.BYTES + 10));
+        bytes.putInt(FORMAT);
+        bytes.putDouble(compression);
+        bytes.putDouble(min);
+        bytes.putDouble(max);
+        bytes.putInt(centroidCount);
+        for (int i = 0; i < centroidCount; i++) {
+            bytes.putDouble(means[i]);
+            long weight = weights[i];
+            while ((weight & ~0x7FL) != 0) {
+                bytes.put((byte) ((weight & 0x7F) | 0x80));
+                weight >>>= 7;
+            }
+            bytes.put((byte) weight);
+        }
+
+        return Arrays.copyOf(bytes.array(), bytes.position());
+    }
+
+    /**
+     * Restore a sketch from its serialized form
+     * @param bytes the serialized sketch
+     * @return the sketch
+     * @throws FunctionException thrown if the bytes are not a serialized sketch
+     */
+    static QuantileSketchImpl fromByteArray(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt() != FORMAT) {
+                throw new FunctionException("Not a serialized quantile sketch");
+            }
+
+            QuantileSketchImpl sketch = new QuantileSketchImpl(buffer.getDouble());
+            double min = buffer.getDouble();
+            double max = buffer.getDouble();
+            int centroidCount = buffer.getInt();
+            if (centroidCount < 0 || centroidCount > sketch.means.length || centroidCount > buffer.remaining()) {
+                throw new FunctionException("Invalid centroid count in serialized quantile sketch: " + centroidCount);
+            }
+
+            double[] means = new double[centroidCount];
+            long[] weights = new long[centroidCount];
+            long count = 0;
+            for (int i = 0; i < centroidCount; i++) {
+                means[i] = buffer.getDouble();
+                long weight = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = buffer.get();
+                    weight |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0 && shift < 64);
+                weights[i] = weight;
+                count += weight;
+            }
+
+            if (count > 0) {
+                sketch.count = count;
+                sketch.min = min;
+                sketch.max = max;
+                sketch.sweep(means, weights, centroidCount);
+            }
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw new FunctionException("Truncated serialized quantile sketch", e);
+        }
+    }
+
+    /**
+     * @param compression the compression
+     * @return the most centroids a sketch of this compression holds
+     */
+    private static int capacity(double compression) {
+        return 2 * (int) Math.ceil(compression) + 16;
+    }
+
+    private synchronized QuantileSketchImpl snapshot() {
+        compress();
+        QuantileSketchImpl copy = new QuantileSketchImpl(compression);
+        copy.means = Arrays.copyOf(means, centroidCount);
+        copy.weights = Arrays.copyOf(weights, centroidCount);
+        copy.centroidCount = centroidCount;
+        copy.count = count;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    /**
+     * Merge buffered values into the centroids
+     */
+    private void compress() {
+        if (bufferCount == 0) {
+            return;
+        }
+
+        Arrays.sort(buffer, 0, bufferCount);
+
+        int total = centroidCount + bufferCount;
+        double[] mergedMeans = new double[total];
+        long[] mergedWeights = new long[total];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < total; k++) {
+            if (j >= bufferCount || (i < centroidCount && means[i] <= buffer[j])) {
+                mergedMeans[k] = means[i];
+                mergedWeights[k] = weights[i++];
+            } else {
+                mergedMeans[k] = buffer[j++];
+                mergedWeights[k] = 1;
+            }
+        }
+
+        bufferCount = 0;
+        sweep(mergedMeans, mergedWeights, total);
+    }
+
+    /**
+     * Rebuild the centroid list from centroids sorted by mean, combining neighbours while the
+     * combined centroid spans no more than one unit of the scale function
+     */
+    private void sweep(double[] sortedMeans, long[] sortedWeights, int length) {
+        double totalWeight = 0;
+        for (int i = 0; i < length; i++) {
+            totalWeight += sortedWeights[i];
+        }
+
+        int resultCount = 0;
+        double currentMean = sortedMeans[0];
+        long currentWeight = sortedWeights[0];
+        double weightSoFar = 0;
+        double kLeft = scale(0);
+
+        for (int i = 1; i < length; i++) {
+            long proposedWeight = currentWeight + sortedWeights[i];
+            if (scale((weightSoFar + proposedWeight) / totalWeight) - kLeft <= 1) {
+                currentMean += (sortedMeans[i] - currentMean) * sortedWeights[i] / proposedWeight;
+                currentWeight = proposedWeight;
+            } else {
+                resultCount = emit(resultCount, currentMean, currentWeight);
+                weightSoFar += currentWeight;
+                kLeft = scale(weightSoFar / totalWeight);
+                currentMean = sortedMeans[i];
+                currentWeight = sortedWeights[i];
+            }
+        }
+
+        centroidCount = emit(resultCount, currentMean, currentWeight);
+    }
+
+    private int emit(int index, double mean, long weight) {
+        if (index == means.length) {
+            means = Arrays.copyOf(means, index * 2);
+            weights = Arrays.copyOf(weights, index * 2);
+        }
+        means[index] = mean;
+        weights[index] = weight;
+        return index + 1;
+    }
+
+    private double scale(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, q) - 1);
+    }
+}
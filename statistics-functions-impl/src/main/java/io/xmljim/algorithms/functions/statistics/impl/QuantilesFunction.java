@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.AbstractFunction;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.ScalarVectorParameter;
+
+/**
+ * Computes several quantiles from one copy of the data. The result vector holds one value per
+ * probability, in the order the probabilities were given
+ */
+class QuantilesFunction extends AbstractFunction<ScalarVector> {
+    public QuantilesFunction(ScalarVectorParameter scalarVectorParameter, ScalarVectorParameter probabilitiesParameter) {
+        super(StatisticsFunctionTypes.QUANTILES, scalarVectorParameter, probabilitiesParameter);
+    }
+
+    public QuantilesFunction(ScalarVectorParameter scalarVectorParameter, ScalarVectorParameter probabilitiesParameter, String variable) {
+        super(StatisticsFunctionTypes.QUANTILES, variable, scalarVectorParameter, probabilitiesParameter);
+    }
+
+    @Override
+    protected ScalarVector evaluate() {
+        ScalarVector vector = getValue(0);
+        ScalarVector probabilities = getValue(StatisticsNameConstants.PROBABILITY);
+        double[] quantiles = Selection.quantiles(Selection.copyOf(vector), Selection.copyOf(probabilities));
+        return getModelProvider().getVectorFactory().createScalarVector(getName(), getVariable(), quantiles);
+    }
+}
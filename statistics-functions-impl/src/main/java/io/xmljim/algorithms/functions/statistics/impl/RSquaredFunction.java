@@ -17,18 +17,19 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
 import io.xmljim.algorithms.model.ScalarFunction;
 import io.xmljim.algorithms.model.ScalarFunctionParameter;
 import io.xmljim.algorithms.model.util.Scalar;
 
-class RSquaredFunction extends AbstractScalarFunction {
-    private Scalar result;
-
+class RSquaredFunction extends AbstractScalarFunction implements Compilable {
     public RSquaredFunction(ScalarFunctionParameter residualSumOfSquares, ScalarFunctionParameter totalSumOfSquares) {
         super(StatisticsFunctionTypes.R_SQUARED, residualSumOfSquares, totalSumOfSquares);
     }
 
-    Scalar computeRSquared() {
+    @Override
+    protected Scalar evaluate() {
         ScalarFunction ssrFx = getValue(StatisticsFunctionTypes.SSE.getName());
         ScalarFunction sstFx = getValue(StatisticsFunctionTypes.SST.getName());
 
@@ -39,11 +40,9 @@ class RSquaredFunction extends AbstractScalarFunction {
     }
 
     @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = computeRSquared();
-        }
-
-        return result;
+    public int compile(PlanCompiler compiler) {
+        int ssr = compiler.slot(getValue(StatisticsFunctionTypes.SSE.getName()));
+        int sst = compiler.slot(getValue(StatisticsFunctionTypes.SST.getName()));
+        return compiler.emit((registers, vectors) -> 1 - (registers[ssr] / registers[sst]));
     }
 }
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.statistics.EvaluationMode;
+import io.xmljim.algorithms.functions.statistics.kernel.NumericKernels;
+import io.xmljim.algorithms.model.Parameter;
+import io.xmljim.algorithms.model.ScalarVector;
+
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Chunked fork-join reductions used by the {@link EvaluationMode#PARALLEL} evaluation mode.
+ * <p>
+ *     Vectors are cut into chunks of {@link #CHUNK_SIZE} elements. The chunk size is fixed, so the chunk
+ *     boundaries and the binary tree used to combine partial results depend only on the vector length.
+ *     Chunks are reduced on the common fork-join pool, but the result is the same no matter how many threads
+ *     run or in what order they finish. Each chunk is copied into a primitive buffer, reused by a fork-join
+ *     worker for every chunk it reduces, and reduced with the {@link NumericKernels} selected for this JVM: a compensated sum gives the chunk mean, and a second pass over
+ *     the buffer gives the sums of squared and cross deviations about it. Chunk results are combined with Chan's
+ *     pairwise formula.
+ * </p>
+ */
+final class Reductions {
+    static final int CHUNK_SIZE = 1 << 14;
+
+    /**
+     * Per-thread x and y chunk buffers, used only on fork-join worker threads. A leaf task only reduces its own
+     * chunk and never forks, so a buffer is never in use by two tasks at once
+     */
+    private static final ThreadLocal<double[][]> BUFFERS = ThreadLocal.withInitial(() -> new double[2][CHUNK_SIZE]);
+
+    private Reductions() {
+
+    }
+
+    /**
+     * Return the evaluation mode parameter of a function, or {@link EvaluationMode#SEQUENTIAL} if it has none
+     * @param parameter the evaluation mode parameter, may be {@code null}
+     * @return the evaluation mode
+     */
+    static EvaluationMode evaluationMode(Parameter<?> parameter) {
+        return parameter != null ? (EvaluationMode) parameter.getValue() : EvaluationMode.SEQUENTIAL;
+    }
+
+    /**
+     * Compute the count, compensated sum, mean and sum of squared deviations of a vector in parallel
+     * @param vector the vector
+     * @return the moments
+     */
+    static Moments moments(ScalarVector vector) {
+        return new MomentsTask(vector, 0, chunkCount(vector.length())).compute();
+    }
+
+    /**
+     * Compute the co-moments of two vectors in parallel
+     * @param vectorX the x values
+     * @param vectorY the y values
+     * @return the co-moments
+     */
+    static CoMoments coMoments(ScalarVector vectorX, ScalarVector vectorY) {
+        checkLengths(vectorX, vectorY);
+        return new CoMomentsTask(vectorX, vectorY, 0, chunkCount(vectorX.length())).compute();
+    }
+
+    /**
+     * Compute the residual sum of squares of a line, &#x03A3;(slope&#xB7;x + intercept - y)&#x00B2;, one chunk at a time
+     * @param vectorX the x values
+     * @param vectorY the y values
+     * @param slope the slope
+     * @param intercept the intercept
+     * @return the residual sum of squares
+     * @throws FunctionException thrown if the vectors differ in length
+     */
+    static double residualSumOfSquares(ScalarVector vectorX, ScalarVector vectorY, double slope, double intercept) {
+        checkLengths(vectorX, vectorY);
+        int length = vectorX.length();
+        NumericKernels kernels = NumericKernels.getInstance();
+        double[][] buffers = buffers(2, Math.min(length, CHUNK_SIZE));
+        double[] bufferX = buffers[0];
+        double[] bufferY = buffers[1];
+        double sum = 0;
+        for (int from = 0; from < length; from += CHUNK_SIZE) {
+            int size = Math.min(CHUNK_SIZE, length - from);
+            vectorX.copyInto(from, bufferX, 0, size);
+            vectorY.copyInto(from, bufferY, 0, size);
+            sum += kernels.residualSumOfSquares(bufferX, bufferY, 0, size, slope, intercept);
+        }
+        return sum;
+    }
+
+    private static void checkLengths(ScalarVector vectorX, ScalarVector vectorY) {
+        if (vectorX.length() != vectorY.length()) {
+            throw new FunctionException("Vector lengths differ: x has " + vectorX.length() + " values, y has " + vectorY.length());
+        }
+    }
+
+    /**
+     * Return chunk buffers of at least {@code size} elements. A fork-join worker gets its per-thread buffers; any
+     * other thread, such as a caller's request thread, gets new buffers of exactly that size, so it does not keep
+     * {@link #CHUNK_SIZE} arrays alive after the reduction
+     * @param count the number of buffers
+     * @param size the number of elements needed
+     * @return the buffers
+     */
+    private static double[][] buffers(int count, int size) {
+        if (Thread.currentThread() instanceof ForkJoinWorkerThread) {
+            return BUFFERS.get();
+        }
+        return new double[count][size];
+    }
+
+    private static int chunkCount(int length) {
+        return Math.max(1, (length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    /**
+     * Count, compensated sum, mean and sum of squared deviations from the mean
+     */
+    static final class Moments {
+        private long count;
+        private double sum;
+        private double compensation;
+        private double mean;
+        private double sumSquaredDeviations;
+
+        /**
+         * Create moments from a count, a sum and the sum of squared deviations about the mean
+         */
+        static Moments of(long count, double sum, double sumSquaredDeviations) {
+            Moments moments = new Moments();
+            moments.count = count;
+            moments.sum = sum;
+            moments.mean = count == 0 ? 0 : sum / count;
+            moments.sumSquaredDeviations = sumSquaredDeviations;
+            return moments;
+        }
+
+        void add(double value) {
+            count++;
+            addToSum(value);
+            double delta = value - mean;
+            mean += delta / count;
+            sumSquaredDeviations += delta * (value - mean);
+        }
+
+        void merge(Moments other) {
+            if (other.count == 0) {
+                return;
+            }
+
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            sumSquaredDeviations += other.sumSquaredDeviations + delta * delta * ((double) count * other.count / total);
+            mean += delta * other.count / total;
+            count = total;
+            addToSum(other.sum);
+            compensation += other.compensation;
+        }
+
+        private void addToSum(double value) {
+            double t = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            } else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        double getSum() {
+            return sum + compensation;
+        }
+
+        double getMean() {
+            return count == 0 ? Double.NaN : getSum() / count;
+        }
+
+        /**
+         * &#x03A3;(x - x&#x0304;)&#x00B2;
+         */
+        double getSumOfSquaredDeviations() {
+            return sumSquaredDeviations;
+        }
+
+        /**
+         * &#x03A3;(x - c)&#x00B2; for an arbitrary center c
+         */
+        double getSumOfSquaredDeviations(double center) {
+            double offset = mean - center;
+            return sumSquaredDeviations + count * offset * offset;
+        }
+    }
+
+    private static class MomentsTask extends RecursiveTask<Moments> {
+        private final ScalarVector vector;
+        private final int fromChunk;
+        private final int toChunk;
+
+        MomentsTask(ScalarVector vector, int fromChunk, int toChunk) {
+            this.vector = vector;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected Moments compute() {
+            if (toChunk - fromChunk == 1) {
+                int from = fromChunk * CHUNK_SIZE;
+                int size = Math.min(vector.length(), toChunk * CHUNK_SIZE) - from;
+                if (size <= 0) {
+                    return new Moments();
+                }
+
+                NumericKernels kernels = NumericKernels.getInstance();
+                double[] buffer = buffers(1, size)[0];
+                vector.copyInto(from, buffer, 0, size);
+                double sum = kernels.sum(buffer, 0, size);
+                return Moments.of(size, sum, kernels.sumOfSquaredDeviations(buffer, 0, size, sum / size));
+            }
+
+            int middle = (fromChunk + toChunk) >>> 1;
+            MomentsTask upper = new MomentsTask(vector, middle, toChunk);
+            upper.fork();
+            Moments result = new MomentsTask(vector, fromChunk, middle).compute();
+            result.merge(upper.join());
+            return result;
+        }
+    }
+
+    private static class CoMomentsTask extends RecursiveTask<CoMoments> {
+        private final ScalarVector vectorX;
+        private final ScalarVector vectorY;
+        private final int fromChunk;
+        private final int toChunk;
+
+        CoMomentsTask(ScalarVector vectorX, ScalarVector vectorY, int fromChunk, int toChunk) {
+            this.vectorX = vectorX;
+            this.vectorY = vectorY;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected CoMoments compute() {
+            if (toChunk - fromChunk == 1) {
+                int from = fromChunk * CHUNK_SIZE;
+                int size = Math.min(vectorX.length(), toChunk * CHUNK_SIZE) - from;
+                if (size <= 0) {
+                    return new CoMoments();
+                }
+
+                NumericKernels kernels = NumericKernels.getInstance();
+                double[][] buffers = buffers(2, size);
+                double[] bufferX = buffers[0];
+                double[] bufferY = buffers[1];
+                vectorX.copyInto(from, bufferX, 0, size);
+                vectorY.copyInto(from, bufferY, 0, size);
+                double meanX = kernels.sum(bufferX, 0, size) / size;
+                double meanY = kernels.sum(bufferY, 0, size) / size;
+                return CoMoments.of(size, meanX, meanY,
+                        kernels.sumOfSquaredDeviations(bufferX, 0, size, meanX),
+                        kernels.sumOfSquaredDeviations(bufferY, 0, size, meanY),
+                        kernels.sumOfCrossDeviations(bufferX, bufferY, 0, size, meanX, meanY));
+            }
+
+            int middle = (fromChunk + toChunk) >>> 1;
+            CoMomentsTask upper = new CoMomentsTask(vectorX, vectorY, middle, toChunk);
+            upper.fork();
+            CoMoments result = new CoMomentsTask(vectorX, vectorY, fromChunk, middle).compute();
+            result.merge(upper.join());
+            return result;
+        }
+    }
+}
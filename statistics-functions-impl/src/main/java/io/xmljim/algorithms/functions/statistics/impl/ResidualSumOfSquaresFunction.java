@@ -17,19 +17,17 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
 import io.xmljim.algorithms.model.ScalarFunction;
 import io.xmljim.algorithms.model.ScalarFunctionParameter;
 import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.ScalarVectorParameter;
 import io.xmljim.algorithms.model.util.Scalar;
-
-import java.util.stream.IntStream;
 /**
  * Calculate the residual sum of squares, also known as the Error Sum of Squares (SSE)
  */
-class ResidualSumOfSquaresFunction extends AbstractScalarFunction {
-    Scalar result;
-
+class ResidualSumOfSquaresFunction extends AbstractScalarFunction implements Compilable {
     public ResidualSumOfSquaresFunction(ScalarVectorParameter vectorX, ScalarVectorParameter vectorY, ScalarFunctionParameter slopeFunction, ScalarFunctionParameter interceptFunction) {
         super(StatisticsFunctionTypes.SSE, vectorX, vectorY, slopeFunction, interceptFunction);
     }
@@ -42,7 +40,8 @@ class ResidualSumOfSquaresFunction extends AbstractScalarFunction {
      * ŷi = βxi + α
      * @return
      */
-    private Scalar computeResidualVariance() {
+    @Override
+    protected Scalar evaluate() {
         ScalarVector vectorX = getValue(StatisticsNameConstants.VECTOR, StatisticsNameConstants.X_VARIABLE);
         ScalarVector vectorY = getValue(StatisticsNameConstants.VECTOR, StatisticsNameConstants.Y_VARIABLE);
         ScalarFunction slopeFx = getValue(StatisticsFunctionTypes.SLOPE.getName());
@@ -51,20 +50,17 @@ class ResidualSumOfSquaresFunction extends AbstractScalarFunction {
         double slope = slopeFx.compute().asDouble();
         double intercept = interceptFx.compute().asDouble();
 
-        double residualVariance = IntStream.range(0, vectorX.length())
-                .mapToDouble(i -> {
-                    double yHat = slope * vectorX.get(i).asDouble() + intercept;
-                    return Math.pow(yHat - vectorY.get(i).asDouble(), 2);
-                }).sum();
+        double residualVariance = Reductions.residualSumOfSquares(vectorX, vectorY, slope, intercept);
 
         return Scalar.of(residualVariance);
     }
 
     @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = computeResidualVariance();
-        }
-        return result;
+    public int compile(PlanCompiler compiler) {
+        int vectorX = compiler.vector(getValue(StatisticsNameConstants.VECTOR, StatisticsNameConstants.X_VARIABLE));
+        int vectorY = compiler.vector(getValue(StatisticsNameConstants.VECTOR, StatisticsNameConstants.Y_VARIABLE));
+        int slope = compiler.slot(getValue(StatisticsFunctionTypes.SLOPE.getName()));
+        int intercept = compiler.slot(getValue(StatisticsFunctionTypes.INTERCEPT.getName()));
+        return PlanOperations.residualSumOfSquares(compiler, vectorX, vectorY, slope, intercept);
     }
 }
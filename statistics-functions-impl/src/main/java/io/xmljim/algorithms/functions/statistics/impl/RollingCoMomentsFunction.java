@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.AbstractFunction;
+import io.xmljim.algorithms.model.ScalarParameter;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.ScalarVectorParameter;
+import io.xmljim.algorithms.model.util.Scalar;
+
+/**
+ * Moving covariance, slope or intercept of paired vectors, produced in one pass. The window's
+ * {@link CoMoments} are updated by adding the entering pair and removing the leaving pair. As in
+ * {@link RollingMomentsFunction}, they are rebuilt from the window every w steps, and whenever a sum of squares
+ * falls far below the largest value it has reached since the last rebuild.
+ */
+class RollingCoMomentsFunction extends AbstractFunction<ScalarVector> {
+    /**
+     * Rebuild once a sum of squares drops below this fraction of the largest value it has reached since the
+     * last rebuild
+     */
+    private static final double CANCELLATION_THRESHOLD = 1E-6;
+
+    public RollingCoMomentsFunction(StatisticsFunctionTypes functionType, ScalarVectorParameter vectorX, ScalarVectorParameter vectorY, ScalarParameter windowParameter) {
+        super(functionType, vectorX, vectorY, windowParameter);
+    }
+
+    @Override
+    protected ScalarVector evaluate() {
+        ScalarVector vectorX = getValue(StatisticsNameConstants.VECTOR, StatisticsNameConstants.X_VARIABLE);
+        ScalarVector vectorY = getValue(StatisticsNameConstants.VECTOR, StatisticsNameConstants.Y_VARIABLE);
+        Scalar window = getValue(StatisticsNameConstants.WINDOW);
+        int windowSize = window.asInt();
+        double[] values = new double[vectorX.length() - windowSize + 1];
+
+        CoMoments moments = CoMoments.of(vectorX.slice(0, windowSize), vectorY.slice(0, windowSize));
+        double peakX = moments.getSumSquaresX();
+        double peakY = moments.getSumSquaresY();
+        values[0] = statistic(moments);
+
+        for (int i = 1; i < values.length; i++) {
+            boolean rebuild = i % windowSize == 0;
+            if (!rebuild) {
+                int entering = i + windowSize - 1;
+                moments.add(vectorX.getDouble(entering), vectorY.getDouble(entering));
+                peakX = Math.max(peakX, moments.getSumSquaresX());
+                peakY = Math.max(peakY, moments.getSumSquaresY());
+                moments.remove(vectorX.getDouble(i - 1), vectorY.getDouble(i - 1));
+                rebuild = moments.getSumSquaresX() < CANCELLATION_THRESHOLD * peakX
+                        || moments.getSumSquaresY() < CANCELLATION_THRESHOLD * peakY;
+            }
+
+            if (rebuild) {
+                moments = CoMoments.of(vectorX.slice(i, i + windowSize), vectorY.slice(i, i + windowSize));
+                peakX = moments.getSumSquaresX();
+                peakY = moments.getSumSquaresY();
+            }
+
+            values[i] = statistic(moments);
+        }
+
+        return getModelProvider().getVectorFactory().createScalarVector(getName(), getVariable(), values);
+    }
+
+    private double statistic(CoMoments moments) {
+        switch ((StatisticsFunctionTypes) getFunctionType()) {
+            case ROLLING_COVARIANCE:
+                return moments.getCovariance();
+            case ROLLING_SLOPE:
+                return moments.getSlope();
+            default:
+                return moments.getIntercept();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.AbstractFunction;
+import io.xmljim.algorithms.model.ScalarParameter;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.ScalarVectorParameter;
+import io.xmljim.algorithms.model.util.Scalar;
+
+/**
+ * Moving sum, mean, variance or standard deviation of a vector, produced in one pass.
+ * <p>
+ *     The first window is accumulated normally. After that, each step adds the entering value x<sub>in</sub> and
+ *     evicts the leaving value x<sub>out</sub> in a single update:
+ *     <pre>
+ *         x&#x0304;' = x&#x0304; + (x<sub>in</sub> - x<sub>out</sub>) / w
+ *         M2' = M2 + (x<sub>in</sub> - x<sub>out</sub>)(x<sub>in</sub> - x&#x0304;' + x<sub>out</sub> - x&#x0304;)
+ *     </pre>
+ *     The sum is kept with Neumaier compensation, so adding and evicting large values does not erode it.
+ * </p>
+ * <p>
+ *     Evicting a value cancels terms on the scale of the largest values seen so far, and that rounding error
+ *     stays in M2. The window is therefore recomputed exactly every w steps, and as soon as M2 falls far below
+ *     the largest magnitude it has reached since the last recompute (for example after a level shift). This
+ *     keeps the cost at amortized O(1) per step.
+ * </p>
+ */
+class RollingMomentsFunction extends AbstractFunction<ScalarVector> {
+    /**
+     * Recompute once M2 drops below this fraction of the largest magnitude it has reached since the
+     * last recompute
+     */
+    private static final double CANCELLATION_THRESHOLD = 1E-6;
+
+    public RollingMomentsFunction(StatisticsFunctionTypes functionType, ScalarVectorParameter vectorParameter, ScalarParameter windowParameter) {
+        super(functionType, vectorParameter, windowParameter);
+    }
+
+    @Override
+    protected ScalarVector evaluate() {
+        ScalarVector vector = getValue(0);
+        Scalar window = getValue(StatisticsNameConstants.WINDOW);
+        int windowSize = window.asInt();
+        double[] values = new double[vector.length() - windowSize + 1];
+
+        WindowMoments moments = new WindowMoments(windowSize);
+        moments.recompute(vector, 0);
+        values[0] = statistic(moments.getSum(), moments.sumSquaredDeviations, windowSize);
+
+        for (int i = 1; i < values.length; i++) {
+            if (i % windowSize == 0) {
+                moments.recompute(vector, i);
+            } else {
+                moments.slide(vector.getDouble(i + windowSize - 1), vector.getDouble(i - 1));
+                if (moments.isCancelled()) {
+                    moments.recompute(vector, i);
+                }
+            }
+
+            values[i] = statistic(moments.getSum(), moments.sumSquaredDeviations, windowSize);
+        }
+
+        return getModelProvider().getVectorFactory().createScalarVector(getName(), getVariable(), values);
+    }
+
+    private double statistic(double sum, double sumSquaredDeviations, int windowSize) {
+        switch ((StatisticsFunctionTypes) getFunctionType()) {
+            case ROLLING_SUM:
+                return sum;
+            case ROLLING_MEAN:
+                return sum / windowSize;
+            case ROLLING_VARIANCE:
+                return sumSquaredDeviations / (windowSize - 1);
+            default:
+                return Math.sqrt(sumSquaredDeviations / (windowSize - 1));
+        }
+    }
+
+    /**
+     * Running sum and sum of squared deviations of the current window
+     */
+    private static final class WindowMoments {
+        private final int windowSize;
+        private double sum;
+        private double compensation;
+        private double sumSquaredDeviations;
+        private double peak;
+
+        WindowMoments(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        /**
+         * Compute the moments of the window starting at {@code from} exactly, using a compensated sum for the
+         * mean and a corrected two-pass sum of squared deviations
+         * @param vector the vector
+         * @param from the first index of the window
+         */
+        void recompute(ScalarVector vector, int from) {
+            sum = 0;
+            compensation = 0;
+            for (int i = from; i < from + windowSize; i++) {
+                add(vector.getDouble(i));
+            }
+
+            double mean = getSum() / windowSize;
+            double squares = 0;
+            double deviations = 0;
+            for (int i = from; i < from + windowSize; i++) {
+                double deviation = vector.getDouble(i) - mean;
+                squares += deviation * deviation;
+                deviations += deviation;
+            }
+            sumSquaredDeviations = Math.max(0.0, squares - deviations * deviations / windowSize);
+            peak = sumSquaredDeviations;
+        }
+
+        /**
+         * Add the entering value and evict the leaving value
+         * @param entering the value entering the window
+         * @param leaving the value leaving the window
+         */
+        void slide(double entering, double leaving) {
+            double previousMean = getSum() / windowSize;
+            add(entering);
+            add(-leaving);
+            double mean = getSum() / windowSize;
+
+            double update = (entering - leaving) * (entering - mean + leaving - previousMean);
+            peak = Math.max(peak, Math.max(Math.abs(sumSquaredDeviations), Math.abs(update)));
+            sumSquaredDeviations = Math.max(0.0, sumSquaredDeviations + update);
+        }
+
+        /**
+         * @return true if M2 has shrunk so far below its recent magnitude that rounding error may dominate it
+         */
+        boolean isCancelled() {
+            return sumSquaredDeviations < CANCELLATION_THRESHOLD * peak;
+        }
+
+        double getSum() {
+            return sum + compensation;
+        }
+
+        private void add(double value) {
+            double t = sum + value;
+            compensation += Math.abs(sum) >= Math.abs(value) ? (sum - t) + value : (value - t) + sum;
+            sum = t;
+        }
+    }
+}
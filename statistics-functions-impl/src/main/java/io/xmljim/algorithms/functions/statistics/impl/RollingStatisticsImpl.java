@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.ProviderRegistry;
+import io.xmljim.algorithms.functions.statistics.RollingStatistics;
+import io.xmljim.algorithms.model.Function;
+import io.xmljim.algorithms.model.ScalarParameter;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.ScalarVectorParameter;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+
+class RollingStatisticsImpl implements RollingStatistics {
+    private final ScalarVector vector;
+    private final int windowSize;
+
+    public RollingStatisticsImpl(final ScalarVector vector, final int windowSize) {
+        if (windowSize < 1 || windowSize > vector.length()) {
+            throw new FunctionException("Window size must be between 1 and the vector length (" + vector.length() + "): " + windowSize);
+        }
+        this.vector = vector;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public ScalarVector getVector() {
+        return vector;
+    }
+
+    @Override
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    @Override
+    public Function<ScalarVector> sum() {
+        return moments(StatisticsFunctionTypes.ROLLING_SUM);
+    }
+
+    @Override
+    public Function<ScalarVector> mean() {
+        return moments(StatisticsFunctionTypes.ROLLING_MEAN);
+    }
+
+    @Override
+    public Function<ScalarVector> variance() {
+        return moments(StatisticsFunctionTypes.ROLLING_VARIANCE);
+    }
+
+    @Override
+    public Function<ScalarVector> standardDeviation() {
+        return moments(StatisticsFunctionTypes.ROLLING_STANDARD_DEVIATION);
+    }
+
+    @Override
+    public Function<ScalarVector> covariance(final ScalarVector other) {
+        return coMoments(StatisticsFunctionTypes.ROLLING_COVARIANCE, vector, other);
+    }
+
+    @Override
+    public Function<ScalarVector> slope(final ScalarVector vectorX) {
+        return coMoments(StatisticsFunctionTypes.ROLLING_SLOPE, vectorX, vector);
+    }
+
+    @Override
+    public Function<ScalarVector> intercept(final ScalarVector vectorX) {
+        return coMoments(StatisticsFunctionTypes.ROLLING_INTERCEPT, vectorX, vector);
+    }
+
+    private Function<ScalarVector> moments(StatisticsFunctionTypes functionType) {
+        ScalarVectorParameter vectorParameter = getModelProvider().getParameterFactory().createParameter(vector.getName(), vector.getVariable(), vector);
+        return new RollingMomentsFunction(functionType, vectorParameter, windowParameter());
+    }
+
+    private Function<ScalarVector> coMoments(StatisticsFunctionTypes functionType, ScalarVector vectorX, ScalarVector vectorY) {
+        if (vectorX.length() != vectorY.length()) {
+            throw new FunctionException("Vector lengths differ: x has " + vectorX.length() + " values, y has " + vectorY.length());
+        }
+
+        ScalarVectorParameter xParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.VECTOR, StatisticsNameConstants.X_VARIABLE, vectorX);
+        ScalarVectorParameter yParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.VECTOR, StatisticsNameConstants.Y_VARIABLE, vectorY);
+        return new RollingCoMomentsFunction(functionType, xParameter, yParameter, windowParameter());
+    }
+
+    private ScalarParameter windowParameter() {
+        return getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.WINDOW, windowSize);
+    }
+
+    private ModelProvider getModelProvider() {
+        return ProviderRegistry.getInstance().getModelProvider();
+    }
+}
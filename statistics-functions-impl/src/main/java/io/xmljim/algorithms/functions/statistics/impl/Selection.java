@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.model.ScalarVector;
+
+import java.util.Arrays;
+
+/**
+ * Order statistics by selection rather than sorting.
+ * <p>
+ *     Quantiles are found with introselect, which is quickselect with a median-of-three pivot. If the
+ *     recursion gets too deep it falls back to sorting the remaining range. Each call runs in linear time
+ *     on average and never worse than O(n log n). When several ranks are needed, each selection is limited
+ *     to the part of the array that lies above the previous rank.
+ * </p>
+ * <p>
+ *     Quantiles use linear interpolation between order statistics, definition 7 in Hyndman &amp; Fan
+ *     (the R and Excel default): for probability p over n values, h = (n - 1)p and
+ *     Q(p) = x<sub>&#x230A;h&#x230B;</sub> + (h - &#x230A;h&#x230B;)(x<sub>&#x230A;h&#x230B;+1</sub> - x<sub>&#x230A;h&#x230B;</sub>).
+ * </p>
+ */
+final class Selection {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private Selection() {
+
+    }
+
+    /**
+     * Copy the values of a vector into a new primitive array that may be reordered
+     * @param vector the vector
+     * @return a copy of the values
+     */
+    static double[] copyOf(ScalarVector vector) {
+        double[] values = new double[vector.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = vector.getDouble(i);
+        }
+        return values;
+    }
+
+    /**
+     * Return a single quantile. The array is partially reordered
+     * @param values the values
+     * @param probability the probability, between 0 and 1 inclusive
+     * @return the quantile
+     */
+    static double quantile(double[] values, double probability) {
+        return quantiles(values, probability)[0];
+    }
+
+    /**
+     * Return several quantiles. The array is partially reordered
+     * @param values the values
+     * @param probabilities the probabilities, each between 0 and 1 inclusive, in any order
+     * @return the quantiles, in the same order as the probabilities
+     * @throws FunctionException thrown if there are no values or a probability is out of range
+     */
+    static double[] quantiles(double[] values, double... probabilities) {
+        int n = values.length;
+        if (n == 0) {
+            throw new FunctionException("Cannot compute a quantile from an empty vector");
+        }
+
+        double[] result = new double[probabilities.length];
+        int[] ranks = new int[probabilities.length * 2];
+        int rankCount = 0;
+
+        for (double probability : probabilities) {
+            if (!(probability >= 0 && probability <= 1)) {
+                throw new FunctionException("Quantile probability must be between 0 and 1: " + probability);
+            }
+
+            double h = (n - 1) * probability;
+            int lower = (int) h;
+            ranks[rankCount++] = lower;
+            if (h > lower) {
+                ranks[rankCount++] = lower + 1;
+            }
+        }
+
+        for (double value : values) {
+            if (Double.isNaN(value)) {
+                Arrays.fill(result, Double.NaN);
+                return result;
+            }
+        }
+
+        ranks = Arrays.stream(ranks, 0, rankCount).sorted().distinct().toArray();
+        int from = 0;
+        for (int rank : ranks) {
+            select(values, from, n, rank);
+            from = rank + 1;
+        }
+
+        for (int i = 0; i < probabilities.length; i++) {
+            double h = (n - 1) * probabilities[i];
+            int lower = (int) h;
+            double fraction = h - lower;
+            result[i] = fraction > 0 ? values[lower] + fraction * (values[lower + 1] - values[lower]) : values[lower];
+        }
+
+        return result;
+    }
+
+    /**
+     * Rearrange {@code values[from, to)} so that the element at index {@code k} is the one that would be there
+     * if the range were sorted, every element before it is less than or equal to it, and every element after it
+     * is greater than or equal to it
+     * @param values the values
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param k the index to select
+     */
+    static void select(double[] values, int from, int to, int k) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        int lo = from;
+        int hi = to - 1;
+
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                Arrays.sort(values, lo, hi + 1);
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < values[lo]) {
+                swap(values, lo, mid);
+            }
+            if (values[hi] < values[lo]) {
+                swap(values, lo, hi);
+            }
+            if (values[hi] < values[mid]) {
+                swap(values, mid, hi);
+            }
+
+            double pivot = values[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(values, i++, j--);
+                }
+            }
+
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+
+        for (int i = lo + 1; i <= hi; i++) {
+            double value = values[i];
+            int j = i - 1;
+            while (j >= lo && values[j] > value) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = value;
+        }
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
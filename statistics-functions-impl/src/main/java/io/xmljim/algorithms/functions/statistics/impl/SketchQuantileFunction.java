@@ -0,0 +1,46 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.statistics.QuantileSketch;
+import io.xmljim.algorithms.model.Parameter;
+import io.xmljim.algorithms.model.ScalarParameter;
+import io.xmljim.algorithms.model.util.Scalar;
+
+/**
+ * Estimates a quantile from a {@link QuantileSketch}. Because a sketch keeps accepting values, the result is
+ * not memoized; each call to {@link #compute()} reflects the sketch at that moment
+ */
+class SketchQuantileFunction extends AbstractScalarFunction {
+
+    public SketchQuantileFunction(Parameter<QuantileSketch> sketchParameter, ScalarParameter probabilityParameter) {
+        super(StatisticsFunctionTypes.QUANTILE, sketchParameter, probabilityParameter);
+    }
+
+    @Override
+    protected boolean isMemoized() {
+        return false;
+    }
+
+    @Override
+    protected Scalar evaluate() {
+        QuantileSketch sketch = getValue(StatisticsNameConstants.SKETCH);
+        Scalar probability = getValue(StatisticsNameConstants.PROBABILITY);
+        return Scalar.of(sketch.quantile(probability.asDouble()));
+    }
+}
@@ -17,18 +17,19 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
 import io.xmljim.algorithms.model.ScalarFunction;
 import io.xmljim.algorithms.model.ScalarFunctionParameter;
 import io.xmljim.algorithms.model.util.Scalar;
 
-class SlopeFunction extends AbstractScalarFunction {
-    private Scalar result;
-
+class SlopeFunction extends AbstractScalarFunction implements Compilable {
     public SlopeFunction(ScalarFunctionParameter covariance, ScalarFunctionParameter varianceX) {
         super(StatisticsFunctionTypes.SLOPE, covariance, varianceX);
     }
 
-    private Scalar computeSlope() {
+    @Override
+    protected Scalar evaluate() {
         ScalarFunction varianceX = getValue(StatisticsFunctionTypes.VARIANCE.getName(), "x");
         ScalarFunction covariance = getValue(StatisticsFunctionTypes.COVARIANCE.getName());
 
@@ -37,11 +38,9 @@ class SlopeFunction extends AbstractScalarFunction {
     }
 
     @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = computeSlope();
-        }
-
-        return result;
+    public int compile(PlanCompiler compiler) {
+        int covariance = compiler.slot(getValue(StatisticsFunctionTypes.COVARIANCE.getName()));
+        int varianceX = compiler.slot(getValue(StatisticsFunctionTypes.VARIANCE.getName(), "x"));
+        return compiler.emit((registers, vectors) -> registers[covariance] / registers[varianceX]);
     }
 }
@@ -17,6 +17,8 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
 import io.xmljim.algorithms.model.ScalarFunction;
 import io.xmljim.algorithms.model.ScalarFunctionParameter;
 import io.xmljim.algorithms.model.util.Scalar;
@@ -36,14 +38,13 @@ import io.xmljim.algorithms.model.util.Scalar;
  *
  * </p>
  */
-class SlopeStandardErrorFunction extends AbstractScalarFunction {
-    private Scalar result;
-
+class SlopeStandardErrorFunction extends AbstractScalarFunction implements Compilable {
     public SlopeStandardErrorFunction(ScalarFunctionParameter sumOfSquaresX, ScalarFunctionParameter meanSquaredErrorY) {
         super(StatisticsFunctionTypes.SLOPE_STD_ERROR, sumOfSquaresX, meanSquaredErrorY);
     }
 
-    private Scalar computeSlopeStandardError() {
+    @Override
+    protected Scalar evaluate() {
         ScalarFunction sumOfSquaresXFx = getValue(StatisticsFunctionTypes.SST.getName(), StatisticsNameConstants.X_VARIABLE);
         ScalarFunction meanSquareErrorYFx = getValue(StatisticsFunctionTypes.MSE.getName());
         double sumOfSquaresX = sumOfSquaresXFx.compute().asDouble();
@@ -53,11 +54,9 @@ class SlopeStandardErrorFunction extends AbstractScalarFunction {
     }
 
     @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = computeSlopeStandardError();
-        }
-
-        return result;
+    public int compile(PlanCompiler compiler) {
+        int sumOfSquaresX = compiler.slot(getValue(StatisticsFunctionTypes.SST.getName(), StatisticsNameConstants.X_VARIABLE));
+        int meanSquareErrorY = compiler.slot(getValue(StatisticsFunctionTypes.MSE.getName()));
+        return compiler.emit((registers, vectors) -> Math.sqrt(registers[meanSquareErrorY]) / Math.sqrt(registers[sumOfSquaresX]));
     }
 }
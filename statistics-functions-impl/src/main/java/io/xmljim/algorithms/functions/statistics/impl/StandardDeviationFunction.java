@@ -17,13 +17,13 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
 import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
 import io.xmljim.algorithms.model.*;
 import io.xmljim.algorithms.model.util.Scalar;
 
-class StandardDeviationFunction extends AbstractScalarFunction {
-    private Scalar result;
-
+class StandardDeviationFunction extends AbstractScalarFunction implements Compilable {
     StandardDeviationFunction(ScalarVectorParameter scalarVectorParameter) {
         super(StatisticsFunctionTypes.STANDARD_DEVIATION, scalarVectorParameter);
     }
@@ -45,11 +45,18 @@ class StandardDeviationFunction extends AbstractScalarFunction {
         return provider;
     }
 
-    private Scalar computeStandardDeviation() {
+    @Override
+    protected Scalar evaluate() {
         double variance = getVarianceFunction().compute().asDouble();
         return Scalar.of(Math.sqrt(variance));
     }
 
+    @Override
+    public int compile(PlanCompiler compiler) {
+        int variance = compiler.slot(getVarianceFunction());
+        return compiler.emit((registers, vectors) -> Math.sqrt(registers[variance]));
+    }
+
     private ScalarFunction getVarianceFunction() {
         ScalarFunction varianceFunction;
 
@@ -62,13 +69,4 @@ class StandardDeviationFunction extends AbstractScalarFunction {
 
         return varianceFunction;
     }
-
-    @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = computeStandardDeviation();
-        }
-
-        return result;
-    }
 }
@@ -22,6 +22,9 @@ enum StatisticsFunctionTypes implements FunctionType {
     SUM("sum", "SUM"),
     MEAN("mean", "MEAN"),
     MEDIAN("median", "MEDIAN"),
+    QUANTILE("quantile", "Q"),
+    QUANTILES("quantiles", "Q[]"),
+    INTERQUARTILE_RANGE("interquartileRange", "IQR"),
     VARIANCE("variance", "VAR"),
     STANDARD_DEVIATION("standardDeviation", "STDDEV"),
     COVARIANCE("covariance", "COV"),
@@ -36,7 +39,25 @@ enum StatisticsFunctionTypes implements FunctionType {
     LINEAR_REGRESSION_MODEL("linearRegressionModel", "LRM"),
     T_SLOPE("TSlope", "t (slope)"),
     T_INTERCEPT("TIntercept", "t (intercept)"),
-    P_SLOPE("PSlope", "p (slope)")
+    P_SLOPE("PSlope", "p (slope)"),
+    MULTIPLE_LINEAR_REGRESSION_MODEL("multipleLinearRegressionModel", "MLRM"),
+    BETA("beta", "BETA"),
+    BETA_STD_ERROR("betaStandardError", "SE BETA"),
+    ADJUSTED_R_SQUARED("adjustedRSquared", "ADJ R-SQUARED"),
+    ROLLING_SUM("rollingSum", "SUM[w]"),
+    ROLLING_MEAN("rollingMean", "MEAN[w]"),
+    ROLLING_VARIANCE("rollingVariance", "VAR[w]"),
+    ROLLING_STANDARD_DEVIATION("rollingStandardDeviation", "STDDEV[w]"),
+    ROLLING_COVARIANCE("rollingCovariance", "COV[w]"),
+    ROLLING_SLOPE("rollingSlope", "B[w]"),
+    ROLLING_INTERCEPT("rollingIntercept", "a[w]"),
+    COVARIANCE_MATRIX("covarianceMatrix", "COV[]"),
+    CORRELATION_MATRIX("correlationMatrix", "CORR[]"),
+    EWMA_MEAN("ewmaMean", "EWMA"),
+    EWMA_VARIANCE("ewmaVariance", "EWMVAR"),
+    EWMA_COVARIANCE("ewmaCovariance", "EWMCOV"),
+    AUTOCORRELATION("autocorrelation", "ACF"),
+    PERIODOGRAM("periodogram", "I(f)")
     ;
 
     private final String name;
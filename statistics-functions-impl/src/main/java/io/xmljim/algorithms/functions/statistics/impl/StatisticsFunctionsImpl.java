@@ -16,19 +16,79 @@
 
 package io.xmljim.algorithms.functions.statistics.impl;
 
+import io.xmljim.algorithms.functions.common.FunctionException;
 import io.xmljim.algorithms.functions.common.provider.AbstractFunctionFactory;
+import io.xmljim.algorithms.functions.statistics.BootstrapResult;
+import io.xmljim.algorithms.functions.statistics.CoMomentsAggregate;
+import io.xmljim.algorithms.functions.statistics.CompilableLinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.EvaluationMode;
+import io.xmljim.algorithms.functions.statistics.ExponentialMovingCovariance;
+import io.xmljim.algorithms.functions.statistics.ExponentialMovingStatistics;
+import io.xmljim.algorithms.functions.statistics.ExtremaAggregate;
+import io.xmljim.algorithms.functions.statistics.IncrementalLinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.MultipleLinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.MomentsAggregate;
+import io.xmljim.algorithms.functions.statistics.QuantileSketch;
+import io.xmljim.algorithms.functions.statistics.RollingStatistics;
+import io.xmljim.algorithms.functions.statistics.Statistic;
 import io.xmljim.algorithms.functions.statistics.StatisticsFunctions;
-import io.xmljim.algorithms.functions.statistics.LinearRegressionModel;
 
 import io.xmljim.algorithms.model.*;
 import io.xmljim.algorithms.model.util.Scalar;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
 class StatisticsFunctionsImpl extends AbstractFunctionFactory implements StatisticsFunctions {
+    private volatile EvaluationMode evaluationMode;
+
+    public StatisticsFunctionsImpl() {
+        this(EvaluationMode.SEQUENTIAL);
+    }
+
+    StatisticsFunctionsImpl(final EvaluationMode evaluationMode) {
+        this.evaluationMode = evaluationMode;
+    }
+
     @Override
     public String getFactoryName() {
         return "Statistics";
     }
 
+    @Override
+    public EvaluationMode getEvaluationMode() {
+        return evaluationMode;
+    }
+
+    @Override
+    public void setEvaluationMode(final EvaluationMode evaluationMode) {
+        this.evaluationMode = Objects.requireNonNull(evaluationMode, "evaluationMode");
+    }
+
+    @Override
+    public StatisticsFunctions withEvaluationMode(final EvaluationMode evaluationMode) {
+        return new StatisticsFunctionsImpl(Objects.requireNonNull(evaluationMode, "evaluationMode"));
+    }
+
+    /**
+     * Append the evaluation mode parameter when functions should evaluate in parallel. Sequential
+     * evaluation is the default, so sequential functions keep their original parameter list
+     */
+    private Parameter<?>[] appendEvaluationMode(final Parameter<?>... parameters) {
+        EvaluationMode mode = evaluationMode;
+        if (mode == EvaluationMode.SEQUENTIAL) {
+            return parameters;
+        }
+
+        Parameter<?>[] result = Arrays.copyOf(parameters, parameters.length + 1);
+        result[parameters.length] = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.EVALUATION_MODE, null, mode);
+        return result;
+    }
+
     @Override
     public ScalarFunction sum(final ScalarVector vector) {
         return sum(vector, vector.getVariable());
@@ -37,7 +97,7 @@ class StatisticsFunctionsImpl extends AbstractFunctionFactory implements Statist
     @Override
     public ScalarFunction sum(final ScalarVector vector, final String variable) {
         ScalarVectorParameter parameter = getModelProvider().getParameterFactory().createParameter(vector.getName(), variable, vector);
-        return new SumFunction(parameter, variable);
+        return new SumFunction(variable, appendEvaluationMode(parameter));
     }
 
     @Override
@@ -48,7 +108,7 @@ class StatisticsFunctionsImpl extends AbstractFunctionFactory implements Statist
     @Override
     public ScalarFunction mean(final ScalarVector vector, final String variable) {
         ScalarVectorParameter parameter = getModelProvider().getParameterFactory().createParameter(vector.getName(), variable, vector);
-        return new MeanFunction(parameter, variable);
+        return new MeanFunction(variable, appendEvaluationMode(parameter));
     }
 
     @Override
@@ -62,6 +122,88 @@ class StatisticsFunctionsImpl extends AbstractFunctionFactory implements Statist
         return new MedianFunction(parameter, variable);
     }
 
+    @Override
+    public ScalarFunction quantile(final ScalarVector vector, final double probability) {
+        ScalarVectorParameter parameter = getModelProvider().getParameterFactory().createParameter(vector.getName(), vector.getVariable(), vector);
+        ScalarParameter probabilityParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.PROBABILITY, probability);
+        return new QuantileFunction(parameter, probabilityParameter, vector.getVariable());
+    }
+
+    @Override
+    public Function<ScalarVector> quantiles(final ScalarVector vector, final double... probabilities) {
+        ScalarVectorParameter parameter = getModelProvider().getParameterFactory().createParameter(vector.getName(), vector.getVariable(), vector);
+        ScalarVector probabilityVector = getModelProvider().getVectorFactory().createScalarVector(StatisticsNameConstants.PROBABILITY, probabilities.clone());
+        ScalarVectorParameter probabilitiesParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.PROBABILITY, probabilityVector);
+        return new QuantilesFunction(parameter, probabilitiesParameter, vector.getVariable());
+    }
+
+    @Override
+    public ScalarFunction interquartileRange(final ScalarVector vector) {
+        ScalarVectorParameter parameter = getModelProvider().getParameterFactory().createParameter(vector.getName(), vector.getVariable(), vector);
+        return new InterquartileRangeFunction(parameter, vector.getVariable());
+    }
+
+    @Override
+    public QuantileSketch quantileSketch() {
+        return new QuantileSketchImpl(QuantileSketchImpl.DEFAULT_COMPRESSION);
+    }
+
+    @Override
+    public QuantileSketch quantileSketch(final double compression) {
+        return new QuantileSketchImpl(compression);
+    }
+
+    @Override
+    public QuantileSketch quantileSketch(final ScalarVector vector) {
+        QuantileSketch sketch = quantileSketch();
+        for (int i = 0; i < vector.length(); i++) {
+            sketch.add(vector.getDouble(i));
+        }
+        return sketch;
+    }
+
+    @Override
+    public QuantileSketch quantileSketch(final byte[] bytes) {
+        return QuantileSketchImpl.fromByteArray(bytes);
+    }
+
+    @Override
+    public MomentsAggregate momentsAggregate() {
+        return new MomentsAggregateImpl();
+    }
+
+    @Override
+    public MomentsAggregate momentsAggregate(final byte[] bytes) {
+        return MomentsAggregateImpl.fromByteArray(bytes);
+    }
+
+    @Override
+    public ExtremaAggregate extremaAggregate() {
+        return new ExtremaAggregateImpl();
+    }
+
+    @Override
+    public ExtremaAggregate extremaAggregate(final byte[] bytes) {
+        return ExtremaAggregateImpl.fromByteArray(bytes);
+    }
+
+    @Override
+    public CoMomentsAggregate coMomentsAggregate() {
+        return new CoMomentsAggregateImpl();
+    }
+
+    @Override
+    public CoMomentsAggregate coMomentsAggregate(final byte[] bytes) {
+        return CoMomentsAggregateImpl.fromByteArray(bytes);
+    }
+
+    @Override
+    public ScalarFunction quantile(final QuantileSketch sketch, final double probability) {
+        Parameter<QuantileSketch> sketchParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.SKETCH, null, sketch);
+        ScalarParameter probabilityParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.PROBABILITY, probability);
+        return new SketchQuantileFunction(sketchParameter, probabilityParameter);
+    }
+
     @Override
     public ScalarFunction variance(final ScalarVector vector) {
         return variance(vector, vector.getVariable());
@@ -70,7 +212,7 @@ class StatisticsFunctionsImpl extends AbstractFunctionFactory implements Statist
     @Override
     public ScalarFunction variance(final ScalarVector vector, final String variable) {
         ScalarVectorParameter parameter = getModelProvider().getParameterFactory().createParameter(vector.getName(), variable, vector);
-        return new VarianceFunction(parameter, variable);
+        return new VarianceFunction(variable, appendEvaluationMode(parameter));
     }
 
     @Override
@@ -83,7 +225,7 @@ class StatisticsFunctionsImpl extends AbstractFunctionFactory implements Statist
     public ScalarFunction variance(final ScalarVector vector, final ScalarFunction meanFunction, final String variable) {
         ScalarVectorParameter vectorParameter = getModelProvider().getParameterFactory().createParameter(vector.getName(), variable, vector);
         ScalarFunctionParameter functionParameter = getModelProvider().getParameterFactory().createParameter(meanFunction.getName(), variable, meanFunction);
-        return new VarianceFunction(vectorParameter, functionParameter, variable);
+        return new VarianceFunction(variable, appendEvaluationMode(vectorParameter, functionParameter));
     }
 
     @Override
@@ -112,7 +254,7 @@ class StatisticsFunctionsImpl extends AbstractFunctionFactory implements Statist
     public ScalarFunction covariance(final ScalarVector vectorX, final ScalarVector vectorY) {
         ScalarVectorParameter vectorXParam = getModelProvider().getParameterFactory().createParameter(vectorX.getName(), StatisticsNameConstants.X_VARIABLE, vectorX);
         ScalarVectorParameter vectorYParam = getModelProvider().getParameterFactory().createParameter(vectorY.getName(), StatisticsNameConstants.Y_VARIABLE, vectorY);
-        return new CovarianceFunction(vectorXParam, vectorYParam);
+        return new CovarianceFunction(appendEvaluationMode(vectorXParam, vectorYParam));
     }
 
     public ScalarFunction covariance(final ScalarVector vectorX, final ScalarVector vectorY, ScalarFunction meanX, ScalarFunction meanY) {
@@ -121,7 +263,7 @@ class StatisticsFunctionsImpl extends AbstractFunctionFactory implements Statist
         ScalarFunctionParameter meanXParam = getModelProvider().getParameterFactory().createParameter(meanX.getName(), StatisticsNameConstants.X_VARIABLE, meanX);
         ScalarFunctionParameter meanYParam = getModelProvider().getParameterFactory().createParameter(meanY.getName(), StatisticsNameConstants.Y_VARIABLE, meanY);
 
-        return new CovarianceFunction(vectorXParam, vectorYParam, meanXParam, meanYParam);
+        return new CovarianceFunction(appendEvaluationMode(vectorXParam, vectorYParam, meanXParam, meanYParam));
     }
 
     @Override
@@ -211,13 +353,13 @@ class StatisticsFunctionsImpl extends AbstractFunctionFactory implements Statist
     }
 
     @Override
-    public LinearRegressionModel linearRegression(final Matrix matrix) {
+    public CompilableLinearRegressionModel linearRegression(final Matrix matrix) {
         MatrixParameter matrixParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.MATRIX, matrix);
         return new LinearRegressionModelImpl(matrixParameter);
     }
 
     @Override
-    public LinearRegressionModel linearRegression(final Matrix matrix, final int setX, final int setY) {
+    public CompilableLinearRegressionModel linearRegression(final Matrix matrix, final int setX, final int setY) {
         MatrixParameter matrixParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.MATRIX, matrix);
         ScalarParameter columnXParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.COLUMN, StatisticsNameConstants.X_VARIABLE, setX);
         ScalarParameter columnYParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.COLUMN, StatisticsNameConstants.Y_VARIABLE, setY);
@@ -225,11 +367,174 @@ class StatisticsFunctionsImpl extends AbstractFunctionFactory implements Statist
     }
 
     @Override
-    public LinearRegressionModel linearRegression(final ScalarVector vectorX, final ScalarVector vectorY) {
+    public CompilableLinearRegressionModel linearRegression(final ScalarVector vectorX, final ScalarVector vectorY) {
         ScalarVectorParameter vectorXParameter = getModelProvider().getParameterFactory().createParameter(vectorX.getName() == null ? StatisticsNameConstants.VECTOR: vectorX.getName(),
                 StatisticsNameConstants.X_VARIABLE, vectorX);
         ScalarVectorParameter vectorYParameter = getModelProvider().getParameterFactory().createParameter(vectorY.getName() == null ? StatisticsNameConstants.VECTOR: vectorY.getName(),
                 StatisticsNameConstants.Y_VARIABLE, vectorY);
         return new LinearRegressionModelImpl(vectorXParameter, vectorYParameter);
     }
+
+    @Override
+    public IncrementalLinearRegressionModel incrementalLinearRegression() {
+        return new IncrementalLinearRegressionModelImpl();
+    }
+
+    @Override
+    public IncrementalLinearRegressionModel incrementalLinearRegression(final ScalarVector vectorX, final ScalarVector vectorY) {
+        if (vectorX.length() != vectorY.length()) {
+            throw new FunctionException("Vector lengths differ: x has " + vectorX.length() + " values, y has " + vectorY.length());
+        }
+
+        IncrementalLinearRegressionModel model = incrementalLinearRegression();
+        for (int i = 0; i < vectorX.length(); i++) {
+            model.add(vectorX.getDouble(i), vectorY.getDouble(i));
+        }
+        return model;
+    }
+
+    @Override
+    public MultipleLinearRegressionModel multipleLinearRegression(final Matrix matrix, final int yColumn, final int... xColumns) {
+        if (xColumns.length == 0) {
+            throw new FunctionException("At least one independent variable column is required");
+        }
+
+        MatrixParameter matrixParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.MATRIX, matrix);
+        ScalarParameter columnYParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.COLUMN, StatisticsNameConstants.Y_VARIABLE, yColumn);
+        ScalarParameter[] columnXParameters = new ScalarParameter[xColumns.length];
+        for (int i = 0; i < xColumns.length; i++) {
+            columnXParameters[i] = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.COLUMN,
+                    MultipleLinearRegressionModelImpl.xVariable(i), xColumns[i]);
+        }
+        return new MultipleLinearRegressionModelImpl(matrixParameter, columnYParameter, columnXParameters);
+    }
+
+    @Override
+    public Function<Matrix> covarianceMatrix(final Matrix matrix) {
+        MatrixParameter matrixParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.MATRIX, matrix);
+        return new CovarianceMatrixFunction(StatisticsFunctionTypes.COVARIANCE_MATRIX, matrixParameter);
+    }
+
+    @Override
+    public Function<Matrix> correlationMatrix(final Matrix matrix) {
+        MatrixParameter matrixParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.MATRIX, matrix);
+        return new CovarianceMatrixFunction(StatisticsFunctionTypes.CORRELATION_MATRIX, matrixParameter);
+    }
+
+    @Override
+    public BootstrapResult bootstrap(final java.util.function.Function<ScalarVector, ScalarFunction> statistic, final ScalarVector vector,
+                                     final int iterations, final long seed) {
+        double[] values = new double[vector.length()];
+        vector.copyInto(0, values, 0, values.length);
+
+        double[] replicates = Bootstrap.replicates(values, null, iterations, seed, (sampleX, sampleY) ->
+                statistic.apply(resample(vector, sampleX)).compute().asDouble());
+        return new BootstrapResultImpl(statistic.apply(vector).compute().asDouble(), replicates);
+    }
+
+    @Override
+    public BootstrapResult bootstrap(final BiFunction<ScalarVector, ScalarVector, ScalarFunction> statistic, final ScalarVector vectorX,
+                                     final ScalarVector vectorY, final int iterations, final long seed) {
+        if (vectorX.length() != vectorY.length()) {
+            throw new FunctionException("Vector lengths differ: x has " + vectorX.length() + " values, y has " + vectorY.length());
+        }
+
+        double[] valuesX = new double[vectorX.length()];
+        double[] valuesY = new double[vectorY.length()];
+        vectorX.copyInto(0, valuesX, 0, valuesX.length);
+        vectorY.copyInto(0, valuesY, 0, valuesY.length);
+
+        double[] replicates = Bootstrap.replicates(valuesX, valuesY, iterations, seed, (sampleX, sampleY) ->
+                statistic.apply(resample(vectorX, sampleX), resample(vectorY, sampleY)).compute().asDouble());
+        return new BootstrapResultImpl(statistic.apply(vectorX, vectorY).compute().asDouble(), replicates);
+    }
+
+    /**
+     * Wrap a resample buffer in a vector named like the source. The wrapper is created per resample, so nothing
+     * cached by one resample's vector is seen by the next, while the buffer itself is reused
+     */
+    private ScalarVector resample(ScalarVector source, double[] values) {
+        return getModelProvider().getVectorFactory().createScalarVector(source.getName(), source.getVariable(), values);
+    }
+
+    @Override
+    public Matrix describeAll(final Stream<ScalarVector> vectors, final Set<Statistic> statistics) {
+        if (statistics.isEmpty()) {
+            throw new FunctionException("At least one statistic is required");
+        }
+
+        Statistic[] columns = EnumSet.copyOf(statistics).toArray(new Statistic[0]);
+        ScalarVector[] rows = vectors.toArray(ScalarVector[]::new);
+        double[] results = BatchStatistics.describe(rows, columns);
+        String[] columnNames = Arrays.stream(columns).map(Statistic::getName).toArray(String[]::new);
+
+        return getModelProvider().getMatrixFactory().createDenseMatrix(results, rows.length, columns.length, MatrixLayout.ROW_MAJOR, columnNames);
+    }
+
+    @Override
+    public ExponentialMovingStatistics ewma(final double alpha) {
+        return new ExponentialMovingStatisticsImpl(alpha);
+    }
+
+    @Override
+    public ExponentialMovingCovariance ewmaCovariance(final double alpha) {
+        return new ExponentialMovingCovarianceImpl(alpha);
+    }
+
+    @Override
+    public Function<ScalarVector> ewmaMean(final ScalarVector vector, final double alpha) {
+        ScalarVectorParameter parameter = getModelProvider().getParameterFactory().createParameter(vector.getName(), vector.getVariable(), vector);
+        return new ExponentialMovingFunction(StatisticsFunctionTypes.EWMA_MEAN, parameter, alphaParameter(alpha));
+    }
+
+    @Override
+    public Function<ScalarVector> ewmaVariance(final ScalarVector vector, final double alpha) {
+        ScalarVectorParameter parameter = getModelProvider().getParameterFactory().createParameter(vector.getName(), vector.getVariable(), vector);
+        return new ExponentialMovingFunction(StatisticsFunctionTypes.EWMA_VARIANCE, parameter, alphaParameter(alpha));
+    }
+
+    @Override
+    public Function<ScalarVector> ewmaCovariance(final ScalarVector vectorX, final ScalarVector vectorY, final double alpha) {
+        if (vectorX.length() != vectorY.length()) {
+            throw new FunctionException("Vector lengths differ: x has " + vectorX.length() + " values, y has " + vectorY.length());
+        }
+
+        ScalarVectorParameter vectorXParam = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.VECTOR, StatisticsNameConstants.X_VARIABLE, vectorX);
+        ScalarVectorParameter vectorYParam = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.VECTOR, StatisticsNameConstants.Y_VARIABLE, vectorY);
+        return new ExponentialMovingFunction(vectorXParam, vectorYParam, alphaParameter(alpha));
+    }
+
+    private ScalarParameter alphaParameter(double alpha) {
+        return getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.ALPHA, ExponentialMovingStatisticsImpl.checkAlpha(alpha));
+    }
+
+    @Override
+    public Function<ScalarVector> autocorrelation(final ScalarVector vector, final int maxLag) {
+        if (vector.length() < 2) {
+            throw new FunctionException("Autocorrelation requires at least 2 values: " + vector.length());
+        }
+
+        if (maxLag < 0 || maxLag >= vector.length()) {
+            throw new FunctionException("Maximum lag must be between 0 and " + (vector.length() - 1) + ": " + maxLag);
+        }
+
+        ScalarVectorParameter parameter = getModelProvider().getParameterFactory().createParameter(vector.getName(), vector.getVariable(), vector);
+        ScalarParameter maxLagParameter = getModelProvider().getParameterFactory().createParameter(StatisticsNameConstants.MAX_LAG, maxLag);
+        return new AutocorrelationFunction(parameter, maxLagParameter);
+    }
+
+    @Override
+    public Function<ScalarVector> periodogram(final ScalarVector vector) {
+        if (vector.length() < 2) {
+            throw new FunctionException("Periodogram requires at least 2 values: " + vector.length());
+        }
+
+        ScalarVectorParameter parameter = getModelProvider().getParameterFactory().createParameter(vector.getName(), vector.getVariable(), vector);
+        return new PeriodogramFunction(parameter);
+    }
+
+    @Override
+    public RollingStatistics rolling(final ScalarVector vector, final int windowSize) {
+        return new RollingStatisticsImpl(vector, windowSize);
+    }
 }
@@ -24,4 +24,10 @@ interface StatisticsNameConstants {
     static final String COLUMN = "column";
     static final String DEGREES_OF_FREEDOM = "df";
     static final String COUNT = "count";
+    static final String PROBABILITY = "probability";
+    static final String SKETCH = "sketch";
+    static final String EVALUATION_MODE = "evaluationMode";
+    static final String WINDOW = "window";
+    static final String ALPHA = "alpha";
+    static final String MAX_LAG = "maxLag";
 }
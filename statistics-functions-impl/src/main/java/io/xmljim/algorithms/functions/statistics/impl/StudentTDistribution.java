@@ -0,0 +1,191 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import org.apache.commons.math3.distribution.TDistribution;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Student's t distribution for p-values, t-tests and confidence intervals.
+ * <p>
+ *     Two-tailed p-values for whole degrees of freedom up to {@link #TABLE_MAX_DF} come from lookup tables, built
+ *     the first time each df is used. The tables are sampled evenly in &#x03B8; = atan(t / &#x221A;df), which maps
+ *     the real line onto a bounded interval. In &#x03B8; the p-value is smooth for every df (for df = 1 it is linear),
+ *     even where the tails are heavy. The tables are read by cubic Hermite interpolation from the exact p-values and
+ *     densities at the nodes. Each table stops where the p-value falls to
+ *     {@link #TABLE_MIN_P}, so small p-values keep their relative precision.
+ * </p>
+ * <p>
+ *     Anything outside the tables is computed exactly from the regularized incomplete beta function
+ *     (see {@link IncompleteBeta}), which does not allocate. Quantiles use commons-math distributions, held in a
+ *     bounded least-recently-used cache keyed by df.
+ * </p>
+ */
+final class StudentTDistribution {
+    static final int TABLE_MAX_DF = 120;
+    static final int TABLE_INTERVALS = 512;
+    static final double TABLE_MIN_P = 1E-3;
+    static final int CACHE_SIZE = 64;
+
+    private static final AtomicReferenceArray<Table> TABLES = new AtomicReferenceArray<>(TABLE_MAX_DF + 1);
+
+    private static final Map<Double, TDistribution> DISTRIBUTIONS = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Double, TDistribution> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private StudentTDistribution() {
+
+    }
+
+    /**
+     * P(|T| &#x2265; |t|), the two-tailed p-value of a t statistic
+     * @param t the t statistic
+     * @param degreesOfFreedom the degrees of freedom
+     * @return the p-value, or NaN if either argument is NaN or the degrees of freedom are not positive
+     */
+    static double twoTailedPValue(double t, double degreesOfFreedom) {
+        if (Double.isNaN(t) || !(degreesOfFreedom > 0)) {
+            return Double.NaN;
+        }
+
+        if (degreesOfFreedom <= TABLE_MAX_DF && degreesOfFreedom == Math.rint(degreesOfFreedom)) {
+            double p = table((int) degreesOfFreedom).pValue(Math.abs(t));
+            if (!Double.isNaN(p)) {
+                return p;
+            }
+        }
+        return exactPValue(t, degreesOfFreedom);
+    }
+
+    /**
+     * P(T &#x2264; t)
+     * @param t the t value
+     * @param degreesOfFreedom the degrees of freedom
+     * @return the cumulative probability
+     */
+    static double cumulativeProbability(double t, double degreesOfFreedom) {
+        double tail = twoTailedPValue(t, degreesOfFreedom) / 2;
+        return t < 0 ? tail : 1 - tail;
+    }
+
+    /**
+     * The t value below which a given probability lies
+     * @param probability the cumulative probability, between 0 and 1 inclusive
+     * @param degreesOfFreedom the degrees of freedom
+     * @return the quantile
+     */
+    static double inverseCumulativeProbability(double probability, double degreesOfFreedom) {
+        return distribution(degreesOfFreedom).inverseCumulativeProbability(probability);
+    }
+
+    /**
+     * The critical value t* of a two-sided confidence interval, e.g., 1.96 for a confidence level of 0.95 and
+     * large df
+     * @param confidenceLevel the confidence level, between 0 and 1
+     * @param degreesOfFreedom the degrees of freedom
+     * @return the critical value
+     */
+    static double criticalValue(double confidenceLevel, double degreesOfFreedom) {
+        return inverseCumulativeProbability((1 + confidenceLevel) / 2, degreesOfFreedom);
+    }
+
+    /**
+     * The two-tailed p-value from the regularized incomplete beta function: I<sub>df/(df+t&#x00B2;)</sub>(df/2, 1/2)
+     */
+    static double exactPValue(double t, double degreesOfFreedom) {
+        if (Double.isInfinite(t)) {
+            return 0.0;
+        }
+        return IncompleteBeta.regularized(degreesOfFreedom / (degreesOfFreedom + t * t), degreesOfFreedom / 2, 0.5);
+    }
+
+    private static TDistribution distribution(double degreesOfFreedom) {
+        synchronized (DISTRIBUTIONS) {
+            return DISTRIBUTIONS.computeIfAbsent(degreesOfFreedom, df -> new TDistribution(null, df));
+        }
+    }
+
+    private static Table table(int degreesOfFreedom) {
+        Table table = TABLES.get(degreesOfFreedom);
+        if (table == null) {
+            table = new Table(degreesOfFreedom);
+            if (!TABLES.compareAndSet(degreesOfFreedom, null, table)) {
+                table = TABLES.get(degreesOfFreedom);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Exact p-values and their derivatives with respect to &#x03B8; at evenly spaced nodes
+     */
+    private static final class Table {
+        private final double degreesOfFreedom;
+        private final double step;
+        private final double maxT;
+        private final double[] pValues;
+        private final double[] slopes;
+
+        Table(int degreesOfFreedom) {
+            this.degreesOfFreedom = degreesOfFreedom;
+            this.maxT = inverseCumulativeProbability(1 - TABLE_MIN_P / 2, degreesOfFreedom);
+            this.step = toTheta(maxT) / TABLE_INTERVALS;
+            this.pValues = new double[TABLE_INTERVALS + 1];
+            this.slopes = new double[TABLE_INTERVALS + 1];
+
+            TDistribution distribution = distribution(degreesOfFreedom);
+            for (int i = 0; i <= TABLE_INTERVALS; i++) {
+                double theta = i * step;
+                double cosine = Math.cos(theta);
+                double t = Math.sqrt(degreesOfFreedom) * Math.tan(theta);
+                pValues[i] = exactPValue(t, degreesOfFreedom);
+                // dp/dtheta = dp/dt * dt/dtheta = -2 f(t) sqrt(df) / cos^2(theta)
+                slopes[i] = -2 * distribution.density(t) * Math.sqrt(degreesOfFreedom) / (cosine * cosine);
+            }
+        }
+
+        private double toTheta(double t) {
+            return Math.atan(t / Math.sqrt(degreesOfFreedom));
+        }
+
+        /**
+         * The interpolated p-value, or NaN if |t| is beyond the table
+         */
+        double pValue(double absoluteT) {
+            if (absoluteT > maxT) {
+                return Double.NaN;
+            }
+
+            double position = toTheta(absoluteT) / step;
+            int i = Math.min((int) position, TABLE_INTERVALS - 1);
+            double tau = position - i;
+            double tau2 = tau * tau;
+            double tau3 = tau2 * tau;
+
+            return (2 * tau3 - 3 * tau2 + 1) * pValues[i]
+                    + (tau3 - 2 * tau2 + tau) * step * slopes[i]
+                    + (-2 * tau3 + 3 * tau2) * pValues[i + 1]
+                    + (tau3 - tau2) * step * slopes[i + 1];
+        }
+    }
+}
@@ -17,13 +17,16 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
+import io.xmljim.algorithms.functions.statistics.EvaluationMode;
+import io.xmljim.algorithms.model.Parameter;
 import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.ScalarVectorParameter;
 import io.xmljim.algorithms.model.util.Scalar;
+import io.xmljim.algorithms.model.util.SummaryStats;
 
-class SumFunction extends AbstractScalarFunction {
-    private Scalar result = null;
-
+class SumFunction extends AbstractScalarFunction implements Compilable {
     public SumFunction(ScalarVectorParameter vectorParameter) {
         super(StatisticsFunctionTypes.SUM, vectorParameter);
     }
@@ -32,17 +35,25 @@ class SumFunction extends AbstractScalarFunction {
         super(StatisticsFunctionTypes.SUM, variable, vectorParameter);
     }
 
-    private Scalar computeSum() {
+    SumFunction(String variable, Parameter<?>... parameters) {
+        super(StatisticsFunctionTypes.SUM, variable, parameters);
+    }
+
+    @Override
+    protected Scalar evaluate() {
         ScalarVector vector = getValue(0);
-        double value = vector.stream().mapToDouble(Scalar::asDouble).sum();
+        if (Reductions.evaluationMode(lookupParameter(StatisticsNameConstants.EVALUATION_MODE)) == EvaluationMode.PARALLEL) {
+            return Scalar.of(Reductions.moments(vector).getSum());
+        }
+
+        double value = vector.getSummaryStats()
+                .map(SummaryStats::getSum)
+                .orElseGet(() -> vector.doubleStream().sum());
         return Scalar.of(value);
     }
 
     @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = computeSum();
-        }
-        return result;
+    public int compile(PlanCompiler compiler) {
+        return PlanOperations.sum(compiler, compiler.vector(getValue(0)));
     }
 }
@@ -17,18 +17,19 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
 import io.xmljim.algorithms.model.ScalarFunction;
 import io.xmljim.algorithms.model.ScalarFunctionParameter;
 import io.xmljim.algorithms.model.util.Scalar;
 
-class TStatisticSlopeFunction extends AbstractScalarFunction {
-    private Scalar result;
-
+class TStatisticSlopeFunction extends AbstractScalarFunction implements Compilable {
     public TStatisticSlopeFunction(ScalarFunctionParameter slopeFunction, ScalarFunctionParameter slopeStandardError) {
         super(StatisticsFunctionTypes.T_SLOPE, slopeFunction, slopeStandardError);
     }
 
-    Scalar getResult() {
+    @Override
+    protected Scalar evaluate() {
         ScalarFunction slopeFx = getValue(StatisticsFunctionTypes.SLOPE.getName());
         ScalarFunction slopeSEFx = getValue(StatisticsFunctionTypes.SLOPE_STD_ERROR.getName());
 
@@ -38,11 +39,9 @@ class TStatisticSlopeFunction extends AbstractScalarFunction {
     }
 
     @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = getResult();
-        }
-
-        return result;
+    public int compile(PlanCompiler compiler) {
+        int slope = compiler.slot(getValue(StatisticsFunctionTypes.SLOPE.getName()));
+        int slopeSE = compiler.slot(getValue(StatisticsFunctionTypes.SLOPE_STD_ERROR.getName()));
+        return compiler.emit((registers, vectors) -> registers[slope] / registers[slopeSE]);
     }
 }
@@ -17,34 +17,36 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
 import io.xmljim.algorithms.model.ScalarFunction;
 import io.xmljim.algorithms.model.ScalarFunctionParameter;
 import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.ScalarVectorParameter;
 import io.xmljim.algorithms.model.util.Scalar;
 
-class TotalSumOfSquaresFunction extends AbstractScalarFunction {
-
-    private Scalar result;
+class TotalSumOfSquaresFunction extends AbstractScalarFunction implements Compilable {
 
     public TotalSumOfSquaresFunction(ScalarVectorParameter vectorParameter, ScalarFunctionParameter mean) {
         super(StatisticsFunctionTypes.SST, vectorParameter, mean);
     }
 
-    private Scalar getResult() {
+    @Override
+    protected Scalar evaluate() {
         ScalarVector vector = getValue(StatisticsNameConstants.VECTOR);
         ScalarFunction meanFx = getValue(StatisticsFunctionTypes.MEAN.getName());
         double mean = meanFx.compute().asDouble();
 
-        double sst = vector.stream().mapToDouble(e -> Math.pow(e.asDouble() - mean, 2)).sum();
+        double sst = vector.getSummaryStats()
+                .map(stats -> stats.getSumOfSquaredDeviations(mean))
+                .orElseGet(() -> vector.doubleStream().map(e -> Math.pow(e - mean, 2)).sum());
         return Scalar.of(sst);
     }
 
     @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = getResult();
-        }
-        return result;
+    public int compile(PlanCompiler compiler) {
+        int vector = compiler.vector(getValue(StatisticsNameConstants.VECTOR));
+        int mean = compiler.slot(getValue(StatisticsFunctionTypes.MEAN.getName()));
+        return PlanOperations.sumOfSquaredDeviations(compiler, vector, mean);
     }
 }
@@ -17,16 +17,17 @@
 package io.xmljim.algorithms.functions.statistics.impl;
 
 import io.xmljim.algorithms.functions.common.AbstractScalarFunction;
+import io.xmljim.algorithms.functions.common.Compilable;
 import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.PlanCompiler;
+import io.xmljim.algorithms.functions.statistics.EvaluationMode;
 import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
 import io.xmljim.algorithms.model.*;
 import io.xmljim.algorithms.model.util.Scalar;
 
 import java.util.Optional;
 
-class VarianceFunction extends AbstractScalarFunction {
-    private Scalar result;
-
+class VarianceFunction extends AbstractScalarFunction implements Compilable {
     public VarianceFunction(ScalarVectorParameter vectorParameter) {
         super(StatisticsFunctionTypes.VARIANCE, vectorParameter);
     }
@@ -43,41 +44,63 @@ class VarianceFunction extends AbstractScalarFunction {
         super(StatisticsFunctionTypes.VARIANCE, variable, vectorParameter, meanFunction);
     }
 
+    VarianceFunction(String variable, Parameter<?>... parameters) {
+        super(StatisticsFunctionTypes.VARIANCE, variable, parameters);
+    }
+
     private StatisticsProvider getFunctionProvider() {
         StatisticsProvider provider = getFunctionProvider("Statistics");
         return provider;
     }
 
-    private Scalar computeVariance() {
-        ScalarVectorParameter vectorParameter = (ScalarVectorParameter) find(parameterType(ParameterTypes.SCALAR_VECTOR))
+    private EvaluationMode getEvaluationMode() {
+        return Reductions.evaluationMode(lookupParameter(StatisticsNameConstants.EVALUATION_MODE));
+    }
+
+    @Override
+    protected Scalar evaluate() {
+        ScalarVectorParameter vectorParameter = (ScalarVectorParameter) getParameterOfType(ParameterTypes.SCALAR_VECTOR)
                 .orElseThrow(() -> new FunctionException("Missing ScalarVector parameter"));
 
         ScalarVector vector = vectorParameter.getValue();
+
+        if (getEvaluationMode() == EvaluationMode.PARALLEL) {
+            Reductions.Moments moments = Reductions.moments(vector);
+            Optional<Parameter<?>> meanFunctionParameter = getParameter(StatisticsFunctionTypes.MEAN.getName(), ParameterTypes.SCALAR_FUNCTION);
+            double center = meanFunctionParameter.isPresent() ? ((ScalarFunction) meanFunctionParameter.get().getValue()).compute().asDouble() : moments.getMean();
+            return Scalar.of(moments.getSumOfSquaredDeviations(center) / (vector.length() - 1));
+        }
+
         ScalarFunction meanFunction = getOrCreateMeanFunction(vector);
         double mean = meanFunction.compute().asDouble();
 
-        double variance = vector.stream().mapToDouble(e -> Math.pow(e.asDouble() - mean, 2)).sum() / (vector.length() - 1);
+        double sumOfSquaredDeviations = vector.getSummaryStats()
+                .map(stats -> stats.getSumOfSquaredDeviations(mean))
+                .orElseGet(() -> vector.doubleStream().map(e -> Math.pow(e - mean, 2)).sum());
+        double variance = sumOfSquaredDeviations / (vector.length() - 1);
         return Scalar.of(variance);
     }
 
-    private ScalarFunction getOrCreateMeanFunction(ScalarVector vector) {
+    @Override
+    public int compile(PlanCompiler compiler) {
+        ScalarVectorParameter vectorParameter = (ScalarVectorParameter) getParameterOfType(ParameterTypes.SCALAR_VECTOR)
+                .orElseThrow(() -> new FunctionException("Missing ScalarVector parameter"));
+
+        ScalarVector vector = vectorParameter.getValue();
+        int mean = compiler.slot(getOrCreateMeanFunction(vector));
+        return PlanOperations.variance(compiler, compiler.vector(vector), mean);
+    }
+
+    ScalarFunction getOrCreateMeanFunction(ScalarVector vector) {
         ScalarFunction meanFunction;
 
-        Optional<Parameter<?>> meanFunctionParameter = find(parameterNameAndType(StatisticsFunctionTypes.MEAN.getName(), ParameterTypes.SCALAR_FUNCTION));
+        Optional<Parameter<?>> meanFunctionParameter = getParameter(StatisticsFunctionTypes.MEAN.getName(), ParameterTypes.SCALAR_FUNCTION);
         if (meanFunctionParameter.isPresent()) {
             meanFunction = (ScalarFunction) meanFunctionParameter.get().getValue();
         } else {
-            meanFunction = getFunctionProvider().getFactory().mean(vector, getVariable());
+            meanFunction = getFunctionProvider().getFactory().withEvaluationMode(getEvaluationMode()).mean(vector, getVariable());
         }
 
         return meanFunction;
     }
-
-    @Override
-    public Scalar compute() {
-        if (result == null) {
-            result = computeVariance();
-        }
-        return result;
-    }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.LinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.Statistic;
+import io.xmljim.algorithms.functions.statistics.StatisticsFunctions;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.Matrix;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Describe many vectors in one call")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BatchStatisticsTest {
+    StatisticsFunctions factory;
+    ModelProvider modelProvider;
+    List<ScalarVector> vectors;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        factory = ((StatisticsProvider) functionProviders.iterator().next()).getFactory();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+
+        SplittableRandom random = new SplittableRandom(18);
+        vectors = IntStream.range(0, 50)
+                .mapToObj(v -> {
+                    double growth = random.nextDouble(-1, 3);
+                    double[] values = IntStream.range(0, 20 + v).mapToDouble(i -> 100 + growth * i + random.nextGaussian()).toArray();
+                    return modelProvider.getVectorFactory().createScalarVector("series" + v, values);
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("1. Every statistic matches the individual functions")
+    @Order(1)
+    void test1AllStatistics() {
+        Matrix result = factory.describeAll(vectors.stream(), EnumSet.allOf(Statistic.class));
+
+        assertEquals(vectors.size(), result.getRowCount());
+        assertEquals(Statistic.values().length, result.getColumnCount());
+        assertEquals("count", result.getColumnNames()[0]);
+
+        for (int row = 0; row < vectors.size(); row++) {
+            ScalarVector vector = vectors.get(row);
+            ScalarVector positions = modelProvider.getVectorFactory().createScalarVector("x",
+                    IntStream.range(0, vector.length()).mapToDouble(i -> i).toArray());
+            LinearRegressionModel model = factory.linearRegression(positions, vector);
+            model.solve();
+            double[] quartiles = Selection.quantiles(Selection.copyOf(vector), 0.25, 0.5, 0.75);
+
+            assertEquals(vector.length(), result.getDouble(row, Statistic.COUNT.ordinal()));
+            assertEquals(factory.sum(vector).compute().asDouble(), result.getDouble(row, Statistic.SUM.ordinal()), 1E-9);
+            assertEquals(factory.mean(vector).compute().asDouble(), result.getDouble(row, Statistic.MEAN.ordinal()), 1E-9);
+            assertEquals(vector.doubleStream().min().orElseThrow(), result.getDouble(row, Statistic.MIN.ordinal()));
+            assertEquals(vector.doubleStream().max().orElseThrow(), result.getDouble(row, Statistic.MAX.ordinal()));
+            assertEquals(factory.variance(vector).compute().asDouble(), result.getDouble(row, Statistic.VARIANCE.ordinal()), 1E-9);
+            assertEquals(factory.standardDeviation(vector).compute().asDouble(), result.getDouble(row, Statistic.STANDARD_DEVIATION.ordinal()), 1E-9);
+            assertEquals(factory.median(vector).compute().asDouble(), result.getDouble(row, Statistic.MEDIAN.ordinal()));
+            assertEquals(quartiles[0], result.getDouble(row, Statistic.FIRST_QUARTILE.ordinal()));
+            assertEquals(quartiles[2], result.getDouble(row, Statistic.THIRD_QUARTILE.ordinal()));
+            assertEquals(factory.interquartileRange(vector).compute().asDouble(), result.getDouble(row, Statistic.INTERQUARTILE_RANGE.ordinal()), 1E-12);
+            assertEquals(model.getSlope().asDouble(), result.getDouble(row, Statistic.SLOPE.ordinal()), 1E-9);
+            assertEquals(model.getIntercept().asDouble(), result.getDouble(row, Statistic.INTERCEPT.ordinal()), 1E-9);
+            assertEquals(model.getRSquared().asDouble(), result.getDouble(row, Statistic.R_SQUARED.ordinal()), 1E-9);
+        }
+    }
+
+    @Test
+    @DisplayName("2. Columns follow Statistic order whatever the order of the set")
+    @Order(2)
+    void test2ColumnOrder() {
+        Matrix result = factory.describeAll(vectors.stream(), Set.of(Statistic.MEDIAN, Statistic.MEAN));
+
+        assertArrayEquals(new String[] {"mean", "median"}, result.getColumnNames());
+        assertEquals(factory.mean(vectors.get(3)).compute().asDouble(), result.getDouble(3, 0), 1E-9);
+        assertEquals(factory.median(vectors.get(3)).compute().asDouble(), result.getDouble(3, 1));
+    }
+
+    @Test
+    @DisplayName("3. Empty vectors describe as NaN, and an empty set of statistics is rejected")
+    @Order(3)
+    void test3Degenerate() {
+        ScalarVector empty = modelProvider.getVectorFactory().createScalarVector("empty", new double[0]);
+        Matrix result = factory.describeAll(Stream.of(empty), EnumSet.of(Statistic.COUNT, Statistic.MEAN, Statistic.MEDIAN));
+
+        assertEquals(0, result.getDouble(0, 0));
+        assertTrue(Double.isNaN(result.getDouble(0, 1)));
+        assertTrue(Double.isNaN(result.getDouble(0, 2)));
+        assertThrows(FunctionException.class, () -> factory.describeAll(vectors.stream(), Set.of()));
+    }
+}
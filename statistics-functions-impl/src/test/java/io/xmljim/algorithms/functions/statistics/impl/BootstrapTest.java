@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.BootstrapResult;
+import io.xmljim.algorithms.functions.statistics.StatisticsFunctions;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.ServiceLoader;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bootstrap confidence intervals")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BootstrapTest {
+    StatisticsFunctions factory;
+    ModelProvider modelProvider;
+    ScalarVector vectorX;
+    ScalarVector vectorY;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        factory = ((StatisticsProvider) functionProviders.iterator().next()).getFactory();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+
+        SplittableRandom random = new SplittableRandom(17);
+        double[] x = new double[250];
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i;
+            y[i] = 2 * x[i] + 100 + random.nextGaussian() * 20;
+        }
+        vectorX = modelProvider.getVectorFactory().createScalarVector("x", x);
+        vectorY = modelProvider.getVectorFactory().createScalarVector("y", y);
+    }
+
+    @Test
+    @DisplayName("1. The standard error of the mean is close to s / sqrt(n) and the interval covers the estimate")
+    @Order(1)
+    void test1Mean() {
+        BootstrapResult result = factory.bootstrap(factory::mean, vectorY, 2_000, 42L);
+        double expectedError = factory.standardDeviation(vectorY).compute().asDouble() / Math.sqrt(vectorY.length());
+
+        assertEquals(2_000, result.getIterations());
+        assertEquals(factory.mean(vectorY).compute().asDouble(), result.getEstimate());
+        assertEquals(expectedError, result.getStandardError(), expectedError * 0.1);
+        assertTrue(result.getLowerBound(0.95) < result.getEstimate() && result.getEstimate() < result.getUpperBound(0.95));
+        assertTrue(result.getLowerBound(0.99) < result.getLowerBound(0.9));
+        assertTrue(result.getUpperBound(0.99) > result.getUpperBound(0.9));
+
+        ScalarVector replicates = result.getReplicates();
+        assertEquals(2_000, replicates.length());
+        assertTrue(replicates.getDouble(0) <= replicates.getDouble(1_999));
+    }
+
+    @Test
+    @DisplayName("2. A regression slope interval covers the true slope")
+    @Order(2)
+    void test2Slope() {
+        BootstrapResult result = factory.bootstrap((x, y) -> factory.slope(factory.variance(x), factory.covariance(x, y)),
+                vectorX, vectorY, 10_000, 7L);
+
+        assertEquals(10_000, result.getIterations());
+        assertTrue(result.getLowerBound(0.95) < 2 && 2 < result.getUpperBound(0.95));
+        assertTrue(result.getUpperBound(0.95) - result.getLowerBound(0.95) < 0.2);
+    }
+
+    @Test
+    @DisplayName("3. A fixed seed gives the same replicates on any number of threads")
+    @Order(3)
+    void test3Reproducible() throws Exception {
+        double[] single = replicates(new ForkJoinPool(1));
+        double[] many = replicates(new ForkJoinPool(8));
+
+        assertArrayEquals(single, many);
+        assertArrayEquals(single, replicates(ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    @DisplayName("4. Invalid arguments are rejected")
+    @Order(4)
+    void test4Invalid() {
+        BootstrapResult result = factory.bootstrap(factory::median, vectorY, 100, 1L);
+
+        assertThrows(FunctionException.class, () -> factory.bootstrap(factory::mean, vectorY, 0, 1L));
+        assertThrows(FunctionException.class, () -> factory.bootstrap(factory::covariance, vectorX, vectorY.slice(0, 10), 100, 1L));
+        assertThrows(FunctionException.class, () -> result.getLowerBound(1));
+    }
+
+    private double[] replicates(ForkJoinPool pool) throws Exception {
+        try {
+            return pool.submit(() -> factory.bootstrap(factory::median, vectorY, 1_000, 99L).getReplicates().toDoubleArray()).get();
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+    }
+}
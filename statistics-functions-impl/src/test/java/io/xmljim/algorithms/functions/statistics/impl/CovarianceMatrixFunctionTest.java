@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.StatisticsFunctions;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.Matrix;
+import io.xmljim.algorithms.model.MatrixLayout;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.ServiceLoader;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compute covariance and correlation matrices in one pass")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CovarianceMatrixFunctionTest {
+    StatisticsFunctions factory;
+    ModelProvider modelProvider;
+    Matrix matrix;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        factory = ((StatisticsProvider) functionProviders.iterator().next()).getFactory();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+
+        SplittableRandom random = new SplittableRandom(16);
+        double[][] rows = new double[10_000][];
+        for (int r = 0; r < rows.length; r++) {
+            double a = 5_000 + random.nextGaussian() * 10;
+            double b = 0.5 * a + random.nextGaussian() * 4;
+            double c = -2 * a + b + random.nextGaussian() * 30;
+            rows[r] = new double[] {a, b, c, random.nextDouble()};
+        }
+        matrix = modelProvider.getMatrixFactory().createDenseMatrix(rows, MatrixLayout.ROW_MAJOR, "a", "b", "c", "d");
+    }
+
+    @Test
+    @DisplayName("1. Each covariance matches the pairwise covariance function")
+    @Order(1)
+    void test1Covariance() {
+        Matrix covariances = factory.covarianceMatrix(matrix).compute();
+
+        assertEquals(4, covariances.getRowCount());
+        assertEquals(4, covariances.getColumnCount());
+        assertArrayEquals(new String[] {"a", "b", "c", "d"}, covariances.getColumnNames());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(factory.variance(matrix.getColumn(i)).compute().asDouble(), covariances.getDouble(i, i),
+                    Math.abs(covariances.getDouble(i, i)) * 1E-9);
+            for (int j = 0; j < 4; j++) {
+                double expected = factory.covariance(matrix.getColumn(i), matrix.getColumn(j)).compute().asDouble();
+                assertEquals(expected, covariances.getDouble(i, j), Math.max(1E-9, Math.abs(expected) * 1E-9));
+                assertEquals(covariances.getDouble(i, j), covariances.getDouble(j, i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("2. Correlations are covariances scaled by both standard deviations")
+    @Order(2)
+    void test2Correlation() {
+        Matrix covariances = factory.covarianceMatrix(matrix).compute();
+        Matrix correlations = factory.correlationMatrix(matrix).compute();
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1.0, correlations.getDouble(i, i));
+            for (int j = 0; j < 4; j++) {
+                double expected = covariances.getDouble(i, j) / Math.sqrt(covariances.getDouble(i, i) * covariances.getDouble(j, j));
+                assertEquals(expected, correlations.getDouble(i, j), 1E-12);
+            }
+        }
+        assertTrue(correlations.getDouble(0, 1) > 0.7);
+        assertTrue(Math.abs(correlations.getDouble(0, 3)) < 0.05);
+    }
+
+    @Test
+    @DisplayName("3. A constant column correlates as NaN, and too few rows are rejected")
+    @Order(3)
+    void test3Degenerate() {
+        Matrix constant = modelProvider.getMatrixFactory().createDenseMatrix(new double[][] {{1, 2}, {2, 2}, {3, 2}}, MatrixLayout.ROW_MAJOR);
+        Matrix correlations = factory.correlationMatrix(constant).compute();
+        assertEquals(1.0, correlations.getDouble(0, 0));
+        assertTrue(Double.isNaN(correlations.getDouble(0, 1)));
+        assertTrue(Double.isNaN(correlations.getDouble(1, 1)));
+
+        Matrix single = modelProvider.getMatrixFactory().createDenseMatrix(new double[][] {{1, 2}}, MatrixLayout.ROW_MAJOR);
+        assertThrows(FunctionException.class, () -> factory.covarianceMatrix(single).compute());
+    }
+}
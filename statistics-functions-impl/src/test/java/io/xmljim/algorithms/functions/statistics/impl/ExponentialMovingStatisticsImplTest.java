@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.ExponentialMovingCovariance;
+import io.xmljim.algorithms.functions.statistics.ExponentialMovingStatistics;
+import io.xmljim.algorithms.functions.statistics.StatisticsFunctions;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.ServiceLoader;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compute exponentially weighted moving statistics")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ExponentialMovingStatisticsImplTest {
+    private static final double ALPHA = 0.1;
+
+    StatisticsFunctions factory;
+    ModelProvider modelProvider;
+    ScalarVector vectorX;
+    ScalarVector vectorY;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        factory = ((StatisticsProvider) functionProviders.iterator().next()).getFactory();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+
+        SplittableRandom random = new SplittableRandom(20);
+        double[] x = new double[300];
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 100 + random.nextGaussian();
+            y[i] = 0.5 * x[i] + random.nextGaussian() * 0.25;
+        }
+        vectorX = modelProvider.getVectorFactory().createScalarVector("x", x);
+        vectorY = modelProvider.getVectorFactory().createScalarVector("y", y);
+    }
+
+    @Test
+    @DisplayName("1. Streaming mean and variance follow the recurrence")
+    @Order(1)
+    void test1KnownValues() {
+        ExponentialMovingStatistics ewma = factory.ewma(0.5);
+        assertTrue(Double.isNaN(ewma.getMean()));
+
+        ewma.update(1);
+        assertEquals(1.0, ewma.getMean());
+        assertEquals(0.0, ewma.getVariance());
+
+        ewma.update(2);
+        assertEquals(1.5, ewma.getMean(), 1E-15);
+        assertEquals(0.25, ewma.getVariance(), 1E-15);
+
+        ewma.update(3);
+        assertEquals(2.25, ewma.getMean(), 1E-15);
+        assertEquals(0.6875, ewma.getVariance(), 1E-15);
+        assertEquals(Math.sqrt(0.6875), ewma.getStandardDeviation(), 1E-15);
+        assertEquals(3, ewma.getCount());
+
+        ewma.reset();
+        assertEquals(0, ewma.getCount());
+        assertTrue(Double.isNaN(ewma.getVariance()));
+    }
+
+    @Test
+    @DisplayName("2. Batch series match the streaming accumulators value for value")
+    @Order(2)
+    void test2BatchMatchesStreaming() {
+        ScalarVector mean = factory.ewmaMean(vectorX, ALPHA).compute();
+        ScalarVector variance = factory.ewmaVariance(vectorX, ALPHA).compute();
+        ScalarVector covariance = factory.ewmaCovariance(vectorX, vectorY, ALPHA).compute();
+
+        ExponentialMovingStatistics ewma = factory.ewma(ALPHA);
+        ExponentialMovingCovariance ewmaCovariance = factory.ewmaCovariance(ALPHA);
+        assertEquals(vectorX.length(), mean.length());
+        for (int i = 0; i < vectorX.length(); i++) {
+            ewma.update(vectorX.getDouble(i));
+            ewmaCovariance.update(vectorX.getDouble(i), vectorY.getDouble(i));
+            assertEquals(ewma.getMean(), mean.getDouble(i));
+            assertEquals(ewma.getVariance(), variance.getDouble(i));
+            assertEquals(ewmaCovariance.getCovariance(), covariance.getDouble(i));
+        }
+        assertEquals(ewma.getMean(), ewmaCovariance.getMeanX(), 1E-12);
+    }
+
+    @Test
+    @DisplayName("3. Covariance of a series with itself is its variance, and correlation of a linear relation is 1")
+    @Order(3)
+    void test3Covariance() {
+        ExponentialMovingStatistics ewma = factory.ewma(ALPHA);
+        ExponentialMovingCovariance self = factory.ewmaCovariance(ALPHA);
+        ExponentialMovingCovariance linear = factory.ewmaCovariance(ALPHA);
+        for (int i = 0; i < vectorX.length(); i++) {
+            double x = vectorX.getDouble(i);
+            ewma.update(x);
+            self.update(x, x);
+            linear.update(x, -3 * x + 7);
+        }
+
+        assertEquals(ewma.getVariance(), self.getCovariance(), 1E-12);
+        assertEquals(-3 * ewma.getVariance(), linear.getCovariance(), 1E-10);
+        assertEquals(-1.0, linear.getCorrelation(), 1E-12);
+    }
+
+    @Test
+    @DisplayName("4. A smoothing factor of 1 tracks the last value with no variance")
+    @Order(4)
+    void test4AlphaOne() {
+        ScalarVector mean = factory.ewmaMean(vectorX, 1.0).compute();
+        ScalarVector variance = factory.ewmaVariance(vectorX, 1.0).compute();
+        for (int i = 0; i < vectorX.length(); i++) {
+            assertEquals(vectorX.getDouble(i), mean.getDouble(i));
+            assertEquals(0.0, variance.getDouble(i));
+        }
+    }
+
+    @Test
+    @DisplayName("5. Invalid smoothing factors and mismatched series are rejected")
+    @Order(5)
+    void test5Invalid() {
+        assertThrows(FunctionException.class, () -> factory.ewma(0));
+        assertThrows(FunctionException.class, () -> factory.ewma(1.5));
+        assertThrows(FunctionException.class, () -> factory.ewma(Double.NaN));
+        assertThrows(FunctionException.class, () -> factory.ewmaMean(vectorX, -0.1));
+        assertThrows(FunctionException.class, () -> factory.ewmaCovariance(vectorX, vectorY.slice(0, 10), ALPHA));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.IncrementalLinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.LinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.ServiceLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Update an incremental linear regression model")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class IncrementalLinearRegressionModelImplTest {
+
+    StatisticsProvider functionProvider;
+    ModelProvider modelProvider;
+    double[] x;
+    double[] y;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        functionProvider = (StatisticsProvider) functionProviders.iterator().next();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+
+        x = new double[100];
+        y = new double[100];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 1920 + i;
+            y[i] = 0.07 * x[i] - 120 + Math.cos(i * 1.3);
+        }
+    }
+
+    @Test
+    @DisplayName("1. Adding observations matches a model solved over the same data")
+    @Order(1)
+    void test1Add() {
+        IncrementalLinearRegressionModel model = functionProvider.getFactory().incrementalLinearRegression();
+        for (int i = 0; i < x.length; i++) {
+            model.add(x[i], y[i]);
+        }
+
+        assertEquals(x.length, model.getCount());
+        assertModelEquals(solve(0, x.length), model);
+    }
+
+    @Test
+    @DisplayName("2. Removing observations matches a model solved over the remaining data")
+    @Order(2)
+    void test2Remove() {
+        IncrementalLinearRegressionModel model = functionProvider.getFactory().incrementalLinearRegression(vector(x, 0, x.length), vector(y, 0, y.length));
+        model.getSlope();
+
+        for (int i = 0; i < 30; i++) {
+            model.remove(x[i], y[i]);
+        }
+
+        assertEquals(70, model.getCount());
+        assertModelEquals(solve(30, x.length), model);
+    }
+
+    @Test
+    @DisplayName("3. Merging models matches a model solved over the combined data")
+    @Order(3)
+    void test3Merge() {
+        IncrementalLinearRegressionModel first = functionProvider.getFactory().incrementalLinearRegression(vector(x, 0, 40), vector(y, 0, 40));
+        IncrementalLinearRegressionModel second = functionProvider.getFactory().incrementalLinearRegression(vector(x, 40, 100), vector(y, 40, 100));
+
+        first.merge(second);
+
+        assertEquals(100, first.getCount());
+        assertEquals(60, second.getCount());
+        assertModelEquals(solve(0, x.length), first);
+    }
+
+    private LinearRegressionModel solve(int from, int to) {
+        LinearRegressionModel model = functionProvider.getFactory().linearRegression(vector(x, from, to), vector(y, from, to));
+        model.solve();
+        return model;
+    }
+
+    private ScalarVector vector(double[] values, int from, int to) {
+        return modelProvider.getVectorFactory().createScalarVector(StatisticsNameConstants.VECTOR, values).slice(from, to);
+    }
+
+    private void assertModelEquals(LinearRegressionModel expected, LinearRegressionModel actual) {
+        assertEquals(expected.getSlope().asDouble(), actual.getSlope().asDouble(), 1E-10);
+        assertEquals(expected.getIntercept().asDouble(), actual.getIntercept().asDouble(), 1E-7);
+        assertEquals(expected.getRSquared().asDouble(), actual.getRSquared().asDouble(), 1E-10);
+        assertEquals(expected.getSlopeStandardError().asDouble(), actual.getSlopeStandardError().asDouble(), 1E-10);
+        assertEquals(expected.getInterceptStandardError().asDouble(), actual.getInterceptStandardError().asDouble(), 1E-7);
+        assertEquals(expected.getPSlopeValue().asDouble(), actual.getPSlopeValue().asDouble(), 1E-10);
+    }
+}
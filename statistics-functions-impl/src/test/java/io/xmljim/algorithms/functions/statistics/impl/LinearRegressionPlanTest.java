@@ -0,0 +1,162 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.EvaluationPlan;
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.CoMomentsAggregate;
+import io.xmljim.algorithms.functions.statistics.CompilableLinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.LinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.StatisticsFunctions;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compile a linear regression model into an evaluation plan")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LinearRegressionPlanTest {
+    private static final int LENGTH = 400;
+
+    StatisticsFunctions factory;
+    ModelProvider modelProvider;
+    SplittableRandom random;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        factory = ((StatisticsProvider) functionProviders.iterator().next()).getFactory();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+
+        random = new SplittableRandom(25);
+    }
+
+    @Test
+    @DisplayName("1. Plan outputs match the solved coefficients")
+    @Order(1)
+    void test1OutputsMatchSolve() {
+        double[][] values = sample(0.35, -40);
+        ScalarVector vectorX = vector("x", values[0]);
+        ScalarVector vectorY = vector("y", values[1]);
+        CompilableLinearRegressionModel model = factory.linearRegression(vectorX, vectorY);
+
+        EvaluationPlan plan = model.compile();
+        double[] registers = plan.execute(plan.copyInputs());
+        model.solve();
+
+        assertEquals(List.of(vectorX, vectorY), plan.getInputs());
+        assertCoefficients(model, plan, registers);
+    }
+
+    @Test
+    @DisplayName("2. Statistics shared between coefficients are computed once")
+    @Order(2)
+    void test2SharedStatistics() {
+        double[][] values = sample(0.35, -40);
+        EvaluationPlan plan = factory.linearRegression(vector("x", values[0]), vector("y", values[1])).compile();
+
+        // mean(x), mean(y), Var(x), Cov(x, y), slope, intercept, SSE, SST(y), SST(x), r^2, MSE, SE(slope), SE(intercept), t, p
+        assertEquals(15, plan.getOperationCount());
+        assertEquals(7, plan.getOutputNames().size());
+    }
+
+    @Test
+    @DisplayName("3. A plan is executed again against new values without recompiling")
+    @Order(3)
+    void test3ReexecuteWithNewValues() {
+        double[][] first = sample(0.35, -40);
+        EvaluationPlan plan = factory.linearRegression(vector("x", first[0]), vector("y", first[1])).compile();
+        double[] registers = plan.newRegisters();
+        plan.execute(first, registers);
+
+        for (int i = 0; i < 3; i++) {
+            double[][] values = sample(-1.5 + i, 10 * i);
+            plan.execute(values, registers);
+
+            LinearRegressionModel expected = factory.linearRegression(vector("x", values[0]), vector("y", values[1]));
+            expected.solve();
+            assertCoefficients(expected, plan, registers);
+        }
+    }
+
+    @Test
+    @DisplayName("4. Only models backed by x and y vectors are compilable")
+    @Order(4)
+    void test4IncrementalModel() {
+        assertFalse(factory.incrementalLinearRegression() instanceof CompilableLinearRegressionModel);
+        double[][] values = sample(0.35, -40);
+        CoMomentsAggregate aggregate = factory.coMomentsAggregate();
+        aggregate.accumulate(values[0], values[1]);
+        assertFalse(aggregate.finish() instanceof CompilableLinearRegressionModel);
+    }
+
+    @Test
+    @DisplayName("5. Inputs of another length, or x and y of different lengths, are rejected")
+    @Order(5)
+    void test5LengthMismatch() {
+        double[][] values = sample(0.35, -40);
+        EvaluationPlan plan = factory.linearRegression(vector("x", values[0]), vector("y", values[1])).compile();
+        double[] registers = plan.newRegisters();
+
+        double[][] longer = sample(0.35, -40);
+        longer[0] = Arrays.copyOf(longer[0], LENGTH + 10);
+        longer[1] = Arrays.copyOf(longer[1], LENGTH + 10);
+        assertThrows(FunctionException.class, () -> plan.execute(longer, registers));
+        assertThrows(FunctionException.class, () -> plan.execute(new double[][] {values[0], Arrays.copyOf(values[1], LENGTH - 1)}, registers));
+
+        CompilableLinearRegressionModel mismatched = factory.linearRegression(vector("x", values[0]), vector("y", Arrays.copyOf(values[1], LENGTH - 1)));
+        assertThrows(FunctionException.class, mismatched::compile);
+    }
+
+    private void assertCoefficients(LinearRegressionModel expected, EvaluationPlan plan, double[] registers) {
+        assertClose(expected.getSlope().asDouble(), plan.getOutput(registers, StatisticsFunctionTypes.SLOPE.getName()));
+        assertClose(expected.getIntercept().asDouble(), plan.getOutput(registers, StatisticsFunctionTypes.INTERCEPT.getName()));
+        assertClose(expected.getRSquared().asDouble(), plan.getOutput(registers, StatisticsFunctionTypes.R_SQUARED.getName()));
+        assertClose(expected.getSlopeStandardError().asDouble(), plan.getOutput(registers, StatisticsFunctionTypes.SLOPE_STD_ERROR.getName()));
+        assertClose(expected.getInterceptStandardError().asDouble(), plan.getOutput(registers, StatisticsFunctionTypes.INTERCEPT_STD_ERROR.getName()));
+        assertClose(expected.getSlopeTStatistic().asDouble(), plan.getOutput(registers, StatisticsFunctionTypes.T_SLOPE.getName()));
+        assertEquals(expected.getPSlopeValue().asDouble(), plan.getOutput(registers, StatisticsFunctionTypes.P_SLOPE.getName()), 1E-10);
+    }
+
+    private static void assertClose(double expected, double actual) {
+        assertEquals(expected, actual, Math.abs(expected) * 1E-8);
+    }
+
+    private double[][] sample(double slope, double intercept) {
+        double[][] values = new double[2][LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            values[0][i] = 1900 + i + random.nextDouble();
+            values[1][i] = slope * values[0][i] + intercept + random.nextGaussian() * 20;
+        }
+        return values;
+    }
+
+    private ScalarVector vector(String name, double[] values) {
+        return modelProvider.getVectorFactory().createScalarVector(name, values);
+    }
+}
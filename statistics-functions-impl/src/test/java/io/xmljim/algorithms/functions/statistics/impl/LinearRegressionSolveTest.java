@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.LinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.DenseMatrix;
+import io.xmljim.algorithms.model.MatrixLayout;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.ServiceLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Solve a linear regression model")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LinearRegressionSolveTest {
+
+    StatisticsProvider functionProvider;
+    ModelProvider modelProvider;
+    DenseMatrix matrix;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        functionProvider = (StatisticsProvider) functionProviders.iterator().next();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+
+        double[][] rows = {{73, 1}, {62, 2}, {81, 3}, {88, 4}, {90, 5}};
+        matrix = modelProvider.getMatrixFactory().createDenseMatrix(rows, MatrixLayout.ROW_MAJOR, "y", "x");
+    }
+
+    @Test
+    @DisplayName("1. A model is solved from selected columns of a dense matrix")
+    @Order(1)
+    void test1SolveFromMatrixColumns() {
+        LinearRegressionModel model = functionProvider.getFactory().linearRegression(matrix, 1, 0);
+        model.solve();
+
+        assertEquals(6.0, model.getSlope().asDouble(), 1E-10);
+        assertEquals(60.8, model.getIntercept().asDouble(), 1E-10);
+    }
+
+    @Test
+    @DisplayName("2. The single-pass solution matches the composed statistics functions")
+    @Order(2)
+    void test2SinglePassMatchesFunctions() {
+        int length = 500;
+        double[] x = new double[length];
+        double[] y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = 1900 + i;
+            y[i] = 0.35 * x[i] - 40 + 25 * Math.sin(i * 0.7);
+        }
+
+        ScalarVector vectorX = modelProvider.getVectorFactory().createScalarVector(StatisticsNameConstants.VECTOR, StatisticsNameConstants.X_VARIABLE, x);
+        ScalarVector vectorY = modelProvider.getVectorFactory().createScalarVector(StatisticsNameConstants.VECTOR, StatisticsNameConstants.Y_VARIABLE, y);
+
+        LinearRegressionModel model = functionProvider.getFactory().linearRegression(vectorX, vectorY);
+        model.solve();
+
+        LinearRegressionModelImpl reference = (LinearRegressionModelImpl) functionProvider.getFactory().linearRegression(vectorX, vectorY);
+        reference.solveWithFunctions();
+
+        assertEquals(reference.getSlope().asDouble(), model.getSlope().asDouble(), 1E-10);
+        assertEquals(reference.getIntercept().asDouble(), model.getIntercept().asDouble(), 1E-7);
+        assertEquals(reference.getRSquared().asDouble(), model.getRSquared().asDouble(), 1E-10);
+        assertEquals(reference.getSlopeStandardError().asDouble(), model.getSlopeStandardError().asDouble(), 1E-10);
+        assertEquals(reference.getInterceptStandardError().asDouble(), model.getInterceptStandardError().asDouble(), 1E-7);
+        assertEquals(reference.getSlopeTStatistic().asDouble(), model.getSlopeTStatistic().asDouble(), 1E-6);
+        assertEquals(reference.getPSlopeValue().asDouble(), model.getPSlopeValue().asDouble(), 1E-10);
+    }
+
+    @Test
+    @DisplayName("3. The single-pass solution is stable for values with a large offset")
+    @Order(3)
+    void test3LargeOffset() {
+        double[] x = {1E9 + 1, 1E9 + 2, 1E9 + 3, 1E9 + 4, 1E9 + 5};
+        double[] y = {73, 62, 81, 88, 90};
+
+        LinearRegressionModel model = functionProvider.getFactory().linearRegression(
+                modelProvider.getVectorFactory().createScalarVector(StatisticsNameConstants.VECTOR, StatisticsNameConstants.X_VARIABLE, x),
+                modelProvider.getVectorFactory().createScalarVector(StatisticsNameConstants.VECTOR, StatisticsNameConstants.Y_VARIABLE, y));
+        model.solve();
+
+        assertEquals(6.0, model.getSlope().asDouble(), 1E-9);
+        assertEquals(360.0 / 530.8, model.getRSquared().asDouble(), 1E-9);
+    }
+}
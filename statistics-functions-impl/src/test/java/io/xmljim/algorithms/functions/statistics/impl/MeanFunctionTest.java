@@ -87,5 +87,14 @@ public class MeanFunctionTest {
         assertEquals(3.0, meanFunction.compute().asDouble());
     }
 
+    @Test
+    @DisplayName("6. The mean of a primitive-backed vector evaluates to 3")
+    @Order(6)
+    void testPrimitiveVectorMeanValue() {
+        ScalarVector primitiveVector = modelProvider.getVectorFactory().createScalarVector("primitiveVector", new double[]{1, 2, 3, 4, 5});
+        meanFunction = functionProvider.getFactory().mean(primitiveVector);
+        assertEquals(3.0, meanFunction.compute().asDouble());
+    }
+
 
 }
@@ -80,4 +80,13 @@ public class MedianFunctionTest {
         Scalar value = sumFunction.compute();
         assertEquals(3, value.asInt());
     }
+
+    @Test
+    @DisplayName("5. The median of an even number of unsorted values is the mean of the middle two")
+    @Order(5)
+    void computeEven() {
+        ScalarVector evenVector = modelProvider.getVectorFactory().createScalarVector("evenVector", 9, 2, 7, 4, 1, 8);
+        Scalar value = functionProvider.getFactory().median(evenVector).compute();
+        assertEquals(5.5, value.asDouble());
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.LinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.MultipleLinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.DenseMatrix;
+import io.xmljim.algorithms.model.MatrixLayout;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.ServiceLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Solve a multiple linear regression model")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MultipleLinearRegressionModelImplTest {
+
+    StatisticsProvider functionProvider;
+    ModelProvider modelProvider;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        functionProvider = (StatisticsProvider) functionProviders.iterator().next();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+    }
+
+    @Test
+    @DisplayName("1. A single independent variable matches the simple linear regression")
+    @Order(1)
+    void test1SinglePredictor() {
+        int rows = 500;
+        double[] data = new double[rows * 2];
+        for (int i = 0; i < rows; i++) {
+            data[i] = 1900 + i;
+            data[rows + i] = 0.35 * data[i] - 40 + 25 * Math.sin(i * 0.7);
+        }
+
+        DenseMatrix matrix = modelProvider.getMatrixFactory().createDenseMatrix(data, rows, 2, MatrixLayout.COLUMN_MAJOR, "x", "y");
+        MultipleLinearRegressionModel model = functionProvider.getFactory().multipleLinearRegression(matrix, 1, 0);
+        model.solve();
+
+        LinearRegressionModel expected = functionProvider.getFactory().linearRegression(matrix, 0, 1);
+        expected.solve();
+
+        assertEquals(expected.getIntercept().asDouble(), model.getIntercept().asDouble(), 1E-7);
+        assertEquals(expected.getSlope().asDouble(), model.getBeta().getDouble(1), 1E-10);
+        assertEquals(expected.getRSquared().asDouble(), model.getRSquared().asDouble(), 1E-10);
+        assertEquals(expected.getInterceptStandardError().asDouble(), model.getStandardErrors().getDouble(0), 1E-7);
+        assertEquals(expected.getSlopeStandardError().asDouble(), model.getStandardErrors().getDouble(1), 1E-10);
+    }
+
+    @Test
+    @DisplayName("2. Several independent variables are recovered from a tall matrix")
+    @Order(2)
+    void test2SeveralPredictors() {
+        int rows = 50_000;
+        double[][] values = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            double x1 = i * 0.001;
+            double x2 = Math.sin(i * 0.37) * 10;
+            double x3 = (i % 97) - 48;
+            double noise = Math.sin(i * 12.9898) * 0.01;
+            values[i] = new double[] {3 + 2 * x1 - 0.5 * x2 + 0.25 * x3 + noise, x1, x2, x3};
+        }
+
+        DenseMatrix matrix = modelProvider.getMatrixFactory().createDenseMatrix(values, MatrixLayout.ROW_MAJOR, "y", "x1", "x2", "x3");
+        MultipleLinearRegressionModel model = functionProvider.getFactory().multipleLinearRegression(matrix, 0, 1, 2, 3);
+        model.solve();
+
+        ScalarVector beta = model.getBeta();
+        assertEquals(4, beta.length());
+        assertEquals(3, beta.getDouble(0), 1E-3);
+        assertEquals(2, beta.getDouble(1), 1E-4);
+        assertEquals(-0.5, beta.getDouble(2), 1E-4);
+        assertEquals(0.25, beta.getDouble(3), 1E-4);
+        assertTrue(model.getRSquared().asDouble() > 0.9999);
+        assertEquals(3 + 2 * 10 - 0.5 * 2 + 0.25 * 4, model.predict(10, 2, 4).asDouble(), 1E-3);
+
+        MultipleLinearRegressionModel repeated = functionProvider.getFactory().multipleLinearRegression(matrix, 0, 1, 2, 3);
+        repeated.solve();
+        for (int i = 0; i < beta.length(); i++) {
+            assertEquals(beta.getDouble(i), repeated.getBeta().getDouble(i));
+        }
+    }
+
+    @Test
+    @DisplayName("3. Collinear independent variables are rejected")
+    @Order(3)
+    void test3Collinear() {
+        double[][] values = {{1, 1, 2}, {2, 2, 4}, {4, 3, 6}, {3, 4, 8}, {6, 5, 10}};
+        DenseMatrix matrix = modelProvider.getMatrixFactory().createDenseMatrix(values, MatrixLayout.ROW_MAJOR, "y", "x1", "x2");
+        MultipleLinearRegressionModel model = functionProvider.getFactory().multipleLinearRegression(matrix, 0, 1, 2);
+
+        assertThrows(FunctionException.class, model::solve);
+    }
+}
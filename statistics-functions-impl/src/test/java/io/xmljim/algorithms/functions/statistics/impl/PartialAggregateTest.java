@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.CoMomentsAggregate;
+import io.xmljim.algorithms.functions.statistics.ExtremaAggregate;
+import io.xmljim.algorithms.functions.statistics.LinearRegressionModel;
+import io.xmljim.algorithms.functions.statistics.MomentsAggregate;
+import io.xmljim.algorithms.functions.statistics.Statistic;
+import io.xmljim.algorithms.functions.statistics.StatisticsFunctions;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.ServiceLoader;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Split statistics into partial aggregates and combine them")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PartialAggregateTest {
+    private static final int[] SPLITS = {0, 1, 700, 701, 2500, 4000};
+
+    StatisticsFunctions factory;
+    ModelProvider modelProvider;
+    double[] x;
+    double[] y;
+    ScalarVector vectorX;
+    ScalarVector vectorY;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        factory = ((StatisticsProvider) functionProviders.iterator().next()).getFactory();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+
+        SplittableRandom random = new SplittableRandom(21);
+        x = new double[SPLITS[SPLITS.length - 1]];
+        y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 1_000_000 + random.nextDouble() * 100;
+            y[i] = 2.5 * x[i] - 40 + random.nextGaussian() * 10;
+        }
+        vectorX = modelProvider.getVectorFactory().createScalarVector("x", x);
+        vectorY = modelProvider.getVectorFactory().createScalarVector("y", y);
+    }
+
+    private double[] part(double[] values, int index) {
+        return Arrays.copyOfRange(values, SPLITS[index], SPLITS[index + 1]);
+    }
+
+    @Test
+    @DisplayName("1. Combined moments, sent as bytes, finish to the whole-vector statistics")
+    @Order(1)
+    void test1Moments() {
+        MomentsAggregate combined = factory.momentsAggregate();
+        for (int i = 0; i < SPLITS.length - 1; i++) {
+            MomentsAggregate worker = factory.momentsAggregate();
+            worker.accumulate(part(x, i));
+            combined = combined.combine(factory.momentsAggregate(worker.toByteArray()));
+        }
+
+        double variance = factory.variance(vectorX).compute().asDouble();
+        assertEquals(x.length, combined.getCount());
+        assertEquals(x.length, combined.finish(Statistic.COUNT).asLong());
+        assertEquals(factory.sum(vectorX).compute().asDouble(), combined.finish(Statistic.SUM).asDouble(), 1E-6);
+        assertEquals(factory.mean(vectorX).compute().asDouble(), combined.finish(Statistic.MEAN).asDouble(), 1E-9);
+        assertEquals(variance, combined.finish(Statistic.VARIANCE).asDouble(), variance * 1E-9);
+        assertEquals(Math.sqrt(variance), combined.finish(Statistic.STANDARD_DEVIATION).asDouble(), Math.sqrt(variance) * 1E-9);
+        assertThrows(FunctionException.class, () -> factory.momentsAggregate().finish(Statistic.MEDIAN));
+    }
+
+    @Test
+    @DisplayName("2. Combining is associative and an empty aggregate is the identity")
+    @Order(2)
+    void test2Associative() {
+        MomentsAggregate a = factory.momentsAggregate();
+        MomentsAggregate b = factory.momentsAggregate();
+        MomentsAggregate c = factory.momentsAggregate();
+        a.accumulate(part(x, 1));
+        b.accumulate(part(x, 2));
+        c.accumulate(part(x, 3));
+
+        MomentsAggregate left = a.combine(b).combine(c);
+        MomentsAggregate right = a.combine(b.combine(c));
+        double variance = left.finish(Statistic.VARIANCE).asDouble();
+        assertEquals(variance, right.finish(Statistic.VARIANCE).asDouble(), variance * 1E-12);
+        assertEquals(left.finish(Statistic.MEAN).asDouble(), right.finish(Statistic.MEAN).asDouble(), 1E-9);
+        assertEquals(a.finish(Statistic.VARIANCE).asDouble(), a.combine(factory.momentsAggregate()).finish(Statistic.VARIANCE).asDouble());
+        assertEquals(SPLITS[2] - SPLITS[1], a.getCount());
+        assertTrue(Double.isNaN(factory.momentsAggregate().finish(Statistic.MEAN).asDouble()));
+    }
+
+    @Test
+    @DisplayName("3. Combined extrema finish to the minimum and maximum")
+    @Order(3)
+    void test3Extrema() {
+        ExtremaAggregate combined = factory.extremaAggregate();
+        for (int i = 0; i < SPLITS.length - 1; i++) {
+            ExtremaAggregate worker = factory.extremaAggregate();
+            worker.accumulate(part(y, i));
+            combined = factory.extremaAggregate(worker.toByteArray()).combine(combined);
+        }
+
+        assertEquals(Arrays.stream(y).min().getAsDouble(), combined.finish(Statistic.MIN).asDouble());
+        assertEquals(Arrays.stream(y).max().getAsDouble(), combined.finish(Statistic.MAX).asDouble());
+        assertEquals(y.length, combined.getCount());
+        assertTrue(Double.isNaN(factory.extremaAggregate().finish(Statistic.MIN).asDouble()));
+        assertThrows(FunctionException.class, () -> factory.extremaAggregate().finish(Statistic.MEAN));
+    }
+
+    @Test
+    @DisplayName("4. Combined co-moments finish to the regression, covariance and correlation")
+    @Order(4)
+    void test4CoMoments() {
+        CoMomentsAggregate combined = factory.coMomentsAggregate();
+        for (int i = 0; i < SPLITS.length - 1; i++) {
+            CoMomentsAggregate worker = factory.coMomentsAggregate();
+            worker.accumulate(part(x, i), part(y, i));
+            combined = combined.combine(factory.coMomentsAggregate(worker.toByteArray()));
+        }
+
+        LinearRegressionModel expected = factory.linearRegression(vectorX, vectorY);
+        expected.solve();
+        LinearRegressionModel model = combined.finish();
+        assertEquals(expected.getSlope().asDouble(), model.getSlope().asDouble(), 1E-9);
+        assertEquals(expected.getIntercept().asDouble(), model.getIntercept().asDouble(), 1E-3);
+        assertEquals(expected.getRSquared().asDouble(), model.getRSquared().asDouble(), 1E-9);
+        assertEquals(expected.getSlopeStandardError().asDouble(), model.getSlopeStandardError().asDouble(), 1E-9);
+
+        double covariance = factory.covariance(vectorX, vectorY).compute().asDouble();
+        assertEquals(covariance, combined.covariance().asDouble(), Math.abs(covariance) * 1E-9);
+        assertEquals(Math.sqrt(expected.getRSquared().asDouble()), combined.correlation().asDouble(), 1E-9);
+    }
+
+    @Test
+    @DisplayName("5. Mismatched arrays, foreign bytes and truncated bytes are rejected")
+    @Order(5)
+    void test5Invalid() {
+        assertThrows(FunctionException.class, () -> factory.coMomentsAggregate().accumulate(x, part(y, 1)));
+        assertThrows(FunctionException.class, () -> factory.momentsAggregate(factory.extremaAggregate().toByteArray()));
+        byte[] bytes = factory.coMomentsAggregate().toByteArray();
+        assertThrows(FunctionException.class, () -> factory.coMomentsAggregate(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.Function;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.ServiceLoader;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compute quantiles by selection")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class QuantileFunctionTest {
+    StatisticsProvider functionProvider;
+    ModelProvider modelProvider;
+    ScalarVector vector;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        functionProvider = (StatisticsProvider) functionProviders.iterator().next();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+
+        vector = modelProvider.getVectorFactory().createScalarVector("testVector", 7, 1, 4, 9, 3, 8, 2, 6, 5, 10);
+    }
+
+    @Test
+    @DisplayName("1. A quantile is interpolated between order statistics")
+    @Order(1)
+    void test1Quantile() {
+        assertEquals(1, functionProvider.getFactory().quantile(vector, 0).compute().asDouble());
+        assertEquals(10, functionProvider.getFactory().quantile(vector, 1).compute().asDouble());
+        assertEquals(5.5, functionProvider.getFactory().quantile(vector, 0.5).compute().asDouble(), 1E-12);
+        assertEquals(3.25, functionProvider.getFactory().quantile(vector, 0.25).compute().asDouble(), 1E-12);
+        assertEquals(9.1, functionProvider.getFactory().quantile(vector, 0.9).compute().asDouble(), 1E-12);
+        assertEquals(7, vector.getDouble(0));
+    }
+
+    @Test
+    @DisplayName("2. Several quantiles are returned in the order requested")
+    @Order(2)
+    void test2Quantiles() {
+        Function<ScalarVector> quantiles = functionProvider.getFactory().quantiles(vector, 0.75, 0.25, 0.5);
+        ScalarVector result = quantiles.compute();
+
+        assertEquals(3, result.length());
+        assertEquals(7.75, result.getDouble(0), 1E-12);
+        assertEquals(3.25, result.getDouble(1), 1E-12);
+        assertEquals(5.5, result.getDouble(2), 1E-12);
+        assertEquals(4.5, functionProvider.getFactory().interquartileRange(vector).compute().asDouble(), 1E-12);
+    }
+
+    @Test
+    @DisplayName("3. Selection agrees with sorting on large vectors with duplicates")
+    @Order(3)
+    void test3AgreesWithSort() {
+        SplittableRandom random = new SplittableRandom(42);
+        double[] values = random.ints(100_001, 0, 1000).asDoubleStream().toArray();
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        ScalarVector largeVector = modelProvider.getVectorFactory().createScalarVector("large", values);
+        double[] probabilities = {0.001, 0.1, 0.25, 0.333, 0.5, 0.75, 0.999};
+        ScalarVector result = functionProvider.getFactory().quantiles(largeVector, probabilities).compute();
+
+        for (int i = 0; i < probabilities.length; i++) {
+            double h = (sorted.length - 1) * probabilities[i];
+            int lower = (int) h;
+            double expected = sorted[lower] + (h - lower) * (sorted[Math.min(lower + 1, sorted.length - 1)] - sorted[lower]);
+            assertEquals(expected, result.getDouble(i), 1E-9);
+        }
+        assertEquals(sorted[50_000], functionProvider.getFactory().median(largeVector).compute().asDouble());
+    }
+
+    @Test
+    @DisplayName("4. Invalid probabilities and empty vectors are rejected")
+    @Order(4)
+    void test4Invalid() {
+        assertThrows(FunctionException.class, () -> functionProvider.getFactory().quantile(vector, 1.5).compute());
+        ScalarVector empty = modelProvider.getVectorFactory().createScalarVector("empty", new double[0]);
+        assertThrows(FunctionException.class, () -> functionProvider.getFactory().quantile(empty, 0.5).compute());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.QuantileSketch;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.ScalarFunction;
+import org.junit.jupiter.api.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.ServiceLoader;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Estimate quantiles with a quantile sketch")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class QuantileSketchImplTest {
+    static final double[] PROBABILITIES = {0.001, 0.01, 0.1, 0.5, 0.9, 0.95, 0.99, 0.999};
+
+    StatisticsProvider functionProvider;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        functionProvider = (StatisticsProvider) functionProviders.iterator().next();
+    }
+
+    @Test
+    @DisplayName("1. Quantiles of a large stream are accurate with bounded memory")
+    @Order(1)
+    void test1Accuracy() {
+        SplittableRandom random = new SplittableRandom(7);
+        double[] values = new double[500_000];
+        QuantileSketch sketch = functionProvider.getFactory().quantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = gaussian(random);
+            sketch.add(values[i]);
+        }
+
+        assertEquals(values.length, sketch.getCount());
+        assertTrue(((QuantileSketchImpl) sketch).getCentroidCount() <= 2 * sketch.getCompression());
+        assertRankError(values, sketch, 0.005);
+    }
+
+    @Test
+    @DisplayName("2. Merged sketches match a sketch of the combined stream")
+    @Order(2)
+    void test2Merge() {
+        SplittableRandom random = new SplittableRandom(11);
+        double[] values = new double[200_000];
+        QuantileSketch[] parts = new QuantileSketch[8];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = functionProvider.getFactory().quantileSketch();
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(gaussian(random));
+            parts[i % parts.length].add(values[i]);
+        }
+
+        QuantileSketch merged = functionProvider.getFactory().quantileSketch();
+        for (QuantileSketch part : parts) {
+            merged.merge(part);
+        }
+
+        assertEquals(values.length, merged.getCount());
+        assertEquals(Arrays.stream(values).min().getAsDouble(), merged.getMin());
+        assertEquals(Arrays.stream(values).max().getAsDouble(), merged.getMax());
+        assertRankError(values, merged, 0.01);
+    }
+
+    @Test
+    @DisplayName("3. A serialized sketch restores the same quantiles")
+    @Order(3)
+    void test3Serialization() {
+        SplittableRandom random = new SplittableRandom(3);
+        QuantileSketch sketch = functionProvider.getFactory().quantileSketch();
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add(random.nextDouble() * 100);
+        }
+
+        byte[] bytes = sketch.toByteArray();
+        QuantileSketch restored = functionProvider.getFactory().quantileSketch(bytes);
+
+        assertTrue(bytes.length < 4096);
+        assertEquals(sketch.getCount(), restored.getCount());
+        for (double probability : PROBABILITIES) {
+            assertEquals(sketch.quantile(probability), restored.quantile(probability), 1E-9);
+        }
+
+        assertThrows(FunctionException.class, () -> functionProvider.getFactory().quantileSketch(Arrays.copyOf(bytes, 40)));
+        assertThrows(FunctionException.class, () -> functionProvider.getFactory().quantileSketch(new byte[] {1, 2, 3, 4, 5}));
+
+        byte[] patchedCompression = bytes.clone();
+        ByteBuffer.wrap(patchedCompression).putDouble(4, 1E12);
+        assertThrows(FunctionException.class, () -> functionProvider.getFactory().quantileSketch(patchedCompression));
+
+        byte[] patchedCount = bytes.clone();
+        ByteBuffer.wrap(patchedCount).putInt(28, 300);
+        assertThrows(FunctionException.class, () -> functionProvider.getFactory().quantileSketch(patchedCount));
+    }
+
+    @Test
+    @DisplayName("4. A sketch quantile function reflects values added after it was created")
+    @Order(4)
+    void test4Function() {
+        QuantileSketch sketch = functionProvider.getFactory().quantileSketch();
+        ScalarFunction median = functionProvider.getFactory().quantile(sketch, 0.5);
+        assertTrue(Double.isNaN(median.compute().asDouble()));
+
+        for (int i = 1; i <= 5; i++) {
+            sketch.add(i);
+        }
+        assertEquals(3, median.compute().asDouble(), 1E-12);
+        assertEquals(1, sketch.quantile(0));
+        assertEquals(5, sketch.quantile(1));
+    }
+
+    @Test
+    @DisplayName("5. A compression outside 10 to 100000 is rejected before anything is allocated")
+    @Order(5)
+    void test5CompressionBounds() {
+        assertThrows(FunctionException.class, () -> functionProvider.getFactory().quantileSketch(5));
+        assertThrows(FunctionException.class, () -> functionProvider.getFactory().quantileSketch(2E9));
+        assertThrows(FunctionException.class, () -> functionProvider.getFactory().quantileSketch(Double.NaN));
+        assertEquals(100_000, functionProvider.getFactory().quantileSketch(100_000).getCompression());
+    }
+
+    private void assertRankError(double[] values, QuantileSketch sketch, double tolerance) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        for (double probability : PROBABILITIES) {
+            double estimate = sketch.quantile(probability);
+            int rank = Arrays.binarySearch(sorted, estimate);
+            rank = rank >= 0 ? rank : -rank - 1;
+            double error = Math.abs((double) rank / sorted.length - probability);
+            assertTrue(error <= Math.min(tolerance, 0.5 * Math.min(probability, 1 - probability)),
+                    "rank error " + error + " at p=" + probability);
+        }
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u = random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(1 - u)) * Math.cos(2 * Math.PI * v);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.EvaluationMode;
+import io.xmljim.algorithms.functions.statistics.StatisticsFunctions;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.ScalarFunction;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.ServiceLoader;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Evaluate aggregate functions in parallel")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReductionsTest {
+    StatisticsProvider functionProvider;
+    ModelProvider modelProvider;
+    ScalarVector vectorX;
+    ScalarVector vectorY;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        functionProvider = (StatisticsProvider) functionProviders.iterator().next();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+
+        SplittableRandom random = new SplittableRandom(17);
+        double[] x = new double[1_000_003];
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 1E6 + random.nextDouble();
+            y[i] = 2 * x[i] + random.nextDouble();
+        }
+        vectorX = modelProvider.getVectorFactory().createScalarVector(StatisticsNameConstants.VECTOR, StatisticsNameConstants.X_VARIABLE, x);
+        vectorY = modelProvider.getVectorFactory().createScalarVector(StatisticsNameConstants.VECTOR, StatisticsNameConstants.Y_VARIABLE, y);
+    }
+
+    @Test
+    @DisplayName("1. Parallel results agree with sequential results")
+    @Order(1)
+    void test1AgreesWithSequential() {
+        StatisticsFunctions sequential = functionProvider.getFactory();
+        StatisticsFunctions parallel = sequential.withEvaluationMode(EvaluationMode.PARALLEL);
+
+        assertEquals(EvaluationMode.SEQUENTIAL, sequential.getEvaluationMode());
+        assertEquals(EvaluationMode.PARALLEL, parallel.getEvaluationMode());
+
+        double sum = sequential.sum(vectorX).compute().asDouble();
+        assertEquals(sum, parallel.sum(vectorX).compute().asDouble(), Math.ulp(sum) * 4);
+        assertEquals(sequential.mean(vectorX).compute().asDouble(), parallel.mean(vectorX).compute().asDouble(), 1E-9);
+        double variance = sequential.variance(vectorX).compute().asDouble();
+        assertEquals(variance, parallel.variance(vectorX).compute().asDouble(), variance * 1E-9);
+        double covariance = sequential.covariance(vectorX, vectorY).compute().asDouble();
+        assertEquals(covariance, parallel.covariance(vectorX, vectorY).compute().asDouble(), covariance * 1E-9);
+
+        ScalarVector small = modelProvider.getVectorFactory().createScalarVector("small", 1, 2, 3, 4, 5);
+        assertEquals(15, parallel.sum(small).compute().asDouble());
+        assertEquals(2.5, parallel.variance(small, parallel.mean(small)).compute().asDouble(), 1E-12);
+    }
+
+    @Test
+    @DisplayName("2. Parallel results do not depend on the number of threads")
+    @Order(2)
+    void test2Reproducible() throws Exception {
+        double[] single = reduce(new ForkJoinPool(1));
+        double[] many = reduce(new ForkJoinPool(8));
+
+        assertArrayEquals(single, many);
+        assertArrayEquals(single, reduce(ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    @DisplayName("3. The factory evaluation mode can be set globally")
+    @Order(3)
+    void test3GlobalMode() {
+        StatisticsFunctions factory = functionProvider.getFactory();
+        try {
+            factory.setEvaluationMode(EvaluationMode.PARALLEL);
+            assertTrue(((SumFunction) factory.sum(vectorX)).hasParameter(StatisticsNameConstants.EVALUATION_MODE));
+        } finally {
+            factory.setEvaluationMode(EvaluationMode.SEQUENTIAL);
+        }
+        assertFalse(((SumFunction) factory.sum(vectorX)).hasParameter(StatisticsNameConstants.EVALUATION_MODE));
+    }
+
+    @Test
+    @DisplayName("4. Means created by variance and covariance keep the caller's evaluation mode")
+    @Order(4)
+    void test4MeanKeepsEvaluationMode() {
+        StatisticsFunctions parallel = functionProvider.getFactory().withEvaluationMode(EvaluationMode.PARALLEL);
+        VarianceFunction variance = (VarianceFunction) parallel.variance(vectorX);
+        CovarianceFunction covariance = (CovarianceFunction) parallel.covariance(vectorX, vectorY);
+
+        assertEquals(EvaluationMode.SEQUENTIAL, functionProvider.getFactory().getEvaluationMode());
+        assertTrue(((MeanFunction) variance.getOrCreateMeanFunction(vectorX)).hasParameter(StatisticsNameConstants.EVALUATION_MODE));
+        assertTrue(((MeanFunction) covariance.getOrCreateMeanFunction(vectorY, StatisticsNameConstants.Y_VARIABLE))
+                .hasParameter(StatisticsNameConstants.EVALUATION_MODE));
+    }
+
+    @Test
+    @DisplayName("5. Residual sums of squares reject vectors of different lengths")
+    @Order(5)
+    void test5ResidualLengthMismatch() {
+        StatisticsFunctions factory = functionProvider.getFactory();
+        ScalarVector shorter = vectorY.slice(0, vectorY.length() - 1);
+        ScalarFunction slope = factory.slope(factory.variance(vectorX), factory.covariance(vectorX, vectorY));
+        ScalarFunction intercept = factory.intercept(factory.mean(vectorX), factory.mean(vectorY), slope);
+
+        assertThrows(FunctionException.class, () -> Reductions.residualSumOfSquares(vectorX, shorter, 1.0, 0.0));
+        assertThrows(FunctionException.class, () -> factory.meanSquaredError(vectorX, shorter, slope, intercept).compute());
+    }
+
+    private double[] reduce(ForkJoinPool pool) throws Exception {
+        try {
+            return pool.submit(() -> {
+                Reductions.Moments moments = Reductions.moments(vectorX);
+                CoMoments coMoments = Reductions.coMoments(vectorX, vectorY);
+                return new double[] {moments.getSum(), moments.getSumOfSquaredDeviations(moments.getMean()), coMoments.getSumCrossProducts()};
+            }).get();
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.RollingStatistics;
+import io.xmljim.algorithms.functions.statistics.StatisticsFunctions;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.ServiceLoader;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compute moving-window statistics in one pass")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RollingStatisticsImplTest {
+    private static final int WINDOW = 25;
+
+    StatisticsFunctions factory;
+    ModelProvider modelProvider;
+    ScalarVector vectorX;
+    ScalarVector vectorY;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        factory = ((StatisticsProvider) functionProviders.iterator().next()).getFactory();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+
+        SplittableRandom random = new SplittableRandom(15);
+        double[] x = new double[500];
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 1_000_000 + i + random.nextDouble();
+            y[i] = 0.75 * x[i] + 20 + random.nextGaussian() * 5;
+        }
+        vectorX = modelProvider.getVectorFactory().createScalarVector("x", x);
+        vectorY = modelProvider.getVectorFactory().createScalarVector("y", y);
+    }
+
+    @Test
+    @DisplayName("1. Moving sum, mean, variance and standard deviation match each window computed separately")
+    @Order(1)
+    void test1Moments() {
+        RollingStatistics rolling = factory.rolling(vectorY, WINDOW);
+        ScalarVector sum = rolling.sum().compute();
+        ScalarVector mean = rolling.mean().compute();
+        ScalarVector variance = rolling.variance().compute();
+        ScalarVector standardDeviation = rolling.standardDeviation().compute();
+
+        assertEquals(vectorY.length() - WINDOW + 1, sum.length());
+        for (int i = 0; i < sum.length(); i++) {
+            ScalarVector window = vectorY.slice(i, i + WINDOW);
+            double expectedVariance = factory.variance(window).compute().asDouble();
+            assertEquals(factory.sum(window).compute().asDouble(), sum.getDouble(i), 1E-6);
+            assertEquals(factory.mean(window).compute().asDouble(), mean.getDouble(i), 1E-8);
+            assertEquals(expectedVariance, variance.getDouble(i), expectedVariance * 1E-6);
+            assertEquals(Math.sqrt(expectedVariance), standardDeviation.getDouble(i), Math.sqrt(expectedVariance) * 1E-6);
+        }
+    }
+
+    @Test
+    @DisplayName("2. Moving covariance, slope and intercept match each window computed separately")
+    @Order(2)
+    void test2CoMoments() {
+        RollingStatistics rolling = factory.rolling(vectorY, WINDOW);
+        ScalarVector covariance = rolling.covariance(vectorX).compute();
+        ScalarVector slope = rolling.slope(vectorX).compute();
+        ScalarVector intercept = rolling.intercept(vectorX).compute();
+
+        assertEquals(vectorY.length() - WINDOW + 1, slope.length());
+        for (int i = 0; i < slope.length(); i++) {
+            CoMoments expected = CoMoments.of(vectorX.slice(i, i + WINDOW), vectorY.slice(i, i + WINDOW));
+            assertEquals(expected.getCovariance(), covariance.getDouble(i), Math.abs(expected.getCovariance()) * 1E-6);
+            assertEquals(expected.getSlope(), slope.getDouble(i), 1E-6);
+            assertEquals(expected.getIntercept(), intercept.getDouble(i), 1E-6 * Math.abs(expected.getMeanX()));
+        }
+    }
+
+    @Test
+    @DisplayName("3. A window covering the whole vector gives the ordinary statistics")
+    @Order(3)
+    void test3WholeVector() {
+        RollingStatistics rolling = factory.rolling(vectorX, vectorX.length());
+
+        assertEquals(1, rolling.mean().compute().length());
+        assertEquals(factory.mean(vectorX).compute().asDouble(), rolling.mean().compute().getDouble(0), 1E-8);
+        double expectedVariance = factory.variance(vectorX).compute().asDouble();
+        assertEquals(expectedVariance, rolling.variance().compute().getDouble(0), expectedVariance * 1E-10);
+    }
+
+    @Test
+    @DisplayName("4. Invalid window sizes and mismatched vectors are rejected")
+    @Order(4)
+    void test4Invalid() {
+        assertThrows(FunctionException.class, () -> factory.rolling(vectorX, 0));
+        assertThrows(FunctionException.class, () -> factory.rolling(vectorX, vectorX.length() + 1));
+        assertThrows(FunctionException.class, () -> factory.rolling(vectorY, WINDOW).slope(vectorX.slice(0, 10)));
+    }
+
+    @Test
+    @DisplayName("5. Moving variance recovers after a level shift from large to small values")
+    @Order(5)
+    void test5LevelShift() {
+        SplittableRandom random = new SplittableRandom(5);
+        double[] values = new double[200];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i < 100 ? 1E9 + random.nextDouble() * 1E6 : random.nextDouble();
+        }
+        ScalarVector vector = modelProvider.getVectorFactory().createScalarVector("shift", values);
+
+        assertWindowsMatch(vector, 20);
+        assertWindowsMatch(vector, WINDOW);
+    }
+
+    @Test
+    @DisplayName("6. Moving variance and covariance follow a non-stationary geometric random walk")
+    @Order(6)
+    void test6RandomWalk() {
+        SplittableRandom random = new SplittableRandom(6);
+        double[] prices = new double[5000];
+        double[] other = new double[prices.length];
+        prices[0] = 100;
+        for (int i = 1; i < prices.length; i++) {
+            prices[i] = prices[i - 1] * Math.exp(0.2 * random.nextGaussian() - 0.02);
+        }
+        for (int i = 0; i < prices.length; i++) {
+            other[i] = 0.5 * prices[i] * (1 + 0.1 * random.nextGaussian());
+        }
+        ScalarVector vector = modelProvider.getVectorFactory().createScalarVector("price", prices);
+        ScalarVector vectorOther = modelProvider.getVectorFactory().createScalarVector("other", other);
+
+        assertWindowsMatch(vector, 20);
+
+        ScalarVector covariance = factory.rolling(vectorOther, 20).covariance(vector).compute();
+        for (int i = 0; i < covariance.length(); i++) {
+            CoMoments expected = CoMoments.of(vector.slice(i, i + 20), vectorOther.slice(i, i + 20));
+            assertEquals(expected.getCovariance(), covariance.getDouble(i), Math.abs(expected.getCovariance()) * 1E-6 + Double.MIN_NORMAL);
+        }
+    }
+
+    private void assertWindowsMatch(ScalarVector vector, int windowSize) {
+        ScalarVector variance = factory.rolling(vector, windowSize).variance().compute();
+        ScalarVector mean = factory.rolling(vector, windowSize).mean().compute();
+        for (int i = 0; i < variance.length(); i++) {
+            ScalarVector window = vector.slice(i, i + windowSize);
+            double expectedVariance = factory.variance(window).compute().asDouble();
+            double expectedMean = factory.mean(window).compute().asDouble();
+            assertEquals(expectedVariance, variance.getDouble(i), expectedVariance * 1E-6 + Double.MIN_NORMAL, "window " + i);
+            assertEquals(expectedMean, mean.getDouble(i), Math.abs(expectedMean) * 1E-9 + Double.MIN_NORMAL, "window " + i);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import io.xmljim.algorithms.functions.common.FunctionException;
+import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.statistics.StatisticsFunctions;
+import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.provider.ModelProvider;
+import org.junit.jupiter.api.*;
+
+import java.util.SplittableRandom;
+import java.util.ServiceLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compute autocorrelation and periodogram with the fast Fourier transform")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SpectralFunctionsTest {
+    StatisticsFunctions factory;
+    ModelProvider modelProvider;
+
+    @BeforeEach
+    @DisplayName("is created from a FunctionProvider")
+    void createFunctionProvider() {
+        Iterable<FunctionProvider> functionProviders = ServiceLoader.load(FunctionProvider.class);
+        factory = ((StatisticsProvider) functionProviders.iterator().next()).getFactory();
+
+        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
+        modelProvider = modelProviders.iterator().next();
+    }
+
+    private double[] series(int length, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] values = new double[length];
+        double previous = 0;
+        for (int i = 0; i < length; i++) {
+            previous = 0.6 * previous + random.nextGaussian();
+            values[i] = 250 + previous;
+        }
+        return values;
+    }
+
+    private double[] naiveAutocorrelation(double[] values, int maxLag) {
+        int n = values.length;
+        double mean = 0;
+        for (double value : values) {
+            mean += value;
+        }
+        mean /= n;
+
+        double[] result = new double[maxLag + 1];
+        double variance = 0;
+        for (double value : values) {
+            variance += (value - mean) * (value - mean);
+        }
+        for (int k = 0; k <= maxLag; k++) {
+            double sum = 0;
+            for (int t = 0; t < n - k; t++) {
+                sum += (values[t] - mean) * (values[t + k] - mean);
+            }
+            result[k] = sum / variance;
+        }
+        return result;
+    }
+
+    @Test
+    @DisplayName("1. The radix-2 and Bluestein transforms match a direct DFT")
+    @Order(1)
+    void test1Transform() {
+        for (int n : new int[] {1, 2, 8, 64, 3, 7, 100, 257}) {
+            double[] real = series(n, n);
+            double[] imaginary = series(n, n + 1);
+            double[] expectedReal = new double[n];
+            double[] expectedImaginary = new double[n];
+            for (int k = 0; k < n; k++) {
+                for (int t = 0; t < n; t++) {
+                    double angle = -2 * Math.PI * ((long) k * t % n) / n;
+                    expectedReal[k] += real[t] * Math.cos(angle) - imaginary[t] * Math.sin(angle);
+                    expectedImaginary[k] += real[t] * Math.sin(angle) + imaginary[t] * Math.cos(angle);
+                }
+            }
+
+            FastFourierTransform.transform(real, imaginary);
+            for (int k = 0; k < n; k++) {
+                assertEquals(expectedReal[k], real[k], 1E-8 * n * 250, "n = " + n + ", k = " + k);
+                assertEquals(expectedImaginary[k], imaginary[k], 1E-8 * n * 250, "n = " + n + ", k = " + k);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("2. Autocorrelation matches the direct sums, for few lags and for all of them")
+    @Order(2)
+    void test2Autocorrelation() {
+        double[] values = series(1000, 22);
+        ScalarVector vector = modelProvider.getVectorFactory().createScalarVector("returns", values);
+
+        for (int maxLag : new int[] {0, 5, 999}) {
+            double[] expected = naiveAutocorrelation(values, maxLag);
+            ScalarVector acf = factory.autocorrelation(vector, maxLag).compute();
+            assertEquals(maxLag + 1, acf.length());
+            assertEquals(1.0, acf.getDouble(0), 1E-12);
+            for (int k = 0; k <= maxLag; k++) {
+                assertEquals(expected[k], acf.getDouble(k), 1E-10, "lag " + k);
+            }
+        }
+
+        // an AR(1) series with coefficient 0.6 has lag 1 autocorrelation near 0.6
+        assertEquals(0.6, factory.autocorrelation(vector, 1).compute().getDouble(1), 0.1);
+    }
+
+    @Test
+    @DisplayName("3. The periodogram peaks at the frequency of a cycle and sums to the squared deviations")
+    @Order(3)
+    void test3Periodogram() {
+        int n = 360;
+        double[] values = new double[n];
+        for (int t = 0; t < n; t++) {
+            values[t] = 10 + 3 * Math.cos(2 * Math.PI * 12 * t / n);
+        }
+        ScalarVector periodogram = factory.periodogram(modelProvider.getVectorFactory().createScalarVector("cycle", values)).compute();
+
+        assertEquals(n / 2 + 1, periodogram.length());
+        assertEquals(0.0, periodogram.getDouble(0), 1E-9);
+        assertEquals(9.0 * n / 4, periodogram.getDouble(12), 1E-8);
+        for (int k = 1; k < periodogram.length(); k++) {
+            if (k != 12) {
+                assertEquals(0.0, periodogram.getDouble(k), 1E-8, "frequency " + k);
+            }
+        }
+
+        double[] noise = series(1024, 23);
+        ScalarVector noisePeriodogram = factory.periodogram(modelProvider.getVectorFactory().createScalarVector("noise", noise)).compute();
+        double mean = 0;
+        for (double value : noise) {
+            mean += value / noise.length;
+        }
+        double sumSquares = 0;
+        for (double value : noise) {
+            sumSquares += (value - mean) * (value - mean);
+        }
+
+        // Parseval: the full spectrum of length n sums to the squared deviations, and it is symmetric about n/2
+        double total = noisePeriodogram.getDouble(0) + noisePeriodogram.getDouble(noise.length / 2);
+        for (int k = 1; k < noise.length / 2; k++) {
+            total += 2 * noisePeriodogram.getDouble(k);
+        }
+        assertEquals(sumSquares, total, sumSquares * 1E-10);
+    }
+
+    @Test
+    @DisplayName("4. Short series and out of range lags are rejected")
+    @Order(4)
+    void test4Invalid() {
+        ScalarVector vector = modelProvider.getVectorFactory().createScalarVector("x", new double[] {1, 2, 3});
+        ScalarVector single = modelProvider.getVectorFactory().createScalarVector("x", new double[] {1});
+        assertThrows(FunctionException.class, () -> factory.autocorrelation(vector, 3));
+        assertThrows(FunctionException.class, () -> factory.autocorrelation(vector, -1));
+        assertThrows(FunctionException.class, () -> factory.autocorrelation(single, 0));
+        assertThrows(FunctionException.class, () -> factory.periodogram(single));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.impl;
+
+import org.apache.commons.math3.distribution.TDistribution;
+import org.apache.commons.math3.special.Beta;
+import org.apache.commons.math3.special.Gamma;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Student's t distribution with cached tables")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StudentTDistributionTest {
+
+    @Test
+    @DisplayName("1. Tabulated p-values agree with the exact p-values")
+    @Order(1)
+    void test1Tables() {
+        double worst = 0;
+        for (int df : new int[] {1, 2, 3, 5, 10, 28, 60, 120}) {
+            for (int i = 0; i <= 4000; i++) {
+                double t = i * 0.01 * (df == 1 ? 100 : df < 5 ? 5 : 1);
+                double exact = StudentTDistribution.exactPValue(t, df);
+                double p = StudentTDistribution.twoTailedPValue(t, df);
+                worst = Math.max(worst, Math.abs(p - exact) / exact);
+                assertEquals(p, StudentTDistribution.twoTailedPValue(-t, df));
+            }
+        }
+        assertTrue(worst < 1E-8, "worst relative error " + worst);
+    }
+
+    @Test
+    @DisplayName("2. Fractional and large degrees of freedom match commons-math")
+    @Order(2)
+    void test2Exact() {
+        for (double df : new double[] {2.5, 7.25, 500, 10_000}) {
+            TDistribution reference = new TDistribution(df);
+            for (double t : new double[] {0, 0.3, 1.5, 2.8, 6, 15}) {
+                assertEquals(2 * (1 - reference.cumulativeProbability(t)), StudentTDistribution.twoTailedPValue(t, df), 1E-12);
+                assertEquals(reference.cumulativeProbability(-t), StudentTDistribution.cumulativeProbability(-t, df), 1E-12);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("3. Critical values invert the cumulative probability")
+    @Order(3)
+    void test3CriticalValues() {
+        assertEquals(1.959964, StudentTDistribution.criticalValue(0.95, 1E7), 1E-5);
+        assertEquals(2.228139, StudentTDistribution.criticalValue(0.95, 10), 1E-5);
+        assertEquals(0.975, StudentTDistribution.cumulativeProbability(StudentTDistribution.criticalValue(0.95, 10), 10), 1E-9);
+    }
+
+    @Test
+    @DisplayName("4. Undefined inputs give NaN, infinite statistics give 0")
+    @Order(4)
+    void test4Edges() {
+        assertTrue(Double.isNaN(StudentTDistribution.twoTailedPValue(Double.NaN, 10)));
+        assertTrue(Double.isNaN(StudentTDistribution.twoTailedPValue(2, 0)));
+        assertEquals(0, StudentTDistribution.twoTailedPValue(Double.POSITIVE_INFINITY, 10));
+        assertEquals(0, StudentTDistribution.twoTailedPValue(Double.POSITIVE_INFINITY, 500));
+        assertEquals(1, StudentTDistribution.twoTailedPValue(0, 10), 1E-15);
+    }
+
+    @Test
+    @DisplayName("5. The incomplete beta function matches commons-math, including far tails")
+    @Order(5)
+    void test5RegularizedBeta() {
+        for (double df : new double[] {0.5, 1, 3, 121, 398, 2_500.5, 1E6}) {
+            // x is rounded, and x^(df/2) magnifies that by df/2 in both implementations
+            double tolerance = 1E-12 * Math.max(1, df / 1000);
+            for (double t : new double[] {0.01, 0.5, 1, 2, 4, 8, 20, 60}) {
+                double x = df / (df + t * t);
+                double expected = Beta.regularizedBeta(x, df / 2, 0.5);
+                assertEquals(expected, IncompleteBeta.regularized(x, df / 2, 0.5), expected * tolerance, "df " + df + ", t " + t);
+            }
+        }
+        for (double x : new double[] {0.1, 0.5, 1, 3.7, 9.99, 10, 42.5, 1E4, 1E7}) {
+            assertEquals(Gamma.logGamma(x), IncompleteBeta.logGamma(x), 1E-13 * Math.max(1, Math.abs(Gamma.logGamma(x))));
+            assertEquals(Beta.logBeta(x, 0.5), IncompleteBeta.logBeta(x, 0.5), 1E-13 * Math.max(1, Math.abs(Beta.logBeta(x, 0.5))));
+            assertEquals(Beta.logBeta(x, 7.5), IncompleteBeta.logBeta(7.5, x), 1E-13 * Math.max(1, Math.abs(Beta.logBeta(x, 7.5))));
+        }
+        assertEquals(0, IncompleteBeta.regularized(0, 2, 0.5));
+        assertEquals(1, IncompleteBeta.regularized(1, 2, 0.5));
+        assertTrue(Double.isNaN(IncompleteBeta.regularized(1.5, 2, 0.5)));
+    }
+}
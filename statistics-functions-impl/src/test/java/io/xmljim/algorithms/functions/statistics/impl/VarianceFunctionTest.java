@@ -88,4 +88,15 @@ public class VarianceFunctionTest {
         Scalar value = varianceFunction.compute();
         assertEquals(2.5, value.asDouble());
     }
+
+    @Test
+    @DisplayName("6. Variance function computed over vector slices")
+    @Order(6)
+    void computeWithSlice() {
+        ScalarVector series = modelProvider.getVectorFactory().createScalarVector("series", 9, 9, 1, 2, 3, 4, 5, 9, 9);
+        ScalarVector primitiveSeries = modelProvider.getVectorFactory().createScalarVector("primitiveSeries", series.toDoubleArray());
+
+        assertEquals(2.5, functionProvider.getFactory().variance(series.slice(2, 7)).compute().asDouble());
+        assertEquals(2.5, functionProvider.getFactory().variance(primitiveSeries.slice(2, 7)).compute().asDouble());
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.simd;
+
+import io.xmljim.algorithms.functions.statistics.kernel.NumericKernels;
+
+/**
+ * {@link NumericKernels} backed by the incubating JDK Vector API.
+ * <p>
+ *     The Vector API only resolves when the JVM is started with {@code --add-modules jdk.incubator.vector}. This
+ *     class does not touch it directly: {@link #isAvailable()} checks the boot layer first, and the loops live in
+ *     {@link VectorOps}, which is only loaded once the module is known to be present. Without the module this provider
+ *     reports itself unavailable and the scalar kernels are used.
+ * </p>
+ */
+public class VectorApiNumericKernels implements NumericKernels {
+    public static final String NAME = "vector";
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return 10;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent() && VectorOps.laneCount() > 1;
+    }
+
+    @Override
+    public double sum(final double[] values, final int from, final int to) {
+        return VectorOps.sum(values, from, to);
+    }
+
+    @Override
+    public double dot(final double[] a, final double[] b, final int from, final int to) {
+        return VectorOps.dot(a, b, from, to);
+    }
+
+    @Override
+    public double sumOfSquaredDeviations(final double[] values, final int from, final int to, final double center) {
+        return VectorOps.sumOfSquaredDeviations(values, from, to, center);
+    }
+
+    @Override
+    public double sumOfCrossDeviations(final double[] x, final double[] y, final int from, final int to, final double centerX, final double centerY) {
+        return VectorOps.sumOfCrossDeviations(x, y, from, to, centerX, centerY);
+    }
+
+    @Override
+    public double residualSumOfSquares(final double[] x, final double[] y, final int from, final int to, final double slope, final double intercept) {
+        return VectorOps.residualSumOfSquares(x, y, from, to, slope, intercept);
+    }
+}
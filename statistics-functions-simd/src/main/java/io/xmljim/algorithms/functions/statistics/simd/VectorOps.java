@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.simd;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The vectorized loops. Each loop runs over whole vectors of the preferred species and finishes the
+ * remaining elements with a scalar tail.
+ * <p>
+ *     The lanes are added in index order rather than with {@code reduceLanes}, whose order is unspecified, so the
+ *     result for a given input does not vary between runs. It can differ in the last bits from the scalar kernels,
+ *     which add the values in a different order.
+ * </p>
+ */
+final class VectorOps {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorOps() {
+
+    }
+
+    static int laneCount() {
+        return SPECIES.length();
+    }
+
+    /**
+     * Lane-wise Kahan summation; the lane sums and their compensations are then combined with Neumaier's update
+     */
+    static double sum(double[] values, int from, int to) {
+        int upper = from + SPECIES.loopBound(to - from);
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        DoubleVector compensation = DoubleVector.zero(SPECIES);
+        for (int i = from; i < upper; i += SPECIES.length()) {
+            DoubleVector y = DoubleVector.fromArray(SPECIES, values, i).sub(compensation);
+            DoubleVector t = sum.add(y);
+            compensation = t.sub(sum).sub(y);
+            sum = t;
+        }
+
+        double[] lanes = sum.toArray();
+        double[] corrections = compensation.toArray();
+        NeumaierSum total = new NeumaierSum();
+        for (int lane = 0; lane < lanes.length; lane++) {
+            total.add(lanes[lane]);
+            total.add(-corrections[lane]);
+        }
+        for (int i = upper; i < to; i++) {
+            total.add(values[i]);
+        }
+        return total.get();
+    }
+
+    static double dot(double[] a, double[] b, int from, int to) {
+        int upper = from + SPECIES.loopBound(to - from);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        for (int i = from; i < upper; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            acc = va.mul(vb).add(acc);
+        }
+
+        double sum = addLanes(acc);
+        for (int i = upper; i < to; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    static double sumOfSquaredDeviations(double[] values, int from, int to, double center) {
+        int upper = from + SPECIES.loopBound(to - from);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        for (int i = from; i < upper; i += SPECIES.length()) {
+            DoubleVector deviation = DoubleVector.fromArray(SPECIES, values, i).sub(center);
+            acc = deviation.mul(deviation).add(acc);
+        }
+
+        double sum = addLanes(acc);
+        for (int i = upper; i < to; i++) {
+            double deviation = values[i] - center;
+            sum += deviation * deviation;
+        }
+        return sum;
+    }
+
+    static double sumOfCrossDeviations(double[] x, double[] y, int from, int to, double centerX, double centerY) {
+        int upper = from + SPECIES.loopBound(to - from);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        for (int i = from; i < upper; i += SPECIES.length()) {
+            DoubleVector deviationX = DoubleVector.fromArray(SPECIES, x, i).sub(centerX);
+            DoubleVector deviationY = DoubleVector.fromArray(SPECIES, y, i).sub(centerY);
+            acc = deviationX.mul(deviationY).add(acc);
+        }
+
+        double sum = addLanes(acc);
+        for (int i = upper; i < to; i++) {
+            sum += (x[i] - centerX) * (y[i] - centerY);
+        }
+        return sum;
+    }
+
+    static double residualSumOfSquares(double[] x, double[] y, int from, int to, double slope, double intercept) {
+        int upper = from + SPECIES.loopBound(to - from);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        for (int i = from; i < upper; i += SPECIES.length()) {
+            DoubleVector residual = DoubleVector.fromArray(SPECIES, x, i).mul(slope).add(intercept)
+                    .sub(DoubleVector.fromArray(SPECIES, y, i));
+            acc = residual.mul(residual).add(acc);
+        }
+
+        double sum = addLanes(acc);
+        for (int i = upper; i < to; i++) {
+            double residual = slope * x[i] + intercept - y[i];
+            sum += residual * residual;
+        }
+        return sum;
+    }
+
+    private static double addLanes(DoubleVector vector) {
+        double sum = 0;
+        for (double lane : vector.toArray()) {
+            sum += lane;
+        }
+        return sum;
+    }
+
+    private static final class NeumaierSum {
+        private double sum;
+        private double compensation;
+
+        void add(double value) {
+            double t = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            } else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+        }
+
+        double get() {
+            return sum + compensation;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.simd;
+
+import io.xmljim.algorithms.functions.statistics.kernel.NumericKernels;
+import io.xmljim.algorithms.functions.statistics.kernel.ScalarNumericKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and Vector API kernels over one reduction chunk (16K values) and over a larger array.
+ * <p>
+ * Not run as part of the test suite; run {@link #main(String[])} from the test classpath with
+ * {@code --add-modules jdk.incubator.vector}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class NumericKernelsBenchmark {
+
+    @Param({"16384", "1048576"})
+    private int length;
+
+    private final NumericKernels scalar = new ScalarNumericKernels();
+    private final NumericKernels vector = new VectorApiNumericKernels();
+    private double[] x;
+    private double[] y;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        x = random.doubles(length, 0, 100).toArray();
+        y = random.doubles(length, 0, 100).toArray();
+    }
+
+    @Benchmark
+    public double scalarSum() {
+        return scalar.sum(x, 0, length);
+    }
+
+    @Benchmark
+    public double vectorSum() {
+        return vector.sum(x, 0, length);
+    }
+
+    @Benchmark
+    public double scalarSumOfSquaredDeviations() {
+        return scalar.sumOfSquaredDeviations(x, 0, length, 50);
+    }
+
+    @Benchmark
+    public double vectorSumOfSquaredDeviations() {
+        return vector.sumOfSquaredDeviations(x, 0, length, 50);
+    }
+
+    @Benchmark
+    public double scalarSumOfCrossDeviations() {
+        return scalar.sumOfCrossDeviations(x, y, 0, length, 50, 50);
+    }
+
+    @Benchmark
+    public double vectorSumOfCrossDeviations() {
+        return vector.sumOfCrossDeviations(x, y, 0, length, 50, 50);
+    }
+
+    @Benchmark
+    public double scalarResidualSumOfSquares() {
+        return scalar.residualSumOfSquares(x, y, 0, length, 0.5, 10);
+    }
+
+    @Benchmark
+    public double vectorResidualSumOfSquares() {
+        return vector.residualSumOfSquares(x, y, 0, length, 0.5, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NumericKernelsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.simd;
+
+import io.xmljim.algorithms.functions.statistics.kernel.NumericKernels;
+import io.xmljim.algorithms.functions.statistics.kernel.ScalarNumericKernels;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Vector API Numeric Kernels Test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class VectorApiNumericKernelsTest {
+    private static final double TOLERANCE = 1e-12;
+
+    private final NumericKernels scalar = new ScalarNumericKernels();
+    private final VectorApiNumericKernels vector = new VectorApiNumericKernels();
+    private double[] x;
+    private double[] y;
+
+    @BeforeEach
+    void setUp() {
+        SplittableRandom random = new SplittableRandom(20221);
+        x = random.doubles(10_007, 1_000, 1_100).toArray();
+        y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            y[i] = 2.5 * x[i] - 40 + random.nextGaussian() * 3;
+        }
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("The Vector API provider is selected when the incubator module is present")
+    void testSelected() {
+        assertTrue(vector.isAvailable());
+        assertEquals(VectorApiNumericKernels.NAME, NumericKernels.getInstance().getName());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Each kernel agrees with the scalar loops, including ranges that end in a partial vector")
+    void testAgreesWithScalar() {
+        for (int[] range : new int[][] {{0, x.length}, {3, 4_000}, {5, 6}, {7, 7}}) {
+            int from = range[0];
+            int to = range[1];
+            double meanX = scalar.sum(x, from, to) / Math.max(1, to - from);
+            double meanY = scalar.sum(y, from, to) / Math.max(1, to - from);
+
+            assertClose(scalar.sum(x, from, to), vector.sum(x, from, to));
+            assertClose(scalar.dot(x, y, from, to), vector.dot(x, y, from, to));
+            assertClose(scalar.sumOfSquaredDeviations(x, from, to, meanX), vector.sumOfSquaredDeviations(x, from, to, meanX));
+            assertClose(scalar.sumOfCrossDeviations(x, y, from, to, meanX, meanY),
+                    vector.sumOfCrossDeviations(x, y, from, to, meanX, meanY));
+            assertClose(scalar.residualSumOfSquares(x, y, from, to, 2.5, -40),
+                    vector.residualSumOfSquares(x, y, from, to, 2.5, -40));
+        }
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("The compensated sum does not lose small values added to large ones")
+    void testCompensatedSum() {
+        double[] values = new double[4_096];
+        for (int i = 0; i < values.length; i += 2) {
+            values[i] = 1e16;
+            values[i + 1] = 1.0;
+        }
+        values[0] = -1e16 * (values.length / 2 - 1);
+
+        assertEquals(values.length / 2.0, vector.sum(values, 0, values.length));
+        assertEquals(scalar.sum(values, 0, values.length), vector.sum(values, 0, values.length));
+    }
+
+    private static void assertClose(double expected, double actual) {
+        assertEquals(expected, actual, Math.max(1, Math.abs(expected)) * TOLERANCE);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+import io.xmljim.algorithms.model.ScalarVector;
+
+/**
+ * The outcome of a bootstrap: a statistic evaluated on the original data and on many resamples of it
+ * (see {@link StatisticsFunctions#bootstrap(java.util.function.Function, ScalarVector, int, long)}).
+ * <p>
+ *     Confidence intervals are percentile intervals: the bounds of a 95% interval are the 2.5th and 97.5th
+ *     percentiles of the replicates, interpolated between order statistics. Resamples for which the statistic
+ *     is undefined (NaN) are left out.
+ * </p>
+ */
+public interface BootstrapResult {
+
+    /**
+     * Return the statistic evaluated on the original data
+     * @return the estimate
+     */
+    double getEstimate();
+
+    /**
+     * Return the number of resamples drawn
+     * @return the number of resamples
+     */
+    int getIterations();
+
+    /**
+     * Return the defined replicates in ascending order
+     * @return the replicates
+     */
+    ScalarVector getReplicates();
+
+    /**
+     * Return the bootstrap standard error, the sample standard deviation of the replicates
+     * @return the standard error
+     */
+    double getStandardError();
+
+    /**
+     * Return the lower bound of a percentile confidence interval
+     * @param confidenceLevel the confidence level, between 0 and 1 exclusive, e.g., 0.95
+     * @return the lower bound
+     */
+    double getLowerBound(double confidenceLevel);
+
+    /**
+     * Return the upper bound of a percentile confidence interval
+     * @param confidenceLevel the confidence level, between 0 and 1 exclusive, e.g., 0.95
+     * @return the upper bound
+     */
+    double getUpperBound(double confidenceLevel);
+}
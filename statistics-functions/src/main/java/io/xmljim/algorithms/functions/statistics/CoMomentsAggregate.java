@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+import io.xmljim.algorithms.model.util.Scalar;
+
+/**
+ * Partial co-moments of paired values: the count, both means, both sums of squared deviations and the sum of
+ * cross-deviations. These are the sufficient statistics of a simple linear regression, so the aggregate
+ * finishes to a {@link LinearRegressionModel} as well as to the covariance and correlation
+ */
+public interface CoMomentsAggregate extends PartialAggregate<CoMomentsAggregate> {
+
+    /**
+     * Add pairs of values to the aggregate
+     * @param valuesX the x values
+     * @param valuesY the y values, the same length as the x values
+     * @throws io.xmljim.algorithms.functions.common.FunctionException thrown if the arrays differ in length
+     */
+    void accumulate(double[] valuesX, double[] valuesY);
+
+    /**
+     * Return the linear regression of y on x over the accumulated pairs. The model is already solved and
+     * can keep learning (see {@link IncrementalLinearRegressionModel})
+     * @return the regression model
+     */
+    LinearRegressionModel finish();
+
+    /**
+     * Return the sample covariance of the accumulated pairs
+     * @return the covariance, or NaN for fewer than two pairs
+     */
+    Scalar covariance();
+
+    /**
+     * Return the Pearson correlation of the accumulated pairs
+     * @return the correlation, or NaN for fewer than two pairs or a constant series
+     */
+    Scalar correlation();
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+import io.xmljim.algorithms.functions.common.EvaluationPlan;
+
+/**
+ * A {@link LinearRegressionModel} computed from x and y vectors, whose coefficient functions can be
+ * compiled into an {@link EvaluationPlan} and executed again against new values
+ */
+public interface CompilableLinearRegressionModel extends LinearRegressionModel {
+
+    /**
+     * Compile the functions behind the coefficients into an {@link EvaluationPlan}. The plan's outputs
+     * are named after the coefficients (e.g., {@code slope}) and its inputs are the x and y vectors, so it can
+     * be executed again against new values of the same length without rebuilding the function graph
+     * @return the plan
+     * @throws io.xmljim.algorithms.functions.common.FunctionException thrown if the x and y vectors differ in length
+     */
+    EvaluationPlan compile();
+}
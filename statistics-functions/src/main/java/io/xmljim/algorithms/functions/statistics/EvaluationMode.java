@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+/**
+ * How aggregate functions (sum, mean, variance, covariance) traverse their data
+ */
+public enum EvaluationMode {
+    /**
+     * Traverse the data on the calling thread
+     */
+    SEQUENTIAL,
+    /**
+     * Split the data into fixed-size chunks, reduce the chunks on the common fork-join pool, and
+     * combine the partial results in a fixed order. Results are reproducible regardless of the
+     * number of threads, but may differ from {@link #SEQUENTIAL} in the last few bits
+     */
+    PARALLEL
+}
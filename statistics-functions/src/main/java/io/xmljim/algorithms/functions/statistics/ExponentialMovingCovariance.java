@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+/**
+ * Exponentially weighted covariance of a stream of paired values, updated in constant time per pair without
+ * keeping any of them (see {@link StatisticsFunctions#ewmaCovariance(double)}).
+ * <p>
+ *     With smoothing factor &#x03B1;, each pair (x, y) updates the statistics as
+ *     <pre>
+ *         &#x03B4;<sub>x</sub> = x - &#x03BC;<sub>x</sub>,  &#x03B4;<sub>y</sub> = y - &#x03BC;<sub>y</sub>
+ *         &#x03BC;<sub>x</sub> = &#x03BC;<sub>x</sub> + &#x03B1;&#x03B4;<sub>x</sub>,  &#x03BC;<sub>y</sub> = &#x03BC;<sub>y</sub> + &#x03B1;&#x03B4;<sub>y</sub>
+ *         cov = (1 - &#x03B1;)(cov + &#x03B1;&#x03B4;<sub>x</sub>&#x03B4;<sub>y</sub>)
+ *     </pre>
+ *     The variances of x and y are updated the same way. Updates do not allocate. Implementations are not safe for
+ *     concurrent use.
+ * </p>
+ */
+public interface ExponentialMovingCovariance {
+
+    /**
+     * Add the next pair of the series
+     * @param x the x value
+     * @param y the y value
+     */
+    void update(double x, double y);
+
+    /**
+     * Return the smoothing factor
+     * @return &#x03B1;, between 0 exclusive and 1 inclusive
+     */
+    double getAlpha();
+
+    /**
+     * Return the number of pairs added
+     * @return the number of pairs
+     */
+    long getCount();
+
+    /**
+     * Return the exponentially weighted mean of x
+     * @return the mean, or NaN if no pairs have been added
+     */
+    double getMeanX();
+
+    /**
+     * Return the exponentially weighted mean of y
+     * @return the mean, or NaN if no pairs have been added
+     */
+    double getMeanY();
+
+    /**
+     * Return the exponentially weighted covariance
+     * @return the covariance, or NaN if no pairs have been added
+     */
+    double getCovariance();
+
+    /**
+     * Return the exponentially weighted correlation
+     * @return the correlation, or NaN if no pairs have been added or either series has no variance
+     */
+    double getCorrelation();
+
+    /**
+     * Forget all pairs
+     */
+    void reset();
+}
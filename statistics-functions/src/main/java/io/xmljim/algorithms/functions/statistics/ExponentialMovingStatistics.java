@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+/**
+ * Exponentially weighted mean and variance of a stream of values, updated in constant time per value without
+ * keeping any of them (see {@link StatisticsFunctions#ewma(double)}).
+ * <p>
+ *     With smoothing factor &#x03B1;, each value x updates the statistics as
+ *     <pre>
+ *         &#x03B4; = x - &#x03BC;
+ *         &#x03BC; = &#x03BC; + &#x03B1;&#x03B4;
+ *         &#x03C3;<sup>2</sup> = (1 - &#x03B1;)(&#x03C3;<sup>2</sup> + &#x03B1;&#x03B4;<sup>2</sup>)
+ *     </pre>
+ *     The first value initializes the mean, with zero variance. A span of N periods corresponds to
+ *     &#x03B1; = 2 / (N + 1).
+ * </p>
+ * <p>
+ *     Updates do not allocate. Implementations are not safe for concurrent use; give each series its own instance.
+ * </p>
+ */
+public interface ExponentialMovingStatistics {
+
+    /**
+     * Add the next value of the series
+     * @param value the value
+     */
+    void update(double value);
+
+    /**
+     * Return the smoothing factor
+     * @return &#x03B1;, between 0 exclusive and 1 inclusive
+     */
+    double getAlpha();
+
+    /**
+     * Return the number of values added
+     * @return the number of values
+     */
+    long getCount();
+
+    /**
+     * Return the exponentially weighted mean
+     * @return the mean, or NaN if no values have been added
+     */
+    double getMean();
+
+    /**
+     * Return the exponentially weighted variance
+     * @return the variance, or NaN if no values have been added
+     */
+    double getVariance();
+
+    /**
+     * Return the exponentially weighted standard deviation, e.g., a volatility estimate
+     * @return the standard deviation, or NaN if no values have been added
+     */
+    default double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Forget all values
+     */
+    void reset();
+}
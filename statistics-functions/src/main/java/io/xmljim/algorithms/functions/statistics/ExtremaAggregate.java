@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+import io.xmljim.algorithms.model.util.Scalar;
+
+/**
+ * Partial count, minimum and maximum.
+ * Finishes to {@link Statistic#COUNT}, {@link Statistic#MIN} and {@link Statistic#MAX}
+ */
+public interface ExtremaAggregate extends PartialAggregate<ExtremaAggregate> {
+
+    /**
+     * Add values to the aggregate
+     * @param values the values
+     */
+    void accumulate(double[] values);
+
+    /**
+     * Return a statistic of the accumulated values
+     * @param statistic the statistic
+     * @return the statistic; the minimum and maximum of no values are NaN
+     * @throws io.xmljim.algorithms.functions.common.FunctionException thrown if the statistic is not a count, minimum or maximum
+     */
+    Scalar finish(Statistic statistic);
+}
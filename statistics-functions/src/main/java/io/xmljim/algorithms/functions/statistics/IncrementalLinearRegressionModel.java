@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+/**
+ * A {@link LinearRegressionModel} that keeps running sufficient statistics rather than
+ * a reference to its data. Observations can be added, removed or merged from another
+ * model, and each update costs O(1) regardless of how many observations the model holds.
+ * <p>
+ *     The coefficients reflect every update made before they are read. Calling
+ *     {@link #solve()} is optional. Implementations are safe to share between threads.
+ * </p>
+ */
+public interface IncrementalLinearRegressionModel extends LinearRegressionModel {
+
+    /**
+     * Add an observation to the model
+     * @param x the independent variable value
+     * @param y the dependent variable value
+     */
+    void add(double x, double y);
+
+    /**
+     * Remove an observation that was previously added to the model
+     * @param x the independent variable value
+     * @param y the dependent variable value
+     */
+    void remove(double x, double y);
+
+    /**
+     * Add all observations held by another model to this model. The other model is not changed
+     * @param other the model to merge
+     */
+    void merge(IncrementalLinearRegressionModel other);
+
+    /**
+     * Return the number of observations in the model
+     * @return the number of observations
+     */
+    long getCount();
+}
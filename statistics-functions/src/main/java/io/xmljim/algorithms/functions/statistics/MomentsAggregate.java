@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+import io.xmljim.algorithms.model.util.Scalar;
+
+/**
+ * Partial count, mean and sum of squared deviations about the mean (M2).
+ * Finishes to {@link Statistic#COUNT}, {@link Statistic#SUM}, {@link Statistic#MEAN},
+ * {@link Statistic#VARIANCE} and {@link Statistic#STANDARD_DEVIATION}
+ */
+public interface MomentsAggregate extends PartialAggregate<MomentsAggregate> {
+
+    /**
+     * Add values to the aggregate
+     * @param values the values
+     */
+    void accumulate(double[] values);
+
+    /**
+     * Return a statistic of the accumulated values
+     * @param statistic the statistic
+     * @return the statistic; the mean of no values, and the variance and standard deviation of fewer than
+     * two values, are NaN
+     * @throws io.xmljim.algorithms.functions.common.FunctionException thrown if the statistic cannot be derived from the moments
+     */
+    Scalar finish(Statistic statistic);
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+import io.xmljim.algorithms.model.Coefficient;
+import io.xmljim.algorithms.model.Model;
+import io.xmljim.algorithms.model.ScalarCoefficient;
+import io.xmljim.algorithms.model.ScalarVector;
+import io.xmljim.algorithms.model.util.Scalar;
+
+/**
+ * An ordinary least squares model relating a dependent variable to one or more
+ * independent variables with the equation:
+ * <p>
+ *     <pre>y = &#x03B2;<sub>0</sub> + &#x03B2;<sub>1</sub>x<sub>1</sub> + ... + &#x03B2;<sub>k</sub>x<sub>k</sub></pre>
+ * </p>
+ * <p>
+ *     Coefficient vectors are ordered with the intercept (&#x03B2;<sub>0</sub>) first, followed by one
+ *     entry per independent variable in the order the columns were given
+ * </p>
+ */
+public interface MultipleLinearRegressionModel extends Model {
+
+    /**
+     * Return the coefficient holding the vector of estimates (&#x03B2;<sub>0</sub> ... &#x03B2;<sub>k</sub>)
+     * @return the coefficient vector
+     */
+    Coefficient<ScalarVector> getBetaCoefficient();
+
+    /**
+     * Return the coefficient holding the standard error of each estimate
+     * @return the standard error vector
+     */
+    Coefficient<ScalarVector> getStandardErrorCoefficient();
+
+    ScalarCoefficient getRSquaredCoefficient();
+
+    ScalarCoefficient getAdjustedRSquaredCoefficient();
+
+    default ScalarVector getBeta() {
+        Coefficient<ScalarVector> betaCoefficient = getBetaCoefficient();
+        return betaCoefficient != null ? betaCoefficient.getValue() : null;
+    }
+
+    default ScalarVector getStandardErrors() {
+        Coefficient<ScalarVector> standardErrorCoefficient = getStandardErrorCoefficient();
+        return standardErrorCoefficient != null ? standardErrorCoefficient.getValue() : null;
+    }
+
+    default Scalar getIntercept() {
+        ScalarVector beta = getBeta();
+        return beta != null ? beta.get(0) : null;
+    }
+
+    default Scalar getRSquared() {
+        ScalarCoefficient rSquaredCoefficient = getRSquaredCoefficient();
+        return rSquaredCoefficient != null ? rSquaredCoefficient.getValue() : null;
+    }
+
+    default Scalar getAdjustedRSquared() {
+        ScalarCoefficient adjustedRSquaredCoefficient = getAdjustedRSquaredCoefficient();
+        return adjustedRSquaredCoefficient != null ? adjustedRSquaredCoefficient.getValue() : null;
+    }
+
+    /**
+     * Predict the dependent value for a set of independent values
+     * @param independentValues one value per independent variable, in column order
+     * @return the predicted value
+     */
+    default Scalar predict(double... independentValues) {
+        ScalarVector beta = getBeta();
+        double prediction = beta.getDouble(0);
+        for (int i = 0; i < independentValues.length; i++) {
+            prediction += beta.getDouble(i + 1) * independentValues[i];
+        }
+        return Scalar.of(prediction);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+/**
+ * Partial state of a statistic over part of a dataset.
+ * <p>
+ *     A dataset can be split across threads or service instances. Each part is accumulated into its own
+ *     aggregate, the aggregates (or their serialized form) are sent to one place and combined, and the
+ *     combined aggregate is finished into the same result the statistics functions give for the whole
+ *     dataset. {@link #combine} is associative, and an empty aggregate is its identity, so the parts may be
+ *     combined in any grouping.
+ * </p>
+ * <p>
+ *     Aggregates are not safe for concurrent use; give each worker its own.
+ * </p>
+ * @param <A> the aggregate type
+ */
+public interface PartialAggregate<A extends PartialAggregate<A>> {
+
+    /**
+     * Return a new aggregate holding the values of this aggregate and another. Neither aggregate is changed
+     * @param other the other aggregate
+     * @return the combined aggregate
+     */
+    A combine(A other);
+
+    /**
+     * Return the number of values accumulated
+     * @return the number of values
+     */
+    long getCount();
+
+    /**
+     * Serialize the aggregate. The result is a few dozen bytes, regardless of the number of values
+     * @return the serialized aggregate
+     */
+    byte[] toByteArray();
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+/**
+ * A bounded-memory summary of a stream of values that answers approximate quantile queries.
+ * <p>
+ *     Sketches hold a fixed number of weighted centroids, however many values are added. The
+ *     error is smallest near the tails (p50 is approximate, p99 and p999 are much tighter).
+ *     Sketches built separately, for example in different service instances, can be merged, and
+ *     can be sent between processes as a compact byte array
+ *     (see {@link StatisticsFunctions#quantileSketch(byte[])}).
+ * </p>
+ * <p>
+ *     Implementations are safe for concurrent use.
+ * </p>
+ */
+public interface QuantileSketch {
+
+    /**
+     * Add a value to the sketch. NaN values are ignored
+     * @param value the value
+     */
+    void add(double value);
+
+    /**
+     * Add all values summarized by another sketch to this sketch. The other sketch is not changed
+     * @param other the other sketch
+     */
+    void merge(QuantileSketch other);
+
+    /**
+     * Return the approximate quantile for a probability
+     * @param probability the probability, between 0 and 1 inclusive
+     * @return the estimated quantile, or NaN if the sketch is empty
+     */
+    double quantile(double probability);
+
+    /**
+     * Return the number of values added to the sketch
+     * @return the number of values
+     */
+    long getCount();
+
+    /**
+     * Return the smallest value added to the sketch
+     * @return the minimum value, or NaN if the sketch is empty
+     */
+    double getMin();
+
+    /**
+     * Return the largest value added to the sketch
+     * @return the maximum value, or NaN if the sketch is empty
+     */
+    double getMax();
+
+    /**
+     * Return the compression parameter. Larger values trade memory for accuracy;
+     * the sketch holds on the order of this many centroids
+     * @return the compression
+     */
+    double getCompression();
+
+    /**
+     * Serialize the sketch
+     * @return the serialized sketch
+     */
+    byte[] toByteArray();
+}
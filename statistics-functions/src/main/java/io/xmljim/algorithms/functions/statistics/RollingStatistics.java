@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+import io.xmljim.algorithms.model.Function;
+import io.xmljim.algorithms.model.ScalarVector;
+
+/**
+ * Builds moving-window statistics over a vector (see {@link StatisticsFunctions#rolling(ScalarVector, int)}).
+ * <p>
+ *     Each function returns a vector with one value per full window, {@code length - windowSize + 1} values in all.
+ *     Value i describes the window of positions i through {@code i + windowSize - 1}. The whole result comes from a
+ *     single O(n) pass. Each step adds the value entering the window and evicts the one leaving it, instead of
+ *     recomputing the window.
+ * </p>
+ * <p>
+ *     Variances and covariances use the sample (n - 1) denominator, as the non-rolling functions do.
+ * </p>
+ */
+public interface RollingStatistics {
+
+    /**
+     * Return the vector the windows move over
+     * @return the vector
+     */
+    ScalarVector getVector();
+
+    /**
+     * Return the number of values in each window
+     * @return the window size
+     */
+    int getWindowSize();
+
+    /**
+     * Return the function to compute the sum of each window
+     * @return the moving sum function
+     */
+    Function<ScalarVector> sum();
+
+    /**
+     * Return the function to compute the mean of each window
+     * @return the moving mean function
+     */
+    Function<ScalarVector> mean();
+
+    /**
+     * Return the function to compute the sample variance of each window
+     * @return the moving variance function
+     */
+    Function<ScalarVector> variance();
+
+    /**
+     * Return the function to compute the sample standard deviation of each window
+     * @return the moving standard deviation function
+     */
+    Function<ScalarVector> standardDeviation();
+
+    /**
+     * Return the function to compute the sample covariance of each window against the same window of another vector
+     * @param other the other vector, the same length as this one
+     * @return the moving covariance function
+     */
+    Function<ScalarVector> covariance(ScalarVector other);
+
+    /**
+     * Return the function to compute the slope of the least-squares line through each window, with this vector as
+     * the dependent (y) values
+     * @param vectorX the independent (x) values, the same length as this vector
+     * @return the moving slope function
+     */
+    Function<ScalarVector> slope(ScalarVector vectorX);
+
+    /**
+     * Return the function to compute the intercept of the least-squares line through each window, with this vector
+     * as the dependent (y) values
+     * @param vectorX the independent (x) values, the same length as this vector
+     * @return the moving intercept function
+     */
+    Function<ScalarVector> intercept(ScalarVector vectorX);
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics;
+
+/**
+ * Statistics that can be requested from {@link StatisticsFunctions#describeAll}.
+ * The regression statistics fit each vector against its positions 0, 1, ..., n - 1, i.e., treat it as an evenly
+ * spaced series
+ */
+public enum Statistic {
+    COUNT("count"),
+    SUM("sum"),
+    MEAN("mean"),
+    MIN("min"),
+    MAX("max"),
+    VARIANCE("variance"),
+    STANDARD_DEVIATION("standardDeviation"),
+    MEDIAN("median"),
+    FIRST_QUARTILE("firstQuartile"),
+    THIRD_QUARTILE("thirdQuartile"),
+    INTERQUARTILE_RANGE("interquartileRange"),
+    SLOPE("slope"),
+    INTERCEPT("intercept"),
+    R_SQUARED("rSquared");
+
+    private final String name;
+
+    Statistic(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Return the name used as the column header of the statistic
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+}
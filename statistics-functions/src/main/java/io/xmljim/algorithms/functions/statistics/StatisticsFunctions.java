@@ -18,14 +18,41 @@ package io.xmljim.algorithms.functions.statistics;
 
 import io.xmljim.algorithms.functions.common.provider.FunctionFactory;
 
+import io.xmljim.algorithms.model.Function;
 import io.xmljim.algorithms.model.Matrix;
 import io.xmljim.algorithms.model.ScalarFunction;
 import io.xmljim.algorithms.model.ScalarParameter;
 import io.xmljim.algorithms.model.ScalarVector;
 import io.xmljim.algorithms.model.util.Scalar;
 
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
 public interface StatisticsFunctions extends FunctionFactory {
 
+    /**
+     * Return the evaluation mode used by aggregate functions created by this factory
+     * @return the evaluation mode
+     */
+    EvaluationMode getEvaluationMode();
+
+    /**
+     * Set the evaluation mode used by aggregate functions created by this factory from now on
+     * @param evaluationMode the evaluation mode
+     */
+    void setEvaluationMode(EvaluationMode evaluationMode);
+
+    /**
+     * Return a factory that creates functions with the given evaluation mode, leaving this factory unchanged, e.g.,
+     * <pre>
+     *     factory.withEvaluationMode(EvaluationMode.PARALLEL).mean(vector)
+     * </pre>
+     * @param evaluationMode the evaluation mode
+     * @return a factory using the evaluation mode
+     */
+    StatisticsFunctions withEvaluationMode(EvaluationMode evaluationMode);
+
     /**
      * Function to calculate the sum of all values in a scalar data sequence
      * <p>
@@ -101,6 +128,119 @@ public interface StatisticsFunctions extends FunctionFactory {
      */
     ScalarFunction median(ScalarVector vector, String variable);
 
+    /**
+     * Return the function to compute a quantile from a given sample population. Quantiles are interpolated
+     * between order statistics: for n values and probability p, h = (n - 1)p and
+     * <p>
+     *     <pre>
+     *         Q(p) = x<sub>&#x230A;h&#x230B;</sub> + (h - &#x230A;h&#x230B;)(x<sub>&#x230A;h&#x230B;+1</sub> - x<sub>&#x230A;h&#x230B;</sub>)
+     *     </pre>
+     * </p>
+     * The values are found by selection on a copy of the data, in linear time on average
+     *
+     * @param vector the population data
+     * @param probability the probability, between 0 and 1 inclusive. 0.5 is the median
+     * @return The equation that will compute the quantile
+     */
+    ScalarFunction quantile(ScalarVector vector, double probability);
+
+    /**
+     * Return the function to compute several quantiles from a given sample population in one pass over a
+     * single copy of the data. See {@link #quantile(ScalarVector, double)}
+     *
+     * @param vector the population data
+     * @param probabilities the probabilities, each between 0 and 1 inclusive
+     * @return The equation that will compute a vector containing one quantile per probability, in the same order
+     */
+    Function<ScalarVector> quantiles(ScalarVector vector, double... probabilities);
+
+    /**
+     * Return the function to compute the interquartile range, Q(0.75) - Q(0.25), from a given sample population
+     *
+     * @param vector the population data
+     * @return The equation that will compute the interquartile range
+     */
+    ScalarFunction interquartileRange(ScalarVector vector);
+
+    /**
+     * Create an empty quantile sketch with the default compression (100)
+     * @return a new quantile sketch
+     */
+    QuantileSketch quantileSketch();
+
+    /**
+     * Create an empty quantile sketch
+     * @param compression the compression, from 10 to 100000; larger values are more accurate and use more memory
+     * @return a new quantile sketch
+     * @throws io.xmljim.algorithms.functions.common.FunctionException thrown if the compression is out of range
+     */
+    QuantileSketch quantileSketch(double compression);
+
+    /**
+     * Create a quantile sketch with the default compression containing all values of a vector
+     * @param vector the values
+     * @return a new quantile sketch
+     */
+    QuantileSketch quantileSketch(ScalarVector vector);
+
+    /**
+     * Restore a quantile sketch serialized with {@link QuantileSketch#toByteArray()}
+     * @param bytes the serialized sketch
+     * @return the quantile sketch
+     * @throws io.xmljim.algorithms.functions.common.FunctionException thrown if the bytes are not a valid serialized sketch
+     */
+    QuantileSketch quantileSketch(byte[] bytes);
+
+    /**
+     * Create an empty aggregate of count, mean and sum of squared deviations, to be accumulated
+     * on one part of a dataset and combined with the others
+     * @return a new aggregate
+     */
+    MomentsAggregate momentsAggregate();
+
+    /**
+     * Restore a moments aggregate serialized with {@link MomentsAggregate#toByteArray()}
+     * @param bytes the serialized aggregate
+     * @return the aggregate
+     */
+    MomentsAggregate momentsAggregate(byte[] bytes);
+
+    /**
+     * Create an empty aggregate of count, minimum and maximum
+     * @return a new aggregate
+     */
+    ExtremaAggregate extremaAggregate();
+
+    /**
+     * Restore an extrema aggregate serialized with {@link ExtremaAggregate#toByteArray()}
+     * @param bytes the serialized aggregate
+     * @return the aggregate
+     */
+    ExtremaAggregate extremaAggregate(byte[] bytes);
+
+    /**
+     * Create an empty aggregate of co-moments, the sufficient statistics of covariance, correlation
+     * and simple linear regression
+     * @return a new aggregate
+     */
+    CoMomentsAggregate coMomentsAggregate();
+
+    /**
+     * Restore a co-moments aggregate serialized with {@link CoMomentsAggregate#toByteArray()}
+     * @param bytes the serialized aggregate
+     * @return the aggregate
+     */
+    CoMomentsAggregate coMomentsAggregate(byte[] bytes);
+
+    /**
+     * Return the function to estimate a quantile from a quantile sketch. The function reflects
+     * the values in the sketch at the time it is computed
+     * @param sketch the quantile sketch
+     * @param probability the probability, between 0 and 1 inclusive
+     * @return The equation that will compute the approximate quantile
+     */
+    ScalarFunction quantile(QuantileSketch sketch, double probability);
+
     /**
      * Return the function to compute the variance from a data set.
      * The algorithm is the sum of the squares of the deviations of each item from the data set's mean.
@@ -391,7 +531,7 @@ public interface StatisticsFunctions extends FunctionFactory {
      * @param matrix the matrix containing the data
      * @return a linear regression model, solved for a given independent and dependent variable
      */
-    LinearRegressionModel linearRegression(Matrix matrix);
+    CompilableLinearRegressionModel linearRegression(Matrix matrix);
 
     /**
      * Create a linear regression model from a matrix of values.
@@ -400,7 +540,7 @@ public interface StatisticsFunctions extends FunctionFactory {
      * @param setY the column index containing the values for the dependent variable (y)
      * @return a linear regression model, solved for a given independent and dependent variable
      */
-    LinearRegressionModel linearRegression(Matrix matrix, int setX, int setY);
+    CompilableLinearRegressionModel linearRegression(Matrix matrix, int setX, int setY);
 
     /**
      * Create a linear regression model for two sets of values, one for the independent variable (x),
@@ -409,5 +549,162 @@ public interface StatisticsFunctions extends FunctionFactory {
      * @param vectorY the data for the dependent variable (y)
      * @return a linear regression model, solved for a given independent and dependent variable
      */
-    LinearRegressionModel linearRegression(ScalarVector vectorX, ScalarVector vectorY);
+    CompilableLinearRegressionModel linearRegression(ScalarVector vectorX, ScalarVector vectorY);
+
+    /**
+     * Create an empty linear regression model that is updated one observation at a time
+     * @return an incremental linear regression model
+     */
+    IncrementalLinearRegressionModel incrementalLinearRegression();
+
+    /**
+     * Create an incremental linear regression model seeded with two sets of values, one for the
+     * independent variable (x), and another for the dependent variable (y)
+     * @param vectorX the data for the independent variable (x)
+     * @param vectorY the data for the dependent variable (y)
+     * @return an incremental linear regression model
+     */
+    IncrementalLinearRegressionModel incrementalLinearRegression(ScalarVector vectorX, ScalarVector vectorY);
+
+    /**
+     * Create an ordinary least squares model regressing one column of a matrix on one or more other columns.
+     * An intercept term is always included
+     * @param matrix the matrix containing the data
+     * @param yColumn the column index containing the values for the dependent variable (y)
+     * @param xColumns the column indexes containing the values for the independent variables
+     * @return a multiple linear regression model
+     */
+    MultipleLinearRegressionModel multipleLinearRegression(Matrix matrix, int yColumn, int... xColumns);
+
+    /**
+     * Return the function to compute the sample covariance matrix of all columns of a matrix. Entry (i, j) is the
+     * covariance of columns i and j, so the diagonal holds the column variances. The co-moments are accumulated in
+     * one pass over the rows, with row blocks reduced in parallel
+     * @param matrix the data, one variable per column
+     * @return The equation that will compute a square matrix whose rows and columns follow the source columns
+     */
+    Function<Matrix> covarianceMatrix(Matrix matrix);
+
+    /**
+     * Return the function to compute the Pearson correlation matrix of all columns of a matrix. Entry (i, j) is the
+     * correlation of columns i and j; columns with no variance give NaN. See {@link #covarianceMatrix(Matrix)}
+     * @param matrix the data, one variable per column
+     * @return The equation that will compute a square matrix whose rows and columns follow the source columns
+     */
+    Function<Matrix> correlationMatrix(Matrix matrix);
+
+    /**
+     * Bootstrap a statistic of one vector. The vector is resampled with replacement {@code iterations} times, and
+     * the function built by {@code statistic} is evaluated on each resample, e.g.,
+     * <pre>
+     *     BootstrapResult result = factory.bootstrap(factory::median, vector, 10000, 42L);
+     *     double lower = result.getLowerBound(0.95);
+     * </pre>
+     * Resamples are evaluated in parallel. Each block of resamples draws from its own random stream split from the
+     * seed in a fixed order, so the same seed gives the same result on any number of threads. The vectors handed to
+     * {@code statistic} are only valid while their function is being computed
+     * @param statistic builds the function for a resample
+     * @param vector the data
+     * @param iterations the number of resamples
+     * @param seed the random seed
+     * @return the bootstrap result
+     */
+    BootstrapResult bootstrap(java.util.function.Function<ScalarVector, ScalarFunction> statistic, ScalarVector vector, int iterations, long seed);
+
+    /**
+     * Bootstrap a statistic of paired vectors, e.g., a regression slope. Pairs (x<sub>i</sub>, y<sub>i</sub>) are
+     * resampled together. See {@link #bootstrap(java.util.function.Function, ScalarVector, int, long)}
+     * @param statistic builds the function for a resample of x and y values
+     * @param vectorX the x values
+     * @param vectorY the y values, the same length as the x values
+     * @param iterations the number of resamples
+     * @param seed the random seed
+     * @return the bootstrap result
+     */
+    BootstrapResult bootstrap(BiFunction<ScalarVector, ScalarVector, ScalarFunction> statistic, ScalarVector vectorX, ScalarVector vectorY,
+                              int iterations, long seed);
+
+    /**
+     * Compute a set of statistics for many vectors in one call. Each vector is read in one fused pass for all
+     * moment and regression statistics, plus one selection over a copy when order statistics are requested. Vectors
+     * are spread across the common fork-join pool. No per-vector functions or parameters are created
+     * @param vectors the vectors
+     * @param statistics the statistics to compute
+     * @return a matrix with one row per vector, in stream order, and one column per statistic, in {@link Statistic}
+     * order and named by {@link Statistic#getName()}
+     */
+    Matrix describeAll(Stream<ScalarVector> vectors, Set<Statistic> statistics);
+
+    /**
+     * Create a streaming accumulator of exponentially weighted mean and variance
+     * @param alpha the smoothing factor, between 0 exclusive and 1 inclusive
+     * @return a new accumulator
+     */
+    ExponentialMovingStatistics ewma(double alpha);
+
+    /**
+     * Create a streaming accumulator of exponentially weighted covariance
+     * @param alpha the smoothing factor, between 0 exclusive and 1 inclusive
+     * @return a new accumulator
+     */
+    ExponentialMovingCovariance ewmaCovariance(double alpha);
+
+    /**
+     * Return the function to compute the exponentially weighted mean after each value of a series.
+     * See {@link ExponentialMovingStatistics}
+     * @param vector the series
+     * @param alpha the smoothing factor, between 0 exclusive and 1 inclusive
+     * @return The equation that will compute a vector of the same length as the series
+     */
+    Function<ScalarVector> ewmaMean(ScalarVector vector, double alpha);
+
+    /**
+     * Return the function to compute the exponentially weighted variance after each value of a series.
+     * See {@link ExponentialMovingStatistics}
+     * @param vector the series
+     * @param alpha the smoothing factor, between 0 exclusive and 1 inclusive
+     * @return The equation that will compute a vector of the same length as the series
+     */
+    Function<ScalarVector> ewmaVariance(ScalarVector vector, double alpha);
+
+    /**
+     * Return the function to compute the exponentially weighted covariance after each pair of two series.
+     * See {@link ExponentialMovingCovariance}
+     * @param vectorX the x series
+     * @param vectorY the y series, the same length as the x series
+     * @param alpha the smoothing factor, between 0 exclusive and 1 inclusive
+     * @return The equation that will compute a vector of the same length as the series
+     */
+    Function<ScalarVector> ewmaCovariance(ScalarVector vectorX, ScalarVector vectorY, double alpha);
+
+    /**
+     * Return the function to compute the sample autocorrelation of a series at lags 0 through maxLag,
+     * r<sub>k</sub> = &#x03A3;(x<sub>t</sub> - x&#x0304;)(x<sub>t+k</sub> - x&#x0304;) / &#x03A3;(x<sub>t</sub> - x&#x0304;)&#x00B2;.
+     * All lags are computed together with a fast Fourier transform in O(n log n)
+     * @param vector the series, at least 2 values
+     * @param maxLag the largest lag, between 0 and the series length - 1
+     * @return The equation that will compute a vector of maxLag + 1 autocorrelations, starting with 1 at lag 0
+     */
+    Function<ScalarVector> autocorrelation(ScalarVector vector, int maxLag);
+
+    /**
+     * Return the function to compute the periodogram of a series, the squared magnitude of the discrete Fourier
+     * transform of its deviations from the mean divided by the length, at the frequencies k/n for k = 0 to n/2
+     * cycles per observation
+     * @param vector the series, at least 2 values
+     * @return The equation that will compute a vector of n/2 + 1 spectral densities
+     */
+    Function<ScalarVector> periodogram(ScalarVector vector);
+
+    /**
+     * Return a builder for moving-window statistics over a vector, e.g.,
+     * <pre>
+     *     ScalarVector movingAverage = factory.rolling(prices, 20).mean().compute();
+     * </pre>
+     * Each statistic is produced for every window in a single pass over the data
+     * @param vector the values
+     * @param windowSize the number of values in each window, between 1 and the vector length
+     * @return the rolling statistics builder
+     */
+    RollingStatistics rolling(ScalarVector vector, int windowSize);
 }
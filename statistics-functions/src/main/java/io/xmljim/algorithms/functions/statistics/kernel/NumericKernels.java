@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.kernel;
+
+/**
+ * Tight numeric loops used by the statistics reductions, with a service-provider extension point for
+ * accelerated implementations.
+ * <p>
+ *     {@link #getInstance()} returns the highest-priority implementation that reports itself available, and falls
+ *     back to {@link ScalarNumericKernels}. Implementations are discovered once with {@link java.util.ServiceLoader}.
+ *     Set the system property {@value #KERNELS_PROPERTY} to an implementation name (e.g., {@code scalar}) to force a
+ *     particular one.
+ * </p>
+ * <p>
+ *     All operations work on the half-open range {@code [from, to)} of primitive arrays. Results may differ between
+ *     implementations in the last few bits, but any one implementation always returns the same result for the same input.
+ * </p>
+ */
+public interface NumericKernels {
+    /**
+     * System property that selects an implementation by name
+     */
+    String KERNELS_PROPERTY = "io.xmljim.algorithms.kernels";
+
+    /**
+     * Return the kernels to use
+     * @return the selected kernels
+     */
+    static NumericKernels getInstance() {
+        return NumericKernelsHolder.INSTANCE;
+    }
+
+    /**
+     * Return the implementation name
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Return the priority used to choose between available implementations; the highest wins
+     * @return the priority
+     */
+    default int getPriority() {
+        return 0;
+    }
+
+    /**
+     * Return whether this implementation can run in the current JVM
+     * @return true if the implementation is usable
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Compensated sum: &#x03A3;x<sub>i</sub>
+     */
+    double sum(double[] values, int from, int to);
+
+    /**
+     * Dot product: &#x03A3;a<sub>i</sub>b<sub>i</sub>
+     */
+    double dot(double[] a, double[] b, int from, int to);
+
+    /**
+     * &#x03A3;(x<sub>i</sub> - c)<sup>2</sup>
+     */
+    double sumOfSquaredDeviations(double[] values, int from, int to, double center);
+
+    /**
+     * &#x03A3;(x<sub>i</sub> - c<sub>x</sub>)(y<sub>i</sub> - c<sub>y</sub>)
+     */
+    double sumOfCrossDeviations(double[] x, double[] y, int from, int to, double centerX, double centerY);
+
+    /**
+     * Residual sum of squares of a line: &#x03A3;(slope &#xB7; x<sub>i</sub> + intercept - y<sub>i</sub>)<sup>2</sup>
+     */
+    double residualSumOfSquares(double[] x, double[] y, int from, int to, double slope, double intercept);
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.kernel;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Lazily selects the {@link NumericKernels} implementation the first time it is requested
+ */
+final class NumericKernelsHolder {
+    static final NumericKernels INSTANCE = select();
+
+    private NumericKernelsHolder() {
+
+    }
+
+    private static NumericKernels select() {
+        String requested = System.getProperty(NumericKernels.KERNELS_PROPERTY);
+        NumericKernels selected = new ScalarNumericKernels();
+
+        if (ScalarNumericKernels.NAME.equals(requested)) {
+            return selected;
+        }
+
+        try {
+            for (NumericKernels kernels : ServiceLoader.load(NumericKernels.class, NumericKernels.class.getClassLoader())) {
+                if (!isAvailable(kernels)) {
+                    continue;
+                }
+
+                if (requested != null) {
+                    if (requested.equals(kernels.getName())) {
+                        return kernels;
+                    }
+                } else if (kernels.getPriority() > selected.getPriority()) {
+                    selected = kernels;
+                }
+            }
+        } catch (ServiceConfigurationError | LinkageError e) {
+            // an accelerated implementation that cannot be loaded is simply not used
+        }
+
+        return selected;
+    }
+
+    private static boolean isAvailable(NumericKernels kernels) {
+        try {
+            return kernels.isAvailable();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021-2022 Jim Earley (xml.jim@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.xmljim.algorithms.functions.statistics.kernel;
+
+/**
+ * Plain Java loops; always available and used when no accelerated implementation is present
+ */
+public final class ScalarNumericKernels implements NumericKernels {
+    public static final String NAME = "scalar";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public double sum(final double[] values, final int from, final int to) {
+        double sum = 0;
+        double compensation = 0;
+        for (int i = from; i < to; i++) {
+            double value = values[i];
+            double t = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            } else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+        }
+        return sum + compensation;
+    }
+
+    @Override
+    public double dot(final double[] a, final double[] b, final int from, final int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double sumOfSquaredDeviations(final double[] values, final int from, final int to, final double center) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            double deviation = values[i] - center;
+            sum += deviation * deviation;
+        }
+        return sum;
+    }
+
+    @Override
+    public double sumOfCrossDeviations(final double[] x, final double[] y, final int from, final int to, final double centerX, final double centerY) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += (x[i] - centerX) * (y[i] - centerY);
+        }
+        return sum;
+    }
+
+    @Override
+    public double residualSumOfSquares(final double[] x, final double[] y, final int from, final int to, final double slope, final double intercept) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            double residual = slope * x[i] + intercept - y[i];
+            sum += residual * residual;
+        }
+        return sum;
+    }
+}
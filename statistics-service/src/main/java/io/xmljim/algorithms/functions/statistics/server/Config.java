@@ -1,6 +1,8 @@
 package io.xmljim.algorithms.functions.statistics.server;
 
+import io.xmljim.algorithms.functions.common.FunctionException;
 import io.xmljim.algorithms.functions.common.provider.FunctionProvider;
+import io.xmljim.algorithms.functions.common.provider.ProviderRegistry;
 import io.xmljim.algorithms.functions.statistics.provider.StatisticsProvider;
 import io.xmljim.algorithms.model.provider.ModelProvider;
 import io.xmljim.algorithms.model.util.Version;
@@ -9,7 +11,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.ServiceLoader;
 import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
@@ -25,7 +26,7 @@ public class Config {
     @Bean
     StatisticsProvider statisticsProvider() {
         log.info("Required: [name: {}, version: {}]", statisticsProviderName, statisticsProviderVersion);
-        Iterable<FunctionProvider> functionProviderIterator = ServiceLoader.load(FunctionProvider.class);
+        Iterable<FunctionProvider<?>> functionProviderIterator = ProviderRegistry.getInstance().getFunctionProviders();
         Version compareVersion = new Version(statisticsProviderVersion);
         final AtomicReference<StatisticsProvider> provider = new AtomicReference<>();
 
@@ -48,12 +49,10 @@ public class Config {
 
     @Bean
     ModelProvider modelProvider() {
-        Iterable<ModelProvider> modelProviders = ServiceLoader.load(ModelProvider.class);
-
-        if (modelProviders.iterator().hasNext()) {
-            return modelProviders.iterator().next();
-        } else {
-            log.error("No Model Provider Found");
+        try {
+            return ProviderRegistry.getInstance().getModelProvider();
+        } catch (FunctionException e) {
+            log.error(e.getMessage());
             return null;
         }
     }